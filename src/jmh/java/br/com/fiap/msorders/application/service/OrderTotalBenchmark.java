@@ -0,0 +1,74 @@
+package br.com.fiap.msorders.application.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.fiap.msorders.application.dto.OrderItemDto;
+import br.com.fiap.msorders.domain.model.Money;
+
+/**
+ * {@link OrderService#calculateTotal} over {@code items} items, from a typical cart up to
+ * the large lists a batch import can carry. Prices have two decimal places and vary per
+ * item so the sum is not folded into a single scale.
+ * <p>
+ * {@code money} is the current {@link Money} path, summing minor units in a {@code long}.
+ * {@code bigDecimal} is the previous implementation over the same prices as
+ * {@code BigDecimal}, kept as the baseline. Run with {@code -prof gc}: the baseline
+ * allocates a product and a partial sum per item, the {@code Money} path only its result.
+ * <p>
+ * Lives in the service package because {@code calculateTotal} is package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderTotalBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int items;
+
+    private List<OrderItemDto> orderItems;
+    private List<BigDecimal> prices;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        orderItems = new ArrayList<>(items);
+        prices = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            BigDecimal price = BigDecimal.valueOf(100 + i % 10_000, 2);
+            orderItems.add(new OrderItemDto(i + 1, 1L, "SKU-" + i, 1 + i % 7, Money.of(price)));
+            prices.add(price);
+        }
+    }
+
+    @Benchmark
+    public Money money() {
+        return OrderService.calculateTotal(orderItems);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < prices.size(); i++) {
+            total = total.add(prices.get(i).multiply(BigDecimal.valueOf(orderItems.get(i).quantity())));
+        }
+        return total;
+    }
+}
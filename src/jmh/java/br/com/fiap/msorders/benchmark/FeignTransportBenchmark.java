@@ -0,0 +1,186 @@
+package br.com.fiap.msorders.benchmark;
+
+import static org.mockito.Mockito.mock;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import br.com.fiap.msorders.application.dto.OrderDto;
+import br.com.fiap.msorders.application.dto.OrderItemDto;
+import br.com.fiap.msorders.application.dto.OrderValidationResult;
+import br.com.fiap.msorders.application.metrics.StageTimers;
+import br.com.fiap.msorders.application.service.OrderValidationService;
+import br.com.fiap.msorders.config.ResilienceConfig;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.infrastructure.integration.client.ClientClient;
+import br.com.fiap.msorders.infrastructure.integration.client.ProductClient;
+import br.com.fiap.msorders.infrastructure.integration.client.StockClient;
+import br.com.fiap.msorders.infrastructure.integration.dto.SkuQuantityDto;
+import br.com.fiap.msorders.infrastructure.integration.resilience.DownstreamGuards;
+import br.com.fiap.msorders.infrastructure.integration.resilience.HedgedCalls;
+import br.com.fiap.msorders.infrastructure.integration.service.ClientServiceClient;
+import br.com.fiap.msorders.infrastructure.integration.service.ProductServiceClient;
+import br.com.fiap.msorders.infrastructure.integration.service.StockServiceClient;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderRepository;
+import br.com.fiap.msorders.support.StubHttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Remote part of order creation (client, SKUs and stock checks, then the stock
+ * reservation) through the real Feign clients against local stubs, once per transport:
+ * {@code default} is Feign's HttpURLConnection client, {@code hc5} the pooled Apache
+ * HttpClient 5 and {@code http2} the JDK HttpClient. Caches are disabled so every
+ * operation makes four requests. Throughput is orders per second; the tear-down prints
+ * how many connections the stubs saw and the resulting requests per connection.
+ * <p>
+ * The stubs only speak HTTP/1.1, so {@code http2} measures the JDK client after its
+ * h2c upgrade is refused, not multiplexing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Threads(8)
+@Fork(1)
+public class FeignTransportBenchmark {
+
+    @Param({"default", "hc5", "http2"})
+    public String transport;
+
+    @Param({"5"})
+    public int items;
+
+    @Configuration
+    @EnableFeignClients(clients = { ClientClient.class, ProductClient.class, StockClient.class })
+    @ImportAutoConfiguration({ JacksonAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class,
+            FeignAutoConfiguration.class })
+    @Import({ ResilienceConfig.class, DownstreamGuards.class })
+    static class TransportConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    private final List<StubHttpServer> stubs = new ArrayList<>();
+    private ConfigurableApplicationContext context;
+    private ExecutorService executor;
+    private OrderValidationService validationService;
+    private StockServiceClient stockServiceClient;
+    private OrderDto order;
+    private List<SkuQuantityDto> reservation;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StubHttpServer msClients = stub().stub("GET", "/clients/*", 200, "");
+        StubHttpServer msProducts = stub().stub("GET", "/products/sku", request -> new StubHttpServer.Response(200,
+                jsonArray(skus(), sku -> "{\"id\":1,\"name\":\"p\",\"productSku\":\"" + sku + "\",\"price\":10}")));
+        StubHttpServer msStock = stub()
+                .stub("POST", "/stocks/batch/search", request -> new StubHttpServer.Response(200,
+                        jsonArray(skus(), sku -> "{\"id\":1,\"sku\":\"" + sku + "\",\"quantity\":1000}")))
+                .stub("POST", "/stocks/batch/decrease", 200, "");
+
+        context = new SpringApplicationBuilder(TransportConfig.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                // command-line arguments so they win over application.properties
+                .run("--ms.clients.url=" + msClients.baseUrl(),
+                        "--ms.products.url=" + msProducts.baseUrl(),
+                        "--ms.stock.url=" + msStock.baseUrl(),
+                        "--spring.cloud.openfeign.httpclient.hc5.enabled=" + "hc5".equals(transport),
+                        "--spring.cloud.openfeign.http2client.enabled=" + "http2".equals(transport),
+                        "--integration.resilience.default.max-concurrent-calls=64");
+
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newFixedThreadPool(32);
+        ClientServiceClient clientServiceClient = new ClientServiceClient(context.getBean(ClientClient.class), executor,
+                mock(OrderRepository.class), meterRegistry, Clock.systemUTC(), 1, 0, 0, false);
+        ProductServiceClient productServiceClient = new ProductServiceClient(context.getBean(ProductClient.class), executor,
+                meterRegistry, Clock.systemUTC(), 1, 0, 0);
+        stockServiceClient = new StockServiceClient(context.getBean(StockClient.class), executor,
+                new HedgedCalls(executor, meterRegistry, false, 0), Long.MAX_VALUE);
+        validationService = new OrderValidationService(clientServiceClient, productServiceClient, stockServiceClient,
+                executor, 10_000, new StageTimers(meterRegistry, true));
+
+        List<OrderItemDto> orderItems = new ArrayList<>();
+        reservation = new ArrayList<>();
+        for (String sku : skus()) {
+            orderItems.add(new OrderItemDto(0L, 0L, sku, 1, Money.of("10")));
+            reservation.add(new SkuQuantityDto(sku, 1));
+        }
+        order = new OrderDto(0L, 1L, Money.of("10"), null, null, null, orderItems);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        int requests = stubs.stream().mapToInt(StubHttpServer::requestCount).sum();
+        int connections = stubs.stream().mapToInt(StubHttpServer::connectionCount).sum();
+        System.out.printf("%n[%s] requests=%d connections=%d requests/connection=%.1f%n",
+                transport, requests, connections, connections == 0 ? 0.0 : (double) requests / connections);
+
+        context.close();
+        executor.shutdownNow();
+        stubs.forEach(StubHttpServer::close);
+        stubs.clear();
+    }
+
+    @Benchmark
+    public OrderValidationResult createOrderRemoteCalls() {
+        OrderValidationResult result = validationService.validate(order);
+        stockServiceClient.decreaseStocks(reservation);
+        return result;
+    }
+
+    private StubHttpServer stub() {
+        StubHttpServer stub = StubHttpServer.start();
+        stubs.add(stub);
+        return stub;
+    }
+
+    private List<String> skus() {
+        List<String> skus = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            skus.add("SKU-" + i);
+        }
+        return skus;
+    }
+
+    private static String jsonArray(List<String> skus, Function<String, String> element) {
+        return "[" + String.join(",", skus.stream().map(element).toList()) + "]";
+    }
+}
@@ -0,0 +1,164 @@
+package br.com.fiap.msorders.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import br.com.fiap.msorders.application.cache.OrderCache;
+import br.com.fiap.msorders.application.dto.OrderDto;
+import br.com.fiap.msorders.application.dto.OrderItemDto;
+import br.com.fiap.msorders.application.mapper.OrderItemMapper;
+import br.com.fiap.msorders.application.mapper.OrderMapper;
+import br.com.fiap.msorders.application.metrics.StageTimers;
+import br.com.fiap.msorders.application.outbox.OutboxWriter;
+import br.com.fiap.msorders.application.service.OrderPaymentFinalizer;
+import br.com.fiap.msorders.application.service.OrderService;
+import br.com.fiap.msorders.application.service.OrderValidationService;
+import br.com.fiap.msorders.application.service.PixPaymentMonitor;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.infrastructure.integration.client.StockClient;
+import br.com.fiap.msorders.infrastructure.integration.dto.StockDto;
+import br.com.fiap.msorders.infrastructure.integration.metrics.MeteredClient;
+import br.com.fiap.msorders.infrastructure.integration.service.ClientServiceClient;
+import br.com.fiap.msorders.infrastructure.integration.service.PaymentServiceClient;
+import br.com.fiap.msorders.infrastructure.integration.service.ProductServiceClient;
+import br.com.fiap.msorders.infrastructure.integration.service.StockServiceClient;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderReadRepository;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderRepository;
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Target;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+/**
+ * Cost of the metrics added around order creation, with {@code metrics=off} as the
+ * uninstrumented baseline. Downstreams, repository and outbox answer at once, so what is
+ * left is the service's own work plus the timers; the difference between the two rows is
+ * the instrumentation overhead.
+ * <p>
+ * {@code createOrder} runs the whole service with the {@code orders.stage} timers on or
+ * off. {@code feignRequest} sends one request through a transport that answers
+ * immediately, bare or wrapped in a {@link MeteredClient}. Both record into a
+ * Prometheus registry with percentile histograms, as in production. Add {@code -prof gc}
+ * to see the allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstrumentationOverheadBenchmark {
+
+    @Param({"off", "on"})
+    public String metrics;
+
+    private OrderService orderService;
+    private OrderDto order;
+    private Client client;
+    private Request request;
+    private Request.Options options;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean instrumented = "on".equals(metrics);
+        PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        StageTimers stageTimers = new StageTimers(meterRegistry, instrumented);
+
+        ClientServiceClient clientServiceClient = mock(ClientServiceClient.class, withSettings().stubOnly());
+        ProductServiceClient productServiceClient = mock(ProductServiceClient.class, withSettings().stubOnly());
+        StockServiceClient stockServiceClient = mock(StockServiceClient.class, withSettings().stubOnly());
+        OrderRepository orderRepository = mock(OrderRepository.class, withSettings().stubOnly());
+
+        doAnswer(invocation -> {
+            Map<String, StockDto> stocks = new LinkedHashMap<>();
+            for (String sku : invocation.<List<String>>getArgument(0)) {
+                stocks.put(sku, new StockDto(1L, sku, 1_000));
+            }
+            return stocks;
+        }).when(stockServiceClient).searchStocks(anyList());
+        AtomicLong ids = new AtomicLong();
+        doAnswer(invocation -> {
+            OrderEntity entity = invocation.getArgument(0);
+            entity.setId(ids.incrementAndGet());
+            return entity;
+        }).when(orderRepository).save(any(OrderEntity.class));
+
+        OrderValidationService validationService = new OrderValidationService(clientServiceClient, productServiceClient,
+                stockServiceClient, Runnable::run, 60_000, stageTimers);
+        orderService = new OrderService(orderRepository, new OrderMapper(new OrderItemMapper()), validationService,
+                mock(OutboxWriter.class, withSettings().stubOnly()), mock(PaymentServiceClient.class),
+                mock(OrderPaymentFinalizer.class), mock(PixPaymentMonitor.class), mock(OrderReadRepository.class),
+                mock(OrderCache.class), event -> { }, stageTimers);
+
+        List<OrderItemDto> items = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            items.add(new OrderItemDto(0L, 0L, "SKU-" + i, 1, Money.of("10")));
+        }
+        order = new OrderDto(0L, 1L, Money.of("10"), null, null, null, items);
+
+        Client transport = (sent, sentOptions) -> Response.builder()
+                .status(200)
+                .request(sent)
+                .headers(Map.of())
+                .body("{}", StandardCharsets.UTF_8)
+                .build();
+        client = instrumented ? new MeteredClient(transport, meterRegistry) : transport;
+        request = searchStockRequest();
+        options = new Request.Options();
+    }
+
+    @Benchmark
+    public OrderDto createOrder() {
+        return orderService.createOrder(order);
+    }
+
+    @Benchmark
+    public Response feignRequest() throws Exception {
+        return client.execute(request, options);
+    }
+
+    /** A request as Feign builds it for {@code StockClient#searchStock}, so the client and method tags resolve. */
+    private static Request searchStockRequest() {
+        MethodMetadata metadata = new SpringMvcContract().parseAndValidateMetadata(StockClient.class).stream()
+                .filter(method -> method.configKey().startsWith("StockClient#searchStock("))
+                .findFirst()
+                .orElseThrow();
+        RequestTemplate template = new RequestTemplate()
+                .method(Request.HttpMethod.GET)
+                .uri("/stocks/sku/SKU-1")
+                .target("http://localhost");
+        template.feignTarget(new Target.HardCodedTarget<>(StockClient.class, "ms-stock", "http://localhost"));
+        template.methodMetadata(metadata);
+        return template.resolve(Map.of()).request();
+    }
+}
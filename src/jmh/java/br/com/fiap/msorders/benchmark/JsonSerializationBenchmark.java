@@ -0,0 +1,146 @@
+package br.com.fiap.msorders.benchmark;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import br.com.fiap.msorders.application.dto.OrderDto;
+import br.com.fiap.msorders.application.dto.OrderItemDto;
+import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.infrastructure.integration.dto.CreditCardPaymentRequestDto;
+import br.com.fiap.msorders.infrastructure.integration.dto.StatusDto;
+
+/**
+ * Jackson writing and reading the records that cross the wire: {@link OrderDto} with
+ * {@code items} items (the {@code /orders} API), the nested {@link StatusDto} returned by
+ * ms-payments, and the {@link CreditCardPaymentRequestDto} sent to it. The mapper is
+ * built the way Spring Boot builds its own, and readers and writers are created once,
+ * as the HTTP message converters and Feign encoders keep them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"1", "20"})
+    public int items;
+
+    private ObjectWriter orderWriter;
+    private ObjectReader orderReader;
+    private ObjectWriter statusWriter;
+    private ObjectReader statusReader;
+    private ObjectWriter creditCardWriter;
+    private ObjectReader creditCardReader;
+
+    private OrderDto order;
+    private StatusDto status;
+    private CreditCardPaymentRequestDto creditCardRequest;
+    private byte[] orderJson;
+    private byte[] statusJson;
+    private byte[] creditCardJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        orderWriter = objectMapper.writerFor(OrderDto.class);
+        orderReader = objectMapper.readerFor(OrderDto.class);
+        statusWriter = objectMapper.writerFor(StatusDto.class);
+        statusReader = objectMapper.readerFor(StatusDto.class);
+        creditCardWriter = objectMapper.writerFor(CreditCardPaymentRequestDto.class);
+        creditCardReader = objectMapper.readerFor(CreditCardPaymentRequestDto.class);
+
+        order = order(items);
+        status = status();
+        creditCardRequest = creditCardRequest(items);
+        orderJson = orderWriter.writeValueAsBytes(order);
+        statusJson = statusWriter.writeValueAsBytes(status);
+        creditCardJson = creditCardWriter.writeValueAsBytes(creditCardRequest);
+    }
+
+    @Benchmark
+    public byte[] writeOrder() throws IOException {
+        return orderWriter.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public OrderDto readOrder() throws IOException {
+        return orderReader.readValue(orderJson);
+    }
+
+    @Benchmark
+    public byte[] writeStatus() throws IOException {
+        return statusWriter.writeValueAsBytes(status);
+    }
+
+    @Benchmark
+    public StatusDto readStatus() throws IOException {
+        return statusReader.readValue(statusJson);
+    }
+
+    @Benchmark
+    public byte[] writeCreditCardRequest() throws IOException {
+        return creditCardWriter.writeValueAsBytes(creditCardRequest);
+    }
+
+    @Benchmark
+    public CreditCardPaymentRequestDto readCreditCardRequest() throws IOException {
+        return creditCardReader.readValue(creditCardJson);
+    }
+
+    private static OrderDto order(int items) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderItemDto> orderItems = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            orderItems.add(new OrderItemDto(i + 1, 1L, "SKU-" + i, 1 + i % 5, Money.of("19.90")));
+        }
+        return new OrderDto(1L, 10L, Money.of("199.00"), OrderStatus.CLOSED_SUCCESS, now, now, orderItems);
+    }
+
+    /** A credit payment status as ms-payments returns it, with every nested record filled in. */
+    private static StatusDto status() {
+        ZonedDateTime now = ZonedDateTime.now();
+        StatusDto.Credit credit = new StatusDto.Credit(false, "123456", now, "00", "transaction approved", "GETNET",
+                "FIAP*ORDERS", "Visa", "000123", "acq-789", "tx-456");
+        return new StatusDto("FIAP-TC4", "hash", "APPROVED", "1", 199.0,
+                new StatusDto.PaymentRequest("CREDIT", false, true, false, false, "FULL", 1, "FIAP*ORDERS", 5912),
+                new StatusDto.PaymentResponse("pay-1", "FIAP-TC4", 199.0, "BRL", "1", "APPROVED", now, credit, null));
+    }
+
+    private static CreditCardPaymentRequestDto creditCardRequest(int items) {
+        List<CreditCardPaymentRequestDto.Order.Item> orderItems = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            orderItems.add(new CreditCardPaymentRequestDto.Order.Item("SKU-" + i, 1 + i % 5, new BigDecimal("19.90")));
+        }
+        return new CreditCardPaymentRequestDto("FIAP-TC4", new BigDecimal("199.00"), "BRL",
+                new CreditCardPaymentRequestDto.Order("1", orderItems),
+                new CreditCardPaymentRequestDto.Customer("10", "Maria", "Silva", "maria@example.com", "11999999999"),
+                new CreditCardPaymentRequestDto.Credit(
+                        new CreditCardPaymentRequestDto.Credit.Card("card-token", "MARIA SILVA", "123", "12", "30"), 1));
+    }
+}
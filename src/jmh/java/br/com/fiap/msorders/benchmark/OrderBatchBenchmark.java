@@ -0,0 +1,235 @@
+package br.com.fiap.msorders.benchmark;
+
+import static org.mockito.Mockito.mock;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.fiap.msorders.application.cache.OrderCache;
+import br.com.fiap.msorders.application.dto.OrderDto;
+import br.com.fiap.msorders.application.dto.OrderItemDto;
+import br.com.fiap.msorders.application.mapper.OrderItemMapper;
+import br.com.fiap.msorders.application.mapper.OrderMapper;
+import br.com.fiap.msorders.application.metrics.StageTimers;
+import br.com.fiap.msorders.application.outbox.OutboxWriter;
+import br.com.fiap.msorders.application.service.OrderBatchService;
+import br.com.fiap.msorders.application.service.OrderPaymentFinalizer;
+import br.com.fiap.msorders.application.service.OrderService;
+import br.com.fiap.msorders.application.service.OrderValidationService;
+import br.com.fiap.msorders.application.service.PixPaymentMonitor;
+import br.com.fiap.msorders.config.ClockConfig;
+import br.com.fiap.msorders.config.FlywayManualConfig;
+import br.com.fiap.msorders.config.IntegrationExecutorConfig;
+import br.com.fiap.msorders.config.ResilienceConfig;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.infrastructure.integration.client.ClientClient;
+import br.com.fiap.msorders.infrastructure.integration.client.ProductClient;
+import br.com.fiap.msorders.infrastructure.integration.client.StockClient;
+import br.com.fiap.msorders.infrastructure.integration.resilience.DownstreamGuards;
+import br.com.fiap.msorders.infrastructure.integration.resilience.HedgedCalls;
+import br.com.fiap.msorders.infrastructure.integration.service.ClientServiceClient;
+import br.com.fiap.msorders.infrastructure.integration.service.PaymentServiceClient;
+import br.com.fiap.msorders.infrastructure.integration.service.ProductServiceClient;
+import br.com.fiap.msorders.infrastructure.integration.service.StockServiceClient;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderReadRepository;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderRepository;
+import br.com.fiap.msorders.support.StubHttpServer;
+
+/**
+ * Time to create {@code orders} orders, each with {@code items} items, from
+ * {@code clients} clients over {@code skus} SKUs, against local ms-clients, ms-products
+ * and ms-stock stubs that take {@code latencyMs} per request, with an H2 database.
+ * <p>
+ * {@code single} calls {@code OrderService.createOrder} once per order, as an importer
+ * posting to {@code POST /orders} would; {@code batch} hands all of them to
+ * {@code OrderBatchService} in one call, as {@code POST /orders/batch} does. The client
+ * and SKU caches are disabled, so {@code single} pays every remote check of every order.
+ * Both write the stock reservations to the outbox; sending them is not measured. The
+ * tear-down prints the downstream requests per invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class OrderBatchBenchmark {
+
+    @Param({"single", "batch"})
+    public String mode;
+
+    @Param({"10000"})
+    public int orders;
+
+    @Param({"3"})
+    public int items;
+
+    @Param({"1000"})
+    public int clients;
+
+    @Param({"50"})
+    public int skus;
+
+    /** Time each stub spends on a request. */
+    @Param({"1"})
+    public long latencyMs;
+
+    /** Order creation with its real database, Feign clients and outbox writer; payment is left out. */
+    @Configuration
+    @EnableAutoConfiguration
+    @EnableFeignClients(clients = { ClientClient.class, ProductClient.class, StockClient.class })
+    @EntityScan(basePackageClasses = OrderEntity.class)
+    @EnableJpaRepositories(basePackageClasses = OrderRepository.class)
+    @Import({ ClockConfig.class, FlywayManualConfig.class, IntegrationExecutorConfig.class, ResilienceConfig.class,
+            DownstreamGuards.class, HedgedCalls.class, ClientServiceClient.class, ProductServiceClient.class,
+            StockServiceClient.class, OrderValidationService.class, OrderItemMapper.class, OrderMapper.class,
+            OutboxWriter.class, OrderBatchService.class, StageTimers.class })
+    static class OrderCreationConfig {
+    }
+
+    private final List<StubHttpServer> stubs = new ArrayList<>();
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private OrderService orderService;
+    private OrderBatchService orderBatchService;
+    private List<OrderDto> input;
+    private int invocations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StubHttpServer msClients = stub().stub("GET", "/clients/*", 200, "");
+        StubHttpServer msProducts = stub().stub("GET", "/products/sku", request -> new StubHttpServer.Response(200,
+                jsonArray(requestedSkus(request.query()),
+                        sku -> "{\"id\":1,\"name\":\"p\",\"productSku\":\"" + sku + "\",\"price\":10}")));
+        StubHttpServer msStock = stub().stub("POST", "/stocks/batch/search", request -> new StubHttpServer.Response(200,
+                jsonArray(allSkus(), sku -> "{\"id\":1,\"sku\":\"" + sku + "\",\"quantity\":1000000000}")));
+
+        context = new SpringApplicationBuilder(OrderCreationConfig.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                // command-line arguments so they win over application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:order-batch-bench;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--ms.clients.url=" + msClients.baseUrl(),
+                        "--ms.products.url=" + msProducts.baseUrl(),
+                        "--ms.stock.url=" + msStock.baseUrl(),
+                        "--clients.cache.ttl-seconds=0",
+                        "--clients.cache.negative-ttl-seconds=0",
+                        "--products.sku-cache.ttl-seconds=0",
+                        "--products.sku-cache.negative-ttl-seconds=0");
+        stubs.forEach(stub -> stub.withLatency(latencyMs));
+
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        orderBatchService = context.getBean(OrderBatchService.class);
+        orderService = new OrderService(context.getBean(OrderRepository.class), context.getBean(OrderMapper.class),
+                context.getBean(OrderValidationService.class), context.getBean(OutboxWriter.class),
+                mock(PaymentServiceClient.class), mock(OrderPaymentFinalizer.class), mock(PixPaymentMonitor.class),
+                mock(OrderReadRepository.class), mock(OrderCache.class), event -> { },
+                context.getBean(StageTimers.class));
+        // built by hand, so createOrder gets its transaction from the template instead of a proxy
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        input = new ArrayList<>();
+        for (int i = 0; i < orders; i++) {
+            List<OrderItemDto> orderItems = new ArrayList<>();
+            for (int j = 0; j < items; j++) {
+                orderItems.add(new OrderItemDto(0L, 0L, "SKU-" + ((i + j) % skus), 1, Money.of("10")));
+            }
+            input.add(new OrderDto(0L, i % clients + 1L, null, null, null, null, orderItems));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void clearOrders() {
+        jdbcTemplate.update("DELETE FROM outbox_messages");
+        jdbcTemplate.update("DELETE FROM order_items");
+        jdbcTemplate.update("DELETE FROM orders");
+        invocations++;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n[%s] downstream requests per invocation=%d%n", mode,
+                stubs.stream().mapToInt(StubHttpServer::requestCount).sum() / Math.max(invocations, 1));
+        context.close();
+        stubs.forEach(StubHttpServer::close);
+        stubs.clear();
+    }
+
+    @Benchmark
+    public int createOrders() {
+        if ("single".equals(mode)) {
+            for (OrderDto order : input) {
+                transactionTemplate.executeWithoutResult(status -> orderService.createOrder(order));
+            }
+            return input.size();
+        }
+        return orderBatchService.createOrders(input.iterator()).size();
+    }
+
+    private StubHttpServer stub() {
+        StubHttpServer stub = StubHttpServer.start();
+        stubs.add(stub);
+        return stub;
+    }
+
+    private List<String> allSkus() {
+        List<String> all = new ArrayList<>();
+        for (int i = 0; i < skus; i++) {
+            all.add("SKU-" + i);
+        }
+        return all;
+    }
+
+    /** The {@code skus} query parameter, repeated or comma-separated. */
+    private static List<String> requestedSkus(String query) {
+        List<String> requested = new ArrayList<>();
+        for (String pair : query == null ? new String[0] : query.split("&")) {
+            String[] parts = pair.split("=", 2);
+            if (parts.length == 2 && parts[0].equals("skus")) {
+                for (String sku : URLDecoder.decode(parts[1], StandardCharsets.UTF_8).split(",")) {
+                    requested.add(sku);
+                }
+            }
+        }
+        return requested;
+    }
+
+    private static String jsonArray(List<String> skus, Function<String, String> element) {
+        return "[" + String.join(",", skus.stream().map(element).toList()) + "]";
+    }
+}
@@ -0,0 +1,174 @@
+package br.com.fiap.msorders.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import br.com.fiap.msorders.application.cache.OrderCache;
+import br.com.fiap.msorders.application.outbox.OutboxWriter;
+import br.com.fiap.msorders.application.dto.OrderDto;
+import br.com.fiap.msorders.application.dto.OrderItemDto;
+import br.com.fiap.msorders.application.mapper.OrderItemMapper;
+import br.com.fiap.msorders.application.mapper.OrderMapper;
+import br.com.fiap.msorders.application.metrics.StageTimers;
+import br.com.fiap.msorders.application.service.OrderPaymentFinalizer;
+import br.com.fiap.msorders.application.service.OrderService;
+import br.com.fiap.msorders.application.service.OrderValidationService;
+import br.com.fiap.msorders.application.service.PixPaymentMonitor;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.infrastructure.integration.dto.StockDto;
+import br.com.fiap.msorders.infrastructure.integration.service.ClientServiceClient;
+import br.com.fiap.msorders.infrastructure.integration.service.PaymentServiceClient;
+import br.com.fiap.msorders.infrastructure.integration.service.ProductServiceClient;
+import br.com.fiap.msorders.infrastructure.integration.service.StockServiceClient;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderRepository;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderReadRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Time to complete {@code concurrency} simultaneous createOrder calls when every
+ * downstream call takes {@code latencyMs}. {@code platform} mirrors the default setup:
+ * 200 request threads (Tomcat's default) plus the bounded integration pool. {@code virtual}
+ * mirrors {@code spring.threads.virtual.enabled=true}: one virtual thread per request and
+ * per remote call. The save is stubbed, so only the remote wait is measured.
+ * <p>
+ * The {@code virtual} case needs a Java 21+ runtime; on older JVMs its setup fails and
+ * JMH reports the error for that parameter only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class OrderCreationThreadingBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String threading;
+
+    @Param({"1000"})
+    public int concurrency;
+
+    @Param({"50"})
+    public long latencyMs;
+
+    private Executor requestExecutor;
+    private Executor integrationExecutor;
+    private OrderService orderService;
+    private List<OrderDto> orders;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ClientServiceClient clientServiceClient = mock(ClientServiceClient.class, withSettings().stubOnly());
+        ProductServiceClient productServiceClient = mock(ProductServiceClient.class, withSettings().stubOnly());
+        StockServiceClient stockServiceClient = mock(StockServiceClient.class, withSettings().stubOnly());
+        OrderRepository orderRepository = mock(OrderRepository.class, withSettings().stubOnly());
+
+        doAnswer(invocation -> pause()).when(clientServiceClient).validateClientExists(anyLong());
+        doAnswer(invocation -> pause()).when(productServiceClient).validateSkus(anyList());
+        doAnswer(invocation -> {
+            pause();
+            Map<String, StockDto> stocks = new LinkedHashMap<>();
+            for (String sku : invocation.<List<String>>getArgument(0)) {
+                stocks.put(sku, new StockDto(1L, sku, 1_000));
+            }
+            return stocks;
+        }).when(stockServiceClient).searchStocks(anyList());
+
+        AtomicLong ids = new AtomicLong();
+        doAnswer(invocation -> {
+            OrderEntity entity = invocation.getArgument(0);
+            entity.setId(ids.incrementAndGet());
+            return entity;
+        }).when(orderRepository).save(any(OrderEntity.class));
+
+        if ("virtual".equals(threading)) {
+            requestExecutor = virtualThreads("request-");
+            integrationExecutor = virtualThreads("integration-");
+        } else {
+            requestExecutor = Executors.newFixedThreadPool(200);
+            // the application rejects when saturated; here callers run the task so the
+            // benchmark measures throughput of the pool rather than how many calls it rejects
+            integrationExecutor = new ThreadPoolExecutor(16, 64, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+
+        StageTimers stageTimers = new StageTimers(new SimpleMeterRegistry(), true);
+        OrderValidationService validationService = new OrderValidationService(clientServiceClient, productServiceClient,
+                stockServiceClient, integrationExecutor, 60_000, stageTimers);
+        orderService = new OrderService(orderRepository, new OrderMapper(new OrderItemMapper()), validationService,
+                mock(OutboxWriter.class, withSettings().stubOnly()), mock(PaymentServiceClient.class),
+                mock(OrderPaymentFinalizer.class), mock(PixPaymentMonitor.class), mock(OrderReadRepository.class),
+                mock(OrderCache.class), event -> { }, stageTimers);
+
+        orders = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            orders.add(new OrderDto(0L, i + 1L, Money.of("10"), null, null, null,
+                    List.of(new OrderItemDto(0L, 0L, "SKU-" + (i % 50), 1, Money.of("10")))));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (Executor executor : List.of(requestExecutor, integrationExecutor)) {
+            if (executor instanceof ExecutorService pool) {
+                pool.shutdownNow();
+            } else if (executor instanceof SimpleAsyncTaskExecutor virtual) {
+                virtual.close();
+            }
+        }
+    }
+
+    @Benchmark
+    public int createOrdersConcurrently() {
+        CompletableFuture<?>[] calls = orders.stream()
+                .map(order -> CompletableFuture.supplyAsync(() -> orderService.createOrder(order), requestExecutor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(calls).join();
+        return calls.length;
+    }
+
+    private static SimpleAsyncTaskExecutor virtualThreads(String prefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(prefix);
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    private Object pause() {
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(latencyMs));
+        return null;
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.fiap.msorders.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.tools.Server;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderItemEntity;
+
+/**
+ * Insert throughput for one order with {@code items} items, each order in its own
+ * transaction, using the real entity mappings and a plain Hibernate bootstrap.
+ * {@code batchSize=1} sends one INSERT per row, which is what IDENTITY ids forced;
+ * {@code batchSize=50} is the configured JDBC batching.
+ * <p>
+ * {@code h2} is embedded, so a statement costs no round trip and batching barely matters.
+ * {@code h2-postgres} starts an H2 TCP server on loopback in PostgreSQL compatibility mode
+ * as a stand-in for a PostgreSQL container: every statement crosses a socket, as it does
+ * in production. To measure a real server pass {@code -p url=jdbc:postgresql://...} with
+ * the driver on the classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class OrderInsertBenchmark {
+
+    @Param({"h2", "h2-postgres"})
+    public String url;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    @Param({"50"})
+    public int items;
+
+    private SessionFactory sessionFactory;
+    private Server server;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String jdbcUrl = switch (url) {
+            case "h2" -> "jdbc:h2:mem:orders-bench;DB_CLOSE_DELAY=-1";
+            case "h2-postgres" -> {
+                server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+                yield "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:orders-bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1";
+            }
+            default -> url;
+        };
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(OrderEntity.class)
+                .addAnnotatedClass(OrderItemEntity.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, jdbcUrl)
+                .setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy())
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(batchSize))
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .buildSessionFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Benchmark
+    public long insertOrder() {
+        OrderEntity order = new OrderEntity();
+        order.setClientId(1L);
+        order.setTotal(Money.of(BigDecimal.valueOf(items * 10L)));
+        order.setStatus(OrderStatus.CREATED);
+        order.setCreatedAt(LocalDateTime.now());
+        order.setUpdatedAt(order.getCreatedAt());
+        for (int i = 0; i < items; i++) {
+            order.addOrderItem(new OrderItemEntity(order, "SKU-" + i, 1, Money.of("10")));
+        }
+        sessionFactory.inTransaction(session -> session.persist(order));
+        return order.getId();
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.fiap.msorders.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.fiap.msorders.application.dto.OrderDto;
+import br.com.fiap.msorders.application.dto.OrderItemDto;
+import br.com.fiap.msorders.application.mapper.OrderItemMapper;
+import br.com.fiap.msorders.application.mapper.OrderMapper;
+import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.domain.model.Order;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
+
+/**
+ * Round trips through {@link OrderMapper} and {@link OrderItemMapper} for an order of
+ * {@code items} items: {@code dtoRoundTrip} is DTO to domain and back, as on the write
+ * path; {@code entityRoundTrip} is domain to entity and back, as around every save.
+ * Run with {@code -prof gc} to see the bytes allocated per order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderMapperBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int items;
+
+    private OrderMapper orderMapper;
+    private OrderDto dto;
+    private Order domain;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        orderMapper = new OrderMapper(new OrderItemMapper());
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderItemDto> itemDtos = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            itemDtos.add(new OrderItemDto(i + 1, 1L, "SKU-" + i, 1 + i % 5, Money.of("19.90")));
+        }
+        dto = new OrderDto(1L, 10L, Money.of("199.00"), OrderStatus.CREATED, now, now, itemDtos);
+        domain = orderMapper.toDomain(dto);
+    }
+
+    @Benchmark
+    public OrderDto dtoRoundTrip() {
+        return orderMapper.toDto(orderMapper.toDomain(dto));
+    }
+
+    @Benchmark
+    public Order entityRoundTrip() {
+        OrderEntity entity = orderMapper.toEntity(domain);
+        return orderMapper.toDomain(entity);
+    }
+}
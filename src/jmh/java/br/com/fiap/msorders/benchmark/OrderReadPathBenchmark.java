@@ -0,0 +1,119 @@
+package br.com.fiap.msorders.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.fiap.msorders.application.dto.OrderDto;
+import br.com.fiap.msorders.application.mapper.OrderItemMapper;
+import br.com.fiap.msorders.application.mapper.OrderMapper;
+import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.domain.model.OrderFilter;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderItemEntity;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderReadRepository;
+
+/**
+ * Reading a page of {@code orders} orders with {@code items} items each into DTOs, on
+ * embedded H2. {@code entityPath} loads managed entities with a fetch join and maps them
+ * entity, then domain, then DTO; {@code projectionPath} is {@link OrderReadRepository},
+ * which maps rows straight into the DTO records. Run with {@code -prof gc} to compare
+ * bytes allocated per operation alongside the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class OrderReadPathBenchmark {
+
+    private static final String URL = "jdbc:h2:mem:orders-read-bench;DB_CLOSE_DELAY=-1";
+
+    @Param({"100"})
+    public int orders;
+
+    @Param({"5"})
+    public int items;
+
+    private SessionFactory sessionFactory;
+    private OrderMapper orderMapper;
+    private OrderReadRepository orderReadRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(OrderEntity.class)
+                .addAnnotatedClass(OrderItemEntity.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, URL)
+                .setPhysicalNamingStrategy(new CamelCaseToUnderscoresNamingStrategy())
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.PREFERRED_POOLED_OPTIMIZER, "pooled-lo")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .buildSessionFactory();
+
+        sessionFactory.inTransaction(session -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < orders; i++) {
+                OrderEntity order = new OrderEntity();
+                order.setClientId(i % 10);
+                order.setTotal(Money.of(BigDecimal.valueOf(items * 10L)));
+                order.setStatus(OrderStatus.CREATED);
+                order.setCreatedAt(now);
+                order.setUpdatedAt(now);
+                for (int j = 0; j < items; j++) {
+                    order.addOrderItem(new OrderItemEntity(order, "SKU-" + j, 1, Money.of("10")));
+                }
+                session.persist(order);
+            }
+        });
+
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(URL);
+        orderReadRepository = new OrderReadRepository(dataSource, 500);
+        orderMapper = new OrderMapper(new OrderItemMapper());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public List<OrderDto> entityPath() {
+        return sessionFactory.fromTransaction(session -> session
+                .createSelectionQuery("SELECT DISTINCT o FROM OrderEntity o LEFT JOIN FETCH o.orderItems ORDER BY o.id",
+                        OrderEntity.class)
+                .getResultList()
+                .stream()
+                .map(orderMapper::toDomain)
+                .map(orderMapper::toDto)
+                .toList());
+    }
+
+    @Benchmark
+    public List<OrderDto> projectionPath() {
+        return orderReadRepository.findPage(OrderFilter.none(), 0L, orders);
+    }
+}
@@ -0,0 +1,135 @@
+package br.com.fiap.msorders.benchmark;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.http.ResponseEntity;
+
+import br.com.fiap.msorders.application.dto.OrderDto;
+import br.com.fiap.msorders.application.dto.OrderItemDto;
+import br.com.fiap.msorders.application.dto.OrderValidationResult;
+import br.com.fiap.msorders.application.metrics.StageTimers;
+import br.com.fiap.msorders.application.service.OrderValidationService;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.infrastructure.integration.client.StockClient;
+import br.com.fiap.msorders.infrastructure.integration.dto.StockDto;
+import br.com.fiap.msorders.infrastructure.integration.service.ClientServiceClient;
+import br.com.fiap.msorders.infrastructure.integration.service.ProductServiceClient;
+import br.com.fiap.msorders.infrastructure.integration.resilience.HedgedCalls;
+import br.com.fiap.msorders.infrastructure.integration.service.StockServiceClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import feign.FeignException;
+import feign.Request;
+
+/**
+ * Latency of the validation stage for a 20-item order against stubbed clients that
+ * sleep {@code latencyMs} per call. {@code sequential} runs every call on the caller
+ * thread, which is what createOrder did before the fan-out; {@code parallel} uses a
+ * bounded pool. With {@code stockBatch=false} ms-stock has no batch endpoint and the
+ * lookup falls back to one call per SKU. SampleTime mode reports p50/p99.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class OrderValidationBenchmark {
+
+    @Param({"sequential", "parallel"})
+    public String mode;
+
+    @Param({"false", "true"})
+    public boolean stockBatch;
+
+    @Param({"5"})
+    public long latencyMs;
+
+    @Param({"20"})
+    public int items;
+
+    private ExecutorService executor;
+    private OrderValidationService service;
+    private OrderDto order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ClientServiceClient clientServiceClient = mock(ClientServiceClient.class, withSettings().stubOnly());
+        ProductServiceClient productServiceClient = mock(ProductServiceClient.class, withSettings().stubOnly());
+        StockClient stockClient = mock(StockClient.class, withSettings().stubOnly());
+
+        doAnswer(invocation -> pause()).when(clientServiceClient).validateClientExists(anyLong());
+        doAnswer(invocation -> pause()).when(productServiceClient).validateSkus(anyList());
+        doAnswer(invocation -> {
+            pause();
+            return ResponseEntity.ok(new StockDto(1L, invocation.getArgument(0), 1_000));
+        }).when(stockClient).searchStock(anyString());
+        doAnswer(invocation -> {
+            if (!stockBatch) {
+                throw new FeignException.NotFound("Not Found",
+                        Request.create(Request.HttpMethod.POST, "/stocks/batch/search", Map.of(), null, StandardCharsets.UTF_8, null),
+                        null, Map.of());
+            }
+            pause();
+            return ResponseEntity.ok(invocation.<List<String>>getArgument(0).stream()
+                    .map(sku -> new StockDto(1L, sku, 1_000))
+                    .toList());
+        }).when(stockClient).searchStocks(anyList());
+
+        executor = Executors.newFixedThreadPool(32);
+        Executor integrationExecutor = "parallel".equals(mode) ? executor : Runnable::run;
+        StockServiceClient stockServiceClient = new StockServiceClient(stockClient, integrationExecutor,
+                new HedgedCalls(integrationExecutor, new SimpleMeterRegistry(), false, 0), Long.MAX_VALUE);
+        service = new OrderValidationService(clientServiceClient, productServiceClient, stockServiceClient,
+                integrationExecutor, 10_000, new StageTimers(new SimpleMeterRegistry(), true));
+
+        List<OrderItemDto> orderItems = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            orderItems.add(new OrderItemDto(0L, 0L, "SKU-" + i, 1, Money.of("10")));
+        }
+        order = new OrderDto(0L, 1L, Money.of("10"), null, null, null, orderItems);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public OrderValidationResult validateOrder() {
+        return service.validate(order);
+    }
+
+    private Object pause() {
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(latencyMs));
+        return null;
+    }
+}
@@ -0,0 +1,211 @@
+package br.com.fiap.msorders.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.fiap.msorders.application.metrics.StageTimers;
+import br.com.fiap.msorders.application.outbox.OutboxRelay;
+import br.com.fiap.msorders.application.outbox.OutboxWriter;
+import br.com.fiap.msorders.application.outbox.StockDecreaseOutboxHandler;
+import br.com.fiap.msorders.application.saga.StockCompensationSaga;
+import br.com.fiap.msorders.application.saga.StockReleaseOutboxHandler;
+import br.com.fiap.msorders.config.ClockConfig;
+import br.com.fiap.msorders.config.FlywayManualConfig;
+import br.com.fiap.msorders.config.IntegrationExecutorConfig;
+import br.com.fiap.msorders.config.ResilienceConfig;
+import br.com.fiap.msorders.domain.enums.OutboxMessageType;
+import br.com.fiap.msorders.domain.enums.OutboxStatus;
+import br.com.fiap.msorders.domain.enums.SagaState;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.infrastructure.integration.client.StockClient;
+import br.com.fiap.msorders.infrastructure.integration.resilience.DownstreamGuards;
+import br.com.fiap.msorders.infrastructure.integration.resilience.HedgedCalls;
+import br.com.fiap.msorders.infrastructure.integration.service.StockServiceClient;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderItemEntity;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OutboxMessageEntity;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderSagaRepository;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OutboxMessageRepository;
+import br.com.fiap.msorders.support.StubHttpServer;
+
+/**
+ * Time to put back the stock of {@code orders} orders whose payment failed, each with
+ * {@code items} items spread over {@code skus} SKUs, against a local ms-stock stub that
+ * takes {@code latencyMs} per request.
+ * <p>
+ * {@code perItem} is what the payment path used to do: one increase request per order
+ * item. {@code batched} starts one compensation saga per order, each in its own
+ * transaction as the payment path does, then runs the outbox relay until the backlog is
+ * empty; the relay sends one increase per batch of {@code outbox.relay.batch-size}
+ * orders. The tear-down prints the requests ms-stock received per invocation.
+ * <p>
+ * {@code batched} includes the saga's own database work, one short transaction per
+ * order, which in the application rides on the payment transaction that commits anyway.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class StockReleaseBenchmark {
+
+    @Param({"perItem", "batched"})
+    public String mode;
+
+    @Param({"10000"})
+    public int orders;
+
+    @Param({"3"})
+    public int items;
+
+    @Param({"50"})
+    public int skus;
+
+    /** Time ms-stock spends on each request, standing in for its own database write. */
+    @Param({"1"})
+    public long latencyMs;
+
+    /** The compensation path with its real database, relay and Feign client, nothing else. */
+    @Configuration
+    @EnableAutoConfiguration
+    @EnableFeignClients(clients = StockClient.class)
+    @EntityScan(basePackageClasses = OutboxMessageEntity.class)
+    @EnableJpaRepositories(basePackageClasses = OutboxMessageRepository.class)
+    @Import({ ClockConfig.class, FlywayManualConfig.class, IntegrationExecutorConfig.class, ResilienceConfig.class,
+            DownstreamGuards.class, HedgedCalls.class, StockServiceClient.class, OutboxWriter.class, OutboxRelay.class,
+            StockDecreaseOutboxHandler.class, StockReleaseOutboxHandler.class, StockCompensationSaga.class,
+            StageTimers.class })
+    static class CompensationConfig {
+    }
+
+    private StubHttpServer msStock;
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private OutboxMessageRepository outboxMessageRepository;
+    private OrderSagaRepository orderSagaRepository;
+    private StockCompensationSaga saga;
+    private OutboxRelay relay;
+    private StockServiceClient stockServiceClient;
+    private List<OrderEntity> failedOrders;
+    private int invocations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        msStock = StubHttpServer.start()
+                .stub("POST", "/stocks/increase", 200, "")
+                .stub("POST", "/stocks/batch/increase", 200, "")
+                .withLatency(latencyMs);
+
+        context = new SpringApplicationBuilder(CompensationConfig.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                // command-line arguments so they win over application.properties
+                .run("--spring.datasource.url=jdbc:h2:mem:stock-release-bench;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--ms.stock.url=" + msStock.baseUrl(),
+                        // the benchmark drives the relay itself
+                        "--outbox.relay.enabled=false");
+
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        outboxMessageRepository = context.getBean(OutboxMessageRepository.class);
+        orderSagaRepository = context.getBean(OrderSagaRepository.class);
+        saga = context.getBean(StockCompensationSaga.class);
+        relay = context.getBean(OutboxRelay.class);
+        stockServiceClient = context.getBean(StockServiceClient.class);
+
+        failedOrders = new ArrayList<>();
+        for (long orderId = 1; orderId <= orders; orderId++) {
+            OrderEntity order = new OrderEntity();
+            order.setId(orderId);
+            for (int i = 0; i < items; i++) {
+                order.addOrderItem(new OrderItemEntity(order, "SKU-" + ((orderId + i) % skus), 1, Money.of("10")));
+            }
+            failedOrders.add(order);
+        }
+    }
+
+    /** Every order starts with its stock reservation already sent and no saga. */
+    @Setup(Level.Invocation)
+    public void reserveStock() {
+        orderSagaRepository.deleteAllInBatch();
+        outboxMessageRepository.deleteAllInBatch();
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessageEntity> reservations = new ArrayList<>();
+        for (OrderEntity order : failedOrders) {
+            OutboxMessageEntity reservation = new OutboxMessageEntity();
+            reservation.setType(OutboxMessageType.STOCK_DECREASE);
+            reservation.setOrderId(order.getId());
+            reservation.setMessageKey("order-" + order.getId() + "-stock-decrease");
+            reservation.setPayload("[]");
+            reservation.setStatus(OutboxStatus.SENT);
+            reservation.setAvailableAt(now);
+            reservation.setCreatedAt(now);
+            reservation.setSentAt(now);
+            reservations.add(reservation);
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxMessageRepository.saveAll(reservations));
+        invocations++;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n[%s] ms-stock requests per invocation=%d%n", mode,
+                msStock.requestCount() / Math.max(invocations, 1));
+        context.close();
+        msStock.close();
+    }
+
+    @Benchmark
+    public long releaseStock() {
+        if ("perItem".equals(mode)) {
+            for (OrderEntity order : failedOrders) {
+                for (OrderItemEntity item : order.getOrderItems()) {
+                    stockServiceClient.increaseStock(item.getProductSku(), item.getQuantity());
+                }
+            }
+            return failedOrders.size();
+        }
+
+        for (OrderEntity order : failedOrders) {
+            transactionTemplate.executeWithoutResult(status -> saga.begin(order));
+        }
+        while (relay.relayOnce() > 0) {
+            // drain the release backlog
+        }
+        long compensated = orderSagaRepository.countByState(SagaState.COMPENSATED);
+        if (compensated != orders) {
+            throw new IllegalStateException("Only " + compensated + " of " + orders + " orders compensated");
+        }
+        return compensated;
+    }
+}
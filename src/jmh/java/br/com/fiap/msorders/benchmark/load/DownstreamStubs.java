@@ -0,0 +1,113 @@
+package br.com.fiap.msorders.benchmark.load;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.fiap.msorders.support.StubHttpServer;
+import br.com.fiap.msorders.support.StubHttpServer.RecordedRequest;
+import br.com.fiap.msorders.support.StubHttpServer.Response;
+
+/**
+ * In-process ms-clients, ms-products, ms-stock and ms-payments answering every route
+ * ms-orders calls. Each one takes {@code <service>.latency-ms} per request and answers
+ * {@code 500} to a random {@code <service>.error-rate} share of them; otherwise every
+ * client exists, every SKU has ample stock and every payment is approved.
+ */
+class DownstreamStubs implements AutoCloseable {
+
+    static final List<String> SERVICES = List.of("ms-clients", "ms-products", "ms-stock", "ms-payments");
+
+    private static final TypeReference<List<String>> SKUS = new TypeReference<>() {};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, StubHttpServer> stubs = new LinkedHashMap<>();
+
+    DownstreamStubs(LoadTestSettings settings) {
+        for (String service : SERVICES) {
+            stubs.put(service, StubHttpServer.start()
+                    .withoutRecording()
+                    .withLatency(settings.latencyMs(service)));
+        }
+        route("ms-clients", settings, "GET", "/clients/*", request -> ok(""));
+        route("ms-products", settings, "GET", "/products/sku", request -> ok(jsonArray(requestedSkus(request.query()),
+                sku -> "{\"id\":1,\"name\":\"p\",\"productSku\":\"" + sku + "\",\"price\":10}")));
+        // later routes win, so the catch-all for decrease and increase goes first
+        route("ms-stock", settings, "POST", "/stocks/*", request -> ok(""));
+        route("ms-stock", settings, "POST", "/stocks/batch/search", request -> ok(jsonArray(readSkus(request.body()),
+                sku -> "{\"id\":1,\"sku\":\"" + sku + "\",\"quantity\":1000000000}")));
+        route("ms-stock", settings, "GET", "/stocks/sku/*", request -> ok(
+                "{\"id\":1,\"sku\":\"" + request.path().substring("/stocks/sku/".length())
+                        + "\",\"quantity\":1000000000}"));
+        route("ms-payments", settings, "POST", "/payment/generateToken", request -> ok(
+                "{\"access_token\":\"token\",\"token_type\":\"Bearer\",\"expires_in\":3600,\"scope\":\"oob\"}"));
+        route("ms-payments", settings, "POST", "/payment/card", request -> ok(
+                "{\"paymentId\":\"p-1\",\"status\":\"APPROVED\",\"description\":\"ok\",\"authorizationCode\":\"123\","
+                        + "\"amount\":10.0,\"currency\":\"BRL\",\"orderId\":\"1\"}"));
+        route("ms-payments", settings, "POST", "/payment/generateQR", request -> ok(
+                "{\"paymentId\":\"p-1\",\"status\":\"PENDING\",\"description\":\"ok\",\"additionalData\":{}}"));
+        route("ms-payments", settings, "GET", "/payment/*", request -> ok("{\"status\":\"APPROVED\"}"));
+    }
+
+    String baseUrl(String service) {
+        return stubs.get(service).baseUrl();
+    }
+
+    Map<String, Integer> requestCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        stubs.forEach((service, stub) -> counts.put(service, stub.requestCount()));
+        return counts;
+    }
+
+    @Override
+    public void close() {
+        stubs.values().forEach(StubHttpServer::close);
+    }
+
+    private void route(String service, LoadTestSettings settings, String method, String path,
+            Function<RecordedRequest, Response> handler) {
+        double errorRate = settings.errorRate(service);
+        stubs.get(service).stub(method, path, request -> ThreadLocalRandom.current().nextDouble() < errorRate
+                ? new Response(500, "")
+                : handler.apply(request));
+    }
+
+    private List<String> readSkus(String body) {
+        try {
+            return objectMapper.readValue(body, SKUS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unreadable SKU list: " + body, e);
+        }
+    }
+
+    private static Response ok(String body) {
+        return new Response(200, body);
+    }
+
+    /** The {@code skus} query parameter, repeated or comma-separated. */
+    private static List<String> requestedSkus(String query) {
+        List<String> requested = new ArrayList<>();
+        for (String pair : query == null ? new String[0] : query.split("&")) {
+            String[] parts = pair.split("=", 2);
+            if (parts.length == 2 && parts[0].equals("skus")) {
+                for (String sku : URLDecoder.decode(parts[1], StandardCharsets.UTF_8).split(",")) {
+                    requested.add(sku);
+                }
+            }
+        }
+        return requested;
+    }
+
+    private static String jsonArray(List<String> skus, Function<String, String> element) {
+        return "[" + String.join(",", skus.stream().map(element).toList()) + "]";
+    }
+}
@@ -0,0 +1,225 @@
+package br.com.fiap.msorders.benchmark.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.fiap.msorders.MsOrdersApplication;
+
+/**
+ * Load test of {@code POST /orders} and {@code POST /orders/{id}/payment} on one box, with
+ * nothing but the JDK and this project's classpath. It starts the whole ms-orders
+ * application on a random port against {@link DownstreamStubs}, drives both endpoints
+ * with an {@link OpenLoadGenerator} each, and writes throughput, error rate and latency
+ * percentiles per endpoint to a JSON report ({@code target/load-report.json} by default).
+ * <p>
+ * Payments go to orders created earlier in the same run, each order paid once. With
+ * {@code --load.payment-method=PIX} every accepted checkout is also followed until its
+ * order is final ({@link PixCheckoutTracker}), and the report gains how many checkouts
+ * were open at once and how long they took. Run it through the {@code benchmark} profile:
+ * <pre>
+ * ./mvnw -Pbenchmark test-compile exec:exec@load-test \
+ *     -Dload.args="--load.orders-rate=200 --load.payments-rate=100 --load.ms-payments.latency-ms=80"
+ * </pre>
+ * See {@link LoadTestSettings} for every option; other {@code --key=value} arguments are
+ * passed on to ms-orders as application properties.
+ */
+public final class LoadTestHarness {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        Map<String, Object> report;
+        try (DownstreamStubs stubs = new DownstreamStubs(settings);
+                ConfigurableApplicationContext app = start(stubs, settings)) {
+            String baseUrl = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+            report = run(settings, baseUrl);
+            report.put("downstreamRequests", stubs.requestCounts());
+        }
+
+        Path reportPath = settings.reportPath();
+        Path parent = reportPath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(reportPath.toFile(), report);
+        System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+        System.out.println("Report written to " + reportPath.toAbsolutePath());
+        // HttpClient and stub threads are not daemons
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext start(DownstreamStubs stubs, LoadTestSettings settings) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:load-test;DB_CLOSE_DELAY=-1");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("ms.clients.url", stubs.baseUrl("ms-clients"));
+        properties.put("ms.products.url", stubs.baseUrl("ms-products"));
+        properties.put("ms.stock.url", stubs.baseUrl("ms-stock"));
+        properties.put("ms.payments.url", stubs.baseUrl("ms-payments"));
+        properties.putAll(settings.values());
+
+        // command-line arguments so they win over application.properties
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(MsOrdersApplication.class)
+                .logStartupInfo(false)
+                .initializers(context -> context.getBeanFactory().registerSingleton("mainClassesOnly",
+                        new MainClassesOnly()))
+                .run(args);
+    }
+
+    private static Map<String, Object> run(LoadTestSettings settings, String baseUrl) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        Duration requestTimeout = Duration.ofMillis(settings.requestTimeoutMs());
+        Queue<Long> payableOrders = new ConcurrentLinkedQueue<>();
+        AtomicLong orderSequence = new AtomicLong();
+
+        OpenLoadGenerator orders = new OpenLoadGenerator("POST /orders", httpClient, settings.ordersRate(),
+                () -> HttpRequest.newBuilder(URI.create(baseUrl + "/orders"))
+                        .timeout(requestTimeout)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(orderJson(orderSequence.incrementAndGet(), settings)))
+                        .build(),
+                (response, dueNanos) -> payableOrders.add(readId(response)),
+                settings.maxInFlight());
+        boolean pix = "PIX".equals(settings.paymentMethod());
+        PixCheckoutTracker[] tracker = new PixCheckoutTracker[1];
+        OpenLoadGenerator payments = new OpenLoadGenerator("POST /orders/{id}/payment", httpClient,
+                settings.paymentsRate(),
+                () -> {
+                    Long orderId = payableOrders.poll();
+                    return orderId == null ? null : HttpRequest.newBuilder(URI.create(
+                                    baseUrl + "/orders/" + orderId + "/payment?paymentMethod=" + settings.paymentMethod()))
+                            .timeout(requestTimeout)
+                            .POST(HttpRequest.BodyPublishers.noBody())
+                            .build();
+                },
+                (response, dueNanos) -> {
+                    if (pix) {
+                        tracker[0].accepted(response, dueNanos);
+                    }
+                },
+                settings.maxInFlight());
+        tracker[0] = new PixCheckoutTracker(httpClient, baseUrl, payments::inFlight);
+        List<OpenLoadGenerator> generators = List.of(orders, payments);
+
+        long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(settings.warmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(settings.durationSeconds());
+        Instant startedAt = Instant.now();
+
+        ExecutorService drivers = Executors.newFixedThreadPool(generators.size());
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        if (pix) {
+            sampler.scheduleWithFixedDelay(tracker[0]::sample, 1, 1, TimeUnit.SECONDS);
+        }
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (OpenLoadGenerator generator : generators) {
+                running.add(drivers.submit(() -> generator.run(start, measureFrom, end)));
+            }
+            for (Future<?> driver : running) {
+                driver.get();
+            }
+        } finally {
+            drivers.shutdownNow();
+        }
+        boolean drained = true;
+        for (OpenLoadGenerator generator : generators) {
+            drained &= generator.awaitInFlight(settings.requestTimeoutMs() + 1_000);
+        }
+        sampler.shutdown();
+        sampler.awaitTermination(10, TimeUnit.SECONDS);
+        boolean settled = !pix || tracker[0].settleAll(1_000, TimeUnit.SECONDS.toMillis(settings.pixSettleSeconds()));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", startedAt.toString());
+        report.put("settings", settings.describe());
+        report.put("drained", drained);
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (OpenLoadGenerator generator : generators) {
+            endpoints.put(generator.endpoint(), generator.report(settings.durationSeconds()));
+        }
+        report.put("endpoints", endpoints);
+        if (pix) {
+            Map<String, Object> checkouts = tracker[0].report();
+            checkouts.put("settled", settled);
+            report.put("pixCheckouts", checkouts);
+        }
+        return report;
+    }
+
+    /** Order {@code n} of the run: clients and SKUs rotate so caches see a realistic spread. */
+    private static String orderJson(long n, LoadTestSettings settings) {
+        StringBuilder json = new StringBuilder()
+                .append("{\"clientId\":").append(n % settings.clients() + 1)
+                .append(",\"items\":[");
+        for (int i = 0; i < settings.items(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"productSku\":\"SKU-").append((n + i) % settings.skus())
+                    .append("\",\"quantity\":1,\"price\":10.00}");
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Keeps the component scan of {@link MsOrdersApplication} to the application itself:
+     * test and benchmark classes are on the classpath too, and their nested configurations
+     * would otherwise be picked up.
+     */
+    private static final class MainClassesOnly extends TypeExcludeFilter {
+
+        @Override
+        public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory)
+                throws IOException {
+            return metadataReader.getResource().getURI().toString().contains("/test-classes/");
+        }
+    }
+
+    private static long readId(HttpResponse<String> response) {
+        try {
+            return objectMapper.readTree(response.body()).get("id").asLong();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable order: " + response.body(), e);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.fiap.msorders.benchmark.load;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@code --load.*} arguments of a run. Every argument is also handed to ms-orders, so
+ * application properties can be overridden the same way ({@code --orders.cache.ttl-seconds=0}).
+ * Stub latency and error rate default to {@code load.stub-latency-ms} and
+ * {@code load.stub-error-rate} and can be set per service, e.g.
+ * {@code --load.ms-payments.latency-ms=150}.
+ */
+record LoadTestSettings(Map<String, String> values) {
+
+    static LoadTestSettings parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int separator = arg.indexOf('=');
+                values.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return new LoadTestSettings(values);
+    }
+
+    /** Requests per second sent to {@code POST /orders}. */
+    double ordersRate() {
+        return number("load.orders-rate", 50);
+    }
+
+    /** Requests per second sent to {@code POST /orders/{id}/payment}, each for an order created earlier in the run. */
+    double paymentsRate() {
+        return number("load.payments-rate", 25);
+    }
+
+    String paymentMethod() {
+        return values.getOrDefault("load.payment-method", "CARD");
+    }
+
+    /** How long PIX checkouts still open when the load stops are given to reach a final status. */
+    long pixSettleSeconds() {
+        return (long) number("load.pix-settle-seconds", 45);
+    }
+
+    long warmupSeconds() {
+        return (long) number("load.warmup-seconds", 10);
+    }
+
+    long durationSeconds() {
+        return (long) number("load.duration-seconds", 60);
+    }
+
+    int items() {
+        return (int) number("load.items", 3);
+    }
+
+    int skus() {
+        return (int) number("load.skus", 50);
+    }
+
+    int clients() {
+        return (int) number("load.clients", 1000);
+    }
+
+    /** Requests still waiting for an answer beyond which new arrivals are dropped and counted. */
+    int maxInFlight() {
+        return (int) number("load.max-in-flight", 2000);
+    }
+
+    long requestTimeoutMs() {
+        return (long) number("load.request-timeout-ms", 10_000);
+    }
+
+    long latencyMs(String service) {
+        return (long) number("load." + service + ".latency-ms", number("load.stub-latency-ms", 5));
+    }
+
+    double errorRate(String service) {
+        return number("load." + service + ".error-rate", number("load.stub-error-rate", 0));
+    }
+
+    Path reportPath() {
+        return Path.of(values.getOrDefault("load.report", "target/load-report.json"));
+    }
+
+    /** What the run was configured with, for the report. */
+    Map<String, Object> describe() {
+        Map<String, Object> described = new LinkedHashMap<>();
+        described.put("ordersRate", ordersRate());
+        described.put("paymentsRate", paymentsRate());
+        described.put("paymentMethod", paymentMethod());
+        described.put("pixSettleSeconds", pixSettleSeconds());
+        described.put("warmupSeconds", warmupSeconds());
+        described.put("durationSeconds", durationSeconds());
+        described.put("items", items());
+        described.put("skus", skus());
+        described.put("clients", clients());
+        described.put("maxInFlight", maxInFlight());
+        described.put("requestTimeoutMs", requestTimeoutMs());
+        Map<String, Object> stubs = new LinkedHashMap<>();
+        for (String service : DownstreamStubs.SERVICES) {
+            stubs.put(service, Map.of("latencyMs", latencyMs(service), "errorRate", errorRate(service)));
+        }
+        described.put("stubs", stubs);
+        return described;
+    }
+
+    private double number(String key, double defaultValue) {
+        String value = values.get(key);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+}
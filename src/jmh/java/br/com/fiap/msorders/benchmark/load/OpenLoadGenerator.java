@@ -0,0 +1,160 @@
+package br.com.fiap.msorders.benchmark.load;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Sends requests to one endpoint at a fixed arrival rate, whether or not earlier ones
+ * have been answered (an open workload). Latency is measured from the time a request was
+ * due to be sent, not from when it actually left, so a stalled server shows up in the
+ * percentiles instead of silently lowering the offered load.
+ * <p>
+ * Only requests due after the warm-up are counted. When {@code maxInFlight} requests are
+ * already waiting, a new arrival is dropped and counted rather than queued; when the
+ * request supplier has nothing to send (no order left to pay), the arrival is skipped.
+ * {@code onSuccess} gets every 2xx answer with the time its request was due.
+ */
+class OpenLoadGenerator {
+
+    private final String endpoint;
+    private final HttpClient httpClient;
+    private final double ratePerSecond;
+    private final Supplier<HttpRequest> requests;
+    private final ObjLongConsumer<HttpResponse<String>> onSuccess;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+
+    private final Recorder latencyMicros = new Recorder(3);
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+
+    OpenLoadGenerator(String endpoint, HttpClient httpClient, double ratePerSecond, Supplier<HttpRequest> requests,
+            ObjLongConsumer<HttpResponse<String>> onSuccess, int maxInFlight) {
+        this.endpoint = endpoint;
+        this.httpClient = httpClient;
+        this.ratePerSecond = ratePerSecond;
+        this.requests = requests;
+        this.onSuccess = onSuccess;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    /** Sends arrivals due from {@code startNanos} until {@code endNanos}; counts those due from {@code measureFromNanos}. */
+    void run(long startNanos, long measureFromNanos, long endNanos) {
+        if (ratePerSecond <= 0) {
+            return;
+        }
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        for (long arrival = 0; ; arrival++) {
+            long due = startNanos + arrival * intervalNanos;
+            if (due >= endNanos) {
+                return;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(due, due >= measureFromNanos);
+        }
+    }
+
+    /** Requests sent and not answered yet. */
+    int inFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    /** Waits for the requests still in flight; returns false if some did not finish in time. */
+    boolean awaitInFlight(long timeoutMs) throws InterruptedException {
+        if (!inFlight.tryAcquire(maxInFlight, timeoutMs, TimeUnit.MILLISECONDS)) {
+            return false;
+        }
+        inFlight.release(maxInFlight);
+        return true;
+    }
+
+    /**
+     * Counts, throughput over {@code seconds}, error rate and latency percentiles in
+     * milliseconds. Dropped arrivals count as errors in the error rate. Answers that
+     * arrive after this call are left out of the percentiles.
+     */
+    Map<String, Object> report(double seconds) {
+        Histogram latency = latencyMicros.getIntervalHistogram();
+        long attempted = sent.get() + dropped.get();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("sent", sent.get());
+        report.put("succeeded", succeeded.get());
+        report.put("errors", errors.get());
+        // sent but not answered by the time the report was taken
+        report.put("unfinished", sent.get() - succeeded.get() - errors.get());
+        report.put("dropped", dropped.get());
+        report.put("skipped", skipped.get());
+        report.put("throughputPerSecond", round(succeeded.get() / seconds));
+        report.put("errorRate", attempted == 0 ? 0.0 : round((double) (errors.get() + dropped.get()) / attempted));
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        percentiles.put("p50", millis(latency.getValueAtPercentile(50)));
+        percentiles.put("p90", millis(latency.getValueAtPercentile(90)));
+        percentiles.put("p99", millis(latency.getValueAtPercentile(99)));
+        percentiles.put("p999", millis(latency.getValueAtPercentile(99.9)));
+        percentiles.put("max", millis(latency.getMaxValue()));
+        percentiles.put("mean", round(latency.getMean() / 1_000));
+        report.put("latencyMs", percentiles);
+        return report;
+    }
+
+    private void send(long dueNanos, boolean measured) {
+        HttpRequest request = requests.get();
+        if (request == null) {
+            count(skipped, measured);
+            return;
+        }
+        if (!inFlight.tryAcquire()) {
+            count(dropped, measured);
+            return;
+        }
+        count(sent, measured);
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            inFlight.release();
+            boolean success = error == null && response.statusCode() / 100 == 2;
+            if (success) {
+                onSuccess.accept(response, dueNanos);
+            }
+            if (measured) {
+                latencyMicros.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - dueNanos));
+                (success ? succeeded : errors).incrementAndGet();
+            }
+        });
+    }
+
+    private static void count(AtomicLong counter, boolean measured) {
+        if (measured) {
+            counter.incrementAndGet();
+        }
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1_000) / 1_000.0;
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.fiap.msorders.benchmark.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Follows PIX checkouts from the moment their payment request was due until the order
+ * reaches a final status, whether that happens inside the request (confirmation polled on
+ * the request thread) or afterwards (confirmation polled in the background). Open
+ * checkouts are the payment requests still in flight plus the accepted orders not yet
+ * final; their peak is how many concurrent checkouts the instance was holding.
+ */
+class PixCheckoutTracker {
+
+    private static final Set<String> FINAL = Set.of("CLOSED_SUCCESS", "FAILED_NOT_PAID", "FAILED_NOT_STOCK",
+            "CANCELLED");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final IntSupplier paymentsInFlight;
+
+    private final Map<Long, Long> open = new ConcurrentHashMap<>();
+    private final Map<String, Integer> outcomes = new ConcurrentHashMap<>();
+    private final Histogram confirmMillis = new Histogram(3);
+    private volatile int peakOpen;
+    private volatile long samples;
+    private volatile long openSum;
+
+    PixCheckoutTracker(HttpClient httpClient, String baseUrl, IntSupplier paymentsInFlight) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.paymentsInFlight = paymentsInFlight;
+    }
+
+    /**
+     * The payment request due at {@code dueNanos} was answered. The order id comes from the
+     * request path; the status from the body when it is an order, otherwise it is looked up.
+     */
+    void accepted(HttpResponse<String> response, long dueNanos) {
+        String path = response.request().uri().getPath();
+        long orderId = Long.parseLong(path.substring("/orders/".length(), path.lastIndexOf('/')));
+        String status = bodyStatus(response.body());
+        if (FINAL.contains(status)) {
+            settle(status, dueNanos);
+        } else {
+            open.put(orderId, dueNanos);
+        }
+    }
+
+    /** Checks every open checkout once and samples how many are open; called from one thread at a time. */
+    void sample() {
+        for (Map.Entry<Long, Long> checkout : open.entrySet()) {
+            String status = status(checkout.getKey());
+            if (FINAL.contains(status) && open.remove(checkout.getKey()) != null) {
+                settle(status, checkout.getValue());
+            }
+        }
+        int current = open.size() + paymentsInFlight.getAsInt();
+        peakOpen = Math.max(peakOpen, current);
+        samples++;
+        openSum += current;
+    }
+
+    /** Keeps sampling every {@code periodMs} until every checkout is final or {@code timeoutMs} passes. */
+    boolean settleAll(long periodMs, long timeoutMs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (System.nanoTime() < deadline) {
+            sample();
+            if (open.isEmpty() && paymentsInFlight.getAsInt() == 0) {
+                return true;
+            }
+            Thread.sleep(periodMs);
+        }
+        return false;
+    }
+
+    Map<String, Object> report() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("peakOpenCheckouts", peakOpen);
+        report.put("meanOpenCheckouts", samples == 0 ? 0.0 : Math.round(openSum * 10.0 / samples) / 10.0);
+        report.put("stillOpen", open.size());
+        report.put("outcomes", new LinkedHashMap<>(outcomes));
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        synchronized (confirmMillis) {
+            percentiles.put("p50", confirmMillis.getValueAtPercentile(50));
+            percentiles.put("p99", confirmMillis.getValueAtPercentile(99));
+            percentiles.put("max", confirmMillis.getMaxValue());
+        }
+        report.put("timeToFinalStatusMs", percentiles);
+        return report;
+    }
+
+    private void settle(String status, long dueNanos) {
+        outcomes.merge(status, 1, Integer::sum);
+        synchronized (confirmMillis) {
+            confirmMillis.recordValue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - dueNanos));
+        }
+    }
+
+    private String bodyStatus(String body) {
+        try {
+            return objectMapper.readTree(body).path("status").asText();
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    private String status(long orderId) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/orders/" + orderId))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() == 200 ? bodyStatus(response.body()) : "";
+        } catch (IOException e) {
+            return "";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "";
+        }
+    }
+}
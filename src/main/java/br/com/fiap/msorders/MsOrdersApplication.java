@@ -5,10 +5,12 @@ import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @AutoConfigureAfter(FlywayAutoConfiguration.class)
 @EnableFeignClients(basePackages = "br.com.fiap.msorders.infrastructure.integration.client")
+@EnableScheduling
 public class MsOrdersApplication {
 
 	public static void main(String[] args) {
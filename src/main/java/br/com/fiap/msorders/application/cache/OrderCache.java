@@ -0,0 +1,100 @@
+package br.com.fiap.msorders.application.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import br.com.fiap.msorders.application.dto.OrderDto;
+import br.com.fiap.msorders.application.event.OrderChangedEvent;
+import br.com.fiap.msorders.domain.enums.OrderStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * In-process cache of {@link OrderDto} by order id, bounded by size (W-TinyLFU eviction)
+ * and by a per-entry TTL: orders in a terminal status practically never change and are
+ * kept much longer than orders still in progress.
+ * <p>
+ * Entries are dropped on every {@link OrderChangedEvent}: once when the event is published
+ * and again after the writing transaction commits. The second eviction waits for any load
+ * of the same id still in progress, so a read that started before the commit cannot leave
+ * the old version behind.
+ */
+@Component
+public class OrderCache {
+
+    private static final Set<OrderStatus> TERMINAL_STATUSES =
+            EnumSet.of(OrderStatus.CLOSED_SUCCESS, OrderStatus.FAILED_NOT_STOCK, OrderStatus.CANCELLED);
+
+    private final Cache<Long, OrderDto> cache;
+
+    public OrderCache(MeterRegistry meterRegistry, Clock clock,
+            @Value("${orders.cache.max-size:10000}") long maxSize,
+            @Value("${orders.cache.ttl-seconds:30}") long ttlSeconds,
+            @Value("${orders.cache.terminal-ttl-seconds:3600}") long terminalTtlSeconds) {
+        long ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        long terminalTtlNanos = Duration.ofSeconds(terminalTtlSeconds).toNanos();
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<Long, OrderDto>() {
+                    @Override
+                    public long expireAfterCreate(Long id, OrderDto order, long currentTime) {
+                        return TERMINAL_STATUSES.contains(order.status()) ? terminalTtlNanos : ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long id, OrderDto order, long currentTime, long currentDuration) {
+                        return expireAfterCreate(id, order, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long id, OrderDto order, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "orders");
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", "orders")
+                .description("Fraction of order lookups served from the cache")
+                .register(meterRegistry);
+    }
+
+    /** Returns the cached order or loads it; an empty load result is not cached. */
+    public Optional<OrderDto> get(long id, LongFunction<Optional<OrderDto>> loader) {
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @EventListener
+    public void evictOnChange(OrderChangedEvent event) {
+        cache.invalidate(event.orderId());
+    }
+
+    @TransactionalEventListener
+    public void evictAfterCommit(OrderChangedEvent event) {
+        cache.invalidate(event.orderId());
+    }
+}
@@ -0,0 +1,8 @@
+package br.com.fiap.msorders.application.dto;
+
+/**
+ * Outcome of one order of a batch, {@code index} being its position in the request.
+ * {@code order} is the persisted order (possibly {@code FAILED_NOT_STOCK}); when the order
+ * was rejected it is {@code null} and {@code error} says why.
+ */
+public record OrderBatchResultDto(int index, OrderDto order, String error) {}
@@ -1,15 +1,20 @@
 package br.com.fiap.msorders.application.dto;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
 import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.model.Money;
 
 public record OrderDto(
     long id,  
     long clientId,  
-    BigDecimal total,  
+    @JsonSerialize(using = MoneyJson.Serializer.class)
+    @JsonDeserialize(using = MoneyJson.Deserializer.class)
+    Money total,  
     OrderStatus status,  
     LocalDateTime createdAt,  
     LocalDateTime updatedAt,  
@@ -1,11 +1,16 @@
 package br.com.fiap.msorders.application.dto;
 
-import java.math.BigDecimal;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import br.com.fiap.msorders.domain.model.Money;
 
 public record OrderItemDto(
     long id,
     long orderId,
     String productSku,
     Integer quantity,
-    BigDecimal price
-) {}
\ No newline at end of file
+    @JsonSerialize(using = MoneyJson.Serializer.class)
+    @JsonDeserialize(using = MoneyJson.Deserializer.class)
+    Money price
+) {}
@@ -0,0 +1,9 @@
+package br.com.fiap.msorders.application.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset listing. {@code nextAfter} is the id to pass as {@code after}
+ * for the next page, or {@code null} on the last page.
+ */
+public record OrderPageDto(List<OrderDto> orders, Long nextAfter) {}
@@ -0,0 +1,15 @@
+package br.com.fiap.msorders.application.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import br.com.fiap.msorders.infrastructure.integration.dto.StockDto;
+
+public record OrderValidationResult(
+    Map<String, StockDto> stocks,
+    List<String> insufficientSkus
+) {
+    public boolean hasSufficientStock() {
+        return insufficientSkus.isEmpty();
+    }
+}
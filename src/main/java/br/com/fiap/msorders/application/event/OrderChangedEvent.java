@@ -0,0 +1,7 @@
+package br.com.fiap.msorders.application.event;
+
+/**
+ * Published by every write path that changes an order or its items, so read-side copies
+ * of the order (e.g. {@link br.com.fiap.msorders.application.cache.OrderCache}) can be dropped.
+ */
+public record OrderChangedEvent(long orderId) {}
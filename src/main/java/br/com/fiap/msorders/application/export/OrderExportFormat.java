@@ -0,0 +1,29 @@
+package br.com.fiap.msorders.application.export;
+
+public enum OrderExportFormat {
+
+    /** One order per line, items nested, same shape as {@code GET /orders}. */
+    NDJSON("application/x-ndjson"),
+
+    /** One line per item with its order's columns repeated; orders without items get one line. */
+    CSV("text/csv");
+
+    private final String contentType;
+
+    OrderExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public static OrderExportFormat from(String name) {
+        for (OrderExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown export format '" + name + "'. Use 'ndjson' or 'csv'.");
+    }
+}
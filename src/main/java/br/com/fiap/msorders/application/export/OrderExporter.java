@@ -0,0 +1,149 @@
+package br.com.fiap.msorders.application.export;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import br.com.fiap.msorders.application.dto.OrderDto;
+import br.com.fiap.msorders.application.dto.OrderItemDto;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.domain.model.OrderFilter;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderReadRepository;
+
+/**
+ * Writes every order created in {@code [since, until)} with its items, as NDJSON or CSV.
+ * <p>
+ * Rows come from {@link OrderReadRepository#stream}, a forward-only cursor read
+ * {@code orders.stream.fetch-size} rows at a time, and each order is written as soon as
+ * it is complete. Output goes through one buffer of {@code orders.export.buffer-bytes}
+ * that is flushed only when full: once the client stops reading, the flush blocks and so
+ * does the cursor. Memory use is the same for ten orders or ten million.
+ */
+@Component
+public class OrderExporter {
+
+    static final String CSV_HEADER =
+            "order_id,client_id,status,total,created_at,updated_at,item_id,product_sku,quantity,price\n";
+
+    private final OrderReadRepository orderReadRepository;
+    private final ObjectWriter jsonWriter;
+    private final int bufferBytes;
+
+    public OrderExporter(OrderReadRepository orderReadRepository, ObjectMapper objectMapper,
+            @Value("${orders.export.buffer-bytes:65536}") int bufferBytes) {
+        this.orderReadRepository = orderReadRepository;
+        // flushing after every order would push each one through the buffer on its own
+        this.jsonWriter = objectMapper.writerFor(OrderDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.bufferBytes = bufferBytes;
+    }
+
+    /** Writes the export to {@code target} and flushes it; {@code target} is left open. */
+    @Transactional(readOnly = true)
+    public void export(OrderExportFormat format, LocalDateTime since, LocalDateTime until, OutputStream target)
+            throws IOException {
+        OrderFilter filter = new OrderFilter(null, null, since, until);
+        BufferedOutputStream buffer = new BufferedOutputStream(target, bufferBytes);
+        try {
+            if (format == OrderExportFormat.CSV) {
+                buffer.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+                StringBuilder lines = new StringBuilder();
+                orderReadRepository.stream(filter, 0, order -> writeCsv(buffer, lines, order));
+            } else {
+                writeNdjson(filter, 0, buffer);
+            }
+            buffer.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * The order listing as NDJSON: orders matching {@code filter} with an id above
+     * {@code afterId}, written through the same buffer and generator as {@link #export}.
+     * {@code target} is flushed and left open.
+     */
+    @Transactional(readOnly = true)
+    public void streamNdjson(OrderFilter filter, long afterId, OutputStream target) throws IOException {
+        BufferedOutputStream buffer = new BufferedOutputStream(target, bufferBytes);
+        try {
+            writeNdjson(filter, afterId, buffer);
+            buffer.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeNdjson(OrderFilter filter, long afterId, OutputStream buffer) throws IOException {
+        try (JsonGenerator generator = jsonWriter.createGenerator(buffer)) {
+            orderReadRepository.stream(filter, afterId, order -> writeJson(generator, order));
+        }
+    }
+
+    private void writeJson(JsonGenerator generator, OrderDto order) {
+        try {
+            jsonWriter.writeValue(generator, order);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsv(OutputStream buffer, StringBuilder lines, OrderDto order) {
+        lines.setLength(0);
+        if (order.items().isEmpty()) {
+            appendOrderColumns(lines, order);
+            lines.append(",,,,\n");
+        }
+        for (OrderItemDto item : order.items()) {
+            appendOrderColumns(lines, order);
+            lines.append(',').append(item.id()).append(',');
+            appendField(lines, item.productSku());
+            lines.append(',').append(item.quantity()).append(',');
+            appendField(lines, item.price());
+            lines.append('\n');
+        }
+        try {
+            buffer.write(lines.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void appendOrderColumns(StringBuilder lines, OrderDto order) {
+        lines.append(order.id()).append(',').append(order.clientId()).append(',');
+        appendField(lines, order.status());
+        lines.append(',');
+        appendField(lines, order.total());
+        lines.append(',');
+        appendField(lines, order.createdAt());
+        lines.append(',');
+        appendField(lines, order.updatedAt());
+    }
+
+    /** RFC 4180: quoted only when it holds a comma, quote or line break; {@code null} is empty. */
+    private static void appendField(StringBuilder lines, Object value) {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof Money money ? money.toBigDecimal().toPlainString() : value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            lines.append(text);
+            return;
+        }
+        lines.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -0,0 +1,242 @@
+package br.com.fiap.msorders.application.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import br.com.fiap.msorders.domain.enums.IdempotencyStatus;
+import br.com.fiap.msorders.domain.exception.IdempotencyKeyInProgressException;
+import br.com.fiap.msorders.domain.exception.IdempotencyKeyReusedException;
+import br.com.fiap.msorders.infrastructure.persistence.entity.IdempotencyRecordEntity;
+import br.com.fiap.msorders.infrastructure.persistence.repository.IdempotencyRecordRepository;
+
+/**
+ * Runs an operation at most once per {@code Idempotency-Key} and replays its response to
+ * every retry for {@code idempotency.ttl-seconds}.
+ * <p>
+ * The first request inserts an IN_PROGRESS record. The primary key decides which of two
+ * racing requests wins, across instances too. The loser waits up to
+ * {@code in-progress-wait-ms} for the winner's response, then gives up with a 409. The
+ * claim is a lease of {@code lease-seconds}, so a key whose instance died is freed again.
+ * A request whose lease was taken over meanwhile neither stores nor releases anything:
+ * the key belongs to the new claim.
+ * Completed responses are kept in the table and in a size-bounded in-memory cache in
+ * front of it.
+ * <p>
+ * Nothing is stored when the operation throws or answers with a 5xx. The key is released,
+ * and a retry runs the operation again.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private static final long POLL_INTERVAL_MS = 25;
+
+    private record Completed(String fingerprint, IdempotentResponse response, long expiresAtMillis) {}
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final Duration ttl;
+    private final Duration lease;
+    private final long inProgressWaitMs;
+    private final Cache<String, Completed> cache;
+
+    public IdempotencyStore(IdempotencyRecordRepository idempotencyRecordRepository,
+            PlatformTransactionManager transactionManager, Clock clock,
+            @Value("${idempotency.ttl-seconds:86400}") long ttlSeconds,
+            @Value("${idempotency.lease-seconds:60}") long leaseSeconds,
+            @Value("${idempotency.in-progress-wait-ms:5000}") long inProgressWaitMs,
+            @Value("${idempotency.cache.max-size:10000}") long cacheMaxSize) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.clock = clock;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.inProgressWaitMs = inProgressWaitMs;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, Completed>() {
+                    @Override
+                    public long expireAfterCreate(String key, Completed completed, long currentTime) {
+                        return Math.max(0, TimeUnit.MILLISECONDS.toNanos(completed.expiresAtMillis()) - currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Completed completed, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, completed, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Completed completed, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .build();
+    }
+
+    /**
+     * Returns the stored response for {@code key} within {@code operation}, or runs
+     * {@code action} and stores its response. {@code fingerprint} identifies the request
+     * body; reusing a key with a different one fails with
+     * {@link IdempotencyKeyReusedException}.
+     */
+    public IdempotentResponse execute(String operation, String key, String fingerprint,
+            Supplier<IdempotentResponse> action) {
+        String recordKey = operation + " " + key;
+        Completed cached = cache.getIfPresent(recordKey);
+        if (cached != null) {
+            return replay(key, fingerprint, cached);
+        }
+
+        long waitUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(inProgressWaitMs);
+        LocalDateTime leaseEnd;
+        while ((leaseEnd = claim(recordKey, fingerprint)) == null) {
+            Optional<IdempotencyRecordEntity> existing = idempotencyRecordRepository.findById(recordKey);
+            if (existing.isEmpty()) {
+                // released by a failed run: try to claim it again, within the same wait
+                pause(key, waitUntil);
+                continue;
+            }
+            IdempotencyRecordEntity record = existing.get();
+            LocalDateTime now = LocalDateTime.now(clock);
+            if (!record.getExpiresAt().isAfter(now)) {
+                transactionTemplate.executeWithoutResult(
+                        status -> idempotencyRecordRepository.deleteIfExpired(recordKey, now));
+                continue;
+            }
+            if (record.getStatus() == IdempotencyStatus.COMPLETED) {
+                Completed completed = toCompleted(record);
+                cache.put(recordKey, completed);
+                return replay(key, fingerprint, completed);
+            }
+            if (!record.getFingerprint().equals(fingerprint)) {
+                throw new IdempotencyKeyReusedException(key);
+            }
+            pause(key, waitUntil);
+        }
+
+        IdempotentResponse response;
+        try {
+            response = action.get();
+        } catch (RuntimeException | Error e) {
+            release(recordKey, leaseEnd);
+            throw e;
+        }
+        if (response.status() >= 500) {
+            release(recordKey, leaseEnd);
+        } else {
+            complete(recordKey, leaseEnd, response);
+        }
+        return response;
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:60000}")
+    public void deleteExpired() {
+        Integer deleted = transactionTemplate.execute(
+                status -> idempotencyRecordRepository.deleteExpired(LocalDateTime.now(clock)));
+        if (deleted != null && deleted > 0) {
+            logger.debug("Deleted {} expired idempotency records", deleted);
+        }
+    }
+
+    /** Returns the end of the lease taken on {@code recordKey}, or null if another request holds it. */
+    private LocalDateTime claim(String recordKey, String fingerprint) {
+        // truncated to what the column stores, so the lease end identifies this claim
+        LocalDateTime now = LocalDateTime.now(clock).truncatedTo(ChronoUnit.MICROS);
+        IdempotencyRecordEntity record = new IdempotencyRecordEntity();
+        record.setRecordKey(recordKey);
+        record.setFingerprint(fingerprint);
+        record.setStatus(IdempotencyStatus.IN_PROGRESS);
+        record.setCreatedAt(now);
+        record.setExpiresAt(now.plus(lease));
+        try {
+            transactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository.saveAndFlush(record));
+            return record.getExpiresAt();
+        } catch (DataIntegrityViolationException e) {
+            return null;
+        }
+    }
+
+    private void complete(String recordKey, LocalDateTime leaseEnd, IdempotentResponse response) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        IdempotencyRecordEntity saved = transactionTemplate.execute(status -> idempotencyRecordRepository
+                .findById(recordKey)
+                .filter(record -> isClaim(record, leaseEnd))
+                .map(record -> {
+                    record.setStatus(IdempotencyStatus.COMPLETED);
+                    record.setResponseStatus(response.status());
+                    record.setContentType(response.contentType());
+                    record.setResponseBody(response.body());
+                    record.setExpiresAt(now.plus(ttl));
+                    return record;
+                })
+                .orElse(null));
+        if (saved == null) {
+            logger.warn("Idempotency record {} expired or was taken over before its response was stored", recordKey);
+            return;
+        }
+        cache.put(recordKey, toCompleted(saved));
+    }
+
+    private void release(String recordKey, LocalDateTime leaseEnd) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository
+                    .deleteClaim(recordKey, IdempotencyStatus.IN_PROGRESS, leaseEnd));
+        } catch (RuntimeException e) {
+            // the lease expires on its own
+            logger.warn("Could not release idempotency record {}", recordKey, e);
+        }
+    }
+
+    private static boolean isClaim(IdempotencyRecordEntity record, LocalDateTime leaseEnd) {
+        return record.getStatus() == IdempotencyStatus.IN_PROGRESS && record.getExpiresAt().equals(leaseEnd);
+    }
+
+    private static IdempotentResponse replay(String key, String fingerprint, Completed completed) {
+        if (!completed.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException(key);
+        }
+        return completed.response().asReplay();
+    }
+
+    private Completed toCompleted(IdempotencyRecordEntity record) {
+        return new Completed(record.getFingerprint(),
+                new IdempotentResponse(record.getResponseStatus(), record.getContentType(), record.getResponseBody()),
+                record.getExpiresAt().atZone(clock.getZone()).toInstant().toEpochMilli());
+    }
+
+    /** Sleeps before the next claim attempt, or gives up once {@code waitUntil} has passed. */
+    private static void pause(String key, long waitUntil) {
+        if (System.nanoTime() - waitUntil >= 0) {
+            throw new IdempotencyKeyInProgressException(key);
+        }
+        try {
+            Thread.sleep(POLL_INTERVAL_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException(key);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.fiap.msorders.application.idempotency;
+
+/**
+ * A response as it is kept for replay: status, content type and the serialized body.
+ * {@code replayed} is set on responses served from the store instead of a new run.
+ */
+public record IdempotentResponse(int status, String contentType, String body, boolean replayed) {
+
+    public IdempotentResponse(int status, String contentType, String body) {
+        this(status, contentType, body, false);
+    }
+
+    IdempotentResponse asReplay() {
+        return new IdempotentResponse(status, contentType, body, true);
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.fiap.msorders.application.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+
+/**
+ * Times the stages of an order operation as {@code orders.stage} timers tagged with
+ * {@code operation}, {@code stage} and {@code outcome} ({@code success} or {@code error}).
+ * Each timer publishes a percentile histogram, which Prometheus turns into quantiles
+ * with {@code histogram_quantile()}, and p50/p95/p99 for {@code /actuator/metrics}.
+ * Timers are built once per tag combination and cached.
+ * <p>
+ * Every stage also runs in its own span, {@code "<operation> <stage>"}, a child of the
+ * span current on the calling thread, so remote calls made inside the stage hang below
+ * it in the trace.
+ * <p>
+ * With {@code orders.metrics.stages.enabled=false} no timer is recorded; spans follow
+ * {@code management.tracing.enabled}.
+ */
+@Component
+public class StageTimers {
+
+    public static final String METRIC = "orders.stage";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Tracer tracer;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /** Timers only, no spans. */
+    public StageTimers(MeterRegistry meterRegistry, boolean enabled) {
+        this(meterRegistry, enabled, Tracer.NOOP);
+    }
+
+    @Autowired
+    public StageTimers(MeterRegistry meterRegistry, @Value("${orders.metrics.stages.enabled:true}") boolean enabled,
+            Tracer tracer) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.tracer = tracer;
+    }
+
+    public <T> T record(String operation, String stage, Supplier<T> call) {
+        Span span = tracer.nextSpan().name(operation + " " + stage)
+                .tag("order.operation", operation)
+                .tag("order.stage", stage)
+                .start();
+        long start = System.nanoTime();
+        String outcome = "error";
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            T result = call.get();
+            outcome = "success";
+            return result;
+        } catch (RuntimeException | Error e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+            if (enabled) {
+                timer(operation, stage, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    public void record(String operation, String stage, Runnable call) {
+        record(operation, stage, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    private Timer timer(String operation, String stage, String outcome) {
+        return timers.computeIfAbsent(operation + '|' + stage + '|' + outcome, key -> Timer.builder(METRIC)
+                .tag("operation", operation)
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
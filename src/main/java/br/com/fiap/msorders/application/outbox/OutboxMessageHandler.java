@@ -0,0 +1,35 @@
+package br.com.fiap.msorders.application.outbox;
+
+import java.util.List;
+
+import br.com.fiap.msorders.domain.enums.OutboxMessageType;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OutboxMessageEntity;
+
+/**
+ * Sends the messages of one type to their downstream. All messages of a batch go out
+ * in a single request carrying {@code idempotencyKey}; the same batch is always sent
+ * with the same key, so the downstream can discard a repeat after a relay crash.
+ */
+public interface OutboxMessageHandler {
+
+    OutboxMessageType type();
+
+    /**
+     * Messages of a claimed batch that must wait, e.g. for a command they depend on to go
+     * out first. The relay takes them out of the batch before sending it and offers them
+     * again later without counting an attempt; the rest of the batch is sent.
+     */
+    default List<OutboxMessageEntity> notReady(List<OutboxMessageEntity> messages) {
+        return List.of();
+    }
+
+    /** Returns normally only if the downstream accepted the whole batch. */
+    void send(String idempotencyKey, List<OutboxMessageEntity> messages);
+
+    /**
+     * Called in the transaction that records the outcome of a send, once every message
+     * has its new status, so the handler can update state that follows the messages.
+     */
+    default void onSettled(List<OutboxMessageEntity> messages) {
+    }
+}
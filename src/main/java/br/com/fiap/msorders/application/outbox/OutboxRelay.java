@@ -0,0 +1,252 @@
+package br.com.fiap.msorders.application.outbox;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.fiap.msorders.domain.enums.OutboxMessageType;
+import br.com.fiap.msorders.domain.enums.OutboxStatus;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OutboxMessageEntity;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OutboxMessageRepository;
+import feign.FeignException;
+
+/**
+ * Sends pending outbox messages outside any order transaction.
+ * <p>
+ * Each round claims up to {@code outbox.relay.batch-size} due messages in a short
+ * transaction. Claiming groups new messages of the same type into one batch with a fresh
+ * key and leases them for {@code lease-ms}. Each batch is then sent as one request, and
+ * the outcome is recorded in a second short transaction.
+ * <p>
+ * If the relay dies between the two transactions, the lease expires and the batch is
+ * claimed again with the same members and key. The downstream may see the request twice
+ * but can recognise the repeat. Failed sends are retried with exponential backoff up to
+ * {@code max-attempts}. A batch rejected with a 4xx is split so that one bad message does
+ * not hold back the others; a single message rejected that way is marked FAILED.
+ * Messages marked CANCELLED before they were claimed are never sent. Messages the handler
+ * reports as not ready are taken out of their batch, in a committed transaction before the
+ * send so a reclaimed batch still matches what went out, and offered again after the
+ * initial backoff without using up an attempt.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    record Batch(String key, OutboxMessageType type, List<OutboxMessageEntity> messages) {}
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<OutboxMessageType, OutboxMessageHandler> handlers = new EnumMap<>(OutboxMessageType.class);
+    private final Clock clock;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    public OutboxRelay(OutboxMessageRepository outboxMessageRepository, PlatformTransactionManager transactionManager,
+            List<OutboxMessageHandler> handlers, Clock clock,
+            @Value("${outbox.relay.enabled:true}") boolean enabled,
+            @Value("${outbox.relay.batch-size:100}") int batchSize,
+            @Value("${outbox.relay.lease-ms:30000}") long leaseMs,
+            @Value("${outbox.relay.max-attempts:10}") int maxAttempts,
+            @Value("${outbox.relay.initial-backoff-ms:1000}") long initialBackoffMs,
+            @Value("${outbox.relay.max-backoff-ms:60000}") long maxBackoffMs) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        handlers.forEach(handler -> this.handlers.put(handler.type(), handler));
+        this.clock = clock;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.lease = Duration.ofMillis(leaseMs);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofMillis(initialBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:200}")
+    public void relayDueMessages() {
+        if (!enabled) {
+            return;
+        }
+        // keep going while rounds come back full
+        while (relayOnce() >= batchSize) {
+            logger.debug("Outbox backlog left after a full round, relaying again");
+        }
+    }
+
+    /** Claims, sends and settles one round of due messages; returns how many were claimed. */
+    public int relayOnce() {
+        List<Batch> batches;
+        try {
+            batches = transactionTemplate.execute(status -> claim());
+        } catch (ObjectOptimisticLockingFailureException e) {
+            logger.debug("Outbox messages claimed by another relay, skipping this round");
+            return 0;
+        }
+
+        int claimed = 0;
+        for (Batch batch : batches) {
+            claimed += batch.messages().size();
+            send(batch);
+        }
+        return claimed;
+    }
+
+    private List<Batch> claim() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<OutboxMessageEntity> due = outboxMessageRepository.findByStatusAndAvailableAtLessThanEqualOrderById(
+                OutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+
+        Map<String, Batch> batches = new LinkedHashMap<>();
+        Map<OutboxMessageType, String> newBatchKeys = new EnumMap<>(OutboxMessageType.class);
+        for (OutboxMessageEntity message : due) {
+            if (message.getBatchKey() != null) {
+                // claimed before and not settled: resend the whole batch exactly as it was
+                batches.computeIfAbsent(message.getBatchKey(), key -> new Batch(key, message.getType(),
+                        new ArrayList<>(outboxMessageRepository.findByBatchKeyAndStatus(key, OutboxStatus.PENDING))));
+                continue;
+            }
+            String key = message.isIsolated()
+                    ? message.getMessageKey()
+                    : newBatchKeys.computeIfAbsent(message.getType(), type -> "outbox-batch-" + UUID.randomUUID());
+            message.setBatchKey(key);
+            batches.computeIfAbsent(key, k -> new Batch(k, message.getType(), new ArrayList<>())).messages().add(message);
+        }
+
+        LocalDateTime leaseEnd = now.plus(lease);
+        for (Batch batch : batches.values()) {
+            for (OutboxMessageEntity message : batch.messages()) {
+                message.setAttempts(message.getAttempts() + 1);
+                message.setAvailableAt(leaseEnd);
+            }
+            outboxMessageRepository.saveAll(batch.messages());
+        }
+        return List.copyOf(batches.values());
+    }
+
+    private void send(Batch batch) {
+        OutboxMessageHandler handler = handlers.get(batch.type());
+        try {
+            if (handler == null) {
+                throw new IllegalStateException("No outbox handler for " + batch.type());
+            }
+            List<OutboxMessageEntity> notReady = handler.notReady(batch.messages());
+            if (!notReady.isEmpty()) {
+                batch = defer(batch, notReady);
+                if (batch == null || batch.messages().isEmpty()) {
+                    return;
+                }
+            }
+            handler.send(batch.key(), batch.messages());
+        } catch (RuntimeException e) {
+            settle(batch, e);
+            return;
+        }
+        settle(batch, null);
+    }
+
+    /** Takes {@code notReady} out of the batch; returns what is left, or null if the batch was reclaimed meanwhile. */
+    private Batch defer(Batch batch, List<OutboxMessageEntity> notReady) {
+        LocalDateTime availableAt = LocalDateTime.now(clock).plus(initialBackoff);
+        for (OutboxMessageEntity message : notReady) {
+            message.setBatchKey(null);
+            message.setAttempts(message.getAttempts() - 1);
+            message.setAvailableAt(availableAt);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> outboxMessageRepository.saveAll(notReady));
+        } catch (ObjectOptimisticLockingFailureException e) {
+            logger.warn("Outbox batch {} was reclaimed before it was sent", batch.key());
+            return null;
+        }
+        logger.debug("Deferred {} {} messages of outbox batch {}", notReady.size(), batch.type(), batch.key());
+        List<OutboxMessageEntity> ready = new ArrayList<>(batch.messages());
+        ready.removeAll(notReady);
+        return new Batch(batch.key(), batch.type(), ready);
+    }
+
+    private void settle(Batch batch, RuntimeException error) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        boolean rejected = error != null && isRejected(error);
+        for (OutboxMessageEntity message : batch.messages()) {
+            if (error == null) {
+                message.setStatus(OutboxStatus.SENT);
+                message.setSentAt(now);
+                continue;
+            }
+            message.setLastError(truncate(error.toString()));
+            if (rejected && batch.messages().size() > 1) {
+                // not applied downstream: retry each message on its own to find the bad one
+                message.setBatchKey(null);
+                message.setIsolated(true);
+                message.setAvailableAt(now);
+            } else if (rejected || message.getAttempts() >= maxAttempts) {
+                message.setStatus(OutboxStatus.FAILED);
+            } else {
+                message.setAvailableAt(now.plus(backoff(message.getAttempts())));
+            }
+        }
+
+        if (error != null) {
+            if (batch.messages().get(0).getStatus() == OutboxStatus.FAILED) {
+                logger.error("Giving up on outbox batch {} ({} {} messages)", batch.key(), batch.messages().size(),
+                        batch.type(), error);
+            } else {
+                logger.warn("Outbox batch {} ({} {} messages) failed, will retry: {}", batch.key(),
+                        batch.messages().size(), batch.type(), error.toString());
+            }
+        }
+
+        try {
+            OutboxMessageHandler handler = handlers.get(batch.type());
+            transactionTemplate.executeWithoutResult(status -> {
+                outboxMessageRepository.saveAll(batch.messages());
+                if (handler != null) {
+                    handler.onSettled(batch.messages());
+                }
+            });
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // the lease ran out and another relay owns the batch now
+            logger.warn("Outbox batch {} was reclaimed before its outcome was recorded", batch.key());
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        long delayMs = initialBackoff.toMillis() << Math.min(attempts - 1, 20);
+        return Duration.ofMillis(Math.min(delayMs, maxBackoff.toMillis()));
+    }
+
+    /** A 4xx other than timeout, conflict or throttling: the downstream will never accept it as is. */
+    private static boolean isRejected(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof FeignException feignException) {
+                int status = feignException.status();
+                return status >= 400 && status < 500 && status != 408 && status != 409 && status != 429;
+            }
+        }
+        return false;
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
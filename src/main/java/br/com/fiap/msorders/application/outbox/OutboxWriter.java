@@ -0,0 +1,58 @@
+package br.com.fiap.msorders.application.outbox;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.fiap.msorders.domain.enums.OutboxMessageType;
+import br.com.fiap.msorders.domain.enums.OutboxStatus;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OutboxMessageEntity;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OutboxMessageRepository;
+
+/**
+ * Records a command for {@link OutboxRelay} to send. It must join the caller's
+ * transaction, so the command is committed or rolled back together with the order change.
+ * There is at most one message of each type per order.
+ */
+@Component
+public class OutboxWriter {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    public OutboxWriter(OutboxMessageRepository outboxMessageRepository, ObjectMapper objectMapper, Clock clock) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(OutboxMessageType type, long orderId, Object payload) {
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        OutboxMessageEntity message = new OutboxMessageEntity();
+        message.setType(type);
+        message.setOrderId(orderId);
+        message.setMessageKey("order-" + orderId + "-" + type.name().toLowerCase().replace('_', '-'));
+        message.setPayload(toJson(payload));
+        message.setStatus(OutboxStatus.PENDING);
+        message.setAvailableAt(now);
+        message.setCreatedAt(now);
+        outboxMessageRepository.save(message);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload is not serializable: " + payload, e);
+        }
+    }
+}
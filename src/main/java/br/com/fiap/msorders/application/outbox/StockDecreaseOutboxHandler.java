@@ -0,0 +1,128 @@
+package br.com.fiap.msorders.application.outbox;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.fiap.msorders.application.event.OrderChangedEvent;
+import br.com.fiap.msorders.application.metrics.StageTimers;
+import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.enums.OutboxMessageType;
+import br.com.fiap.msorders.domain.enums.OutboxStatus;
+import br.com.fiap.msorders.infrastructure.integration.dto.SkuQuantityDto;
+import br.com.fiap.msorders.infrastructure.integration.service.StockServiceClient;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OutboxMessageEntity;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Reserves stock for a batch of orders with one call to ms-stock, summing the quantities
+ * of every SKU across the orders. The call is timed and traced as the
+ * {@code outbox stock.decrease} stage.
+ * <p>
+ * A reservation that ms-stock rejects, or that runs out of attempts, fails its order: an
+ * order still waiting for payment moves to {@code FAILED_NOT_STOCK} in the transaction
+ * that records the outcome, so it can no longer be paid without stock. Every failed
+ * reservation counts in {@code orders.stock.reservation.failed}.
+ */
+@Component
+public class StockDecreaseOutboxHandler implements OutboxMessageHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockDecreaseOutboxHandler.class);
+
+    private static final TypeReference<List<SkuQuantityDto>> ITEMS = new TypeReference<>() {};
+
+    /** Statuses in which an order has not been paid or finished yet. */
+    private static final Set<OrderStatus> UNPAID = EnumSet.of(OrderStatus.CREATED, OrderStatus.PENDING_PAYMENT);
+
+    private final StockServiceClient stockServiceClient;
+    private final ObjectMapper objectMapper;
+    private final StageTimers stageTimers;
+    private final OrderRepository orderRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final Counter failedReservations;
+
+    public StockDecreaseOutboxHandler(StockServiceClient stockServiceClient, ObjectMapper objectMapper,
+            StageTimers stageTimers, OrderRepository orderRepository, ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry, Clock clock) {
+        this.stockServiceClient = stockServiceClient;
+        this.objectMapper = objectMapper;
+        this.stageTimers = stageTimers;
+        this.orderRepository = orderRepository;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.failedReservations = Counter.builder("orders.stock.reservation.failed")
+                .description("Stock reservations ms-stock rejected or that ran out of attempts")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public OutboxMessageType type() {
+        return OutboxMessageType.STOCK_DECREASE;
+    }
+
+    @Override
+    public void send(String idempotencyKey, List<OutboxMessageEntity> messages) {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (OutboxMessageEntity message : messages) {
+            for (SkuQuantityDto item : read(message)) {
+                quantities.merge(item.sku(), item.quantity(), Integer::sum);
+            }
+        }
+        List<SkuQuantityDto> items = quantities.entrySet().stream()
+                .map(entry -> new SkuQuantityDto(entry.getKey(), entry.getValue()))
+                .toList();
+        stageTimers.record("outbox", "stock.decrease",
+                () -> stockServiceClient.decreaseStocks(idempotencyKey, items));
+    }
+
+    @Override
+    public void onSettled(List<OutboxMessageEntity> messages) {
+        List<Long> failed = messages.stream()
+                .filter(message -> message.getStatus() == OutboxStatus.FAILED)
+                .map(OutboxMessageEntity::getOrderId)
+                .toList();
+        if (failed.isEmpty()) {
+            return;
+        }
+        failedReservations.increment(failed.size());
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<OrderEntity> orders = orderRepository.findAllById(failed);
+        for (OrderEntity order : orders) {
+            if (!UNPAID.contains(order.getStatus())) {
+                logger.error("Stock reservation failed for order ID {} already in status {}", order.getId(),
+                        order.getStatus());
+                continue;
+            }
+            order.setStatus(OrderStatus.FAILED_NOT_STOCK);
+            order.setUpdatedAt(now);
+            eventPublisher.publishEvent(new OrderChangedEvent(order.getId()));
+        }
+        orderRepository.saveAll(orders);
+    }
+
+    private List<SkuQuantityDto> read(OutboxMessageEntity message) {
+        try {
+            return objectMapper.readValue(message.getPayload(), ITEMS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable outbox payload for message " + message.getMessageKey(), e);
+        }
+    }
+}
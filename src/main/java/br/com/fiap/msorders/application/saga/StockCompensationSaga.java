@@ -0,0 +1,96 @@
+package br.com.fiap.msorders.application.saga;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.fiap.msorders.application.outbox.OutboxWriter;
+import br.com.fiap.msorders.domain.enums.OutboxMessageType;
+import br.com.fiap.msorders.domain.enums.OutboxStatus;
+import br.com.fiap.msorders.domain.enums.SagaState;
+import br.com.fiap.msorders.infrastructure.integration.dto.SkuQuantityDto;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderItemEntity;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderSagaEntity;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OutboxMessageEntity;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderSagaRepository;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OutboxMessageRepository;
+
+/**
+ * Undoes the stock reservation of an order whose payment failed. Starting the saga only
+ * writes rows in the caller's transaction; the stock itself is put back later by the
+ * outbox relay, which batches the releases of many orders into one ms-stock call (see
+ * {@link StockReleaseOutboxHandler}).
+ * <p>
+ * If the reservation has not been claimed by the relay yet it is cancelled instead, and
+ * an order whose reservation was never made or was rejected has nothing to release. In
+ * those cases the saga is compensated at once.
+ */
+@Component
+public class StockCompensationSaga {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockCompensationSaga.class);
+
+    private final OrderSagaRepository orderSagaRepository;
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final OutboxWriter outboxWriter;
+    private final Clock clock;
+
+    public StockCompensationSaga(OrderSagaRepository orderSagaRepository,
+            OutboxMessageRepository outboxMessageRepository, OutboxWriter outboxWriter, Clock clock) {
+        this.orderSagaRepository = orderSagaRepository;
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.outboxWriter = outboxWriter;
+        this.clock = clock;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void begin(OrderEntity order) {
+        long orderId = order.getId();
+        if (orderSagaRepository.findById(orderId).isPresent()) {
+            logger.warn("Compensation for Order ID {} already started, ignoring", orderId);
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        OrderSagaEntity saga = new OrderSagaEntity();
+        saga.setOrderId(orderId);
+        saga.setStartedAt(now);
+        saga.setUpdatedAt(now);
+
+        Optional<OutboxMessageEntity> reservation =
+                outboxMessageRepository.findByTypeAndOrderId(OutboxMessageType.STOCK_DECREASE, orderId);
+        if (reservation.isEmpty() || reservation.get().getStatus() == OutboxStatus.FAILED
+                || reservation.get().getStatus() == OutboxStatus.CANCELLED) {
+            // never reserved, or rejected by ms-stock: nothing to put back
+            saga.setState(SagaState.COMPENSATED);
+        } else if (reservation.get().getStatus() == OutboxStatus.PENDING
+                && outboxMessageRepository.cancelUnclaimed(reservation.get().getId()) > 0) {
+            logger.info("Stock reservation for Order ID {} cancelled before it was sent", orderId);
+            saga.setState(SagaState.COMPENSATED);
+        } else {
+            outboxWriter.enqueue(OutboxMessageType.STOCK_RELEASE, orderId, aggregateBySku(order.getOrderItems()));
+            saga.setState(SagaState.COMPENSATING);
+        }
+        orderSagaRepository.save(saga);
+    }
+
+    private static List<SkuQuantityDto> aggregateBySku(List<OrderItemEntity> items) {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItemEntity item : items) {
+            quantities.merge(item.getProductSku(), item.getQuantity(), Integer::sum);
+        }
+        return quantities.entrySet().stream()
+                .map(entry -> new SkuQuantityDto(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.fiap.msorders.application.saga;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.fiap.msorders.application.outbox.OutboxMessageHandler;
+import br.com.fiap.msorders.domain.enums.OutboxMessageType;
+import br.com.fiap.msorders.domain.enums.OutboxStatus;
+import br.com.fiap.msorders.domain.enums.SagaState;
+import br.com.fiap.msorders.infrastructure.integration.dto.SkuQuantityDto;
+import br.com.fiap.msorders.infrastructure.integration.service.StockServiceClient;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderSagaEntity;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OutboxMessageEntity;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderSagaRepository;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OutboxMessageRepository;
+
+/**
+ * Puts back the stock of a batch of failed orders with one call to ms-stock, summing the
+ * quantities of every SKU across the orders, and moves their sagas along as the relay
+ * records each outcome.
+ * <p>
+ * A release must not overtake its reservation. Releases of orders whose reservation is
+ * still in flight are reported as not ready, so the relay sends the rest of the batch and
+ * offers those again later. Orders whose reservation was rejected in the meantime are
+ * left out.
+ */
+@Component
+public class StockReleaseOutboxHandler implements OutboxMessageHandler {
+
+    private static final TypeReference<List<SkuQuantityDto>> ITEMS = new TypeReference<>() {};
+
+    private final StockServiceClient stockServiceClient;
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final OrderSagaRepository orderSagaRepository;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    public StockReleaseOutboxHandler(StockServiceClient stockServiceClient,
+            OutboxMessageRepository outboxMessageRepository, OrderSagaRepository orderSagaRepository,
+            ObjectMapper objectMapper, Clock clock) {
+        this.stockServiceClient = stockServiceClient;
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.orderSagaRepository = orderSagaRepository;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    @Override
+    public OutboxMessageType type() {
+        return OutboxMessageType.STOCK_RELEASE;
+    }
+
+    @Override
+    public List<OutboxMessageEntity> notReady(List<OutboxMessageEntity> messages) {
+        Map<Long, OutboxStatus> reservations = reservations(messages);
+        return messages.stream()
+                .filter(message -> reservations.get(message.getOrderId()) == OutboxStatus.PENDING)
+                .toList();
+    }
+
+    @Override
+    public void send(String idempotencyKey, List<OutboxMessageEntity> messages) {
+        Map<Long, OutboxStatus> reservations = reservations(messages);
+
+        // the relay has already set aside releases that are not ready; this only guards the contract
+        List<Long> inFlight = reservations.entrySet().stream()
+                .filter(entry -> entry.getValue() == OutboxStatus.PENDING)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!inFlight.isEmpty()) {
+            throw new IllegalStateException("Stock reservation still in flight for orders " + inFlight);
+        }
+
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (OutboxMessageEntity message : messages) {
+            if (reservations.get(message.getOrderId()) != OutboxStatus.SENT) {
+                continue;
+            }
+            for (SkuQuantityDto item : read(message)) {
+                quantities.merge(item.sku(), item.quantity(), Integer::sum);
+            }
+        }
+        if (quantities.isEmpty()) {
+            return;
+        }
+        stockServiceClient.increaseStocks(idempotencyKey, quantities.entrySet().stream()
+                .map(entry -> new SkuQuantityDto(entry.getKey(), entry.getValue()))
+                .toList());
+    }
+
+    @Override
+    public void onSettled(List<OutboxMessageEntity> messages) {
+        Map<Long, OutboxMessageEntity> byOrder = messages.stream()
+                .collect(Collectors.toMap(OutboxMessageEntity::getOrderId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        List<OrderSagaEntity> sagas = orderSagaRepository.findAllById(byOrder.keySet());
+        for (OrderSagaEntity saga : sagas) {
+            OutboxMessageEntity message = byOrder.get(saga.getOrderId());
+            saga.setState(switch (message.getStatus()) {
+                case SENT -> SagaState.COMPENSATED;
+                case FAILED -> SagaState.COMPENSATION_FAILED;
+                default -> SagaState.COMPENSATING;
+            });
+            saga.setLastError(message.getLastError());
+            saga.setUpdatedAt(now);
+        }
+        orderSagaRepository.saveAll(sagas);
+    }
+
+    private Map<Long, OutboxStatus> reservations(List<OutboxMessageEntity> messages) {
+        return outboxMessageRepository
+                .findByTypeAndOrderIdIn(OutboxMessageType.STOCK_DECREASE,
+                        messages.stream().map(OutboxMessageEntity::getOrderId).toList())
+                .stream()
+                .collect(Collectors.toMap(OutboxMessageEntity::getOrderId, OutboxMessageEntity::getStatus));
+    }
+
+    private List<SkuQuantityDto> read(OutboxMessageEntity message) {
+        try {
+            return objectMapper.readValue(message.getPayload(), ITEMS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable outbox payload for message " + message.getMessageKey(), e);
+        }
+    }
+}
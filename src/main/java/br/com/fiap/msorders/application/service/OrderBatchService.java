@@ -0,0 +1,278 @@
+package br.com.fiap.msorders.application.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.fiap.msorders.application.dto.OrderBatchResultDto;
+import br.com.fiap.msorders.application.dto.OrderDto;
+import br.com.fiap.msorders.application.dto.OrderItemDto;
+import br.com.fiap.msorders.application.event.OrderChangedEvent;
+import br.com.fiap.msorders.application.mapper.OrderMapper;
+import br.com.fiap.msorders.application.outbox.OutboxWriter;
+import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.enums.OutboxMessageType;
+import br.com.fiap.msorders.domain.exception.ClientNotFoundException;
+import br.com.fiap.msorders.infrastructure.integration.dto.SkuQuantityDto;
+import br.com.fiap.msorders.infrastructure.integration.service.ClientServiceClient;
+import br.com.fiap.msorders.infrastructure.integration.service.ProductServiceClient;
+import br.com.fiap.msorders.infrastructure.integration.service.RemoteCalls;
+import br.com.fiap.msorders.infrastructure.integration.service.StockServiceClient;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderRepository;
+
+/**
+ * Creates many orders in one request. Orders are taken in chunks of
+ * {@code orders.batch.chunk-size}; the lookups for the next chunk run while the current
+ * one is written, so the remote checks and the inserts overlap.
+ * <p>
+ * Each client and SKU is looked up once per batch, however many orders mention it:
+ * clients spread over {@code client-lookup-parallelism} concurrent tasks, SKUs and their
+ * stock in one request each. Stock is checked against what earlier orders of the batch
+ * have already taken, and an order short of stock is saved as {@code FAILED_NOT_STOCK}
+ * like a single order would be. Orders with bad input or an unknown client or SKU are
+ * rejected on their own without affecting the rest.
+ * <p>
+ * Each chunk is written in one transaction, so the inserts go out in JDBC batches, and
+ * enqueues one stock reservation per created order; the outbox relay sends those to
+ * ms-stock in batches with the quantities summed per SKU. A failure part way through
+ * leaves the chunks already written in place, see {@link #createOrders}.
+ */
+@Service
+public class OrderBatchService {
+
+    /** What the batch has learned so far; written by the lookups, read and updated while writing. */
+    private static class References {
+        final Map<Long, Boolean> clients = new ConcurrentHashMap<>();
+        final Map<String, Boolean> skus = new ConcurrentHashMap<>();
+        /** Stock left for the rest of the batch, per SKU ms-stock knows. */
+        final Map<String, Integer> available = new ConcurrentHashMap<>();
+    }
+
+    private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+    private final OutboxWriter outboxWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClientServiceClient clientServiceClient;
+    private final ProductServiceClient productServiceClient;
+    private final StockServiceClient stockServiceClient;
+    private final Executor executor;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int clientLookupParallelism;
+    private final long lookupTimeoutMs;
+
+    public OrderBatchService(OrderRepository orderRepository, OrderMapper orderMapper, OutboxWriter outboxWriter,
+            ApplicationEventPublisher eventPublisher, ClientServiceClient clientServiceClient,
+            ProductServiceClient productServiceClient, StockServiceClient stockServiceClient,
+            @Qualifier("integrationExecutor") Executor executor, PlatformTransactionManager transactionManager,
+            @Value("${orders.batch.chunk-size:500}") int chunkSize,
+            @Value("${orders.batch.client-lookup-parallelism:8}") int clientLookupParallelism,
+            @Value("${orders.batch.lookup-timeout-ms:30000}") long lookupTimeoutMs) {
+        this.orderRepository = orderRepository;
+        this.orderMapper = orderMapper;
+        this.outboxWriter = outboxWriter;
+        this.eventPublisher = eventPublisher;
+        this.clientServiceClient = clientServiceClient;
+        this.productServiceClient = productServiceClient;
+        this.stockServiceClient = stockServiceClient;
+        this.executor = executor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.clientLookupParallelism = clientLookupParallelism;
+        this.lookupTimeoutMs = lookupTimeoutMs;
+    }
+
+    /**
+     * Returns one result per order, in input order. {@code orders} is read once, as it goes.
+     * If a lookup or a write fails before any chunk was written, the failure is thrown and
+     * the whole batch can be sent again. Once chunks have been written, their results are
+     * returned and every order after them gets an error naming the failure instead, so the
+     * caller knows exactly which orders to send again.
+     */
+    public List<OrderBatchResultDto> createOrders(Iterator<OrderDto> orders) {
+        References references = new References();
+        List<OrderBatchResultDto> results = new ArrayList<>();
+
+        List<OrderDto> chunk = nextChunk(orders);
+        List<CompletableFuture<?>> lookups = lookUp(chunk, references);
+        while (!chunk.isEmpty()) {
+            List<OrderDto> current = chunk;
+            List<CompletableFuture<?>> currentLookups = lookups;
+            int offset = results.size();
+
+            chunk = nextChunk(orders);
+            lookups = List.of();
+            try {
+                RemoteCalls.awaitAll(currentLookups);
+                lookups = lookUp(chunk, references);
+                results.addAll(transactionTemplate.execute(status -> persist(current, offset, references)));
+            } catch (RuntimeException e) {
+                lookups.forEach(lookup -> lookup.cancel(true));
+                if (results.isEmpty()) {
+                    throw e;
+                }
+                String error = "Order not processed, the batch stopped at order " + offset + ": "
+                        + Objects.toString(e.getMessage(), e.getClass().getSimpleName());
+                current.forEach(order -> results.add(new OrderBatchResultDto(results.size(), null, error)));
+                chunk.forEach(order -> results.add(new OrderBatchResultDto(results.size(), null, error)));
+                orders.forEachRemaining(order -> results.add(new OrderBatchResultDto(results.size(), null, error)));
+                return results;
+            }
+        }
+        return results;
+    }
+
+    private List<OrderDto> nextChunk(Iterator<OrderDto> orders) {
+        List<OrderDto> chunk = new ArrayList<>(chunkSize);
+        while (chunk.size() < chunkSize && orders.hasNext()) {
+            chunk.add(orders.next());
+        }
+        return chunk;
+    }
+
+    /** Starts the lookups for the clients and SKUs of {@code chunk} the batch has not seen yet. */
+    private List<CompletableFuture<?>> lookUp(List<OrderDto> chunk, References references) {
+        Set<Long> clientIds = new LinkedHashSet<>();
+        Set<String> skus = new LinkedHashSet<>();
+        for (OrderDto order : chunk) {
+            if (order.clientId() != 0 && !references.clients.containsKey(order.clientId())) {
+                clientIds.add(order.clientId());
+            }
+            if (order.items() != null) {
+                for (OrderItemDto item : order.items()) {
+                    if (item.productSku() != null && !references.skus.containsKey(item.productSku())) {
+                        skus.add(item.productSku());
+                    }
+                }
+            }
+        }
+
+        List<CompletableFuture<?>> calls = new ArrayList<>();
+        List<List<Long>> clientGroups = new ArrayList<>();
+        int groups = Math.max(1, Math.min(clientLookupParallelism, clientIds.size()));
+        for (int i = 0; i < groups; i++) {
+            clientGroups.add(new ArrayList<>());
+        }
+        int next = 0;
+        for (Long clientId : clientIds) {
+            clientGroups.get(next++ % groups).add(clientId);
+        }
+        for (List<Long> group : clientGroups) {
+            if (!group.isEmpty()) {
+                calls.add(call("ms-clients", () -> group.forEach(
+                        clientId -> references.clients.put(clientId, clientExists(clientId)))));
+            }
+        }
+
+        if (!skus.isEmpty()) {
+            List<String> skuList = List.copyOf(skus);
+            calls.add(call("ms-products", () -> {
+                Set<String> unknown = productServiceClient.findUnknownSkus(skuList);
+                skuList.forEach(sku -> references.skus.put(sku, !unknown.contains(sku)));
+            }));
+            calls.add(call("ms-stock", () -> stockServiceClient.findStocks(skuList)
+                    .forEach((sku, stock) -> references.available.put(sku, stock.quantity()))));
+        }
+        return calls;
+    }
+
+    private boolean clientExists(long clientId) {
+        try {
+            clientServiceClient.validateClientExists(clientId);
+            return true;
+        } catch (ClientNotFoundException e) {
+            return false;
+        }
+    }
+
+    private List<OrderBatchResultDto> persist(List<OrderDto> chunk, int offset, References references) {
+        OrderBatchResultDto[] results = new OrderBatchResultDto[chunk.size()];
+        List<OrderEntity> entities = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            OrderDto order = chunk.get(i);
+            String error = reject(order, references);
+            if (error != null) {
+                results[i] = new OrderBatchResultDto(offset + i, null, error);
+                continue;
+            }
+
+            List<SkuQuantityDto> quantities = OrderService.aggregateBySku(order.items());
+            boolean sufficient = quantities.stream()
+                    .allMatch(item -> references.available.get(item.sku()) >= item.quantity());
+            if (sufficient) {
+                quantities.forEach(item -> references.available.merge(item.sku(), -item.quantity(), Integer::sum));
+            }
+            entities.add(OrderService.newOrderEntity(order, sufficient ? OrderStatus.CREATED : OrderStatus.FAILED_NOT_STOCK));
+            positions.add(i);
+        }
+
+        List<OrderEntity> saved = orderRepository.saveAll(entities);
+        for (int j = 0; j < saved.size(); j++) {
+            OrderEntity entity = saved.get(j);
+            int position = positions.get(j);
+            // Stock is reserved by the outbox relay once this transaction commits
+            if (entity.getStatus() == OrderStatus.CREATED) {
+                outboxWriter.enqueue(OutboxMessageType.STOCK_DECREASE, entity.getId(),
+                        OrderService.aggregateBySku(chunk.get(position).items()));
+            }
+            eventPublisher.publishEvent(new OrderChangedEvent(entity.getId()));
+            results[position] = new OrderBatchResultDto(offset + position,
+                    orderMapper.toDto(orderMapper.toDomain(entity)), null);
+        }
+        return Arrays.asList(results);
+    }
+
+    /** Why {@code order} cannot be created at all, or {@code null} if it can. */
+    private static String reject(OrderDto order, References references) {
+        if (order.clientId() == 0) {
+            return "Client ID must be provided";
+        }
+        if (order.items() == null || order.items().isEmpty()) {
+            return "Order must contain at least one item.";
+        }
+        for (OrderItemDto item : order.items()) {
+            if (item.productSku() == null || item.price() == null || item.quantity() <= 0) {
+                return "Every item needs a SKU, a price and a positive quantity.";
+            }
+        }
+        if (!references.clients.get(order.clientId())) {
+            return "Client with ID " + order.clientId() + " not found.";
+        }
+        List<String> unknown = order.items().stream()
+                .map(OrderItemDto::productSku)
+                .filter(sku -> !references.skus.get(sku))
+                .distinct()
+                .toList();
+        if (!unknown.isEmpty()) {
+            return "One or more products not found for SKUs: " + unknown;
+        }
+        for (OrderItemDto item : order.items()) {
+            if (!references.available.containsKey(item.productSku())) {
+                return "Stock not found for product SKU: " + item.productSku();
+            }
+        }
+        return null;
+    }
+
+    private CompletableFuture<Void> call(String target, Runnable lookup) {
+        return RemoteCalls.run(target, lookup, executor, lookupTimeoutMs);
+    }
+}
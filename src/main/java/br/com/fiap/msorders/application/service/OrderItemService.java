@@ -1,12 +1,14 @@
 package br.com.fiap.msorders.application.service;
 
 import br.com.fiap.msorders.application.dto.OrderItemDto;
+import br.com.fiap.msorders.application.event.OrderChangedEvent;
 import br.com.fiap.msorders.application.mapper.OrderItemMapper;
 import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
 import br.com.fiap.msorders.infrastructure.persistence.entity.OrderItemEntity;
 import br.com.fiap.msorders.infrastructure.persistence.repository.OrderItemRepository;
 import br.com.fiap.msorders.infrastructure.persistence.repository.OrderRepository;
 import br.com.fiap.msorders.infrastructure.web.exceptions.ResourceNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -17,11 +19,14 @@ public class OrderItemService {
     private final OrderItemRepository orderItemRepository;
     private final OrderRepository orderRepository;
     private final OrderItemMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public OrderItemService(OrderItemRepository orderItemRepository, OrderRepository orderRepository, OrderItemMapper mapper) {
+    public OrderItemService(OrderItemRepository orderItemRepository, OrderRepository orderRepository, OrderItemMapper mapper,
+            ApplicationEventPublisher eventPublisher) {
         this.orderItemRepository = orderItemRepository;
         this.orderRepository = orderRepository;
         this.mapper = mapper;
+        this.eventPublisher = eventPublisher;
     }
 
     public OrderItemDto create(OrderItemDto dto) throws ResourceNotFoundException {
@@ -32,6 +37,7 @@ public class OrderItemService {
             .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
 
         OrderItemEntity saved = orderItemRepository.save(mapper.toEntity(dto, order));
+        eventPublisher.publishEvent(new OrderChangedEvent(order.getId()));
         return mapper.toDto(saved);
     }
 
@@ -53,14 +59,22 @@ public class OrderItemService {
         OrderEntity order = orderRepository.findById(dto.orderId())
             .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
 
+        // The item may move to another order: both the old and the new one change
+        long previousOrderId = entity.getOrder().getId();
         mapper.updateFromDto(dto, entity, order);
-        return mapper.toDto(orderItemRepository.save(entity));
+        OrderItemEntity saved = orderItemRepository.save(entity);
+        eventPublisher.publishEvent(new OrderChangedEvent(previousOrderId));
+        if (previousOrderId != order.getId()) {
+            eventPublisher.publishEvent(new OrderChangedEvent(order.getId()));
+        }
+        return mapper.toDto(saved);
     }
 
     public String delete(long id) throws ResourceNotFoundException {
         OrderItemEntity entity = orderItemRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Order item not found"));
         orderItemRepository.delete(entity);
+        eventPublisher.publishEvent(new OrderChangedEvent(entity.getOrder().getId()));
         return "Order item deleted successfully!";
     }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package br.com.fiap.msorders.application.service;
+
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.fiap.msorders.application.event.OrderChangedEvent;
+import br.com.fiap.msorders.application.saga.StockCompensationSaga;
+import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderRepository;
+
+/**
+ * Applies the outcome of a payment to an order: closes it when paid, otherwise marks it
+ * as not paid and starts the {@link StockCompensationSaga} that puts its stock back.
+ */
+@Component
+public class OrderPaymentFinalizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderPaymentFinalizer.class);
+
+    private final OrderRepository orderRepository;
+    private final StockCompensationSaga stockCompensationSaga;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public OrderPaymentFinalizer(OrderRepository orderRepository, StockCompensationSaga stockCompensationSaga,
+            ApplicationEventPublisher eventPublisher) {
+        this.orderRepository = orderRepository;
+        this.stockCompensationSaga = stockCompensationSaga;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public OrderEntity applyOutcome(OrderEntity orderEntity, boolean paymentSuccessful) {
+        if (paymentSuccessful) {
+            orderEntity.setStatus(OrderStatus.CLOSED_SUCCESS);
+        } else {
+            orderEntity.setStatus(OrderStatus.FAILED_NOT_PAID);
+            stockCompensationSaga.begin(orderEntity);
+        }
+        orderEntity.setUpdatedAt(LocalDateTime.now());
+
+        OrderEntity saved = orderRepository.save(orderEntity);
+        eventPublisher.publishEvent(new OrderChangedEvent(orderEntity.getId()));
+        return saved;
+    }
+
+    /**
+     * Short transaction used by the asynchronous PIX confirmation. Orders that are no
+     * longer waiting for payment (e.g. cancelled meanwhile) are left untouched.
+     */
+    @Transactional
+    public void finalizePendingPayment(long orderId, boolean paymentSuccessful) {
+        orderRepository.findWithItemsById(orderId)
+            .filter(order -> order.getStatus() == OrderStatus.PENDING_PAYMENT)
+            .ifPresentOrElse(
+                order -> applyOutcome(order, paymentSuccessful),
+                () -> logger.warn("Order ID {} is no longer pending payment, ignoring PIX outcome", orderId));
+    }
+}
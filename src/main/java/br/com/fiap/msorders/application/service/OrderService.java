@@ -1,59 +1,82 @@
 package br.com.fiap.msorders.application.service;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.ResponseEntity;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.com.fiap.msorders.application.cache.OrderCache;
 import br.com.fiap.msorders.application.dto.OrderDto;
 import br.com.fiap.msorders.application.dto.OrderItemDto;
+import br.com.fiap.msorders.application.dto.OrderPageDto;
+import br.com.fiap.msorders.application.dto.OrderValidationResult;
+import br.com.fiap.msorders.application.event.OrderChangedEvent;
+import br.com.fiap.msorders.application.metrics.StageTimers;
+import br.com.fiap.msorders.application.outbox.OutboxWriter;
 import br.com.fiap.msorders.infrastructure.integration.dto.CreditCardPaymentRequestDto;
 import br.com.fiap.msorders.infrastructure.integration.dto.CreditCardPaymentResponseDto;
 import br.com.fiap.msorders.infrastructure.integration.dto.QRCodePaymentRequestDto;
 import br.com.fiap.msorders.infrastructure.integration.dto.QRCodePaymentResponseDto;
-import br.com.fiap.msorders.infrastructure.integration.dto.StatusDto;
-import br.com.fiap.msorders.infrastructure.integration.dto.StockDto;
+import br.com.fiap.msorders.infrastructure.integration.dto.SkuQuantityDto;
 import br.com.fiap.msorders.infrastructure.integration.dto.TokenResponseDto;
 import br.com.fiap.msorders.application.mapper.OrderMapper;
 import br.com.fiap.msorders.domain.enums.OrderStatus;
-import br.com.fiap.msorders.infrastructure.integration.service.ClientServiceClient;
+import br.com.fiap.msorders.domain.enums.OutboxMessageType;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.domain.model.OrderFilter;
 import br.com.fiap.msorders.infrastructure.integration.service.PaymentServiceClient;
-import br.com.fiap.msorders.infrastructure.integration.service.ProductServiceClient;
-import br.com.fiap.msorders.infrastructure.integration.service.StockServiceClient;
 import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
 import br.com.fiap.msorders.infrastructure.persistence.entity.OrderItemEntity;
 import br.com.fiap.msorders.infrastructure.persistence.repository.OrderRepository;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderReadRepository;
 import br.com.fiap.msorders.infrastructure.web.exceptions.ResourceNotFoundException;
-import jakarta.transaction.Transactional;
 
 @Service
 public class OrderService {
 
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
-    private final ClientServiceClient clientServiceClient;
-    private final ProductServiceClient productServiceClient;
-    private final StockServiceClient stockServiceClient;
+    private final OrderValidationService orderValidationService;
+    private final OutboxWriter outboxWriter;
     private final PaymentServiceClient paymentServiceClient;
+    private final OrderPaymentFinalizer orderPaymentFinalizer;
+    private final PixPaymentMonitor pixPaymentMonitor;
+    private final OrderReadRepository orderReadRepository;
+    private final OrderCache orderCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StageTimers stageTimers;
     private static final Logger logger = LoggerFactory.getLogger(OrderService.class);
     
     @Value("${payment.seller-id}")
     private String sellerId;
 
+    @Value("${orders.page.max-size:500}")
+    private int maxPageSize = 500;
+
     public OrderService(OrderRepository orderRepository, OrderMapper orderMapper,
-    		ClientServiceClient clientServiceClient, ProductServiceClient productServiceClient, StockServiceClient stockServiceClient, PaymentServiceClient paymentServiceClient) {
+    		OrderValidationService orderValidationService, OutboxWriter outboxWriter, PaymentServiceClient paymentServiceClient,
+    		OrderPaymentFinalizer orderPaymentFinalizer, PixPaymentMonitor pixPaymentMonitor,
+    		OrderReadRepository orderReadRepository, OrderCache orderCache, ApplicationEventPublisher eventPublisher,
+    		StageTimers stageTimers) {
         this.orderRepository = orderRepository;
         this.orderMapper = orderMapper;
-        this.clientServiceClient = clientServiceClient;
-        this.productServiceClient = productServiceClient;
-        this.stockServiceClient = stockServiceClient;  
+        this.orderValidationService = orderValidationService;
+        this.outboxWriter = outboxWriter;
         this.paymentServiceClient = paymentServiceClient;
+        this.orderPaymentFinalizer = orderPaymentFinalizer;
+        this.pixPaymentMonitor = pixPaymentMonitor;
+        this.orderReadRepository = orderReadRepository;
+        this.orderCache = orderCache;
+        this.eventPublisher = eventPublisher;
+        this.stageTimers = stageTimers;
     }
 
     @Transactional
@@ -62,92 +85,43 @@ public class OrderService {
             throw new IllegalArgumentException("Client ID must be provided");
         }
 
-        clientServiceClient.validateClientExists(orderDto.clientId());
-
         if (orderDto.items() == null || orderDto.items().isEmpty()) {
             throw new IllegalArgumentException("Order must contain at least one item.");
         }
 
-        
-        List<String> skus = orderDto.items()
-                .stream()
-                .map(OrderItemDto::productSku)
-                .toList();
+        // Client, SKU and stock checks run concurrently
+        OrderValidationResult validation = stageTimers.record("createOrder", "validation",
+                () -> orderValidationService.validate(orderDto));
 
-        productServiceClient.validateSkus(skus);
-                
-        OrderEntity orderEntity = new OrderEntity();
-        orderEntity.setStatus(OrderStatus.CREATED);
-        
-        // Check stock for each item
-        for (OrderItemDto item : orderDto.items()) {
-            StockDto stock = stockServiceClient.searchStock(item.productSku());
-            if (stock.quantity() < item.quantity()) {
-            	logger.error("Insufficient stock for product SKU: {}. Requested: {}, Available: {}", 
-            		    item.productSku(), item.quantity(), stock.quantity());
-            	 orderEntity.setStatus(OrderStatus.FAILED_NOT_STOCK);
-            }
-        }
-        
-        // Decrease stock for each item
-        for (OrderItemDto item : orderDto.items()) {
-            stockServiceClient.decreaseStock(item.productSku(), item.quantity());
-        }
-        orderEntity.setClientId(orderDto.clientId());
-        orderEntity.setTotal(calculateTotal(orderDto.items()));
-        orderEntity.setCreatedAt(LocalDateTime.now());
-        orderEntity.setUpdatedAt(LocalDateTime.now());
+        OrderEntity orderEntity = newOrderEntity(orderDto,
+                validation.hasSufficientStock() ? OrderStatus.CREATED : OrderStatus.FAILED_NOT_STOCK);
+        OrderEntity saved = stageTimers.record("createOrder", "persist", () -> orderRepository.save(orderEntity));
 
-        for (OrderItemDto itemDto : orderDto.items()) {
-            OrderItemEntity itemEntity = new OrderItemEntity();
-            itemEntity.setProductSku(itemDto.productSku());
-            itemEntity.setQuantity(itemDto.quantity());
-            itemEntity.setPrice(itemDto.price());
-            orderEntity.addOrderItem(itemEntity);
+        // Stock is reserved by the outbox relay once this transaction commits
+        if (validation.hasSufficientStock()) {
+            stageTimers.record("createOrder", "outbox", () -> outboxWriter.enqueue(
+                    OutboxMessageType.STOCK_DECREASE, saved.getId(), aggregateBySku(orderDto.items())));
         }
-		orderEntity.getOrderItems().forEach(item -> item.setOrder(orderEntity));
-        OrderEntity saved = orderRepository.save(orderEntity);
+        eventPublisher.publishEvent(new OrderChangedEvent(saved.getId()));
         
         return orderMapper.toDto(orderMapper.toDomain(saved));
     }
 
     @Transactional
-	public OrderDto processPayment(long id, String paymentMethod) throws ResourceNotFoundException, InterruptedException {
-		OrderEntity orderEntity = orderRepository.findById(id)
+	public OrderDto processPayment(long id, String paymentMethod) throws ResourceNotFoundException {
+		OrderEntity orderEntity = stageTimers.record("processPayment", "load", () -> orderRepository.findWithItemsById(id))
 				.orElseThrow(() -> new ResourceNotFoundException("Order not found"));
 
-		TokenResponseDto tokenResponse = paymentServiceClient.generateToken("client_credentials", String.valueOf(orderEntity.getClientId()), "client_secret", "oob");
+		TokenResponseDto tokenResponse = stageTimers.record("processPayment", "token", () -> paymentServiceClient.getToken(
+				"client_credentials", String.valueOf(orderEntity.getClientId()), "client_secret", "oob"));
 		boolean paymentSuccessful = false;
 		
 		switch (paymentMethod) {
 	    case "CARD":
 
-	        CreditCardPaymentRequestDto creditCardRequest = new CreditCardPaymentRequestDto(
-	        	sellerId,
-	            orderEntity.getTotal().doubleValue(),
-	            "BRL",
-	            new CreditCardPaymentRequestDto.Order(
-	                String.valueOf(orderEntity.getId()),
-	                orderEntity.getOrderItems().stream()
-	                    .map(item -> new CreditCardPaymentRequestDto.Order.Item(
-	                        item.getProductSku(),
-	                        item.getQuantity(),
-	                        item.getPrice().doubleValue()
-	                    ))
-	                    .toList()
-	            ),
-	            new CreditCardPaymentRequestDto.Customer(
-	                String.valueOf(orderEntity.getClientId()),
-	                "","","",""
-	            ),
-	            new CreditCardPaymentRequestDto.Credit(
-	                new CreditCardPaymentRequestDto.Credit.Card(
-	                    "","","","",""
-	                ),
-	                1
-	            )
-	        );
-	        CreditCardPaymentResponseDto creditCardResponse = paymentServiceClient.processCreditCardPayment(creditCardRequest, "Bearer " + tokenResponse.access_token());
+	        CreditCardPaymentRequestDto creditCardRequest = PaymentRequests.creditCard(sellerId, orderEntity);
+	        CreditCardPaymentResponseDto creditCardResponse = stageTimers.record("processPayment", "charge.card",
+	        		() -> paymentServiceClient.processCreditCardPayment(creditCardRequest, "Bearer " + tokenResponse.access_token()));
 	        logger.info("Card Payment Response: {}", creditCardResponse);
 	        if (creditCardResponse.status() != null && creditCardResponse.status().equalsIgnoreCase("APPROVED")) {
                 logger.info("Payment confirmed for Order ID: {}", orderEntity.getId());
@@ -160,79 +134,53 @@ public class OrderService {
 	        
 	    case "PIX":
 	    	
-	        QRCodePaymentRequestDto qrCodeRequest = new QRCodePaymentRequestDto(
-	            orderEntity.getTotal().doubleValue(),
-	            "BRL",
-	            String.valueOf(orderEntity.getId()),
-	            String.valueOf(orderEntity.getClientId())
-	        );
+	        QRCodePaymentRequestDto qrCodeRequest = PaymentRequests.pix(orderEntity);
 	        
-	        QRCodePaymentResponseDto qrCodeResponse = paymentServiceClient.generateQRCodePayment(qrCodeRequest, "Bearer " + tokenResponse.access_token());
+	        QRCodePaymentResponseDto qrCodeResponse = stageTimers.record("processPayment", "charge.pix",
+	        		() -> paymentServiceClient.generateQRCodePayment(qrCodeRequest, "Bearer " + tokenResponse.access_token()));
 	        logger.info("QR Code Payment Response: {}", qrCodeResponse);
 	        
-	        for (int i = 0; i < 6; i++) {
-	            Thread.sleep(5000);
-
-	            ResponseEntity<StatusDto> statusResponse = paymentServiceClient.getStatus(
-	                String.valueOf(orderEntity.getId()), 
-	                "Bearer " + tokenResponse.access_token()
-	            );
-
-	            StatusDto status = statusResponse.getBody();
-	            logger.info("Payment Status: {}", status);
-
-	            if (status != null && "APPROVED".equalsIgnoreCase(status.status())) {
-	                logger.info("Payment confirmed for Order ID: {}", orderEntity.getId());
-	                break;
-	            }
-
-	            if (i == 5) {
-	                logger.warn("Payment not confirmed for Order ID: {}", orderEntity.getId());
-	                
-	                orderEntity.setStatus(OrderStatus.FAILED_NOT_PAID);
-	            }
-	        }
-	        
-	        break;
+	        // Confirmation is polled asynchronously; the order stays pending until then
+	        orderEntity.setStatus(OrderStatus.PENDING_PAYMENT);
+	        orderEntity.setUpdatedAt(LocalDateTime.now());
+	        OrderEntity pending = stageTimers.record("processPayment", "persist", () -> orderRepository.save(orderEntity));
+	        eventPublisher.publishEvent(new OrderChangedEvent(pending.getId()));
+	        pixPaymentMonitor.track(pending.getId(), pending.getClientId());
+	        return orderMapper.toDto(orderMapper.toDomain(pending));
 	        
 	    default:
 	        throw new IllegalArgumentException("Invalid payment method");
 	}
 
-		// Payment Update
-		if (paymentSuccessful) {
-			orderEntity.setStatus(OrderStatus.CLOSED_SUCCESS);
-		} else {
-			orderEntity.setStatus(OrderStatus.FAILED_NOT_PAID);
-			
-			// Rollback stock if payment fails
-			for (OrderItemEntity item : orderEntity.getOrderItems()) {
-			    stockServiceClient.decreaseStock(item.getProductSku(), item.getQuantity());
-			}
-			
-		}
-		orderEntity.setUpdatedAt(LocalDateTime.now());
-
-		OrderEntity saved = orderRepository.save(orderEntity);
+		boolean approved = paymentSuccessful;
+		OrderEntity saved = stageTimers.record("processPayment", "persist",
+				() -> orderPaymentFinalizer.applyOutcome(orderEntity, approved));
 		return orderMapper.toDto(orderMapper.toDomain(saved));
 	}
 
+    @Transactional(readOnly = true)
     public OrderDto findOrderById(long id) throws ResourceNotFoundException {
-        OrderEntity orderEntity = orderRepository.findById(id)
+        return orderCache.get(id, orderReadRepository::findById)
             .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
-        return orderMapper.toDto(orderMapper.toDomain(orderEntity));
     }
 
-    public List<OrderDto> findAllOrders() {
-        return orderRepository.findAll().stream()
-            .map(orderMapper::toDomain)
-            .map(orderMapper::toDto)
-            .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public OrderPageDto findOrders(OrderFilter filter, long afterId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+
+        // One extra row tells whether another page exists without a count query
+        List<OrderDto> orders = orderReadRepository.findPage(filter, afterId, pageSize + 1);
+
+        if (orders.size() > pageSize) {
+            orders = orders.subList(0, pageSize);
+            return new OrderPageDto(orders, orders.get(pageSize - 1).id());
+        }
+        return new OrderPageDto(orders, null);
     }
 
     @Transactional
     public OrderDto updateOrder(Long id, OrderDto orderDto) throws ResourceNotFoundException {
-        OrderEntity existingOrder = orderRepository.findById(id)
+        OrderEntity existingOrder = orderRepository.findWithItemsById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Pedido não encontrado"));
 
         existingOrder.setClientId(orderDto.clientId());
@@ -256,6 +204,7 @@ public class OrderService {
         }
 
         OrderEntity saved = orderRepository.save(existingOrder);
+        eventPublisher.publishEvent(new OrderChangedEvent(id));
         return orderMapper.toDto(orderMapper.toDomain(saved));
     }
 
@@ -263,15 +212,58 @@ public class OrderService {
     public boolean deleteOrder(long id) {
         if (orderRepository.existsById(id)) {
             orderRepository.deleteById(id);
+            eventPublisher.publishEvent(new OrderChangedEvent(id));
             return true;
         }
         return false;
     }
     
-    private BigDecimal calculateTotal(List<OrderItemDto> items) {
-        return items.stream()
-            .map(item -> item.price().multiply(BigDecimal.valueOf(item.quantity())))
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    static OrderEntity newOrderEntity(OrderDto orderDto, OrderStatus status) {
+        OrderEntity orderEntity = new OrderEntity();
+        orderEntity.setStatus(status);
+        orderEntity.setClientId(orderDto.clientId());
+        orderEntity.setTotal(calculateTotal(orderDto.items()));
+        orderEntity.setCreatedAt(LocalDateTime.now());
+        orderEntity.setUpdatedAt(LocalDateTime.now());
+
+        for (OrderItemDto itemDto : orderDto.items()) {
+            OrderItemEntity itemEntity = new OrderItemEntity();
+            itemEntity.setProductSku(itemDto.productSku());
+            itemEntity.setQuantity(itemDto.quantity());
+            itemEntity.setPrice(itemDto.price());
+            orderEntity.addOrderItem(itemEntity);
+        }
+		orderEntity.getOrderItems().forEach(item -> item.setOrder(orderEntity));
+        return orderEntity;
+    }
+
+    static List<SkuQuantityDto> aggregateBySku(List<OrderItemDto> items) {
+        Map<String, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItemDto item : items) {
+            quantities.merge(item.productSku(), item.quantity(), Integer::sum);
+        }
+        return quantities.entrySet().stream()
+            .map(entry -> new SkuQuantityDto(entry.getKey(), entry.getValue()))
+            .toList();
+    }
+
+    /**
+     * Sum of price times quantity over the items. Accumulates minor units in a
+     * {@code long}, so only the returned {@link Money} is allocated; overflow or mixed
+     * currencies throw.
+     */
+    static Money calculateTotal(List<OrderItemDto> items) {
+        if (items.isEmpty()) {
+            return Money.ZERO;
+        }
+        Money first = items.get(0).price();
+        long minorUnits = 0;
+        for (OrderItemDto item : items) {
+            Money price = item.price();
+            first.requireSameCurrency(price);
+            minorUnits = Math.addExact(minorUnits, Math.multiplyExact(price.minorUnits(), (long) item.quantity()));
+        }
+        return Money.ofMinor(minorUnits, first.currency());
     }
     
 }
@@ -0,0 +1,95 @@
+package br.com.fiap.msorders.application.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import br.com.fiap.msorders.application.dto.OrderDto;
+import br.com.fiap.msorders.application.dto.OrderItemDto;
+import br.com.fiap.msorders.application.dto.OrderValidationResult;
+import br.com.fiap.msorders.application.metrics.StageTimers;
+import br.com.fiap.msorders.infrastructure.integration.dto.StockDto;
+import br.com.fiap.msorders.infrastructure.integration.service.ClientServiceClient;
+import br.com.fiap.msorders.infrastructure.integration.service.ProductServiceClient;
+import br.com.fiap.msorders.infrastructure.integration.service.RemoteCalls;
+import br.com.fiap.msorders.infrastructure.integration.service.StockServiceClient;
+
+/**
+ * Runs the remote checks needed before an order is persisted (client, SKUs and stock)
+ * concurrently on the integration executor and merges them into a single result.
+ * The first failing call aborts the validation; each call is bounded by its own timeout.
+ * Each call is timed as the {@code validation.<target>} stage of {@code createOrder}.
+ */
+@Service
+public class OrderValidationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderValidationService.class);
+
+    private final ClientServiceClient clientServiceClient;
+    private final ProductServiceClient productServiceClient;
+    private final StockServiceClient stockServiceClient;
+    private final Executor executor;
+    private final long callTimeoutMs;
+    private final StageTimers stageTimers;
+
+    public OrderValidationService(ClientServiceClient clientServiceClient, ProductServiceClient productServiceClient,
+            StockServiceClient stockServiceClient, @Qualifier("integrationExecutor") Executor executor,
+            @Value("${order.validation.call-timeout-ms:3000}") long callTimeoutMs, StageTimers stageTimers) {
+        this.clientServiceClient = clientServiceClient;
+        this.productServiceClient = productServiceClient;
+        this.stockServiceClient = stockServiceClient;
+        this.executor = executor;
+        this.callTimeoutMs = callTimeoutMs;
+        this.stageTimers = stageTimers;
+    }
+
+    public OrderValidationResult validate(OrderDto orderDto) {
+        List<String> skus = orderDto.items()
+                .stream()
+                .map(OrderItemDto::productSku)
+                .toList();
+
+        List<CompletableFuture<?>> calls = new ArrayList<>();
+        calls.add(call("ms-clients", () -> {
+            clientServiceClient.validateClientExists(orderDto.clientId());
+            return null;
+        }));
+        calls.add(call("ms-products", () -> {
+            productServiceClient.validateSkus(skus);
+            return null;
+        }));
+
+        CompletableFuture<Map<String, StockDto>> stockCall = call("ms-stock", () -> stockServiceClient.searchStocks(skus));
+        calls.add(stockCall);
+
+        RemoteCalls.awaitAll(calls);
+
+        Map<String, StockDto> stocks = stockCall.join();
+
+        List<String> insufficientSkus = new ArrayList<>();
+        for (OrderItemDto item : orderDto.items()) {
+            StockDto stock = stocks.get(item.productSku());
+            if (stock.quantity() < item.quantity()) {
+                logger.error("Insufficient stock for product SKU: {}. Requested: {}, Available: {}",
+                        item.productSku(), item.quantity(), stock.quantity());
+                insufficientSkus.add(item.productSku());
+            }
+        }
+        return new OrderValidationResult(stocks, insufficientSkus);
+    }
+
+    private <T> CompletableFuture<T> call(String target, Supplier<T> supplier) {
+        String stage = "validation." + target;
+        return RemoteCalls.supply(target, () -> stageTimers.record("createOrder", stage, supplier), executor,
+                callTimeoutMs);
+    }
+}
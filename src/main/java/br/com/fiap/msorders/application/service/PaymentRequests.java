@@ -0,0 +1,55 @@
+package br.com.fiap.msorders.application.service;
+
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.infrastructure.integration.dto.CreditCardPaymentRequestDto;
+import br.com.fiap.msorders.infrastructure.integration.dto.QRCodePaymentRequestDto;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
+
+/**
+ * Builds the ms-payment requests for an order. Amounts go out as exact decimals taken from
+ * {@link Money}, with the currency the order was priced in.
+ */
+final class PaymentRequests {
+
+    private PaymentRequests() {
+    }
+
+    static CreditCardPaymentRequestDto creditCard(String sellerId, OrderEntity orderEntity) {
+        Money total = orderEntity.getTotal();
+        return new CreditCardPaymentRequestDto(
+            sellerId,
+            total.toBigDecimal(),
+            total.currency().getCurrencyCode(),
+            new CreditCardPaymentRequestDto.Order(
+                String.valueOf(orderEntity.getId()),
+                orderEntity.getOrderItems().stream()
+                    .map(item -> new CreditCardPaymentRequestDto.Order.Item(
+                        item.getProductSku(),
+                        item.getQuantity(),
+                        item.getPrice().toBigDecimal()
+                    ))
+                    .toList()
+            ),
+            new CreditCardPaymentRequestDto.Customer(
+                String.valueOf(orderEntity.getClientId()),
+                "", "", "", ""
+            ),
+            new CreditCardPaymentRequestDto.Credit(
+                new CreditCardPaymentRequestDto.Credit.Card(
+                    "", "", "", "", ""
+                ),
+                1
+            )
+        );
+    }
+
+    static QRCodePaymentRequestDto pix(OrderEntity orderEntity) {
+        Money total = orderEntity.getTotal();
+        return new QRCodePaymentRequestDto(
+            total.toBigDecimal(),
+            total.currency().getCurrencyCode(),
+            String.valueOf(orderEntity.getId()),
+            String.valueOf(orderEntity.getClientId())
+        );
+    }
+}
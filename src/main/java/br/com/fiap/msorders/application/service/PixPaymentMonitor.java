@@ -0,0 +1,179 @@
+package br.com.fiap.msorders.application.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.fiap.msorders.application.metrics.StageTimers;
+import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.infrastructure.integration.dto.StatusDto;
+import br.com.fiap.msorders.infrastructure.integration.dto.TokenResponseDto;
+import br.com.fiap.msorders.infrastructure.integration.service.PaymentServiceClient;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderRepository;
+
+/**
+ * Confirms PIX payments off the request thread. Each pending order is polled on
+ * ms-payments with exponential backoff until it is approved or the confirmation window
+ * closes; the outcome is then written in a short transaction by {@link OrderPaymentFinalizer}.
+ * Only an answer from ms-payments can fail an order: while its status cannot be read, the
+ * order stays {@code PENDING_PAYMENT} and is polled at the longest interval past the
+ * deadline, so an outage of ms-payments never marks paid orders as unpaid. Orders still
+ * pending when the application starts are picked up again.
+ * <p>
+ * Each poll is timed and traced as the {@code pixPayment poll} stage, with the token and
+ * status requests as its children.
+ */
+@Component
+public class PixPaymentMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PixPaymentMonitor.class);
+
+    private record PendingPix(long orderId, long clientId, Instant deadline, int attempts, Instant nextPollAt) {}
+
+    private enum PixStatus { APPROVED, NOT_APPROVED, UNKNOWN }
+
+    private final PaymentServiceClient paymentServiceClient;
+    private final OrderPaymentFinalizer orderPaymentFinalizer;
+    private final OrderRepository orderRepository;
+    private final Executor executor;
+    private final Clock clock;
+    private final StageTimers stageTimers;
+    private final Duration initialDelay;
+    private final Duration maxDelay;
+    private final Duration timeout;
+    private final double multiplier;
+
+    private final Map<Long, PendingPix> pending = new ConcurrentHashMap<>();
+    private final Set<Long> polling = ConcurrentHashMap.newKeySet();
+
+    public PixPaymentMonitor(PaymentServiceClient paymentServiceClient, OrderPaymentFinalizer orderPaymentFinalizer,
+            OrderRepository orderRepository, @Qualifier("integrationExecutor") Executor executor, Clock clock,
+            StageTimers stageTimers,
+            @Value("${payment.pix.poll.initial-delay-ms:2000}") long initialDelayMs,
+            @Value("${payment.pix.poll.max-delay-ms:10000}") long maxDelayMs,
+            @Value("${payment.pix.poll.multiplier:2.0}") double multiplier,
+            @Value("${payment.pix.poll.timeout-ms:30000}") long timeoutMs) {
+        this.paymentServiceClient = paymentServiceClient;
+        this.orderPaymentFinalizer = orderPaymentFinalizer;
+        this.orderRepository = orderRepository;
+        this.executor = executor;
+        this.clock = clock;
+        this.stageTimers = stageTimers;
+        this.initialDelay = Duration.ofMillis(initialDelayMs);
+        this.maxDelay = Duration.ofMillis(maxDelayMs);
+        this.multiplier = multiplier;
+        this.timeout = Duration.ofMillis(timeoutMs);
+    }
+
+    /**
+     * Starts watching an order. Inside a transaction the order is only scheduled after
+     * commit, so the first poll never sees the order before it is marked as pending.
+     */
+    public void track(long orderId, long clientId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(orderId, clientId);
+                }
+            });
+        } else {
+            schedule(orderId, clientId);
+        }
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumePendingPayments() {
+        orderRepository.findByStatus(OrderStatus.PENDING_PAYMENT)
+            .forEach(order -> schedule(order.getId(), order.getClientId()));
+    }
+
+    @Scheduled(fixedDelayString = "${payment.pix.poll.tick-ms:500}")
+    public void pollDuePayments() {
+        Instant now = clock.instant();
+        for (PendingPix pix : pending.values()) {
+            if (!pix.nextPollAt().isAfter(now) && polling.add(pix.orderId())) {
+                try {
+                    executor.execute(() -> stageTimers.record("pixPayment", "poll", () -> poll(pix)));
+                } catch (RejectedExecutionException e) {
+                    // integration executor saturated: try again on the next tick
+                    polling.remove(pix.orderId());
+                }
+            }
+        }
+    }
+
+    private void schedule(long orderId, long clientId) {
+        Instant now = clock.instant();
+        pending.put(orderId, new PendingPix(orderId, clientId, now.plus(timeout), 0, now.plus(initialDelay)));
+    }
+
+    private void poll(PendingPix pix) {
+        try {
+            PixStatus status = checkStatus(pix);
+            if (status == PixStatus.APPROVED) {
+                logger.info("Payment confirmed for Order ID: {}", pix.orderId());
+                orderPaymentFinalizer.finalizePendingPayment(pix.orderId(), true);
+                pending.remove(pix.orderId());
+            } else if (status == PixStatus.NOT_APPROVED && !clock.instant().isBefore(pix.deadline())) {
+                logger.warn("Payment not confirmed for Order ID: {}", pix.orderId());
+                orderPaymentFinalizer.finalizePendingPayment(pix.orderId(), false);
+                pending.remove(pix.orderId());
+            } else {
+                pending.put(pix.orderId(), backOff(pix));
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to finalize PIX payment for Order ID: {}", pix.orderId(), e);
+            pending.put(pix.orderId(), backOff(pix));
+        } finally {
+            polling.remove(pix.orderId());
+        }
+    }
+
+    private PixStatus checkStatus(PendingPix pix) {
+        try {
+            TokenResponseDto token = paymentServiceClient.getToken("client_credentials", String.valueOf(pix.clientId()), "client_secret", "oob");
+            ResponseEntity<StatusDto> statusResponse = paymentServiceClient.getStatus(
+                String.valueOf(pix.orderId()),
+                "Bearer " + token.access_token()
+            );
+
+            StatusDto status = statusResponse.getBody();
+            logger.info("Payment Status: {}", status);
+            if (status == null) {
+                return PixStatus.UNKNOWN;
+            }
+            return "APPROVED".equalsIgnoreCase(status.status()) ? PixStatus.APPROVED : PixStatus.NOT_APPROVED;
+        } catch (RuntimeException e) {
+            logger.warn("Could not check PIX payment status for Order ID: {}", pix.orderId(), e);
+            return PixStatus.UNKNOWN;
+        }
+    }
+
+    private PendingPix backOff(PendingPix pix) {
+        double delayMs = initialDelay.toMillis() * Math.pow(multiplier, pix.attempts() + 1);
+        Duration delay = Duration.ofMillis((long) Math.min(delayMs, maxDelay.toMillis()));
+        return new PendingPix(pix.orderId(), pix.clientId(), pix.deadline(), pix.attempts() + 1, clock.instant().plus(delay));
+    }
+}
@@ -0,0 +1,77 @@
+package br.com.fiap.msorders.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import io.micrometer.tracing.Tracer;
+
+/**
+ * Executor used to fan out remote calls to ms-clients, ms-products, ms-stock and ms-payments.
+ * <p>
+ * On platform threads it is a bounded pool with no queue: a task either gets its own
+ * thread or, once the pool is saturated, is rejected. {@code AsyncCalls} turns the
+ * rejection into a {@code DependencyUnavailableException}, answered with a 503. Running
+ * the task on the caller instead would skip the per-call timeouts and hedging, which are
+ * attached to the submitted task, exactly when the service is overloaded. With no queue,
+ * tasks that fan out again (e.g. the single-SKU stock fallback) never wait behind
+ * themselves.
+ * <p>
+ * With {@code spring.threads.virtual.enabled=true} on Java 21+ every task gets its own
+ * virtual thread instead, matching the virtual-thread Tomcat executor Spring Boot then
+ * configures for request handling. On older runtimes the property is ignored and the
+ * platform pool is used.
+ * <p>
+ * Tasks run with the trace context of the thread that submitted them, so spans opened
+ * on the fan-out threads stay in the caller's trace.
+ */
+@Configuration
+public class IntegrationExecutorConfig {
+
+    @Bean(name = "integrationExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor integrationExecutor(
+            @Value("${integration.executor.core-size:16}") int coreSize,
+            @Value("${integration.executor.max-size:64}") int maxSize,
+            @Value("${integration.executor.queue-capacity:0}") int queueCapacity,
+            ObjectProvider<Tracer> tracer) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("integration-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setTaskDecorator(traceContextDecorator(tracer));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    /**
+     * No concurrency limit here on purpose: a limit that blocks the submitter could hold
+     * every permit in parent tasks waiting on their own children. Pressure on shared
+     * resources is bounded where the resource lives (Hikari pool size and connection
+     * timeout for the database).
+     */
+    @Bean(name = "integrationExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualIntegrationExecutor(ObjectProvider<Tracer> tracer) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("integration-");
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(traceContextDecorator(tracer));
+        executor.setTaskTerminationTimeout(10_000);
+        return executor;
+    }
+
+    private static TaskDecorator traceContextDecorator(ObjectProvider<Tracer> tracer) {
+        return tracer.getIfAvailable(() -> Tracer.NOOP).currentTraceContext()::wrap;
+    }
+}
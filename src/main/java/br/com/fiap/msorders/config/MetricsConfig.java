@@ -0,0 +1,23 @@
+package br.com.fiap.msorders.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import br.com.fiap.msorders.infrastructure.integration.metrics.MeteredClient;
+import br.com.fiap.msorders.infrastructure.integration.metrics.MeteredFeignCapability;
+import feign.Capability;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Times every Feign request through a {@link MeteredClient} transport. Together with the
+ * {@code orders.stage} timers this shows where a slow order request spent its time;
+ * both are scraped from {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public Capability meteredFeignCapability(MeterRegistry meterRegistry) {
+        return new MeteredFeignCapability(meterRegistry);
+    }
+}
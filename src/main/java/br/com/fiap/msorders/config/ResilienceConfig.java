@@ -0,0 +1,43 @@
+package br.com.fiap.msorders.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import br.com.fiap.msorders.infrastructure.integration.resilience.DownstreamGuards;
+import br.com.fiap.msorders.infrastructure.integration.resilience.ResilientClient;
+import br.com.fiap.msorders.infrastructure.integration.resilience.ResilientFeignCapability;
+import feign.Capability;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Isolates the downstream services from each other: every Feign client is built with a
+ * {@link ResilientClient} transport, so each one gets its own bulkhead and circuit breaker.
+ * Breaker state, failure rates and bulkhead usage are published as
+ * {@code resilience4j.*} metrics tagged with the client name.
+ */
+@Configuration
+public class ResilienceConfig {
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.ofDefaults();
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(MeterRegistry meterRegistry) {
+        BulkheadRegistry registry = BulkheadRegistry.ofDefaults();
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public Capability resilientFeignCapability(DownstreamGuards guards) {
+        return new ResilientFeignCapability(guards);
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.fiap.msorders.config;
+
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.fiap.msorders.infrastructure.integration.tracing.TracedFeignCapability;
+import br.com.fiap.msorders.infrastructure.tracing.JsonFileSpanExporter;
+import feign.Capability;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * Traces order requests across the downstream calls. Spring Boot opens a server span per
+ * HTTP request, {@code StageTimers} a child span per stage, and every Feign request gets
+ * a client span that carries the trace context to the downstream service.
+ * <p>
+ * With {@code orders.tracing.file.enabled=true} finished spans are also appended to a
+ * local NDJSON file; any other {@link SpanExporter} bean is picked up the same way.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public Capability tracedFeignCapability(Tracer tracer, Propagator propagator) {
+        return new TracedFeignCapability(tracer, propagator);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "orders.tracing.file.enabled", havingValue = "true")
+    public SpanExporter jsonFileSpanExporter(@Value("${orders.tracing.file.path}") String path,
+            ObjectMapper objectMapper) {
+        return new JsonFileSpanExporter(Path.of(path), objectMapper);
+    }
+}
@@ -5,5 +5,6 @@ public enum OrderStatus {
     CLOSED_SUCCESS,
     FAILED_NOT_STOCK,
     FAILED_NOT_PAID,
-    CANCELLED
+    CANCELLED,
+    PENDING_PAYMENT
 }
@@ -0,0 +1,6 @@
+package br.com.fiap.msorders.domain.enums;
+
+public enum OutboxMessageType {
+    STOCK_DECREASE,
+    STOCK_RELEASE
+}
@@ -0,0 +1,8 @@
+package br.com.fiap.msorders.domain.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED,
+    CANCELLED
+}
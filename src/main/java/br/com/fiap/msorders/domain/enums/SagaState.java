@@ -0,0 +1,7 @@
+package br.com.fiap.msorders.domain.enums;
+
+public enum SagaState {
+    COMPENSATING,
+    COMPENSATED,
+    COMPENSATION_FAILED
+}
@@ -0,0 +1,12 @@
+package br.com.fiap.msorders.domain.exception;
+
+public class DependencyUnavailableException extends RuntimeException {
+
+    public DependencyUnavailableException(String dependency, String reason) {
+        super(dependency + " is unavailable: " + reason);
+    }
+
+    public DependencyUnavailableException(String dependency, String reason, Throwable cause) {
+        super(dependency + " is unavailable: " + reason, cause);
+    }
+}
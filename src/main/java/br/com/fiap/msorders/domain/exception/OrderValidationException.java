@@ -0,0 +1,12 @@
+package br.com.fiap.msorders.domain.exception;
+
+public class OrderValidationException extends RuntimeException {
+
+    public OrderValidationException(String message) {
+        super(message);
+    }
+
+    public OrderValidationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,81 @@
+package br.com.fiap.msorders.domain.model;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * An amount of money as a count of the currency's minor units (centavos for BRL), so sums
+ * and products are exact {@code long} arithmetic with no per-operation allocation.
+ * Overflow throws {@link ArithmeticException} instead of wrapping.
+ * <p>
+ * Decimal amounts enter and leave through {@link #of(BigDecimal, Currency)} and
+ * {@link #toBigDecimal()}, which never round: an amount with more decimal places than the
+ * currency has is rejected.
+ */
+public record Money(long minorUnits, Currency currency) implements Comparable<Money> {
+
+    public static final Currency BRL = Currency.getInstance("BRL");
+
+    public static final Money ZERO = new Money(0, BRL);
+
+    public Money {
+        Objects.requireNonNull(currency, "currency");
+        if (currency.getDefaultFractionDigits() < 0) {
+            throw new IllegalArgumentException("Currency " + currency + " has no minor unit");
+        }
+    }
+
+    public static Money of(BigDecimal amount) {
+        return of(amount, BRL);
+    }
+
+    public static Money of(BigDecimal amount, Currency currency) {
+        Objects.requireNonNull(amount, "amount");
+        // setScale without a rounding mode throws rather than drop digits
+        long minorUnits = amount.setScale(currency.getDefaultFractionDigits()).unscaledValue().longValueExact();
+        return new Money(minorUnits, currency);
+    }
+
+    public static Money of(String amount) {
+        return of(new BigDecimal(amount), BRL);
+    }
+
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money times(long factor) {
+        return new Money(Math.multiplyExact(minorUnits, factor), currency);
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, currency.getDefaultFractionDigits());
+    }
+
+    public void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return currency.getCurrencyCode() + ' ' + toBigDecimal().toPlainString();
+    }
+}
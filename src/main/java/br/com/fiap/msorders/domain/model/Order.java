@@ -1,6 +1,5 @@
 package br.com.fiap.msorders.domain.model;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -15,7 +14,7 @@ import lombok.Setter;
 public class Order {
     private long id;
     private long clientId;
-    private BigDecimal total;
+    private Money total;
     private OrderStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
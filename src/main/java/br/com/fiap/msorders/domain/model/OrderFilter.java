@@ -0,0 +1,16 @@
+package br.com.fiap.msorders.domain.model;
+
+import java.time.LocalDateTime;
+
+import br.com.fiap.msorders.domain.enums.OrderStatus;
+
+/**
+ * Optional criteria for listing orders. A {@code null} field means "no restriction";
+ * {@code from} is inclusive and {@code to} exclusive on the creation date.
+ */
+public record OrderFilter(Long clientId, OrderStatus status, LocalDateTime from, LocalDateTime to) {
+
+    public static OrderFilter none() {
+        return new OrderFilter(null, null, null, null);
+    }
+}
@@ -1,7 +1,5 @@
 package br.com.fiap.msorders.domain.model;
 
-import java.math.BigDecimal;
-
 import lombok.Getter;
 
 @Getter
@@ -10,12 +8,12 @@ public class OrderItem {
     private final long orderId;
     private final String productSku;
     private final Integer quantity;
-    private final BigDecimal price;
+    private final Money price;
 
-    public OrderItem(long id, long orderId, String productSku, Integer quantity, BigDecimal price) {
+    public OrderItem(long id, long orderId, String productSku, Integer quantity, Money price) {
         if (quantity == null || quantity <= 0)
             throw new IllegalArgumentException("Quantity must be greater than 0");
-        if (price == null || price.compareTo(BigDecimal.ZERO) < 0)
+        if (price == null || price.isNegative())
             throw new IllegalArgumentException("Price must be non-negative");
 
         this.id = id;
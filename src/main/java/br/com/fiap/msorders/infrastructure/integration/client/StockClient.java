@@ -1,11 +1,16 @@
 package br.com.fiap.msorders.infrastructure.integration.client;
 
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import br.com.fiap.msorders.infrastructure.integration.dto.SkuQuantityDto;
 import br.com.fiap.msorders.infrastructure.integration.dto.StockDto;
 
 @FeignClient(name = "ms-stock", url = "${ms.stock.url}")
@@ -14,8 +19,21 @@ public interface StockClient {
 	ResponseEntity<StockDto> searchStock(@PathVariable String sku);
 	
 	@PostMapping("/stocks/decrease")
-	ResponseEntity<Void> decreaseStock(@RequestParam("sku") String sku, @RequestParam("quantity") int quantity);
+	ResponseEntity<Void> decreaseStock(@RequestParam("sku") String sku, @RequestParam("quantity") int quantity,
+			@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey);
 	
 	@PostMapping("/stocks/increase")
-	ResponseEntity<Void> increaseStock(@RequestParam("sku") String sku, @RequestParam("quantity") int quantity);
-}
\ No newline at end of file
+	ResponseEntity<Void> increaseStock(@RequestParam("sku") String sku, @RequestParam("quantity") int quantity,
+			@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey);
+	
+	@PostMapping("/stocks/batch/search")
+	ResponseEntity<List<StockDto>> searchStocks(@RequestBody List<String> skus);
+	
+	@PostMapping("/stocks/batch/decrease")
+	ResponseEntity<Void> decreaseStocks(@RequestBody List<SkuQuantityDto> items,
+			@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey);
+	
+	@PostMapping("/stocks/batch/increase")
+	ResponseEntity<Void> increaseStocks(@RequestBody List<SkuQuantityDto> items,
+			@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey);
+}
@@ -1,10 +1,11 @@
 package br.com.fiap.msorders.infrastructure.integration.dto;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 public record CreditCardPaymentRequestDto(
     String seller_id,
-    double amount,
+    BigDecimal amount,
     String currency,
     Order order,
     Customer customer,
@@ -17,7 +18,7 @@ public record CreditCardPaymentRequestDto(
         public static record Item(
             String name,
             int quantity,
-            double unit_amount
+            BigDecimal unit_amount
         ) {}
     }
 
@@ -1,7 +1,9 @@
 package br.com.fiap.msorders.infrastructure.integration.dto;
 
+import java.math.BigDecimal;
+
 public record QRCodePaymentRequestDto(
-    double amount,
+    BigDecimal amount,
     String currency,
     String orderId,
     String customerId
@@ -0,0 +1,6 @@
+package br.com.fiap.msorders.infrastructure.integration.dto;
+
+public record SkuQuantityDto(
+        String sku,
+        int quantity
+) {}
@@ -0,0 +1,67 @@
+package br.com.fiap.msorders.infrastructure.integration.metrics;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import br.com.fiap.msorders.domain.exception.DependencyUnavailableException;
+import feign.Client;
+import feign.Request;
+import feign.Request.Options;
+import feign.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.http.Outcome;
+
+/**
+ * Feign transport that times every request as {@code integration.client.requests}, tagged
+ * with the client name, the Feign method ({@code StockClient#searchStock(String)}), the
+ * HTTP status and its outcome ({@code SUCCESS}, {@code CLIENT_ERROR}, {@code SERVER_ERROR}
+ * ...). Calls that never got an answer are tagged {@code UNAVAILABLE} when the bulkhead or
+ * breaker refused them and {@code IO_ERROR} otherwise, with status {@code NONE}.
+ */
+public class MeteredClient implements Client {
+
+    public static final String METRIC = "integration.client.requests";
+
+    private final Client delegate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public MeteredClient(Client delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Response execute(Request request, Options options) throws IOException {
+        long start = System.nanoTime();
+        String status = "NONE";
+        String outcome = "IO_ERROR";
+        try {
+            Response response = delegate.execute(request, options);
+            status = String.valueOf(response.status());
+            outcome = Outcome.forStatus(response.status()).name();
+            return response;
+        } catch (DependencyUnavailableException e) {
+            outcome = "UNAVAILABLE";
+            throw e;
+        } finally {
+            timer(request, status, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(Request request, String status, String outcome) {
+        String client = request.requestTemplate().feignTarget().name();
+        String method = request.requestTemplate().methodMetadata().configKey();
+        return timers.computeIfAbsent(method + '|' + status + '|' + outcome, key -> Timer.builder(METRIC)
+                .tag("client", client)
+                .tag("method", method)
+                .tag("status", status)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.fiap.msorders.infrastructure.integration.metrics;
+
+import org.springframework.core.Ordered;
+
+import feign.Capability;
+import feign.Client;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Wraps the transport of every Feign client in a {@link MeteredClient}. Ordered last so it
+ * is the outermost wrapper and also times calls the resilience guards turn away.
+ */
+public class MeteredFeignCapability implements Capability, Ordered {
+
+    private final MeterRegistry meterRegistry;
+
+    public MeteredFeignCapability(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return new MeteredClient(client, meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
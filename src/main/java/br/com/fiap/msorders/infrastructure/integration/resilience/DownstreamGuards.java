@@ -0,0 +1,61 @@
+package br.com.fiap.msorders.infrastructure.integration.resilience;
+
+import java.time.Duration;
+
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+
+/**
+ * One bulkhead and one circuit breaker per downstream, keyed by Feign client name
+ * ({@code ms-clients}, {@code ms-products}, {@code ms-stock}, {@code ms-payments}).
+ * <p>
+ * Settings are read from {@code integration.resilience.<name>.*}, falling back to
+ * {@code integration.resilience.default.*}, so a slow dependency can get its own limits
+ * without touching the others.
+ */
+@Component
+public class DownstreamGuards {
+
+    private static final String PREFIX = "integration.resilience.";
+
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+    private final Environment environment;
+
+    public DownstreamGuards(CircuitBreakerRegistry circuitBreakers, BulkheadRegistry bulkheads, Environment environment) {
+        this.circuitBreakers = circuitBreakers;
+        this.bulkheads = bulkheads;
+        this.environment = environment;
+    }
+
+    public CircuitBreaker circuitBreaker(String name) {
+        return circuitBreakers.circuitBreaker(name, () -> CircuitBreakerConfig.custom()
+                .slidingWindowSize(setting(name, "sliding-window-size", 20))
+                .minimumNumberOfCalls(setting(name, "minimum-number-of-calls", 10))
+                .failureRateThreshold(setting(name, "failure-rate-threshold", 50))
+                .slowCallDurationThreshold(Duration.ofMillis(setting(name, "slow-call-duration-threshold-ms", 2000)))
+                .slowCallRateThreshold(setting(name, "slow-call-rate-threshold", 80))
+                .waitDurationInOpenState(Duration.ofMillis(setting(name, "wait-duration-in-open-state-ms", 10_000)))
+                .permittedNumberOfCallsInHalfOpenState(setting(name, "permitted-calls-in-half-open-state", 3))
+                .build());
+    }
+
+    public Bulkhead bulkhead(String name) {
+        return bulkheads.bulkhead(name, () -> BulkheadConfig.custom()
+                .maxConcurrentCalls(setting(name, "max-concurrent-calls", 20))
+                .maxWaitDuration(Duration.ofMillis(setting(name, "max-wait-ms", 0)))
+                .build());
+    }
+
+    private int setting(String name, String key, int defaultValue) {
+        Integer fallback = environment.getProperty(PREFIX + "default." + key, Integer.class, defaultValue);
+        return environment.getProperty(PREFIX + name + "." + key, Integer.class, fallback);
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.fiap.msorders.infrastructure.integration.resilience;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import br.com.fiap.msorders.infrastructure.integration.service.AsyncCalls;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hedged requests for idempotent reads: if the first attempt has not answered within
+ * {@code integration.hedging.delay-ms}, a second identical request is sent and whichever
+ * succeeds first wins. This trims the latency tail caused by one slow instance or a lost
+ * packet, at the cost of a few extra requests. Only use it for calls that are safe to
+ * repeat.
+ * <p>
+ * Both attempts run through {@link AsyncCalls}, and the one that loses is cancelled as soon
+ * as the other succeeds: if it is still waiting for a thread it never starts, otherwise it
+ * is interrupted. Both also go through the downstream's bulkhead and circuit breaker, so
+ * an open breaker or a full bulkhead turns the second attempt away instead of adding load
+ * to a dependency that is already struggling; the caller then keeps waiting for the first.
+ */
+@Component
+public class HedgedCalls {
+
+    private final Executor executor;
+    private final boolean enabled;
+    private final long delayMs;
+    private final Counter hedges;
+
+    public HedgedCalls(@Qualifier("integrationExecutor") Executor executor, MeterRegistry meterRegistry,
+            @Value("${integration.hedging.enabled:false}") boolean enabled,
+            @Value("${integration.hedging.delay-ms:100}") long delayMs) {
+        this.executor = executor;
+        this.enabled = enabled;
+        this.delayMs = delayMs;
+        this.hedges = Counter.builder("integration.hedged.requests")
+                .description("Second attempts sent because the first one was slow")
+                .register(meterRegistry);
+    }
+
+    public <T> T call(Supplier<T> request) {
+        if (!enabled) {
+            return request.get();
+        }
+
+        CompletableFuture<T> first = AsyncCalls.supply(request, executor);
+        try {
+            return first.get(delayMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            hedges.increment();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            first.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for downstream response", e);
+        }
+
+        // a second attempt the executor rejects fails at once, leaving the first one to answer
+        CompletableFuture<T> second = AsyncCalls.supply(request, executor);
+        try {
+            return firstSuccessful(first, second).join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        } finally {
+            first.cancel(true);
+            second.cancel(true);
+        }
+    }
+
+    public long getHedgeCount() {
+        return (long) hedges.count();
+    }
+
+    /** Completes with the first attempt that succeeds, or with the first failure once both failed. */
+    private static <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> first, CompletableFuture<T> second) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<T> attempt : List.of(first, second)) {
+            attempt.whenComplete((value, error) -> {
+                if (error == null) {
+                    result.complete(value);
+                } else if (failures.incrementAndGet() == 2) {
+                    first.whenComplete((ignored, firstError) -> result.completeExceptionally(firstError));
+                }
+            });
+        }
+        return result;
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof RuntimeException runtimeException
+                ? runtimeException
+                : new IllegalStateException("Downstream call failed", cause);
+    }
+}
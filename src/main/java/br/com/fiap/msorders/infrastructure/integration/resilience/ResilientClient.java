@@ -0,0 +1,66 @@
+package br.com.fiap.msorders.infrastructure.integration.resilience;
+
+import java.io.IOException;
+
+import br.com.fiap.msorders.domain.exception.DependencyUnavailableException;
+import feign.Client;
+import feign.Request;
+import feign.Request.Options;
+import feign.Response;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+/**
+ * Feign transport that runs every request of a downstream inside its bulkhead and circuit
+ * breaker. A full bulkhead or an open breaker fails at once with
+ * {@link DependencyUnavailableException} instead of tying up the caller's thread.
+ * <p>
+ * Timeouts, I/O errors and 5xx responses count as failures; 4xx answers (e.g. an unknown
+ * client or SKU) are normal results and keep the breaker closed.
+ */
+public class ResilientClient implements Client {
+
+    private final Client delegate;
+    private final DownstreamGuards guards;
+
+    public ResilientClient(Client delegate, DownstreamGuards guards) {
+        this.delegate = delegate;
+        this.guards = guards;
+    }
+
+    @Override
+    public Response execute(Request request, Options options) throws IOException {
+        String name = request.requestTemplate().feignTarget().name();
+        Bulkhead bulkhead = guards.bulkhead(name);
+        CircuitBreaker circuitBreaker = guards.circuitBreaker(name);
+
+        if (!bulkhead.tryAcquirePermission()) {
+            throw new DependencyUnavailableException(name, "too many concurrent calls");
+        }
+        try {
+            circuitBreaker.acquirePermission();
+        } catch (CallNotPermittedException e) {
+            bulkhead.releasePermission();
+            throw new DependencyUnavailableException(name, "circuit breaker is open", e);
+        }
+
+        long start = circuitBreaker.getCurrentTimestamp();
+        try {
+            Response response = delegate.execute(request, options);
+            long duration = circuitBreaker.getCurrentTimestamp() - start;
+            if (response.status() >= 500) {
+                circuitBreaker.onError(duration, circuitBreaker.getTimestampUnit(),
+                        new IOException(name + " answered HTTP " + response.status()));
+            } else {
+                circuitBreaker.onSuccess(duration, circuitBreaker.getTimestampUnit());
+            }
+            return response;
+        } catch (IOException | RuntimeException e) {
+            circuitBreaker.onError(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit(), e);
+            throw e;
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+}
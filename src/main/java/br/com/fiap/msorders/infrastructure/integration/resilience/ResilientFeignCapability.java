@@ -0,0 +1,27 @@
+package br.com.fiap.msorders.infrastructure.integration.resilience;
+
+import org.springframework.core.Ordered;
+
+import feign.Capability;
+import feign.Client;
+
+/** Wraps the transport of every Feign client in a {@link ResilientClient}. */
+public class ResilientFeignCapability implements Capability, Ordered {
+
+    private final DownstreamGuards guards;
+
+    public ResilientFeignCapability(DownstreamGuards guards) {
+        this.guards = guards;
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return new ResilientClient(client, guards);
+    }
+
+    /** Capabilities are applied in order, each wrapping the previous: the guards sit closest to the transport. */
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+}
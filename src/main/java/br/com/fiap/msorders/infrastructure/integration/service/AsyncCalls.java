@@ -0,0 +1,72 @@
+package br.com.fiap.msorders.infrastructure.integration.service;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import br.com.fiap.msorders.domain.exception.DependencyUnavailableException;
+
+/**
+ * Runs a blocking integration call on the integration executor and exposes it as a
+ * {@link CompletableFuture}. Unlike {@code CompletableFuture.supplyAsync}, cancelling the
+ * returned future, or having {@code orTimeout} fire on it, also cancels the call: a call
+ * still waiting for a thread never starts, and a running one is interrupted. Interrupts
+ * stop waits such as a hedged attempt or the single-SKU fallback; a socket read already
+ * in progress still ends at the client's read timeout.
+ * <p>
+ * Exceptions thrown by the call complete the future as they are, so callers see the same
+ * {@code StockNotFoundException} or {@code ClientNotFoundException} as the synchronous
+ * methods, wrapped in a {@code CompletionException} by dependent stages. A call the
+ * executor rejects because it is saturated fails with
+ * {@link DependencyUnavailableException}.
+ */
+public final class AsyncCalls {
+
+    private AsyncCalls() {
+    }
+
+    public static <T> CompletableFuture<T> supply(Supplier<T> call, Executor executor) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicBoolean finished = new AtomicBoolean();
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            try {
+                T value = call.get();
+                finished.set(true);
+                result.complete(value);
+            } catch (Throwable e) {
+                finished.set(true);
+                result.completeExceptionally(e);
+            }
+        }, null);
+
+        result.whenComplete((value, error) -> {
+            // only completions from outside the call: cancel() or orTimeout()
+            if (!finished.get() && (error instanceof CancellationException || error instanceof TimeoutException)) {
+                task.cancel(true);
+            }
+        });
+
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(rejected(e));
+        }
+        return result;
+    }
+
+    static DependencyUnavailableException rejected(RejectedExecutionException e) {
+        return new DependencyUnavailableException("integration executor", "no thread available", e);
+    }
+
+    public static CompletableFuture<Void> run(Runnable call, Executor executor) {
+        return supply(() -> {
+            call.run();
+            return null;
+        }, executor);
+    }
+}
@@ -2,23 +2,143 @@ package br.com.fiap.msorders.infrastructure.integration.service;
 
 import br.com.fiap.msorders.domain.exception.ClientNotFoundException;
 import br.com.fiap.msorders.infrastructure.integration.client.ClientClient;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderRepository;
 import feign.FeignException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks that a client exists in ms-clients, remembering known clients for
+ * {@code clients.cache.ttl-seconds} and missing ones for {@code negative-ttl-seconds}, so
+ * neither repeat customers nor a flood of bad ids reach ms-clients every time. Loads are
+ * single-flight: concurrent orders for the same client wait for one remote call, made
+ * outside the cache's locks.
+ * <p>
+ * With {@code clients.cache.order-history-fast-path} enabled, a client that already has
+ * orders here (an index lookup on {@code orders.client_id}) is taken as existing without
+ * asking ms-clients. Leave it off if clients can be deleted in ms-clients.
+ */
 @Service
 public class ClientServiceClient {
 
     private final ClientClient clientClient;
+    private final Executor executor;
+    private final OrderRepository orderRepository;
+    private final boolean orderHistoryFastPath;
+    private final AsyncCache<Long, Boolean> clients;
 
-    public ClientServiceClient(ClientClient clientClient) {
+    public ClientServiceClient(ClientClient clientClient, @Qualifier("integrationExecutor") Executor executor,
+            OrderRepository orderRepository, MeterRegistry meterRegistry, Clock clock,
+            @Value("${clients.cache.max-size:100000}") long maxSize,
+            @Value("${clients.cache.ttl-seconds:600}") long ttlSeconds,
+            @Value("${clients.cache.negative-ttl-seconds:30}") long negativeTtlSeconds,
+            @Value("${clients.cache.order-history-fast-path:false}") boolean orderHistoryFastPath) {
         this.clientClient = clientClient;
+        this.executor = executor;
+        this.orderRepository = orderRepository;
+        this.orderHistoryFastPath = orderHistoryFastPath;
+
+        long ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        long negativeTtlNanos = Duration.ofSeconds(negativeTtlSeconds).toNanos();
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<Long, Boolean>() {
+                    @Override
+                    public long expireAfterCreate(Long clientId, Boolean exists, long currentTime) {
+                        return exists ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long clientId, Boolean exists, long currentTime, long currentDuration) {
+                        return expireAfterCreate(clientId, exists, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long clientId, Boolean exists, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, clients, "clients");
+        Gauge.builder("cache.hit.ratio", clients, c -> c.synchronous().stats().hitRate())
+                .tag("cache", "clients")
+                .description("Fraction of client checks served from the cache")
+                .register(meterRegistry);
     }
 
     public void validateClientExists(Long clientId) {
+        if (!exists(clientId)) {
+            throw new ClientNotFoundException(clientId);
+        }
+    }
+
+    /** {@link #validateClientExists} on the integration executor, see {@link AsyncCalls}. */
+    public CompletableFuture<Void> validateClientExistsAsync(Long clientId) {
+        return AsyncCalls.run(() -> validateClientExists(clientId), executor);
+    }
+
+    public CacheStats getCacheStats() {
+        return clients.synchronous().stats();
+    }
+
+    /**
+     * Only the caller that puts the pending entry in the cache calls {@link #load}, on its
+     * own thread and outside the cache's locks; the others wait on that entry. Errors other
+     * than 404 propagate as they are and complete the entry exceptionally, which drops it,
+     * so they are not cached.
+     */
+    private boolean exists(Long clientId) {
+        CompletableFuture<Boolean> pending = new CompletableFuture<>();
+        CompletableFuture<Boolean> entry = clients.get(clientId, (id, unused) -> pending);
+        if (entry != pending) {
+            try {
+                return entry.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw e;
+            }
+        }
+        try {
+            boolean exists = load(clientId);
+            pending.complete(exists);
+            return exists;
+        } catch (Throwable e) {
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Boolean load(Long clientId) {
+        if (orderHistoryFastPath && orderRepository.existsByClientId(clientId)) {
+            return true;
+        }
         try {
             clientClient.validateClient(clientId);
+            return true;
         } catch (FeignException.NotFound e) {
-            throw new ClientNotFoundException(clientId);
+            return false;
         }
     }
 }
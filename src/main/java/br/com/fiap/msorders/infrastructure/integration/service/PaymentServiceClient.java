@@ -8,7 +8,12 @@ import br.com.fiap.msorders.infrastructure.integration.dto.QRCodePaymentResponse
 import br.com.fiap.msorders.infrastructure.integration.dto.StatusDto;
 import br.com.fiap.msorders.infrastructure.integration.dto.TokenRequestDto;
 import br.com.fiap.msorders.infrastructure.integration.dto.TokenResponseDto;
+import br.com.fiap.msorders.infrastructure.integration.resilience.HedgedCalls;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
@@ -16,15 +21,26 @@ import org.springframework.stereotype.Service;
 public class PaymentServiceClient {
 
     private final PaymentClient paymentClient;
+    private final PaymentTokenCache paymentTokenCache;
+    private final HedgedCalls hedgedCalls;
+    private final Executor executor;
 
-    public PaymentServiceClient(PaymentClient paymentClient) {
+    public PaymentServiceClient(PaymentClient paymentClient, PaymentTokenCache paymentTokenCache, HedgedCalls hedgedCalls,
+            @Qualifier("integrationExecutor") Executor executor) {
         this.paymentClient = paymentClient;
+        this.paymentTokenCache = paymentTokenCache;
+        this.hedgedCalls = hedgedCalls;
+        this.executor = executor;
     }
 
     public TokenResponseDto generateToken(String grantType, String clientId, String clientSecret, String scope) {
         TokenRequestDto tokenRequest = new TokenRequestDto(grantType, clientId, clientSecret, scope);
         return paymentClient.generateToken(tokenRequest);
     }
+
+    public TokenResponseDto getToken(String grantType, String clientId, String clientSecret, String scope) {
+        return paymentTokenCache.getToken(grantType, clientId, clientSecret, scope);
+    }
     
     public CreditCardPaymentResponseDto processCreditCardPayment(CreditCardPaymentRequestDto request, String token) {
         return paymentClient.processCreditCardPayment(request, token);
@@ -35,6 +51,25 @@ public class PaymentServiceClient {
     }
     
     public ResponseEntity<StatusDto> getStatus(String paymentId, String token) {
-        return paymentClient.getStatus(paymentId, token);
+        return hedgedCalls.call(() -> paymentClient.getStatus(paymentId, token));
+    }
+
+    public CompletableFuture<TokenResponseDto> getTokenAsync(String grantType, String clientId, String clientSecret,
+            String scope) {
+        return AsyncCalls.supply(() -> getToken(grantType, clientId, clientSecret, scope), executor);
+    }
+
+    public CompletableFuture<CreditCardPaymentResponseDto> processCreditCardPaymentAsync(
+            CreditCardPaymentRequestDto request, String token) {
+        return AsyncCalls.supply(() -> processCreditCardPayment(request, token), executor);
+    }
+
+    public CompletableFuture<QRCodePaymentResponseDto> generateQRCodePaymentAsync(QRCodePaymentRequestDto request,
+            String token) {
+        return AsyncCalls.supply(() -> generateQRCodePayment(request, token), executor);
+    }
+
+    public CompletableFuture<ResponseEntity<StatusDto>> getStatusAsync(String paymentId, String token) {
+        return AsyncCalls.supply(() -> getStatus(paymentId, token), executor);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,146 @@
+package br.com.fiap.msorders.infrastructure.integration.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import br.com.fiap.msorders.infrastructure.integration.client.PaymentClient;
+import br.com.fiap.msorders.infrastructure.integration.dto.TokenRequestDto;
+import br.com.fiap.msorders.infrastructure.integration.dto.TokenResponseDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Caches ms-payments access tokens per grant type, client credentials and scope for as
+ * long as {@code expires_in} allows. A token that is about to expire is still served
+ * while a background refresh replaces it. Loads are single-flight: concurrent callers
+ * for the same key share one request to ms-payments, and so do refreshes. Hits, misses
+ * and background refreshes are published as {@code cache.gets} and {@code cache.refreshes}
+ * tagged {@code cache=paymentTokens}.
+ * <p>
+ * Each token expires on its own lifetime, so the refresh point is kept per token too:
+ * {@code refresh-ahead-seconds} before expiry, but never earlier than the last quarter of
+ * the lifetime. A token issued for less than the refresh-ahead window would otherwise be
+ * refreshed on every hit.
+ */
+@Component
+public class PaymentTokenCache {
+
+    private static final double MAX_REFRESH_AHEAD_FRACTION = 0.25;
+
+    private record TokenKey(String grantType, String clientId, String clientSecret, String scope) {}
+
+    private record CachedToken(TokenResponseDto token, Instant refreshAt, Instant expiresAt) {}
+
+    private final PaymentClient paymentClient;
+    private final Clock clock;
+    private final Executor executor;
+    private final Duration refreshAhead;
+    private final LoadingCache<TokenKey, CachedToken> tokens;
+    private final AtomicLong refreshes = new AtomicLong();
+
+    public PaymentTokenCache(PaymentClient paymentClient, Clock clock, @Qualifier("integrationExecutor") Executor executor,
+            MeterRegistry meterRegistry,
+            @Value("${payment.token-cache.refresh-ahead-seconds:60}") long refreshAheadSeconds,
+            @Value("${payment.token-cache.max-entries:10000}") int maxEntries) {
+        this.paymentClient = paymentClient;
+        this.clock = clock;
+        this.executor = executor;
+        this.refreshAhead = Duration.ofSeconds(refreshAheadSeconds);
+
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<TokenKey, CachedToken>() {
+                    @Override
+                    public long expireAfterCreate(TokenKey key, CachedToken cached, long currentTime) {
+                        return Math.max(0, TimeUnit.MILLISECONDS.toNanos(cached.expiresAt().toEpochMilli()) - currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(TokenKey key, CachedToken cached, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, cached, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(TokenKey key, CachedToken cached, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .recordStats()
+                .build(new CacheLoader<TokenKey, CachedToken>() {
+                    @Override
+                    public CachedToken load(TokenKey key) {
+                        return fetch(key);
+                    }
+
+                    /** On the integration executor; a failed refresh keeps the current token until it expires. */
+                    @Override
+                    public CompletableFuture<CachedToken> asyncReload(TokenKey key, CachedToken current, Executor unused) {
+                        refreshes.incrementAndGet();
+                        return AsyncCalls.supply(() -> fetch(key), PaymentTokenCache.this.executor);
+                    }
+                });
+
+        FunctionCounter.builder("cache.gets", tokens, cache -> cache.stats().hitCount())
+                .tags("cache", "paymentTokens", "result", "hit")
+                .description("Payment token requests served from the cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", tokens, cache -> cache.stats().missCount())
+                .tags("cache", "paymentTokens", "result", "miss")
+                .description("Payment token requests that waited for ms-payments")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.refreshes", refreshes, AtomicLong::get)
+                .tag("cache", "paymentTokens")
+                .description("Payment tokens refreshed in the background before expiring")
+                .register(meterRegistry);
+    }
+
+    public TokenResponseDto getToken(String grantType, String clientId, String clientSecret, String scope) {
+        TokenKey key = new TokenKey(grantType, clientId, clientSecret, scope);
+        CachedToken cached = tokens.get(key);
+
+        Instant now = clock.instant();
+        if (!now.isBefore(cached.refreshAt()) && now.isBefore(cached.expiresAt())) {
+            // joins the refresh already in flight for this key, if any
+            tokens.refresh(key);
+        }
+        return cached.token();
+    }
+
+    public long getHits() {
+        return tokens.stats().hitCount();
+    }
+
+    public long getMisses() {
+        return tokens.stats().missCount();
+    }
+
+    public long getRefreshes() {
+        return refreshes.get();
+    }
+
+    private CachedToken fetch(TokenKey key) {
+        Instant requestedAt = clock.instant();
+        TokenResponseDto token = paymentClient.generateToken(
+                new TokenRequestDto(key.grantType(), key.clientId(), key.clientSecret(), key.scope()));
+        Duration lifetime = Duration.ofSeconds(Math.max(token.expires_in(), 0));
+        Duration maxAhead = Duration.ofMillis((long) (lifetime.toMillis() * MAX_REFRESH_AHEAD_FRACTION));
+        Duration ahead = refreshAhead.compareTo(maxAhead) < 0 ? refreshAhead : maxAhead;
+        Instant expiresAt = requestedAt.plus(lifetime);
+        return new CachedToken(token, expiresAt.minus(ahead), expiresAt);
+    }
+}
@@ -2,25 +2,187 @@ package br.com.fiap.msorders.infrastructure.integration.service;
 
 import br.com.fiap.msorders.domain.exception.ProductNotFoundException;
 import br.com.fiap.msorders.infrastructure.integration.client.ProductClient;
+import br.com.fiap.msorders.infrastructure.integration.dto.ProductDto;
 import feign.FeignException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
+/**
+ * Validates SKUs against ms-products, remembering the answer per SKU: known SKUs for
+ * {@code products.sku-cache.ttl-seconds} and unknown ones for the (shorter)
+ * {@code negative-ttl-seconds}. Only the SKUs missing from the cache are sent to
+ * ms-products, in a single call.
+ * <p>
+ * ms-products answers 404 when any SKU of a batch is unknown without saying which, so
+ * such a batch is not cached unless it held a single SKU.
+ */
 @Service
 public class ProductServiceClient {
 
     private final ProductClient productClient;
+    private final Executor executor;
+    private final Cache<String, Boolean> skus;
 
-    public ProductServiceClient(ProductClient productClient) {
+    public ProductServiceClient(ProductClient productClient, @Qualifier("integrationExecutor") Executor executor,
+            MeterRegistry meterRegistry, Clock clock,
+            @Value("${products.sku-cache.max-size:50000}") long maxSize,
+            @Value("${products.sku-cache.ttl-seconds:600}") long ttlSeconds,
+            @Value("${products.sku-cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
         this.productClient = productClient;
+        this.executor = executor;
+
+        long ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        long negativeTtlNanos = Duration.ofSeconds(negativeTtlSeconds).toNanos();
+        this.skus = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Boolean>() {
+                    @Override
+                    public long expireAfterCreate(String sku, Boolean exists, long currentTime) {
+                        return exists ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String sku, Boolean exists, long currentTime, long currentDuration) {
+                        return expireAfterCreate(sku, exists, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String sku, Boolean exists, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, skus, "skus");
+        Gauge.builder("cache.hit.ratio", skus, c -> c.stats().hitRate())
+                .tag("cache", "skus")
+                .description("Fraction of SKU checks served from the cache")
+                .register(meterRegistry);
     }
 
     public void validateSkus(List<String> skus) {
+        Set<String> requested = new LinkedHashSet<>(skus);
+        Map<String, Boolean> cached = this.skus.getAllPresent(requested);
+
+        List<String> unknown = new ArrayList<>();
+        List<String> misses = new ArrayList<>();
+        for (String sku : requested) {
+            Boolean exists = cached.get(sku);
+            if (exists == null) {
+                misses.add(sku);
+            } else if (!exists) {
+                unknown.add(sku);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new ProductNotFoundException(unknown);
+        }
+        if (misses.isEmpty()) {
+            return;
+        }
+
+        unknown = fetch(misses);
+        if (!unknown.isEmpty()) {
+            throw new ProductNotFoundException(unknown);
+        }
+    }
+
+    /**
+     * Returns the SKUs ms-products does not know, where {@link #validateSkus} fails on them.
+     * ms-products answers a multi-SKU request with a bare 404 when any SKU is unknown; the
+     * SKUs of such a request are then checked one by one to tell which.
+     */
+    public Set<String> findUnknownSkus(Collection<String> skus) {
+        Set<String> requested = new LinkedHashSet<>(skus);
+        Map<String, Boolean> cached = this.skus.getAllPresent(requested);
+
+        Set<String> unknown = new LinkedHashSet<>();
+        List<String> misses = new ArrayList<>();
+        for (String sku : requested) {
+            Boolean exists = cached.get(sku);
+            if (exists == null) {
+                misses.add(sku);
+            } else if (!exists) {
+                unknown.add(sku);
+            }
+        }
+        if (misses.isEmpty()) {
+            return unknown;
+        }
+
+        for (String sku : fetch(misses)) {
+            if (this.skus.getIfPresent(sku) == null) {
+                unknown.addAll(fetch(List.of(sku)));
+            } else {
+                unknown.add(sku);
+            }
+        }
+        return unknown;
+    }
+
+    /** {@link #validateSkus} on the integration executor, see {@link AsyncCalls}. */
+    public CompletableFuture<Void> validateSkusAsync(List<String> skus) {
+        return AsyncCalls.run(() -> validateSkus(skus), executor);
+    }
+
+    /** Loads {@code skus} into the cache ahead of the first orders; failures are left to the next lookup. */
+    public void warmUp(List<String> skus) {
+        if (!skus.isEmpty()) {
+            fetch(skus);
+        }
+    }
+
+    public CacheStats getCacheStats() {
+        return skus.stats();
+    }
+
+    /** Asks ms-products about {@code misses}, caches the answer and returns the unknown SKUs. */
+    private List<String> fetch(List<String> misses) {
+        List<ProductDto> products;
         try {
-            productClient.validateSkus(skus);
+            products = productClient.validateSkus(misses);
         } catch (FeignException.NotFound e) {
-            throw new ProductNotFoundException(skus);
+            if (misses.size() == 1) {
+                skus.put(misses.get(0), false);
+            }
+            return misses;
+        }
+
+        Set<String> found = products == null ? Set.of()
+                : products.stream().map(ProductDto::productSku).collect(Collectors.toSet());
+        List<String> unknown = new ArrayList<>();
+        for (String sku : misses) {
+            boolean exists = found.contains(sku);
+            skus.put(sku, exists);
+            if (!exists) {
+                unknown.add(sku);
+            }
         }
+        return unknown;
     }
 }
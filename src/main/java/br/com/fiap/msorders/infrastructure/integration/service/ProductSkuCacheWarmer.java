@@ -0,0 +1,50 @@
+package br.com.fiap.msorders.infrastructure.integration.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderItemRepository;
+
+/**
+ * Fills the SKU cache of {@link ProductServiceClient} at startup with the most ordered
+ * SKUs, so the first orders after a deploy do not all go to ms-products.
+ */
+@Component
+@ConditionalOnProperty(name = "products.sku-cache.warm-up-size")
+public class ProductSkuCacheWarmer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSkuCacheWarmer.class);
+
+    private final ProductServiceClient productServiceClient;
+    private final OrderItemRepository orderItemRepository;
+    private final int warmUpSize;
+
+    public ProductSkuCacheWarmer(ProductServiceClient productServiceClient, OrderItemRepository orderItemRepository,
+            @Value("${products.sku-cache.warm-up-size}") int warmUpSize) {
+        this.productServiceClient = productServiceClient;
+        this.orderItemRepository = orderItemRepository;
+        this.warmUpSize = warmUpSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (warmUpSize <= 0) {
+            return;
+        }
+        try {
+            List<String> skus = orderItemRepository.findMostOrderedSkus(PageRequest.of(0, warmUpSize));
+            productServiceClient.warmUp(skus);
+            logger.info("SKU cache warmed up with {} SKUs", skus.size());
+        } catch (RuntimeException e) {
+            logger.warn("SKU cache warm-up failed, SKUs will be loaded on demand", e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package br.com.fiap.msorders.infrastructure.integration.service;
+
+import java.util.Collection;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import br.com.fiap.msorders.domain.exception.OrderValidationException;
+
+/**
+ * Concurrent calls to other services made while checking orders. Each call runs through
+ * {@link AsyncCalls}, bounded by its own timeout; a timeout or a checked failure becomes an
+ * {@link OrderValidationException} naming the target, runtime exceptions pass through as
+ * they are. {@link #awaitAll(Collection)} fails on the first failing call and cancels the
+ * others.
+ */
+public final class RemoteCalls {
+
+    private RemoteCalls() {
+    }
+
+    public static <T> CompletableFuture<T> supply(String target, Supplier<T> call, Executor executor, long timeoutMs) {
+        CompletableFuture<T> source = AsyncCalls.supply(call, executor).orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+        CompletableFuture<T> result = source.exceptionally(ex -> {
+            throw failure(target, timeoutMs, unwrap(ex));
+        });
+        // cancelling the call returned to the caller also stops the call itself
+        result.whenComplete((value, ex) -> {
+            if (ex instanceof CancellationException) {
+                source.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    public static CompletableFuture<Void> run(String target, Runnable call, Executor executor, long timeoutMs) {
+        return supply(target, () -> {
+            call.run();
+            return null;
+        }, executor, timeoutMs);
+    }
+
+    /** Waits for every call; on the first failure cancels the rest and rethrows it. */
+    public static void awaitAll(Collection<? extends CompletableFuture<?>> calls) {
+        CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+        calls.forEach(call -> call.whenComplete((result, ex) -> {
+            if (ex != null) {
+                firstFailure.completeExceptionally(ex);
+            }
+        }));
+
+        try {
+            CompletableFuture.anyOf(CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)), firstFailure).join();
+        } catch (CompletionException e) {
+            calls.forEach(call -> call.cancel(true));
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new OrderValidationException("Order validation failed", cause);
+        }
+    }
+
+    private static RuntimeException failure(String target, long timeoutMs, Throwable cause) {
+        if (cause instanceof TimeoutException) {
+            return new OrderValidationException(target + " did not respond within " + timeoutMs + " ms");
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new OrderValidationException("Call to " + target + " failed", cause);
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        Throwable cause = ex;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
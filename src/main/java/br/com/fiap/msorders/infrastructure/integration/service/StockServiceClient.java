@@ -1,42 +1,266 @@
 package br.com.fiap.msorders.infrastructure.integration.service;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import br.com.fiap.msorders.infrastructure.integration.dto.SkuQuantityDto;
 import br.com.fiap.msorders.infrastructure.integration.dto.StockDto;
 import br.com.fiap.msorders.infrastructure.integration.client.StockClient;
+import br.com.fiap.msorders.infrastructure.integration.resilience.HedgedCalls;
 import br.com.fiap.msorders.infrastructure.web.exceptions.StockNotFoundException;
 import feign.FeignException;
 
+/**
+ * Every call has an {@code ...Async} variant that runs it on the integration executor;
+ * see {@link AsyncCalls} for how cancellation and timeouts reach the call. The single-SKU
+ * fallbacks run the same way and stop the remaining calls as soon as one fails.
+ */
 @Service
 public class StockServiceClient {
 
+    private static final Logger logger = LoggerFactory.getLogger(StockServiceClient.class);
+
     private final StockClient stockClient;
+    private final Executor executor;
+    private final HedgedCalls hedgedCalls;
+    private final BatchEndpoint batchSearch;
+    private final BatchEndpoint batchDecrease;
+    private final BatchEndpoint batchIncrease;
 
-    public StockServiceClient(StockClient stockClient) {
+    public StockServiceClient(StockClient stockClient, @Qualifier("integrationExecutor") Executor executor,
+            HedgedCalls hedgedCalls, @Value("${ms.stock.batch.retry-interval-ms:300000}") long batchRetryIntervalMs) {
         this.stockClient = stockClient;
+        this.executor = executor;
+        this.hedgedCalls = hedgedCalls;
+        this.batchSearch = new BatchEndpoint("search", false, batchRetryIntervalMs);
+        this.batchDecrease = new BatchEndpoint("decrease", true, batchRetryIntervalMs);
+        this.batchIncrease = new BatchEndpoint("increase", true, batchRetryIntervalMs);
     }
 
     public StockDto searchStock(String sku) {
         try {
-            return stockClient.searchStock(sku).getBody();
+            return hedgedCalls.call(() -> stockClient.searchStock(sku).getBody());
         } catch (FeignException.NotFound e) {
             throw new StockNotFoundException(sku);
         }
     }
-    
+
     public void increaseStock(String sku, int quantity) {
+        increaseStock(sku, quantity, null);
+    }
+
+    /** With a non-null {@code idempotencyKey}, ms-stock applies repeats of the same request only once. */
+    public void increaseStock(String sku, int quantity, String idempotencyKey) {
         try {
-            stockClient.increaseStock(sku, quantity);
+            stockClient.increaseStock(sku, quantity, idempotencyKey);
         } catch (FeignException e) {
             throw new RuntimeException("Failed to increase stock for SKU: " + sku, e);
         }
     }
-    
+
     public void decreaseStock(String sku, int quantity) {
+        decreaseStock(sku, quantity, null);
+    }
+
+    /** With a non-null {@code idempotencyKey}, ms-stock applies repeats of the same request only once. */
+    public void decreaseStock(String sku, int quantity, String idempotencyKey) {
         try {
-            stockClient.decreaseStock(sku, quantity);
+            stockClient.decreaseStock(sku, quantity, idempotencyKey);
         } catch (FeignException e) {
             throw new RuntimeException("Failed to decrease stock for SKU: " + sku, e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Looks up the stock of every SKU in one round trip. If ms-stock does not expose the
+     * batch endpoint, the lookups are sent concurrently one SKU at a time and the batch
+     * endpoint is not tried again until the retry interval has elapsed. Each batch
+     * endpoint is tracked on its own, see {@link BatchEndpoint}.
+     */
+    public Map<String, StockDto> searchStocks(List<String> skus) {
+        Map<String, StockDto> stocks = findStocks(skus);
+        for (String sku : skus) {
+            if (!stocks.containsKey(sku)) {
+                throw new StockNotFoundException(sku);
+            }
+        }
+        return stocks;
+    }
+
+    /**
+     * Same lookup as {@link #searchStocks}, but SKUs ms-stock has no stock for are left
+     * out of the result instead of failing the whole lookup.
+     */
+    public Map<String, StockDto> findStocks(List<String> skus) {
+        List<String> distinctSkus = skus.stream().distinct().toList();
+
+        if (batchSearch.isAvailable()) {
+            try {
+                List<StockDto> found = stockClient.searchStocks(distinctSkus).getBody();
+                Map<String, StockDto> bySku = new LinkedHashMap<>();
+                if (found != null) {
+                    found.forEach(stock -> bySku.put(stock.sku(), stock));
+                }
+
+                Map<String, StockDto> stocks = new LinkedHashMap<>();
+                for (String sku : distinctSkus) {
+                    StockDto stock = bySku.get(sku);
+                    if (stock != null) {
+                        stocks.put(sku, stock);
+                    }
+                }
+                return stocks;
+            } catch (FeignException e) {
+                if (!batchSearch.markUnsupportedIf(e)) {
+                    throw e;
+                }
+            }
+        }
+
+        Map<String, CompletableFuture<StockDto>> lookups = new LinkedHashMap<>();
+        for (String sku : distinctSkus) {
+            lookups.put(sku, AsyncCalls.supply(() -> {
+                try {
+                    return searchStock(sku);
+                } catch (StockNotFoundException e) {
+                    return null;
+                }
+            }, executor));
+        }
+        RemoteCalls.awaitAll(lookups.values());
+
+        Map<String, StockDto> stocks = new LinkedHashMap<>();
+        lookups.forEach((sku, lookup) -> {
+            StockDto stock = lookup.join();
+            if (stock != null) {
+                stocks.put(sku, stock);
+            }
+        });
+        return stocks;
+    }
+
+    /**
+     * Reserves stock for a whole order in one round trip, falling back to concurrent
+     * single-SKU decreases when the batch endpoint is not available.
+     */
+    public void decreaseStocks(List<SkuQuantityDto> items) {
+        decreaseStocks(null, items);
+    }
+
+    /**
+     * Same as {@link #decreaseStocks(List)}, sending {@code idempotencyKey} so a repeated
+     * request is applied once. On the single-SKU fallback each call gets the key suffixed
+     * with its SKU.
+     */
+    public void decreaseStocks(String idempotencyKey, List<SkuQuantityDto> items) {
+        if (batchDecrease.isAvailable()) {
+            try {
+                stockClient.decreaseStocks(items, idempotencyKey);
+                return;
+            } catch (FeignException e) {
+                if (!batchDecrease.markUnsupportedIf(e)) {
+                    throw new RuntimeException("Failed to decrease stock for SKUs: " + items, e);
+                }
+            }
+        }
+
+        RemoteCalls.awaitAll(items.stream()
+                .map(item -> AsyncCalls.run(() -> decreaseStock(item.sku(), item.quantity(),
+                        idempotencyKey == null ? null : idempotencyKey + ":" + item.sku()), executor))
+                .toList());
+    }
+
+    /**
+     * Puts stock back for many SKUs in one round trip, sending {@code idempotencyKey}. Falls
+     * back to concurrent single-SKU increases, each keyed with its SKU, when ms-stock has
+     * no batch increase endpoint.
+     */
+    public void increaseStocks(String idempotencyKey, List<SkuQuantityDto> items) {
+        if (batchIncrease.isAvailable()) {
+            try {
+                stockClient.increaseStocks(items, idempotencyKey);
+                return;
+            } catch (FeignException e) {
+                if (!batchIncrease.markUnsupportedIf(e)) {
+                    throw new RuntimeException("Failed to increase stock for SKUs: " + items, e);
+                }
+            }
+        }
+
+        RemoteCalls.awaitAll(items.stream()
+                .map(item -> AsyncCalls.run(() -> increaseStock(item.sku(), item.quantity(),
+                        idempotencyKey == null ? null : idempotencyKey + ":" + item.sku()), executor))
+                .toList());
+    }
+
+    public CompletableFuture<StockDto> searchStockAsync(String sku) {
+        return AsyncCalls.supply(() -> searchStock(sku), executor);
+    }
+
+    public CompletableFuture<Void> increaseStockAsync(String sku, int quantity) {
+        return AsyncCalls.run(() -> increaseStock(sku, quantity), executor);
+    }
+
+    public CompletableFuture<Void> decreaseStockAsync(String sku, int quantity) {
+        return AsyncCalls.run(() -> decreaseStock(sku, quantity), executor);
+    }
+
+    public CompletableFuture<Map<String, StockDto>> searchStocksAsync(List<String> skus) {
+        return AsyncCalls.supply(() -> searchStocks(skus), executor);
+    }
+
+    public CompletableFuture<Void> decreaseStocksAsync(List<SkuQuantityDto> items) {
+        return AsyncCalls.run(() -> decreaseStocks(items), executor);
+    }
+
+    /**
+     * Whether one ms-stock batch endpoint can be used. After an answer saying the endpoint
+     * does not exist, callers fall back to single-SKU calls until the retry interval has
+     * elapsed. On endpoints that change stock, a 404 only counts when it has no body: a
+     * 404 with a body is ms-stock rejecting the request, e.g. an unknown SKU, and falling
+     * back would send the same rejected change again one SKU at a time.
+     */
+    private static final class BatchEndpoint {
+
+        private final String name;
+        private final boolean changesStock;
+        private final long retryIntervalMs;
+        private volatile long unsupportedUntil;
+
+        BatchEndpoint(String name, boolean changesStock, long retryIntervalMs) {
+            this.name = name;
+            this.changesStock = changesStock;
+            this.retryIntervalMs = retryIntervalMs;
+        }
+
+        boolean isAvailable() {
+            return System.currentTimeMillis() >= unsupportedUntil;
+        }
+
+        /** Marks the endpoint unsupported if {@code e} says it does not exist; returns whether it did. */
+        boolean markUnsupportedIf(FeignException e) {
+            if (!isUnsupported(e)) {
+                return false;
+            }
+            logger.warn("ms-stock batch {} unavailable (HTTP {}), falling back to single-SKU calls", name, e.status());
+            unsupportedUntil = System.currentTimeMillis() + retryIntervalMs;
+            return true;
+        }
+
+        private boolean isUnsupported(FeignException e) {
+            if (e.status() == 405 || e.status() == 501) {
+                return true;
+            }
+            return e.status() == 404 && (!changesStock || e.contentUTF8().isBlank());
+        }
+    }
+}
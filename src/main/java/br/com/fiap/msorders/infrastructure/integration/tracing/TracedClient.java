@@ -0,0 +1,73 @@
+package br.com.fiap.msorders.infrastructure.integration.tracing;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import feign.Client;
+import feign.Request;
+import feign.Request.Options;
+import feign.Response;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+
+/**
+ * Feign transport that runs every request in a client span, {@code "<METHOD> <client>"},
+ * child of the span current on the calling thread, and sends the trace context along in
+ * the request headers ({@code traceparent} by default). The span is tagged with the Feign
+ * method, URL and HTTP status, and marked as failed on I/O errors, on calls the bulkhead
+ * or breaker refused and on 5xx answers.
+ */
+public class TracedClient implements Client {
+
+    private static final Propagator.Setter<Map<String, Collection<String>>> HEADER_SETTER =
+            (headers, name, value) -> headers.put(name, List.of(value));
+
+    private final Client delegate;
+    private final Tracer tracer;
+    private final Propagator propagator;
+
+    public TracedClient(Client delegate, Tracer tracer, Propagator propagator) {
+        this.delegate = delegate;
+        this.tracer = tracer;
+        this.propagator = propagator;
+    }
+
+    @Override
+    public Response execute(Request request, Options options) throws IOException {
+        String client = request.requestTemplate().feignTarget().name();
+        Span span = tracer.spanBuilder()
+                .name(request.httpMethod().name() + " " + client)
+                .kind(Span.Kind.CLIENT)
+                .remoteServiceName(client)
+                .tag("feign.method", request.requestTemplate().methodMetadata().configKey())
+                .tag("http.method", request.httpMethod().name())
+                .tag("http.url", request.url())
+                .start();
+        try (Tracer.SpanInScope scope = tracer.withSpan(span)) {
+            Response response = delegate.execute(withTraceHeaders(request, span), options);
+            span.tag("http.status_code", String.valueOf(response.status()));
+            if (response.status() >= 500) {
+                span.error(new IllegalStateException("HTTP " + response.status()));
+            }
+            return response;
+        } catch (IOException | RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private Request withTraceHeaders(Request request, Span span) {
+        Map<String, Collection<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        request.headers().forEach((name, values) -> headers.put(name, new ArrayList<>(values)));
+        propagator.inject(span.context(), headers, HEADER_SETTER);
+        return Request.create(request.httpMethod(), request.url(), headers, request.body(), request.charset(),
+                request.requestTemplate());
+    }
+}
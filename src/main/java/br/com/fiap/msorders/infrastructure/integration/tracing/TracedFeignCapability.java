@@ -0,0 +1,33 @@
+package br.com.fiap.msorders.infrastructure.integration.tracing;
+
+import org.springframework.core.Ordered;
+
+import feign.Capability;
+import feign.Client;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+
+/**
+ * Wraps the transport of every Feign client in a {@link TracedClient}. Ordered outside the
+ * resilience guards, so refused calls still get a span, and inside the metrics wrapper.
+ */
+public class TracedFeignCapability implements Capability, Ordered {
+
+    private final Tracer tracer;
+    private final Propagator propagator;
+
+    public TracedFeignCapability(Tracer tracer, Propagator propagator) {
+        this.tracer = tracer;
+        this.propagator = propagator;
+    }
+
+    @Override
+    public Client enrich(Client client) {
+        return new TracedClient(client, tracer, propagator);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE - 1;
+    }
+}
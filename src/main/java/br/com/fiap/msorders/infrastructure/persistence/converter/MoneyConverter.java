@@ -0,0 +1,29 @@
+package br.com.fiap.msorders.infrastructure.persistence.converter;
+
+import java.math.BigDecimal;
+
+import br.com.fiap.msorders.domain.model.Money;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores {@link Money} in the existing {@code DECIMAL(19,2)} columns. The columns carry no
+ * currency, so amounts are read back as BRL and anything else is refused on write.
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        if (money == null) {
+            return null;
+        }
+        money.requireSameCurrency(Money.ZERO);
+        return money.toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal value) {
+        return value == null ? null : Money.of(value);
+    }
+}
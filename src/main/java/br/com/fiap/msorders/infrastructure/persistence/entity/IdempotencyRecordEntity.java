@@ -0,0 +1,51 @@
+package br.com.fiap.msorders.infrastructure.persistence.entity;
+
+import java.time.LocalDateTime;
+
+import br.com.fiap.msorders.domain.enums.IdempotencyStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The outcome of a request sent with an {@code Idempotency-Key}. {@code recordKey} is the
+ * key prefixed with the operation, and {@code fingerprint} a hash of the request, so the
+ * same key cannot replay a response to a different request. A null {@code version} marks
+ * a new record: it is inserted, never merged, so two racing requests cannot both claim it.
+ */
+@Entity
+@Table(name = "idempotency_records")
+@Getter
+@Setter
+@NoArgsConstructor
+public class IdempotencyRecordEntity {
+
+    @Id
+    @Column(length = 300)
+    private String recordKey;
+
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private IdempotencyStatus status;
+
+    private Integer responseStatus;
+
+    @Column(length = 100)
+    private String contentType;
+
+    @Lob
+    private String responseBody;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Version
+    private Long version;
+}
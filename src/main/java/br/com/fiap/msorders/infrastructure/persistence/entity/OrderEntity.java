@@ -1,11 +1,12 @@
 package br.com.fiap.msorders.infrastructure.persistence.entity;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.infrastructure.persistence.converter.MoneyConverter;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -21,14 +22,16 @@ import lombok.Setter;
 public class OrderEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private long id;
 
     @Column(nullable = false)
     private long clientId;
 
     @Column(nullable = false)
-    private BigDecimal total;
+    @Convert(converter = MoneyConverter.class)
+    private Money total;
 
     @Enumerated(EnumType.STRING)
     private OrderStatus status;
@@ -3,7 +3,8 @@ package br.com.fiap.msorders.infrastructure.persistence.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.math.BigDecimal;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.infrastructure.persistence.converter.MoneyConverter;
 
 @Entity
 @Table(name = "order_items")
@@ -14,7 +15,8 @@ import java.math.BigDecimal;
 public class OrderItemEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -28,13 +30,14 @@ public class OrderItemEntity {
     private Integer quantity;
 
     @Column(nullable = false)
-    private BigDecimal price;
+    @Convert(converter = MoneyConverter.class)
+    private Money price;
     
-    public OrderItemEntity(OrderEntity order, String productSku, int quantity, BigDecimal price) {
+    public OrderItemEntity(OrderEntity order, String productSku, int quantity, Money price) {
         if (quantity <= 0) {
             throw new IllegalArgumentException("Quantity must be greater than zero.");
         }
-        if (price.compareTo(BigDecimal.ZERO) < 0) {
+        if (price.isNegative()) {
             throw new IllegalArgumentException("Price must be greater than or equal to zero.");
         }
         this.order = order;
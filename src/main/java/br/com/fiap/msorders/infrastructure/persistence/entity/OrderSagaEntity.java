@@ -0,0 +1,40 @@
+package br.com.fiap.msorders.infrastructure.persistence.entity;
+
+import java.time.LocalDateTime;
+
+import br.com.fiap.msorders.domain.enums.SagaState;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Progress of undoing an order whose payment failed. The id is the order's own id, so an
+ * order has at most one saga.
+ */
+@Entity
+@Table(name = "order_sagas")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OrderSagaEntity {
+
+    @Id
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private SagaState state;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,68 @@
+package br.com.fiap.msorders.infrastructure.persistence.entity;
+
+import java.time.LocalDateTime;
+
+import br.com.fiap.msorders.domain.enums.OutboxMessageType;
+import br.com.fiap.msorders.domain.enums.OutboxStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A command for another service, written in the same transaction as the order change
+ * that caused it. {@code batchKey} is fixed when the relay first claims the message and
+ * is sent as the idempotency key, so a retry after a crash repeats the same request.
+ * {@code version} keeps two relays from claiming the same message.
+ */
+@Entity
+@Table(name = "outbox_messages")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxMessageEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_messages_seq")
+    @SequenceGenerator(name = "outbox_messages_seq", sequenceName = "outbox_messages_seq", allocationSize = 50)
+    private long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxMessageType type;
+
+    @Column(nullable = false)
+    private long orderId;
+
+    @Column(nullable = false, unique = true, length = 100)
+    private String messageKey;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxStatus status;
+
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(length = 100)
+    private String batchKey;
+
+    private boolean isolated;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+
+    @Version
+    private long version;
+}
@@ -0,0 +1,32 @@
+package br.com.fiap.msorders.infrastructure.persistence.repository;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.fiap.msorders.domain.enums.IdempotencyStatus;
+import br.com.fiap.msorders.infrastructure.persistence.entity.IdempotencyRecordEntity;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecordEntity, String> {
+
+    @Modifying
+    @Query("delete from IdempotencyRecordEntity r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    /** Deletes the record only if it is still the expired one that was read. */
+    @Modifying
+    @Query("delete from IdempotencyRecordEntity r where r.recordKey = :recordKey and r.expiresAt <= :now")
+    int deleteIfExpired(@Param("recordKey") String recordKey, @Param("now") LocalDateTime now);
+
+    /** Deletes the record only if it is still the claim that was made with this lease. */
+    @Modifying
+    @Query("delete from IdempotencyRecordEntity r where r.recordKey = :recordKey and r.status = :status"
+            + " and r.expiresAt = :expiresAt")
+    int deleteClaim(@Param("recordKey") String recordKey, @Param("status") IdempotencyStatus status,
+            @Param("expiresAt") LocalDateTime expiresAt);
+}
@@ -1,9 +1,16 @@
 package br.com.fiap.msorders.infrastructure.persistence.repository;
 
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import br.com.fiap.msorders.infrastructure.persistence.entity.OrderItemEntity;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItemEntity, Long> {
-}
\ No newline at end of file
+
+    @Query("SELECT i.productSku FROM OrderItemEntity i GROUP BY i.productSku ORDER BY COUNT(i) DESC")
+    List<String> findMostOrderedSkus(Pageable pageable);
+}
@@ -0,0 +1,163 @@
+package br.com.fiap.msorders.infrastructure.persistence.repository;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import br.com.fiap.msorders.application.dto.OrderDto;
+import br.com.fiap.msorders.application.dto.OrderItemDto;
+import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.domain.model.OrderFilter;
+
+/**
+ * Read-only queries that map rows straight into {@link OrderDto}/{@link OrderItemDto}.
+ * No entity, domain object or persistence-context entry is created on the way, and every
+ * query is a single statement: orders are left-joined with their items and consecutive
+ * rows of the same order are folded back together.
+ * <p>
+ * {@link #stream} fetches rows {@code fetchSize} at a time and hands each order to the
+ * consumer as soon as its last item has been read, so memory use does not grow with the
+ * result. Some drivers (e.g. PostgreSQL) only honour the fetch size inside a transaction.
+ */
+@Repository
+public class OrderReadRepository {
+
+    private static final String ORDER_COLUMNS = """
+            SELECT o.id, o.client_id, o.total, o.status, o.created_at, o.updated_at,
+                   i.id AS item_id, i.product_sku, i.quantity, i.price""";
+
+    private static final String ORDER_BY = " ORDER BY o.id, i.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderReadRepository(DataSource dataSource, @Value("${orders.stream.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    public Optional<OrderDto> findById(long id) {
+        List<OrderDto> orders = new ArrayList<>();
+        query(ORDER_COLUMNS + " FROM orders o LEFT JOIN order_items i ON i.order_id = o.id WHERE o.id = ?" + ORDER_BY,
+                List.of(id), orders::add);
+        return orders.stream().findFirst();
+    }
+
+    /**
+     * Keyset page: up to {@code limit} orders matching {@code filter} with id greater than
+     * {@code afterId}. The limit applies to orders, not to joined rows.
+     */
+    public List<OrderDto> findPage(OrderFilter filter, long afterId, int limit) {
+        List<Object> args = new ArrayList<>();
+        String where = where(filter, afterId, args);
+        args.add(limit);
+
+        List<OrderDto> orders = new ArrayList<>();
+        query(ORDER_COLUMNS + " FROM (SELECT * FROM orders o" + where + " ORDER BY o.id LIMIT ?) o"
+                + " LEFT JOIN order_items i ON i.order_id = o.id" + ORDER_BY, args, orders::add);
+        return orders;
+    }
+
+    public void stream(OrderFilter filter, long afterId, Consumer<OrderDto> consumer) {
+        List<Object> args = new ArrayList<>();
+        String where = where(filter, afterId, args);
+        query(ORDER_COLUMNS + " FROM orders o LEFT JOIN order_items i ON i.order_id = o.id" + where + ORDER_BY,
+                args, consumer);
+    }
+
+    private void query(String sql, List<Object> args, Consumer<OrderDto> consumer) {
+        OrderAssembler assembler = new OrderAssembler(consumer);
+        jdbcTemplate.query(sql, assembler, args.toArray());
+        assembler.flush();
+    }
+
+    private static String where(OrderFilter filter, long afterId, List<Object> args) {
+        StringBuilder where = new StringBuilder(" WHERE o.id > ?");
+        args.add(afterId);
+        if (filter.clientId() != null) {
+            where.append(" AND o.client_id = ?");
+            args.add(filter.clientId());
+        }
+        if (filter.status() != null) {
+            where.append(" AND o.status = ?");
+            args.add(filter.status().name());
+        }
+        if (filter.from() != null) {
+            where.append(" AND o.created_at >= ?");
+            args.add(Timestamp.valueOf(filter.from()));
+        }
+        if (filter.to() != null) {
+            where.append(" AND o.created_at < ?");
+            args.add(Timestamp.valueOf(filter.to()));
+        }
+        return where.toString();
+    }
+
+    /** Folds the consecutive rows of one order into an {@link OrderDto} with its items. */
+    private static final class OrderAssembler implements RowCallbackHandler {
+
+        private final Consumer<OrderDto> consumer;
+
+        private long id;
+        private long clientId;
+        private Money total;
+        private OrderStatus status;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+        private List<OrderItemDto> items;
+
+        private OrderAssembler(Consumer<OrderDto> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long orderId = rs.getLong("id");
+            if (items == null || id != orderId) {
+                flush();
+                id = orderId;
+                clientId = rs.getLong("client_id");
+                total = toMoney(rs.getBigDecimal("total"));
+                String statusName = rs.getString("status");
+                status = statusName != null ? OrderStatus.valueOf(statusName) : null;
+                createdAt = toLocalDateTime(rs.getTimestamp("created_at"));
+                updatedAt = toLocalDateTime(rs.getTimestamp("updated_at"));
+                items = new ArrayList<>();
+            }
+
+            long itemId = rs.getLong("item_id");
+            if (!rs.wasNull()) {
+                items.add(new OrderItemDto(itemId, orderId, rs.getString("product_sku"), rs.getInt("quantity"),
+                        toMoney(rs.getBigDecimal("price"))));
+            }
+        }
+
+        private void flush() {
+            if (items != null) {
+                consumer.accept(new OrderDto(id, clientId, total, status, createdAt, updatedAt, items));
+                items = null;
+            }
+        }
+
+        private static Money toMoney(BigDecimal amount) {
+            return amount != null ? Money.of(amount) : null;
+        }
+
+        private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+            return timestamp != null ? timestamp.toLocalDateTime() : null;
+        }
+    }
+}
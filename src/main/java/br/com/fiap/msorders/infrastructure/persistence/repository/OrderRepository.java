@@ -1,11 +1,26 @@
 package br.com.fiap.msorders.infrastructure.persistence.repository;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import br.com.fiap.msorders.domain.enums.OrderStatus;
 import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
 
+/**
+ * {@link #findWithItemsById(long)} loads the order together with its items so mapping it
+ * never triggers a second SELECT for them. Listing goes through {@link OrderReadRepository}.
+ */
 @Repository
 public interface OrderRepository extends JpaRepository<OrderEntity, Long> {
 
+    List<OrderEntity> findByStatus(OrderStatus status);
+
+    boolean existsByClientId(long clientId);
+
+    @EntityGraph(attributePaths = "orderItems")
+    Optional<OrderEntity> findWithItemsById(long id);
 }
@@ -0,0 +1,13 @@
+package br.com.fiap.msorders.infrastructure.persistence.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import br.com.fiap.msorders.domain.enums.SagaState;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderSagaEntity;
+
+@Repository
+public interface OrderSagaRepository extends JpaRepository<OrderSagaEntity, Long> {
+
+    long countByState(SagaState state);
+}
@@ -0,0 +1,45 @@
+package br.com.fiap.msorders.infrastructure.persistence.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.com.fiap.msorders.domain.enums.OutboxMessageType;
+import br.com.fiap.msorders.domain.enums.OutboxStatus;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OutboxMessageEntity;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessageEntity, Long> {
+
+    List<OutboxMessageEntity> findByStatusAndAvailableAtLessThanEqualOrderById(OutboxStatus status,
+            LocalDateTime availableAt, Pageable pageable);
+
+    List<OutboxMessageEntity> findByBatchKeyAndStatus(String batchKey, OutboxStatus status);
+
+    Optional<OutboxMessageEntity> findByTypeAndOrderId(OutboxMessageType type, long orderId);
+
+    List<OutboxMessageEntity> findByTypeAndOrderIdIn(OutboxMessageType type, Collection<Long> orderIds);
+
+    long countByStatus(OutboxStatus status);
+
+    /**
+     * Cancels the message if no relay has claimed it yet. Bumping the version makes a
+     * relay that read the row before this update lose its claim.
+     */
+    @Modifying
+    @Query("""
+            update OutboxMessageEntity m
+               set m.status = br.com.fiap.msorders.domain.enums.OutboxStatus.CANCELLED, m.version = m.version + 1
+             where m.id = :id
+               and m.status = br.com.fiap.msorders.domain.enums.OutboxStatus.PENDING and m.batchKey is null
+            """)
+    int cancelUnclaimed(@Param("id") long id);
+}
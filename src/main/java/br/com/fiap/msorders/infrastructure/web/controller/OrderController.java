@@ -1,31 +1,106 @@
 package br.com.fiap.msorders.infrastructure.web.controller;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.fiap.msorders.application.dto.OrderBatchResultDto;
 import br.com.fiap.msorders.application.dto.OrderDto;
+import br.com.fiap.msorders.application.dto.OrderPageDto;
+import br.com.fiap.msorders.application.export.OrderExportFormat;
+import br.com.fiap.msorders.application.export.OrderExporter;
+import br.com.fiap.msorders.application.idempotency.IdempotencyStore;
+import br.com.fiap.msorders.application.idempotency.IdempotentResponse;
+import br.com.fiap.msorders.application.service.OrderBatchService;
 import br.com.fiap.msorders.application.service.OrderService;
+import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.model.OrderFilter;
 import br.com.fiap.msorders.infrastructure.web.exceptions.ResourceNotFoundException;
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/orders")
 public class OrderController {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final OrderService orderService;
+    private final OrderBatchService orderBatchService;
+    private final OrderExporter orderExporter;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore idempotencyStore;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderBatchService orderBatchService, OrderExporter orderExporter,
+            ObjectMapper objectMapper, IdempotencyStore idempotencyStore) {
         this.orderService = orderService;
+        this.orderBatchService = orderBatchService;
+        this.orderExporter = orderExporter;
+        this.objectMapper = objectMapper;
+        this.idempotencyStore = idempotencyStore;
     }
 
+    /**
+     * With an {@code Idempotency-Key}, a retry of the same request gets the original
+     * response back, marked {@code Idempotent-Replayed: true}, and no second order.
+     */
     @PostMapping
-    public ResponseEntity<OrderDto> createOrder(@Valid @RequestBody OrderDto orderDto) {
+    public ResponseEntity<?> createOrder(
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @Valid @RequestBody OrderDto orderDto) {
+        if (idempotencyKey == null) {
+            return create(orderDto);
+        }
+        return idempotent("POST /orders", idempotencyKey, orderDto, () -> create(orderDto));
+    }
+
+    private ResponseEntity<?> create(OrderDto orderDto) {
         OrderDto createdOrder = orderService.createOrder(orderDto);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
     }
 
+    /**
+     * Creates many orders from a JSON array or an NDJSON stream, one order per line. Orders
+     * are read as they arrive rather than bound up front. The response has one result per
+     * order, in input order: the saved order, or why it was rejected.
+     */
+    @PostMapping(value = "/batch", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<?> createOrders(InputStream body) throws IOException {
+        // a root-level array is read element by element, same as NDJSON lines
+        try (MappingIterator<OrderDto> orders = objectMapper.readerFor(OrderDto.class).readValues(body)) {
+            List<OrderBatchResultDto> results = orderBatchService.createOrders(orders);
+            return ResponseEntity.ok(results);
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest().body("Malformed order in batch: " + e.getOriginalMessage());
+        } catch (RuntimeException e) {
+            // MappingIterator wraps what it fails to parse along the way
+            if (e.getCause() instanceof JsonProcessingException cause) {
+                return ResponseEntity.badRequest().body("Malformed order in batch: " + cause.getOriginalMessage());
+            }
+            throw e;
+        }
+    }
+
 
     @GetMapping("/{id}")
     public ResponseEntity<OrderDto> getOrderById(@PathVariable long id) {
@@ -37,10 +112,70 @@ public class OrderController {
         }
     }
 
-    @GetMapping
-    public ResponseEntity<List<OrderDto>> getAllOrders() {
-        List<OrderDto> orders = orderService.findAllOrders();
-        return ResponseEntity.ok(orders);
+    /**
+     * Keyset-paginated listing. The body stays a JSON array; when more orders exist a
+     * {@code Link: <...>; rel="next"} header points at the next page.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<OrderDto>> getAllOrders(
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit) {
+        OrderPageDto page = orderService.findOrders(new OrderFilter(clientId, status, from, to), after, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextAfter() != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", page.nextAfter())
+                .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response.body(page.orders());
+    }
+
+    /**
+     * Same listing as NDJSON, one order per line, written while rows are read from the
+     * database. Memory use is flat regardless of how many orders match. See {@link OrderExporter}.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamOrders(
+            @RequestParam(required = false) Long clientId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "0") long after) {
+        OrderFilter filter = new OrderFilter(clientId, status, from, to);
+        StreamingResponseBody body = outputStream -> orderExporter.streamNdjson(filter, after, outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Every order created in {@code [since, until)} with its items, as NDJSON (default) or
+     * CSV, streamed while it is read from the database. See {@link OrderExporter}.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime until) {
+        OrderExportFormat exportFormat;
+        try {
+            exportFormat = OrderExportFormat.from(format);
+        } catch (IllegalArgumentException e) {
+            // the body must be a StreamingResponseBody here too, or the streaming handler is skipped
+            byte[] message = e.getMessage().getBytes(StandardCharsets.UTF_8);
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN).body(out -> out.write(message));
+        }
+
+        StreamingResponseBody body = outputStream -> orderExporter.export(exportFormat, since, until, outputStream);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"orders." + exportFormat.name().toLowerCase() + "\"")
+            .body(body);
     }
 
     @PutMapping("/{id}")
@@ -63,15 +198,29 @@ public class OrderController {
         }
     }
     
+    /** Accepts an {@code Idempotency-Key} with the same semantics as {@link #createOrder}. */
     @PostMapping("/{id}/payment")
-    public ResponseEntity<String> processPayment(
+    public ResponseEntity<?> processPayment(
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @PathVariable long id,
             @RequestParam String paymentMethod) {
+        if (idempotencyKey == null) {
+            return pay(id, paymentMethod);
+        }
+        return idempotent("POST /orders/" + id + "/payment", idempotencyKey, paymentMethod,
+                () -> pay(id, paymentMethod));
+    }
+
+    private ResponseEntity<?> pay(long id, String paymentMethod) {
         try {
             if (!paymentMethod.equalsIgnoreCase("PIX") && !paymentMethod.equalsIgnoreCase("CARD")) {
                 return ResponseEntity.badRequest().body("Invalid payment method. Use 'PIX' or 'CARD'.");
             }
-            orderService.processPayment(id, paymentMethod);
+            OrderDto order = orderService.processPayment(id, paymentMethod);
+            if (order != null && order.status() == OrderStatus.PENDING_PAYMENT) {
+                // PIX confirmation continues in the background
+                return ResponseEntity.accepted().body(order);
+            }
             return ResponseEntity.ok("Payment processed successfully.");
         } catch (ResourceNotFoundException e) {
             return ResponseEntity.notFound().build();
@@ -79,4 +228,50 @@ public class OrderController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Payment processing failed.");
         }
     }
+
+    private ResponseEntity<?> idempotent(String operation, String idempotencyKey, Object request,
+            Supplier<ResponseEntity<?>> call) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > 255) {
+            return ResponseEntity.badRequest().body("Idempotency-Key must have between 1 and 255 characters.");
+        }
+        IdempotentResponse response = idempotencyStore.execute(operation, idempotencyKey, fingerprint(request),
+                () -> toIdempotentResponse(call.get()));
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(response.status());
+        if (response.contentType() != null) {
+            builder.contentType(MediaType.parseMediaType(response.contentType()));
+        }
+        if (response.replayed()) {
+            builder.header(IDEMPOTENT_REPLAYED, "true");
+        }
+        return response.body() == null ? builder.build() : builder.body(response.body());
+    }
+
+    private IdempotentResponse toIdempotentResponse(ResponseEntity<?> response) {
+        Object body = response.getBody();
+        if (body == null) {
+            return new IdempotentResponse(response.getStatusCode().value(), null, null);
+        }
+        if (body instanceof String text) {
+            return new IdempotentResponse(response.getStatusCode().value(), MediaType.TEXT_PLAIN_VALUE, text);
+        }
+        try {
+            return new IdempotentResponse(response.getStatusCode().value(), MediaType.APPLICATION_JSON_VALUE,
+                    objectMapper.writeValueAsString(body));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** SHA-256 of the request as JSON, so a reused key with a different request is caught. */
+    private String fingerprint(Object request) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -0,0 +1,4 @@
+-- Índices para a listagem paginada (keyset por id) com filtros
+CREATE INDEX idx_orders_client_id_id ON orders (client_id, id);
+CREATE INDEX idx_orders_status_id ON orders (status, id);
+CREATE INDEX idx_orders_created_at ON orders (created_at);
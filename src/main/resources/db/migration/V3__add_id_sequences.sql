@@ -0,0 +1,9 @@
+-- Sequências para ids com otimizador pooled-lo (blocos de 50), permitindo insert em batch.
+-- Cada sequência começa depois do maior id já existente.
+-- Atenção: RESTART WITH (SELECT ...) é sintaxe exclusiva do H2; em outro banco esta
+-- migration precisa ser reescrita (ex.: setval no PostgreSQL).
+CREATE SEQUENCE orders_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE orders_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM orders);
+
+CREATE SEQUENCE order_items_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE order_items_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM order_items);
@@ -0,0 +1,25 @@
+-- Outbox: comandos para outros serviços gravados na mesma transação do pedido
+-- e enviados depois, em lotes, pelo OutboxRelay.
+CREATE SEQUENCE outbox_messages_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE outbox_messages (
+    id BIGINT PRIMARY KEY,
+    type VARCHAR(40) NOT NULL,
+    order_id BIGINT NOT NULL,
+    message_key VARCHAR(100) NOT NULL,
+    payload CLOB NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    available_at TIMESTAMP NOT NULL,
+    batch_key VARCHAR(100),
+    isolated BOOLEAN NOT NULL DEFAULT FALSE,
+    last_error VARCHAR(500),
+    created_at TIMESTAMP NOT NULL,
+    sent_at TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT uk_outbox_messages_message_key UNIQUE (message_key)
+);
+
+-- Sem FK para orders: apagar o pedido não pode descartar um comando ainda não enviado
+CREATE INDEX idx_outbox_messages_due ON outbox_messages (status, available_at, id);
+CREATE INDEX idx_outbox_messages_batch_key ON outbox_messages (batch_key);
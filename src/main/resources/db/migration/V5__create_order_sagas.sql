@@ -0,0 +1,15 @@
+-- Estado da compensação de cada pedido com pagamento recusado.
+-- Sem FK para orders, assim como outbox_messages.
+CREATE TABLE order_sagas (
+    order_id BIGINT PRIMARY KEY,
+    state VARCHAR(30) NOT NULL,
+    last_error VARCHAR(500),
+    started_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX idx_order_sagas_state ON order_sagas (state);
+
+-- A saga procura a reserva de estoque do pedido ao começar
+CREATE INDEX idx_outbox_messages_order_type ON outbox_messages (order_id, type);
@@ -0,0 +1,15 @@
+-- Respostas guardadas por Idempotency-Key; o escopo (método e rota) faz parte da chave.
+-- IN_PROGRESS expira rápido para não travar a chave se a instância cair no meio.
+CREATE TABLE idempotency_records (
+    record_key VARCHAR(300) PRIMARY KEY,
+    fingerprint VARCHAR(64) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    response_status INTEGER,
+    content_type VARCHAR(100),
+    response_body CLOB,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX idx_idempotency_records_expires_at ON idempotency_records (expires_at);
@@ -0,0 +1,105 @@
+package br.com.fiap.msorders.application.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+
+import br.com.fiap.msorders.application.dto.OrderDto;
+import br.com.fiap.msorders.application.dto.OrderItemDto;
+import br.com.fiap.msorders.application.service.OrderItemService;
+import br.com.fiap.msorders.application.service.OrderService;
+import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.infrastructure.integration.service.ClientServiceClient;
+import br.com.fiap.msorders.infrastructure.integration.service.ProductServiceClient;
+import br.com.fiap.msorders.infrastructure.integration.service.StockServiceClient;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderItemEntity;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderRepository;
+import br.com.fiap.msorders.infrastructure.web.exceptions.ResourceNotFoundException;
+
+/**
+ * Reads through {@link OrderService#findOrderById} must never see an order as it was
+ * before a committed write, whichever service made the write.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+    "ms.clients.url=localhost:8081",
+    "ms.products.url=localhost:8082"
+})
+class OrderCacheInvalidationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderItemService orderItemService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @MockBean
+    private ClientServiceClient clientServiceClient;
+
+    @MockBean
+    private ProductServiceClient productServiceClient;
+
+    @MockBean
+    private StockServiceClient stockServiceClient;
+
+    @Test
+    void shouldNotServeStaleOrderAfterUpdateOrder() throws ResourceNotFoundException {
+        long orderId = saveOrder("SKU-1");
+        OrderDto cached = orderService.findOrderById(orderId);
+
+        orderService.updateOrder(orderId, new OrderDto(orderId, cached.clientId(), Money.of("99"),
+                OrderStatus.CANCELLED, null, null, List.of(new OrderItemDto(0L, orderId, "SKU-2", 3, Money.of("1")))));
+
+        OrderDto read = orderService.findOrderById(orderId);
+        assertEquals(OrderStatus.CANCELLED, read.status());
+        assertEquals("SKU-2", read.items().get(0).productSku());
+    }
+
+    @Test
+    void shouldNotServeDeletedOrder() throws ResourceNotFoundException {
+        long orderId = saveOrder("SKU-1");
+        orderService.findOrderById(orderId);
+
+        orderService.deleteOrder(orderId);
+
+        assertThrows(ResourceNotFoundException.class, () -> orderService.findOrderById(orderId));
+    }
+
+    @Test
+    void shouldNotServeStaleOrdersAfterItemMovesBetweenOrders() throws ResourceNotFoundException {
+        long sourceId = saveOrder("SKU-1");
+        long targetId = saveOrder("SKU-2");
+        long itemId = orderService.findOrderById(sourceId).items().get(0).id();
+        orderService.findOrderById(targetId);
+
+        orderItemService.update(itemId, new OrderItemDto(itemId, targetId, "SKU-1", 7, Money.of("10")));
+
+        assertEquals(List.of(), orderService.findOrderById(sourceId).items());
+        assertEquals(2, orderService.findOrderById(targetId).items().size());
+    }
+
+    private long saveOrder(String sku) {
+        LocalDateTime now = LocalDateTime.now();
+        OrderEntity order = new OrderEntity();
+        order.setClientId(1L);
+        order.setTotal(Money.of("10"));
+        order.setStatus(OrderStatus.CREATED);
+        order.setCreatedAt(now);
+        order.setUpdatedAt(now);
+        order.addOrderItem(new OrderItemEntity(order, sku, 1, Money.of("10")));
+        return orderRepository.save(order).getId();
+    }
+}
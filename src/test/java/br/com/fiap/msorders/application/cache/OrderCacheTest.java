@@ -0,0 +1,94 @@
+package br.com.fiap.msorders.application.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.fiap.msorders.application.dto.OrderDto;
+import br.com.fiap.msorders.application.event.OrderChangedEvent;
+import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.support.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OrderCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private OrderCache orderCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        orderCache = new OrderCache(meterRegistry, clock, 100, 30, 3600);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void shouldLoadOrderOnceAndServeNextReadsFromCache() {
+        orderCache.get(1L, id -> load(id, OrderStatus.CREATED));
+        Optional<OrderDto> cached = orderCache.get(1L, id -> load(id, OrderStatus.CREATED));
+
+        assertTrue(cached.isPresent());
+        assertEquals(1, loads.get());
+        assertEquals(1, orderCache.stats().hitCount());
+    }
+
+    @Test
+    void shouldNotCacheMissingOrder() {
+        orderCache.get(1L, id -> { loads.incrementAndGet(); return Optional.empty(); });
+        orderCache.get(1L, id -> load(id, OrderStatus.CREATED));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldEvictOrderWhenItChanges() {
+        orderCache.get(1L, id -> load(id, OrderStatus.CREATED));
+        orderCache.evictOnChange(new OrderChangedEvent(1L));
+        orderCache.get(1L, id -> load(id, OrderStatus.CREATED));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldKeepTerminalOrdersLongerThanOrdersInProgress() {
+        orderCache.get(1L, id -> load(id, OrderStatus.CREATED));
+        orderCache.get(2L, id -> load(id, OrderStatus.CLOSED_SUCCESS));
+
+        clock.advance(Duration.ofSeconds(31));
+        orderCache.get(1L, id -> load(id, OrderStatus.CREATED));
+        orderCache.get(2L, id -> load(id, OrderStatus.CLOSED_SUCCESS));
+
+        // Only the order still in progress expired and was loaded again
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void shouldPublishHitRatio() {
+        orderCache.get(1L, id -> load(id, OrderStatus.CREATED));
+        orderCache.get(1L, id -> load(id, OrderStatus.CREATED));
+
+        double hitRatio = meterRegistry.get("cache.hit.ratio").tag("cache", "orders").gauge().value();
+        assertEquals(0.5, hitRatio);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "orders").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    private Optional<OrderDto> load(long id, OrderStatus status) {
+        loads.incrementAndGet();
+        LocalDateTime now = LocalDateTime.now();
+        return Optional.of(new OrderDto(id, 5L, Money.of("10"), status, now, now, List.of()));
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.fiap.msorders.application.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import br.com.fiap.msorders.domain.model.Money;
+
+class MoneyJsonTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void shouldWriteMoneyAsPlainDecimalNumbers() throws Exception {
+        OrderDto order = new OrderDto(1L, 5L, Money.of("59.7"), null, null, null,
+                List.of(new OrderItemDto(1L, 1L, "SKU-1", 3, Money.of("19.90"))));
+
+        String json = objectMapper.writeValueAsString(order);
+
+        assertTrue(json.contains("\"total\":59.70"), json);
+        assertTrue(json.contains("\"price\":19.90"), json);
+    }
+
+    @Test
+    void shouldReadDecimalNumbersWithoutGoingThroughDouble() throws Exception {
+        OrderItemDto item = objectMapper.readValue(
+                "{\"productSku\":\"SKU-1\",\"quantity\":1,\"price\":0.29}", OrderItemDto.class);
+        OrderItemDto integral = objectMapper.readValue(
+                "{\"productSku\":\"SKU-1\",\"quantity\":1,\"price\":10}", OrderItemDto.class);
+
+        assertEquals(29, item.price().minorUnits());
+        assertEquals(Money.of("10.00"), integral.price());
+    }
+
+    @Test
+    void shouldRejectPricesWithMoreThanTwoDecimalPlaces() {
+        assertThrows(InvalidFormatException.class, () -> objectMapper.readValue(
+                "{\"productSku\":\"SKU-1\",\"quantity\":1,\"price\":10.005}", OrderItemDto.class));
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.fiap.msorders.application.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderReadRepository;
+
+/**
+ * Exports 200,000 order rows from a JVM with a 32 MB heap. The export runs in a child
+ * JVM so the heap limit applies to it alone; loading everything into memory first would
+ * fail there with an {@link OutOfMemoryError}.
+ *
+ * <p>Takes about a minute, so it is left out of the default build; run it with
+ * {@code ./mvnw -Pbenchmark test -Dtest=OrderExportHeapTest}.
+ */
+@Tag("heavy")
+class OrderExportHeapTest {
+
+    private static final int ORDERS = 100_000;
+    private static final int ITEMS = 200_000;
+    private static final int LOAD_CHUNK = 10_000;
+
+    @Test
+    void shouldExportManyRowsWithSmallHeap(@TempDir Path dir) throws Exception {
+        Path log = dir.resolve("export.log");
+        Process process = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xmx32m", "-cp", System.getProperty("java.class.path"),
+                OrderExportHeapTest.class.getName(), dir.toString())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+
+        boolean finished = process.waitFor(5, TimeUnit.MINUTES);
+        if (!finished) {
+            process.destroyForcibly();
+        }
+        String output = Files.readString(log);
+        assertThat(finished).as("export finished in time:%n%s", output).isTrue();
+        assertThat(process.exitValue()).as("export exit code:%n%s", output).isZero();
+    }
+
+    /** Child JVM: loads the rows into a file database and exports them in both formats. */
+    public static void main(String[] args) throws IOException {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:file:" + Path.of(args[0], "orders").toAbsolutePath() + ";CACHE_SIZE=2048", "sa", "");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        load(dataSource);
+
+        OrderExporter exporter = new OrderExporter(new OrderReadRepository(dataSource, 1000),
+                Jackson2ObjectMapperBuilder.json().build(), 65_536);
+        long csvLines = export(exporter, OrderExportFormat.CSV);
+        long jsonLines = export(exporter, OrderExportFormat.NDJSON);
+
+        System.out.printf("csv lines: %d, ndjson lines: %d, max heap: %d MB%n", csvLines, jsonLines,
+                Runtime.getRuntime().maxMemory() >> 20);
+        if (csvLines != ITEMS + 1 || jsonLines != ORDERS) {
+            System.exit(1);
+        }
+    }
+
+    /** Inserts in chunks so that no single statement outgrows the small heap. */
+    private static void load(DataSource dataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        for (int from = 1; from <= ORDERS; from += LOAD_CHUNK) {
+            jdbcTemplate.update("INSERT INTO orders (id, client_id, total, status, created_at, updated_at)"
+                    + " SELECT X, MOD(X, 1000), 20.00, 'CREATED', TIMESTAMP '2025-01-01 00:00:00' + X * INTERVAL '1' SECOND,"
+                    + " TIMESTAMP '2025-01-01 00:00:00' FROM SYSTEM_RANGE(?, ?)", from, from + LOAD_CHUNK - 1);
+        }
+        for (int from = 1; from <= ITEMS; from += LOAD_CHUNK) {
+            jdbcTemplate.update("INSERT INTO order_items (id, order_id, product_sku, quantity, price)"
+                    + " SELECT X, (X + 1) / 2, 'SKU-' || MOD(X, 100), 1, 10.00 FROM SYSTEM_RANGE(?, ?)",
+                    from, from + LOAD_CHUNK - 1);
+        }
+    }
+
+    private static long export(OrderExporter exporter, OrderExportFormat format) throws IOException {
+        LineCounter counter = new LineCounter();
+        exporter.export(format, null, null, counter);
+        return counter.lines;
+    }
+
+    private static class LineCounter extends OutputStream {
+
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
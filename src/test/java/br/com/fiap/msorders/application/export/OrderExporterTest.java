@@ -0,0 +1,159 @@
+package br.com.fiap.msorders.application.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.domain.model.OrderFilter;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderItemEntity;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderReadRepository;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderRepository;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import(OrderReadRepository.class)
+@TestPropertySource(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "orders.stream.fetch-size=2"
+})
+class OrderExporterTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    /** Counts the writes that reach the response, i.e. how often the buffer was flushed. */
+    private static class CountingOutputStream extends FilterOutputStream {
+        int writes;
+
+        CountingOutputStream() {
+            super(new ByteArrayOutputStream());
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            writes++;
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public String toString() {
+            return out.toString();
+        }
+    }
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderReadRepository orderReadRepository;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private OrderExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new OrderExporter(orderReadRepository, objectMapper, 1024);
+    }
+
+    @Test
+    void shouldExportOrdersCreatedInRangeAsNdjson() throws IOException {
+        saveOrder(DAY.minusSeconds(1), "SKU-0");
+        OrderEntity first = saveOrder(DAY, "SKU-1", "SKU-2");
+        OrderEntity second = saveOrder(DAY.plusHours(23));
+        saveOrder(DAY.plusDays(1), "SKU-3");
+
+        String export = export(OrderExportFormat.NDJSON, DAY, DAY.plusDays(1));
+
+        List<String> lines = export.lines().toList();
+        assertThat(lines).hasSize(2);
+        JsonNode order = objectMapper.readTree(lines.get(0));
+        assertThat(order.get("id").asLong()).isEqualTo(first.getId());
+        assertThat(order.get("items")).extracting(item -> item.get("productSku").asText()).containsExactly("SKU-1", "SKU-2");
+        assertThat(objectMapper.readTree(lines.get(1)).get("id").asLong()).isEqualTo(second.getId());
+        assertThat(export).endsWith("\n");
+    }
+
+    @Test
+    void shouldStreamListingAfterCursorThroughOneBuffer() throws IOException {
+        OrderEntity first = saveOrder(DAY, "SKU-1");
+        for (int i = 0; i < 100; i++) {
+            saveOrder(DAY, "SKU-1", "SKU-2");
+        }
+
+        CountingOutputStream target = new CountingOutputStream();
+        exporter.streamNdjson(new OrderFilter(7L, null, null, null), first.getId(), target);
+
+        List<String> lines = target.toString().lines().toList();
+        assertThat(lines).hasSize(100);
+        assertThat(objectMapper.readTree(lines.get(0)).get("id").asLong()).isGreaterThan(first.getId());
+        // one write per KB of output, not one per order
+        assertThat(target.writes).isLessThan(50);
+    }
+
+    @Test
+    void shouldExportOneCsvLinePerItemAndQuoteWhereNeeded() throws IOException {
+        OrderEntity order = saveOrder(DAY, "SKU-1", "SKU,\"2\"");
+        OrderEntity empty = saveOrder(DAY);
+
+        String export = export(OrderExportFormat.CSV, null, null);
+
+        long itemId = order.getOrderItems().get(0).getId();
+        assertThat(export.lines().toList()).containsExactly(
+            OrderExporter.CSV_HEADER.strip(),
+            order.getId() + ",7,CREATED,20.00,2025-01-01T00:00,2025-01-01T00:00," + itemId + ",SKU-1,1,10.00",
+            order.getId() + ",7,CREATED,20.00,2025-01-01T00:00,2025-01-01T00:00," + (itemId + 1) + ",\"SKU,\"\"2\"\"\",1,10.00",
+            empty.getId() + ",7,CREATED,20.00,2025-01-01T00:00,2025-01-01T00:00,,,,");
+    }
+
+    @Test
+    void shouldOnlyWriteThroughWhenBufferIsFull() throws IOException {
+        for (int i = 0; i < 100; i++) {
+            saveOrder(DAY, "SKU-1", "SKU-2");
+        }
+
+        CountingOutputStream target = new CountingOutputStream();
+        exporter.export(OrderExportFormat.CSV, null, null, target);
+
+        assertThat(target.toString().lines()).hasSize(201);
+        // about 20 KB through a 1 KB buffer: one write per KB, not one per order or line
+        assertThat(target.writes).isBetween(10, 30);
+    }
+
+    private String export(OrderExportFormat format, LocalDateTime since, LocalDateTime until) throws IOException {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        exporter.export(format, since, until, target);
+        return target.toString(StandardCharsets.UTF_8);
+    }
+
+    private OrderEntity saveOrder(LocalDateTime createdAt, String... skus) {
+        OrderEntity order = new OrderEntity();
+        order.setClientId(7L);
+        order.setTotal(Money.of("20.00"));
+        order.setStatus(OrderStatus.CREATED);
+        order.setCreatedAt(createdAt);
+        order.setUpdatedAt(createdAt);
+        for (String sku : skus) {
+            order.addOrderItem(new OrderItemEntity(order, sku, 1, Money.of("10.00")));
+        }
+        return orderRepository.saveAndFlush(order);
+    }
+}
@@ -0,0 +1,303 @@
+package br.com.fiap.msorders.application.idempotency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.fiap.msorders.domain.enums.IdempotencyStatus;
+import br.com.fiap.msorders.domain.exception.IdempotencyKeyInProgressException;
+import br.com.fiap.msorders.domain.exception.IdempotencyKeyReusedException;
+import br.com.fiap.msorders.infrastructure.persistence.entity.IdempotencyRecordEntity;
+import br.com.fiap.msorders.infrastructure.persistence.repository.IdempotencyRecordRepository;
+import br.com.fiap.msorders.support.MutableClock;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@TestPropertySource(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyStoreTest {
+
+    private static final long TTL_SECONDS = 3600;
+    private static final long LEASE_SECONDS = 60;
+    private static final IdempotentResponse CREATED = new IdempotentResponse(201, "application/json", "{\"id\":1}");
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MutableClock clock;
+    private ExecutorService executor;
+    private AtomicInteger runs;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyRecordRepository.deleteAll();
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        executor = Executors.newFixedThreadPool(2);
+        runs = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldRunOnceAndReplayResponseToRetries() {
+        IdempotencyStore store = newStore(5_000);
+
+        IdempotentResponse first = store.execute("POST /orders", "key-1", "hash-a", counting(CREATED));
+        IdempotentResponse retry = store.execute("POST /orders", "key-1", "hash-a", counting(CREATED));
+
+        assertEquals(1, runs.get());
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals(CREATED.body(), retry.body());
+        assertEquals(201, retry.status());
+    }
+
+    @Test
+    void shouldReplayFromDatabaseWhenCacheIsCold() {
+        newStore(5_000).execute("POST /orders", "key-1", "hash-a", counting(CREATED));
+
+        // another instance, or this one after a restart
+        IdempotentResponse retry = newStore(5_000).execute("POST /orders", "key-1", "hash-a", counting(CREATED));
+
+        assertEquals(1, runs.get());
+        assertTrue(retry.replayed());
+        assertEquals(CREATED, new IdempotentResponse(retry.status(), retry.contentType(), retry.body()));
+    }
+
+    @Test
+    void shouldRejectKeyReusedForDifferentRequest() {
+        IdempotencyStore store = newStore(5_000);
+        store.execute("POST /orders", "key-1", "hash-a", counting(CREATED));
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> store.execute("POST /orders", "key-1", "hash-b", counting(CREATED)));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void shouldScopeKeysByOperation() {
+        IdempotencyStore store = newStore(5_000);
+
+        store.execute("POST /orders/1/payment", "key-1", "hash-a", counting(CREATED));
+        store.execute("POST /orders/2/payment", "key-1", "hash-a", counting(CREATED));
+
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void shouldRunOnlyOnceWhenTwoIdenticalRequestsRace() throws Exception {
+        IdempotencyStore store = newStore(5_000);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Supplier<IdempotentResponse> slowAction = () -> {
+            runs.incrementAndGet();
+            running.countDown();
+            await(finish);
+            return CREATED;
+        };
+
+        Future<IdempotentResponse> first = executor.submit(() -> store.execute("POST /orders", "key-1", "hash-a", slowAction));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        Future<IdempotentResponse> second = executor.submit(() -> store.execute("POST /orders", "key-1", "hash-a", slowAction));
+        // let the second request find the key in progress before the first one finishes
+        Thread.sleep(100);
+        finish.countDown();
+
+        List<IdempotentResponse> responses = List.of(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+        assertEquals(1, responses.stream().filter(IdempotentResponse::replayed).count());
+        assertEquals(responses.get(0).body(), responses.get(1).body());
+    }
+
+    @Test
+    void shouldAnswerConflictWhenOriginalOutlastsTheWait() throws Exception {
+        IdempotencyStore store = newStore(100);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        Future<IdempotentResponse> first = executor.submit(() -> store.execute("POST /orders", "key-1", "hash-a", () -> {
+            running.countDown();
+            await(finish);
+            return CREATED;
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        assertThrows(IdempotencyKeyInProgressException.class,
+                () -> store.execute("POST /orders", "key-1", "hash-a", counting(CREATED)));
+
+        finish.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void shouldReleaseKeyWhenOperationFailsOrAnswersServerError() {
+        IdempotencyStore store = newStore(5_000);
+
+        assertThrows(IllegalStateException.class, () -> store.execute("POST /orders", "key-1", "hash-a", () -> {
+            throw new IllegalStateException("ms-stock unavailable");
+        }));
+        IdempotentResponse serverError = store.execute("POST /orders", "key-1", "hash-a",
+                counting(new IdempotentResponse(500, "text/plain", "Payment processing failed.")));
+        IdempotentResponse retry = store.execute("POST /orders", "key-1", "hash-a", counting(CREATED));
+
+        assertFalse(serverError.replayed());
+        assertFalse(retry.replayed());
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void shouldReclaimKeyWhoseOwnerDiedAfterLeaseExpires() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        IdempotencyRecordEntity abandoned = new IdempotencyRecordEntity();
+        abandoned.setRecordKey("POST /orders key-1");
+        abandoned.setFingerprint("hash-a");
+        abandoned.setStatus(IdempotencyStatus.IN_PROGRESS);
+        abandoned.setCreatedAt(now);
+        abandoned.setExpiresAt(now.plusSeconds(LEASE_SECONDS));
+        idempotencyRecordRepository.save(abandoned);
+        IdempotencyStore store = newStore(0);
+
+        assertThrows(IdempotencyKeyInProgressException.class,
+                () -> store.execute("POST /orders", "key-1", "hash-a", counting(CREATED)));
+
+        clock.advance(Duration.ofSeconds(LEASE_SECONDS));
+        IdempotentResponse response = store.execute("POST /orders", "key-1", "hash-a", counting(CREATED));
+
+        assertFalse(response.replayed());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void shouldGiveUpWhenKeyKeepsVanishingBetweenClaimAndLookup() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        IdempotencyRecordEntity held = new IdempotencyRecordEntity();
+        held.setRecordKey("POST /orders key-1");
+        held.setFingerprint("hash-a");
+        held.setStatus(IdempotencyStatus.IN_PROGRESS);
+        held.setCreatedAt(now);
+        held.setExpiresAt(now.plusSeconds(LEASE_SECONDS));
+        idempotencyRecordRepository.save(held);
+        // every claim collides, every lookup misses: as if the owner released and reclaimed in between
+        IdempotencyRecordRepository racing = mock(IdempotencyRecordRepository.class, delegatesTo(idempotencyRecordRepository));
+        doReturn(Optional.empty()).when(racing).findById("POST /orders key-1");
+        IdempotencyStore store = new IdempotencyStore(racing, transactionManager, clock, TTL_SECONDS,
+                LEASE_SECONDS, 300, 100);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThrows(IdempotencyKeyInProgressException.class,
+                () -> store.execute("POST /orders", "key-1", "hash-a", counting(CREATED))));
+        verify(racing, atMost(10)).findById("POST /orders key-1");
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void shouldKeepClaimTakenOverWhenOriginalOwnerReleasesLate() throws Exception {
+        IdempotencyStore store = newStore(0);
+        CountDownLatch firstRunning = new CountDownLatch(1);
+        CountDownLatch firstFail = new CountDownLatch(1);
+        Future<IdempotentResponse> first = executor.submit(() -> store.execute("POST /orders", "key-1", "hash-a", () -> {
+            firstRunning.countDown();
+            await(firstFail);
+            throw new IllegalStateException("ms-stock timed out");
+        }));
+        assertTrue(firstRunning.await(5, TimeUnit.SECONDS));
+
+        clock.advance(Duration.ofSeconds(LEASE_SECONDS));
+        CountDownLatch secondRunning = new CountDownLatch(1);
+        CountDownLatch secondFinish = new CountDownLatch(1);
+        Future<IdempotentResponse> second = executor.submit(() -> store.execute("POST /orders", "key-1", "hash-a", () -> {
+            runs.incrementAndGet();
+            secondRunning.countDown();
+            await(secondFinish);
+            return CREATED;
+        }));
+        assertTrue(secondRunning.await(5, TimeUnit.SECONDS));
+
+        firstFail.countDown();
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        IdempotencyRecordEntity claim = idempotencyRecordRepository.findById("POST /orders key-1").orElseThrow();
+        assertEquals(IdempotencyStatus.IN_PROGRESS, claim.getStatus());
+
+        secondFinish.countDown();
+        assertFalse(second.get(5, TimeUnit.SECONDS).replayed());
+        IdempotentResponse retry = newStore(0).execute("POST /orders", "key-1", "hash-a", counting(CREATED));
+
+        assertTrue(retry.replayed());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void shouldForgetResponsesAfterTtl() {
+        IdempotencyStore store = newStore(5_000);
+        store.execute("POST /orders", "key-1", "hash-a", counting(CREATED));
+        store.execute("POST /orders", "key-2", "hash-a", counting(CREATED));
+
+        clock.advance(Duration.ofSeconds(TTL_SECONDS));
+        store.deleteExpired();
+
+        assertEquals(0, idempotencyRecordRepository.count());
+        assertFalse(store.execute("POST /orders", "key-1", "hash-a", counting(CREATED)).replayed());
+        assertEquals(3, runs.get());
+    }
+
+    private IdempotencyStore newStore(long inProgressWaitMs) {
+        return new IdempotencyStore(idempotencyRecordRepository, transactionManager, clock, TTL_SECONDS,
+                LEASE_SECONDS, inProgressWaitMs, 100);
+    }
+
+    private Supplier<IdempotentResponse> counting(IdempotentResponse response) {
+        return () -> {
+            runs.incrementAndGet();
+            return response;
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -2,13 +2,13 @@ package br.com.fiap.msorders.application.mapper;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-import java.math.BigDecimal;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import br.com.fiap.msorders.application.dto.OrderItemDto;
+import br.com.fiap.msorders.domain.model.Money;
 import br.com.fiap.msorders.domain.model.OrderItem;
 import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
 import br.com.fiap.msorders.infrastructure.persistence.entity.OrderItemEntity;
@@ -25,7 +25,7 @@ class OrderItemMapperTest {
     @Test
     void testToEntityFromDomain() {
         OrderEntity order = new OrderEntity();
-        OrderItem domain = new OrderItem(1L, 2L, "SKU123", 4, BigDecimal.TEN);
+        OrderItem domain = new OrderItem(1L, 2L, "SKU123", 4, Money.of("10"));
 
         OrderItemEntity entity = mapper.toEntity(domain, order);
 
@@ -39,7 +39,7 @@ class OrderItemMapperTest {
 
     @Test
     void testToEntityReturnsNullWhenDomainOrOrderIsNull() {
-        OrderItem validItem = new OrderItem(1L, 2L, "SKU123", 4, BigDecimal.TEN);
+        OrderItem validItem = new OrderItem(1L, 2L, "SKU123", 4, Money.of("10"));
         OrderEntity validOrder = new OrderEntity();
 
         assertNull(mapper.toEntity((OrderItem) null, validOrder));
@@ -56,7 +56,7 @@ class OrderItemMapperTest {
         entity.setOrder(order);
         entity.setProductSku("SKU456");
         entity.setQuantity(4);
-        entity.setPrice(BigDecimal.TEN);
+        entity.setPrice(Money.of("10"));
 
         OrderItem domain = mapper.toDomain(entity);
 
@@ -75,7 +75,7 @@ class OrderItemMapperTest {
 
     @Test
     void testToDtoFromDomain() {
-        OrderItem domain = new OrderItem(1L, 2L, "SKU789", 4, BigDecimal.TEN);
+        OrderItem domain = new OrderItem(1L, 2L, "SKU789", 4, Money.of("10"));
 
         OrderItemDto dto = mapper.toDto(domain);
 
@@ -97,7 +97,7 @@ class OrderItemMapperTest {
         entity.setOrder(order);
         entity.setProductSku("SKU321");
         entity.setQuantity(4);
-        entity.setPrice(BigDecimal.TEN);
+        entity.setPrice(Money.of("10"));
 
         OrderItemDto dto = mapper.toDto(entity);
 
@@ -111,7 +111,7 @@ class OrderItemMapperTest {
 
     @Test
     void testToDomainFromDto() {
-        OrderItemDto dto = new OrderItemDto(1L, 2L, "SKU001", 4, BigDecimal.TEN);
+        OrderItemDto dto = new OrderItemDto(1L, 2L, "SKU001", 4, Money.of("10"));
 
         OrderItem domain = mapper.toDomain(dto);
 
@@ -131,7 +131,7 @@ class OrderItemMapperTest {
 
     @Test
     void testToEntityFromDto() {
-        OrderItemDto dto = new OrderItemDto(1L, 2L, "SKU777", 4, BigDecimal.TEN);
+        OrderItemDto dto = new OrderItemDto(1L, 2L, "SKU777", 4, Money.of("10"));
         OrderEntity order = new OrderEntity();
 
         OrderItemEntity entity = mapper.toEntity(dto, order);
@@ -146,7 +146,7 @@ class OrderItemMapperTest {
 
     @Test
     void testUpdateEntityFromDto() {
-        OrderItemDto dto = new OrderItemDto(1L, 2L, "SKU987", 4, BigDecimal.TEN);
+        OrderItemDto dto = new OrderItemDto(1L, 2L, "SKU987", 4, Money.of("10"));
         OrderItemEntity entity = new OrderItemEntity();
         OrderEntity order = new OrderEntity();
 
@@ -169,13 +169,13 @@ class OrderItemMapperTest {
         entity1.setId(1L);
         entity1.setProductSku("SKU100");
         entity1.setQuantity(2);
-        entity1.setPrice(BigDecimal.valueOf(50));
+        entity1.setPrice(Money.of("50"));
 
         OrderItemEntity entity2 = new OrderItemEntity();
         entity2.setId(2L);
         entity2.setProductSku("SKU200");
         entity2.setQuantity(1);
-        entity2.setPrice(BigDecimal.valueOf(100));
+        entity2.setPrice(Money.of("100"));
 
         List<OrderItemDto> dtos = mapper.toDtoList(List.of(entity1, entity2));
 
@@ -7,7 +7,6 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -17,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import br.com.fiap.msorders.application.dto.OrderDto;
 import br.com.fiap.msorders.application.dto.OrderItemDto;
 import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.model.Money;
 import br.com.fiap.msorders.domain.model.Order;
 import br.com.fiap.msorders.domain.model.OrderItem;
 import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
@@ -35,15 +35,15 @@ class OrderMapperTest {
 
     @Test
     void shouldMapDtoToDomain() {
-        OrderItemDto itemDto = new OrderItemDto(1L, 1L, "SKU-10", 2, BigDecimal.TEN);
-        OrderItem orderItem = new OrderItem(1L, 1L, "SKU-10", 2, BigDecimal.TEN);
+        OrderItemDto itemDto = new OrderItemDto(1L, 1L, "SKU-10", 2, Money.of("10"));
+        OrderItem orderItem = new OrderItem(1L, 1L, "SKU-10", 2, Money.of("10"));
 
         when(orderItemMapper.toDomain(itemDto)).thenReturn(orderItem);
 
         OrderDto dto = new OrderDto(
             1L,
             5L,
-            BigDecimal.valueOf(100),
+            Money.of("100"),
             OrderStatus.CREATED,
             LocalDateTime.now(),
             LocalDateTime.now(),
@@ -64,15 +64,15 @@ class OrderMapperTest {
 
     @Test
     void shouldMapEntityToDomain() {
-        OrderItemEntity itemEntity = new OrderItemEntity(1L, null, "SKU-10", 2, BigDecimal.TEN);
-        OrderItem orderItem = new OrderItem(1L, 1L, "SKU-10", 2, BigDecimal.TEN);
+        OrderItemEntity itemEntity = new OrderItemEntity(1L, null, "SKU-10", 2, Money.of("10"));
+        OrderItem orderItem = new OrderItem(1L, 1L, "SKU-10", 2, Money.of("10"));
 
         when(orderItemMapper.toDomain(itemEntity)).thenReturn(orderItem);
 
         OrderEntity entity = new OrderEntity();
         entity.setId(1L);
         entity.setClientId(5L);
-        entity.setTotal(BigDecimal.valueOf(100));
+        entity.setTotal(Money.of("100"));
         entity.setStatus(OrderStatus.CREATED);
         entity.setCreatedAt(LocalDateTime.now());
         entity.setUpdatedAt(LocalDateTime.now());
@@ -92,15 +92,15 @@ class OrderMapperTest {
 
     @Test
     void shouldMapDomainToDto() {
-        OrderItem item = new OrderItem(1L, 1L, "SKU-10", 2, BigDecimal.TEN);
-        OrderItemDto itemDto = new OrderItemDto(1L, 1L, "SKU-10", 2, BigDecimal.TEN);
+        OrderItem item = new OrderItem(1L, 1L, "SKU-10", 2, Money.of("10"));
+        OrderItemDto itemDto = new OrderItemDto(1L, 1L, "SKU-10", 2, Money.of("10"));
 
         when(orderItemMapper.toDto(item)).thenReturn(itemDto);
 
         Order domain = new Order(
             1L,
             5L,
-            BigDecimal.valueOf(100),
+            Money.of("100"),
             OrderStatus.CREATED,
             LocalDateTime.now(),
             LocalDateTime.now(),
@@ -122,8 +122,8 @@ class OrderMapperTest {
 
     @Test
     void shouldMapDomainToEntity() {
-        OrderItem item = new OrderItem(1L, 1L, "SKU-10", 2, BigDecimal.TEN);
-        OrderItemEntity itemEntity = new OrderItemEntity(1L, null, "SKU-10", 2, BigDecimal.TEN);
+        OrderItem item = new OrderItem(1L, 1L, "SKU-10", 2, Money.of("10"));
+        OrderItemEntity itemEntity = new OrderItemEntity(1L, null, "SKU-10", 2, Money.of("10"));
 
         when(orderItemMapper.toEntity(eq(item), any(OrderEntity.class))).thenAnswer(invocation -> {
             OrderEntity orderRef = invocation.getArgument(1);
@@ -136,7 +136,7 @@ class OrderMapperTest {
         Order domain = new Order(
             1L,
             5L,
-            BigDecimal.valueOf(100),
+            Money.of("100"),
             OrderStatus.CREATED,
             now,
             now,
@@ -0,0 +1,51 @@
+package br.com.fiap.msorders.application.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StageTimersTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldTimeStageByOutcomeWithPercentiles() {
+        StageTimers stageTimers = new StageTimers(meterRegistry, true);
+
+        assertEquals("ok", stageTimers.record("createOrder", "persist", () -> "ok"));
+        stageTimers.record("createOrder", "persist", () -> { });
+        Supplier<String> failing = () -> {
+            throw new IllegalStateException("db down");
+        };
+        assertThrows(IllegalStateException.class, () -> stageTimers.record("createOrder", "persist", failing));
+
+        assertEquals(2, timer("success").count());
+        assertEquals(1, timer("error").count());
+        ValueAtPercentile[] percentiles = timer("success").takeSnapshot().percentileValues();
+        assertEquals(3, percentiles.length);
+        assertEquals(0.99, percentiles[2].percentile());
+    }
+
+    @Test
+    void shouldRecordNothingWhenDisabled() {
+        StageTimers stageTimers = new StageTimers(meterRegistry, false);
+
+        assertEquals("ok", stageTimers.record("createOrder", "persist", () -> "ok"));
+
+        assertTrue(meterRegistry.find(StageTimers.METRIC).timers().isEmpty());
+    }
+
+    private Timer timer(String outcome) {
+        return meterRegistry.get(StageTimers.METRIC)
+                .tags("operation", "createOrder", "stage", "persist", "outcome", outcome)
+                .timer();
+    }
+}
@@ -0,0 +1,270 @@
+package br.com.fiap.msorders.application.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.fiap.msorders.domain.enums.OutboxMessageType;
+import br.com.fiap.msorders.domain.enums.OutboxStatus;
+import br.com.fiap.msorders.infrastructure.integration.dto.SkuQuantityDto;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OutboxMessageEntity;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OutboxMessageRepository;
+import br.com.fiap.msorders.support.MutableClock;
+import feign.FeignException;
+import feign.Request;
+
+/**
+ * Runs the relay against a real database and a fake ms-stock that, like a well-behaved
+ * downstream, applies each idempotency key only once. Crashes are simulated by an
+ * {@link Error} escaping the relay between sending a batch and recording the outcome;
+ * a new relay instance plays the restarted process.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@TestPropertySource(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+
+    private static final long LEASE_MS = 30_000;
+
+    /** Stands in for the process dying: not a RuntimeException, so the relay cannot handle it. */
+    private static class SimulatedCrash extends Error {
+    }
+
+    /** ms-stock double: applies each idempotency key once and can fail or crash on demand. */
+    private static class FakeStock implements OutboxMessageHandler {
+
+        private final ObjectMapper objectMapper = new ObjectMapper();
+        private final Set<String> appliedKeys = ConcurrentHashMap.newKeySet();
+        private final Map<String, Integer> reserved = new ConcurrentHashMap<>();
+        private final List<String> requestKeys = Collections.synchronizedList(new ArrayList<>());
+        private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        private Predicate<List<OutboxMessageEntity>> rejectWhen = batch -> false;
+        private int transientFailures;
+        private boolean crashBeforeApplying;
+        private boolean crashAfterApplying;
+
+        @Override
+        public OutboxMessageType type() {
+            return OutboxMessageType.STOCK_DECREASE;
+        }
+
+        @Override
+        public void send(String idempotencyKey, List<OutboxMessageEntity> messages) {
+            requestKeys.add(idempotencyKey);
+            batchSizes.add(messages.size());
+            if (crashBeforeApplying) {
+                crashBeforeApplying = false;
+                throw new SimulatedCrash();
+            }
+            if (transientFailures > 0) {
+                transientFailures--;
+                throw new IllegalStateException("ms-stock unavailable");
+            }
+            if (rejectWhen.test(messages)) {
+                throw new FeignException.UnprocessableEntity("rejected", request(), null, Map.of());
+            }
+            if (appliedKeys.add(idempotencyKey)) {
+                for (OutboxMessageEntity message : messages) {
+                    for (SkuQuantityDto item : read(message)) {
+                        reserved.merge(item.sku(), item.quantity(), Integer::sum);
+                    }
+                }
+            }
+            if (crashAfterApplying) {
+                crashAfterApplying = false;
+                throw new SimulatedCrash();
+            }
+        }
+
+        private List<SkuQuantityDto> read(OutboxMessageEntity message) {
+            try {
+                return List.of(objectMapper.readValue(message.getPayload(), SkuQuantityDto[].class));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static Request request() {
+            return Request.create(Request.HttpMethod.POST, "/stocks/batch/decrease", Map.of(), null,
+                    StandardCharsets.UTF_8, null);
+        }
+    }
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MutableClock clock;
+    private FakeStock stock;
+    private OutboxWriter outboxWriter;
+
+    @BeforeEach
+    void setUp() {
+        outboxMessageRepository.deleteAll();
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        stock = new FakeStock();
+        outboxWriter = new OutboxWriter(outboxMessageRepository, new ObjectMapper(), clock);
+    }
+
+    @Test
+    void shouldSendAllDueMessagesOfOneTypeAsOneBatch() {
+        enqueue(1L, "SKU-1", 2);
+        enqueue(2L, "SKU-1", 3);
+        enqueue(3L, "SKU-2", 1);
+
+        assertEquals(3, newRelay(3).relayOnce());
+
+        assertEquals(List.of(3), stock.batchSizes);
+        assertEquals(Map.of("SKU-1", 5, "SKU-2", 1), stock.reserved);
+        assertEquals(3, outboxMessageRepository.countByStatus(OutboxStatus.SENT));
+    }
+
+    @Test
+    void shouldRetryFailedBatchWithSameKeyAfterBackoff() {
+        enqueue(1L, "SKU-1", 2);
+        enqueue(2L, "SKU-2", 1);
+        stock.transientFailures = 1;
+        OutboxRelay relay = newRelay(3);
+
+        relay.relayOnce();
+        assertEquals(2, outboxMessageRepository.countByStatus(OutboxStatus.PENDING));
+
+        // still backing off
+        assertEquals(0, relay.relayOnce());
+
+        clock.advance(Duration.ofSeconds(1));
+        relay.relayOnce();
+
+        assertEquals(2, stock.requestKeys.size());
+        assertEquals(stock.requestKeys.get(0), stock.requestKeys.get(1));
+        assertEquals(2, outboxMessageRepository.countByStatus(OutboxStatus.SENT));
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() {
+        enqueue(1L, "SKU-1", 2);
+        stock.transientFailures = Integer.MAX_VALUE;
+        OutboxRelay relay = newRelay(3);
+
+        for (int i = 0; i < 5; i++) {
+            relay.relayOnce();
+            clock.advance(Duration.ofMinutes(5));
+        }
+
+        assertEquals(3, stock.requestKeys.size());
+        OutboxMessageEntity message = outboxMessageRepository.findAll().get(0);
+        assertEquals(OutboxStatus.FAILED, message.getStatus());
+        assertTrue(message.getLastError().contains("ms-stock unavailable"));
+    }
+
+    @Test
+    void shouldSplitRejectedBatchSoOneBadMessageDoesNotBlockTheOthers() {
+        enqueue(1L, "SKU-1", 1);
+        enqueue(2L, "SKU-BAD", 1);
+        enqueue(3L, "SKU-2", 1);
+        stock.rejectWhen = batch -> batch.stream().anyMatch(message -> message.getOrderId() == 2L);
+        OutboxRelay relay = newRelay(3);
+
+        relay.relayOnce();
+        relay.relayOnce();
+
+        assertEquals(List.of(3, 1, 1, 1), stock.batchSizes);
+        assertEquals(Map.of("SKU-1", 1, "SKU-2", 1), stock.reserved);
+        assertEquals(2, outboxMessageRepository.countByStatus(OutboxStatus.SENT));
+        assertEquals(1, outboxMessageRepository.countByStatus(OutboxStatus.FAILED));
+    }
+
+    @Test
+    void shouldResendSameBatchOnceLeaseExpiresWhenRelayCrashedAfterDownstreamApplied() {
+        enqueue(1L, "SKU-1", 2);
+        enqueue(2L, "SKU-1", 3);
+        stock.crashAfterApplying = true;
+
+        assertThrows(SimulatedCrash.class, () -> newRelay(3).relayOnce());
+        assertEquals(Map.of("SKU-1", 5), stock.reserved);
+        assertEquals(2, outboxMessageRepository.countByStatus(OutboxStatus.PENDING));
+
+        OutboxRelay restarted = newRelay(3);
+        enqueue(3L, "SKU-2", 1);
+
+        // the crashed batch is still leased; only the new message goes out
+        assertEquals(1, restarted.relayOnce());
+
+        clock.advance(Duration.ofMillis(LEASE_MS));
+        assertEquals(2, restarted.relayOnce());
+
+        assertEquals(stock.requestKeys.get(0), stock.requestKeys.get(2));
+        assertEquals(List.of(2, 1, 2), stock.batchSizes);
+        // the repeat was recognised by its key: stock reserved once per order
+        assertEquals(Map.of("SKU-1", 5, "SKU-2", 1), stock.reserved);
+        assertEquals(3, outboxMessageRepository.countByStatus(OutboxStatus.SENT));
+    }
+
+    @Test
+    void shouldSendBatchAfterRestartWhenRelayCrashedBeforeSending() {
+        enqueue(1L, "SKU-1", 2);
+        stock.crashBeforeApplying = true;
+
+        assertThrows(SimulatedCrash.class, () -> newRelay(3).relayOnce());
+        assertTrue(stock.reserved.isEmpty());
+
+        clock.advance(Duration.ofMillis(LEASE_MS));
+        newRelay(3).relayOnce();
+
+        assertEquals(Map.of("SKU-1", 2), stock.reserved);
+        assertEquals(1, outboxMessageRepository.countByStatus(OutboxStatus.SENT));
+        assertEquals(2, outboxMessageRepository.findAll().get(0).getAttempts());
+    }
+
+    @Test
+    void shouldDiscardMessageWhenOrderTransactionRollsBack() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            outboxWriter.enqueue(OutboxMessageType.STOCK_DECREASE, 1L, List.of(new SkuQuantityDto("SKU-1", 1)));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, outboxMessageRepository.count());
+        assertEquals(0, newRelay(3).relayOnce());
+    }
+
+    private OutboxRelay newRelay(int maxAttempts) {
+        return new OutboxRelay(outboxMessageRepository, transactionManager, List.of(stock), clock, true, 100,
+                LEASE_MS, maxAttempts, 1_000, 60_000);
+    }
+
+    private void enqueue(long orderId, String sku, int quantity) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> outboxWriter.enqueue(
+                OutboxMessageType.STOCK_DECREASE, orderId, List.of(new SkuQuantityDto(sku, quantity))));
+    }
+}
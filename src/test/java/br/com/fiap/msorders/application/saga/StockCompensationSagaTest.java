@@ -0,0 +1,374 @@
+package br.com.fiap.msorders.application.saga;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.fiap.msorders.application.event.OrderChangedEvent;
+import br.com.fiap.msorders.application.metrics.StageTimers;
+import br.com.fiap.msorders.application.outbox.OutboxRelay;
+import br.com.fiap.msorders.application.outbox.OutboxWriter;
+import br.com.fiap.msorders.application.outbox.StockDecreaseOutboxHandler;
+import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.enums.OutboxMessageType;
+import br.com.fiap.msorders.domain.enums.OutboxStatus;
+import br.com.fiap.msorders.domain.enums.SagaState;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.infrastructure.integration.dto.SkuQuantityDto;
+import br.com.fiap.msorders.infrastructure.integration.service.StockServiceClient;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderItemEntity;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderSagaEntity;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OutboxMessageEntity;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderRepository;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderSagaRepository;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OutboxMessageRepository;
+import br.com.fiap.msorders.support.MutableClock;
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Reserves and then compensates orders through the real relay and database, against an
+ * in-memory ms-stock that applies each idempotency key once. Stock levels start at zero,
+ * so a fully compensated order leaves every SKU back at zero.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@TestPropertySource(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockCompensationSagaTest {
+
+    /** ms-stock double behind a mocked {@link StockServiceClient}. */
+    private static class FakeStock {
+
+        private final Set<String> appliedKeys = ConcurrentHashMap.newKeySet();
+        private final Map<String, Integer> levels = new ConcurrentHashMap<>();
+        private final List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> releaseKeys = Collections.synchronizedList(new ArrayList<>());
+        private final Set<String> unreservableSkus = new HashSet<>();
+        private final Set<String> unreleasableSkus = new HashSet<>();
+        private int reserveFailures;
+        private int releaseFailures;
+
+        void reserve(String key, List<SkuQuantityDto> items) {
+            calls.add("reserve");
+            if (reserveFailures > 0) {
+                reserveFailures--;
+                throw new IllegalStateException("ms-stock unavailable");
+            }
+            apply(key, items, unreservableSkus, -1);
+        }
+
+        void release(String key, List<SkuQuantityDto> items) {
+            calls.add("release");
+            releaseKeys.add(key);
+            if (releaseFailures > 0) {
+                releaseFailures--;
+                throw new IllegalStateException("ms-stock unavailable");
+            }
+            apply(key, items, unreleasableSkus, 1);
+        }
+
+        private void apply(String key, List<SkuQuantityDto> items, Set<String> rejected, int sign) {
+            if (items.stream().anyMatch(item -> rejected.contains(item.sku()))) {
+                Request request = Request.create(Request.HttpMethod.POST, "/stocks/batch", Map.of(), null,
+                        StandardCharsets.UTF_8, null);
+                throw new RuntimeException("Failed to change stock for SKUs: " + items,
+                        new FeignException.UnprocessableEntity("rejected", request, null, Map.of()));
+            }
+            if (appliedKeys.add(key)) {
+                items.forEach(item -> levels.merge(item.sku(), sign * item.quantity(), Integer::sum));
+            }
+        }
+
+        long releaseCalls() {
+            return calls.stream().filter("release"::equals).count();
+        }
+    }
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private OrderSagaRepository orderSagaRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private MutableClock clock;
+    private FakeStock stock;
+    private OutboxWriter outboxWriter;
+    private StockCompensationSaga saga;
+    private OutboxRelay relay;
+    private SimpleMeterRegistry meterRegistry;
+    private List<Object> events;
+
+    @BeforeEach
+    void setUp() {
+        outboxMessageRepository.deleteAll();
+        orderSagaRepository.deleteAll();
+        orderRepository.deleteAll();
+        meterRegistry = new SimpleMeterRegistry();
+        events = Collections.synchronizedList(new ArrayList<>());
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        stock = new FakeStock();
+
+        StockServiceClient stockServiceClient = mock(StockServiceClient.class);
+        doAnswer(invocation -> {
+            stock.reserve(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(stockServiceClient).decreaseStocks(any(), anyList());
+        doAnswer(invocation -> {
+            stock.release(invocation.getArgument(0), invocation.getArgument(1));
+            return null;
+        }).when(stockServiceClient).increaseStocks(any(), anyList());
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        outboxWriter = new OutboxWriter(outboxMessageRepository, objectMapper, clock);
+        saga = new StockCompensationSaga(orderSagaRepository, outboxMessageRepository, outboxWriter, clock);
+        relay = new OutboxRelay(outboxMessageRepository, transactionManager, List.of(
+                new StockDecreaseOutboxHandler(stockServiceClient, objectMapper,
+                        new StageTimers(meterRegistry, true), orderRepository, events::add, meterRegistry, clock),
+                new StockReleaseOutboxHandler(stockServiceClient, outboxMessageRepository, orderSagaRepository,
+                        objectMapper, clock)),
+                clock, true, 100, 30_000, 10, 1_000, 60_000);
+    }
+
+    @Test
+    void shouldReleaseStockOfManyFailedOrdersInOneRequestSummedPerSku() {
+        OrderEntity first = reserve(1L, "SKU-1", 2);
+        OrderEntity second = reserve(2L, "SKU-1", 3);
+        OrderEntity third = reserve(3L, "SKU-2", 1);
+        assertEquals(Map.of("SKU-1", -5, "SKU-2", -1), stock.levels);
+
+        failPayment(first, second, third);
+        assertEquals(3, orderSagaRepository.countByState(SagaState.COMPENSATING));
+
+        assertEquals(3, relay.relayOnce());
+
+        assertEquals(1, stock.releaseCalls());
+        assertEquals(Map.of("SKU-1", 0, "SKU-2", 0), stock.levels);
+        assertEquals(3, orderSagaRepository.countByState(SagaState.COMPENSATED));
+    }
+
+    @Test
+    void shouldCompensateOtherOrdersWhenOneReleaseIsRejected() {
+        OrderEntity first = reserve(1L, "SKU-1", 1);
+        OrderEntity bad = reserve(2L, "SKU-BAD", 1);
+        OrderEntity third = reserve(3L, "SKU-2", 1);
+        stock.unreleasableSkus.add("SKU-BAD");
+
+        failPayment(first, bad, third);
+        relay.relayOnce();
+        relay.relayOnce();
+
+        assertEquals(Map.of("SKU-1", 0, "SKU-2", 0, "SKU-BAD", -1), stock.levels);
+        assertEquals(SagaState.COMPENSATED, sagaOf(1L).getState());
+        assertEquals(SagaState.COMPENSATED, sagaOf(3L).getState());
+        OrderSagaEntity failed = sagaOf(2L);
+        assertEquals(SagaState.COMPENSATION_FAILED, failed.getState());
+        assertTrue(failed.getLastError().contains("SKU-BAD"));
+    }
+
+    @Test
+    void shouldKeepSagaCompensatingWhileReleaseIsRetriedWithSameKey() {
+        OrderEntity order = reserve(1L, "SKU-1", 2);
+        stock.releaseFailures = 1;
+
+        failPayment(order);
+        relay.relayOnce();
+
+        OrderSagaEntity retrying = sagaOf(1L);
+        assertEquals(SagaState.COMPENSATING, retrying.getState());
+        assertNotNull(retrying.getLastError());
+
+        clock.advance(Duration.ofSeconds(1));
+        relay.relayOnce();
+
+        assertEquals(2, stock.releaseKeys.size());
+        assertEquals(stock.releaseKeys.get(0), stock.releaseKeys.get(1));
+        assertEquals(Map.of("SKU-1", 0), stock.levels);
+        assertEquals(SagaState.COMPENSATED, sagaOf(1L).getState());
+    }
+
+    @Test
+    void shouldCancelReservationThatWasNotSentYet() {
+        OrderEntity order = order(1L, "SKU-1", 2);
+        inTransaction(() -> outboxWriter.enqueue(OutboxMessageType.STOCK_DECREASE, 1L,
+                List.of(new SkuQuantityDto("SKU-1", 2))));
+
+        failPayment(order);
+
+        assertEquals(SagaState.COMPENSATED, sagaOf(1L).getState());
+        assertEquals(0, relay.relayOnce());
+        assertTrue(stock.calls.isEmpty());
+        assertEquals(1, outboxMessageRepository.countByStatus(OutboxStatus.CANCELLED));
+    }
+
+    @Test
+    void shouldNotReleaseBeforeReservationInFlightIsApplied() {
+        OrderEntity order = order(1L, "SKU-1", 2);
+        inTransaction(() -> outboxWriter.enqueue(OutboxMessageType.STOCK_DECREASE, 1L,
+                List.of(new SkuQuantityDto("SKU-1", 2))));
+        stock.reserveFailures = 2;
+        // claimed and failed once: too late to cancel
+        relay.relayOnce();
+
+        failPayment(order);
+        for (int i = 0; i < 6; i++) {
+            clock.advance(Duration.ofSeconds(1));
+            relay.relayOnce();
+        }
+
+        assertEquals(List.of("reserve", "reserve", "reserve", "release"), stock.calls);
+        assertEquals(Map.of("SKU-1", 0), stock.levels);
+        assertEquals(SagaState.COMPENSATED, sagaOf(1L).getState());
+    }
+
+    @Test
+    void shouldReleaseOtherOrdersWhileOneReservationIsStillInFlight() {
+        OrderEntity reserved = reserve(1L, "SKU-1", 2);
+        OrderEntity inFlight = order(2L, "SKU-2", 1);
+        inTransaction(() -> outboxWriter.enqueue(OutboxMessageType.STOCK_DECREASE, 2L,
+                List.of(new SkuQuantityDto("SKU-2", 1))));
+        stock.reserveFailures = 2;
+        // claimed and failed once: too late to cancel
+        relay.relayOnce();
+
+        failPayment(reserved, inFlight);
+        clock.advance(Duration.ofSeconds(1));
+        relay.relayOnce();
+
+        assertEquals(SagaState.COMPENSATED, sagaOf(1L).getState());
+        assertEquals(SagaState.COMPENSATING, sagaOf(2L).getState());
+        assertEquals(Map.of("SKU-1", 0), stock.levels);
+        OutboxMessageEntity deferred = outboxMessageRepository
+                .findByTypeAndOrderId(OutboxMessageType.STOCK_RELEASE, 2L).orElseThrow();
+        assertEquals(OutboxStatus.PENDING, deferred.getStatus());
+        assertEquals(0, deferred.getAttempts());
+
+        clock.advance(Duration.ofSeconds(2));
+        relay.relayOnce();
+
+        assertEquals(Map.of("SKU-1", 0, "SKU-2", 0), stock.levels);
+        assertEquals(SagaState.COMPENSATED, sagaOf(2L).getState());
+        assertEquals(2, stock.releaseCalls());
+    }
+
+    @Test
+    void shouldReleaseNothingWhenReservationWasRejected() {
+        stock.unreservableSkus.add("SKU-BAD");
+        OrderEntity order = reserve(1L, "SKU-BAD", 1);
+        assertEquals(1, outboxMessageRepository.countByStatus(OutboxStatus.FAILED));
+
+        failPayment(order);
+
+        assertEquals(SagaState.COMPENSATED, sagaOf(1L).getState());
+        assertEquals(0, relay.relayOnce());
+        assertEquals(0, stock.releaseCalls());
+    }
+
+    @Test
+    void shouldFailOrderWhenStockReservationIsRejected() {
+        OrderEntity order = new OrderEntity();
+        order.setClientId(1L);
+        order.setTotal(Money.of("10"));
+        order.setStatus(OrderStatus.CREATED);
+        long orderId = orderRepository.save(order).getId();
+        stock.unreservableSkus.add("SKU-GONE");
+        inTransaction(() -> outboxWriter.enqueue(OutboxMessageType.STOCK_DECREASE, orderId,
+                List.of(new SkuQuantityDto("SKU-GONE", 1))));
+
+        relay.relayOnce();
+
+        assertEquals(OrderStatus.FAILED_NOT_STOCK, orderRepository.findById(orderId).orElseThrow().getStatus());
+        assertEquals(List.of(new OrderChangedEvent(orderId)), events);
+        assertEquals(1.0, meterRegistry.get("orders.stock.reservation.failed").counter().count());
+    }
+
+    @Test
+    void shouldLeavePaidOrderAloneButCountFailedReservation() {
+        OrderEntity order = new OrderEntity();
+        order.setClientId(1L);
+        order.setTotal(Money.of("10"));
+        order.setStatus(OrderStatus.CLOSED_SUCCESS);
+        long orderId = orderRepository.save(order).getId();
+        stock.unreservableSkus.add("SKU-GONE");
+        inTransaction(() -> outboxWriter.enqueue(OutboxMessageType.STOCK_DECREASE, orderId,
+                List.of(new SkuQuantityDto("SKU-GONE", 1))));
+
+        relay.relayOnce();
+
+        assertEquals(OrderStatus.CLOSED_SUCCESS, orderRepository.findById(orderId).orElseThrow().getStatus());
+        assertTrue(events.isEmpty());
+        assertEquals(1.0, meterRegistry.get("orders.stock.reservation.failed").counter().count());
+    }
+
+    private OrderEntity reserve(long orderId, String sku, int quantity) {
+        OrderEntity order = order(orderId, sku, quantity);
+        inTransaction(() -> outboxWriter.enqueue(OutboxMessageType.STOCK_DECREASE, orderId,
+                List.of(new SkuQuantityDto(sku, quantity))));
+        relay.relayOnce();
+        return order;
+    }
+
+    private void failPayment(OrderEntity... orders) {
+        for (OrderEntity order : orders) {
+            inTransaction(() -> saga.begin(order));
+        }
+    }
+
+    private OrderSagaEntity sagaOf(long orderId) {
+        return orderSagaRepository.findById(orderId).orElseThrow();
+    }
+
+    private void inTransaction(Runnable action) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> action.run());
+    }
+
+    private static OrderEntity order(long orderId, String sku, int quantity) {
+        OrderItemEntity item = new OrderItemEntity();
+        item.setProductSku(sku);
+        item.setQuantity(quantity);
+        item.setPrice(Money.of("10"));
+
+        OrderEntity order = new OrderEntity();
+        order.setId(orderId);
+        order.setOrderItems(List.of(item));
+        return order;
+    }
+}
@@ -0,0 +1,248 @@
+package br.com.fiap.msorders.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.com.fiap.msorders.application.dto.OrderBatchResultDto;
+import br.com.fiap.msorders.application.dto.OrderDto;
+import br.com.fiap.msorders.application.dto.OrderItemDto;
+import br.com.fiap.msorders.application.mapper.OrderItemMapper;
+import br.com.fiap.msorders.application.mapper.OrderMapper;
+import br.com.fiap.msorders.application.outbox.OutboxWriter;
+import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.enums.OutboxMessageType;
+import br.com.fiap.msorders.domain.exception.ClientNotFoundException;
+import br.com.fiap.msorders.domain.exception.DependencyUnavailableException;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.infrastructure.integration.dto.SkuQuantityDto;
+import br.com.fiap.msorders.infrastructure.integration.dto.StockDto;
+import br.com.fiap.msorders.infrastructure.integration.service.ClientServiceClient;
+import br.com.fiap.msorders.infrastructure.integration.service.ProductServiceClient;
+import br.com.fiap.msorders.infrastructure.integration.service.StockServiceClient;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderRepository;
+
+class OrderBatchServiceTest {
+
+    @Mock
+    private OrderRepository repository;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Mock
+    private ClientServiceClient clientServiceClient;
+
+    @Mock
+    private ProductServiceClient productServiceClient;
+
+    @Mock
+    private StockServiceClient stockServiceClient;
+
+    private final Map<String, Integer> stock = new LinkedHashMap<>();
+    private final List<Integer> chunkSizes = new ArrayList<>();
+    private OrderBatchService service;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        AtomicLong ids = new AtomicLong();
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<OrderEntity> orders = invocation.getArgument(0);
+            chunkSizes.add(orders.size());
+            orders.forEach(order -> order.setId(ids.incrementAndGet()));
+            return orders;
+        });
+        when(productServiceClient.findUnknownSkus(anyCollection())).thenReturn(Set.of());
+        when(stockServiceClient.findStocks(anyList())).thenAnswer(invocation -> {
+            List<String> skus = invocation.getArgument(0);
+            Map<String, StockDto> found = new LinkedHashMap<>();
+            skus.stream().filter(stock::containsKey)
+                .forEach(sku -> found.put(sku, new StockDto(null, sku, stock.get(sku))));
+            return found;
+        });
+        service = newService(2);
+    }
+
+    @Test
+    void shouldLookUpEachClientAndSkuOncePerBatch() {
+        stock.put("SKU-1", 100);
+        stock.put("SKU-2", 100);
+
+        List<OrderBatchResultDto> results = service.createOrders(List.of(
+            order(1L, item("SKU-1", 1)),
+            order(2L, item("SKU-1", 1), item("SKU-2", 1)),
+            order(1L, item("SKU-2", 1)),
+            order(2L, item("SKU-1", 1)),
+            order(1L, item("SKU-1", 1))).iterator());
+
+        assertEquals(5, results.size());
+        results.forEach(result -> assertEquals(OrderStatus.CREATED, result.order().status()));
+        verify(clientServiceClient, times(1)).validateClientExists(1L);
+        verify(clientServiceClient, times(1)).validateClientExists(2L);
+        // the first chunk brings both SKUs; later chunks have nothing new to ask
+        verify(productServiceClient, times(1)).findUnknownSkus(anyCollection());
+        verify(stockServiceClient, times(1)).findStocks(anyList());
+        assertEquals(List.of(2, 2, 1), chunkSizes);
+    }
+
+    @Test
+    void shouldCountStockTakenByEarlierOrdersOfTheBatch() {
+        stock.put("SKU-1", 5);
+
+        List<OrderBatchResultDto> results = service.createOrders(List.of(
+            order(1L, item("SKU-1", 3)),
+            order(1L, item("SKU-1", 3)),
+            order(1L, item("SKU-1", 2))).iterator());
+
+        assertEquals(List.of(OrderStatus.CREATED, OrderStatus.FAILED_NOT_STOCK, OrderStatus.CREATED),
+            results.stream().map(result -> result.order().status()).toList());
+        verify(outboxWriter).enqueue(OutboxMessageType.STOCK_DECREASE, 1L, List.of(new SkuQuantityDto("SKU-1", 3)));
+        verify(outboxWriter).enqueue(OutboxMessageType.STOCK_DECREASE, 3L, List.of(new SkuQuantityDto("SKU-1", 2)));
+        verify(outboxWriter, times(2)).enqueue(any(), anyLong(), any());
+    }
+
+    @Test
+    void shouldRejectBadOrdersWithoutFailingTheRest() {
+        stock.put("SKU-1", 100);
+        doThrow(new ClientNotFoundException(9L)).when(clientServiceClient).validateClientExists(9L);
+        when(productServiceClient.findUnknownSkus(anyCollection())).thenReturn(Set.of("SKU-X"));
+
+        List<OrderBatchResultDto> results = service.createOrders(List.of(
+            order(9L, item("SKU-1", 1)),
+            order(1L, item("SKU-X", 1)),
+            order(1L),
+            order(1L, item("SKU-1", 1))).iterator());
+
+        assertEquals("Client with ID 9 not found.", results.get(0).error());
+        assertEquals("One or more products not found for SKUs: [SKU-X]", results.get(1).error());
+        assertEquals("Order must contain at least one item.", results.get(2).error());
+        assertNull(results.get(0).order());
+        assertEquals(3, results.get(3).index());
+        assertEquals(OrderStatus.CREATED, results.get(3).order().status());
+        assertEquals(List.of(0, 1), chunkSizes);
+    }
+
+    @Test
+    void shouldAbortBatchWhenDependencyIsDown() {
+        when(stockServiceClient.findStocks(anyList())).thenThrow(new DependencyUnavailableException("ms-stock", null));
+
+        assertThrows(DependencyUnavailableException.class,
+            () -> service.createOrders(List.of(order(1L, item("SKU-1", 1))).iterator()));
+
+        verify(repository, never()).saveAll(anyList());
+        verify(outboxWriter, never()).enqueue(eq(OutboxMessageType.STOCK_DECREASE), anyLong(), any());
+    }
+
+    @Test
+    void shouldKeepWrittenChunksAndReportTheRestWhenDependencyFailsMidway() {
+        stock.put("SKU-1", 10);
+        when(stockServiceClient.findStocks(List.of("SKU-2")))
+            .thenThrow(new DependencyUnavailableException("ms-stock", null));
+        service = newService(1);
+
+        List<OrderBatchResultDto> results = service.createOrders(List.of(
+            order(1L, item("SKU-1", 1)),
+            order(1L, item("SKU-2", 1)),
+            order(1L, item("SKU-1", 1))).iterator());
+
+        assertEquals(3, results.size());
+        assertEquals(OrderStatus.CREATED, results.get(0).order().status());
+        for (int i = 1; i < 3; i++) {
+            assertEquals(i, results.get(i).index());
+            assertNull(results.get(i).order());
+            assertTrue(results.get(i).error().startsWith("Order not processed, the batch stopped at order 1"));
+        }
+        verify(repository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void shouldCancelNextLookupsWhenWriteFails() throws Exception {
+        ExecutorService pool = Executors.newCachedThreadPool();
+        CountDownLatch lookupStarted = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        stock.put("SKU-1", 10);
+        doAnswer(invocation -> {
+            lookupStarted.countDown();
+            try {
+                new CountDownLatch(1).await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        }).when(clientServiceClient).validateClientExists(3L);
+        AtomicInteger writes = new AtomicInteger();
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            if (writes.incrementAndGet() == 2) {
+                assertTrue(lookupStarted.await(5, TimeUnit.SECONDS));
+                throw new IllegalStateException("database down");
+            }
+            List<OrderEntity> orders = invocation.getArgument(0);
+            orders.forEach(order -> order.setId((long) writes.get()));
+            return orders;
+        });
+        try {
+            service = new OrderBatchService(repository, new OrderMapper(new OrderItemMapper()), outboxWriter,
+                event -> { }, clientServiceClient, productServiceClient, stockServiceClient, pool,
+                mock(PlatformTransactionManager.class), 1, 4, 10_000);
+
+            List<OrderBatchResultDto> results = service.createOrders(List.of(
+                order(1L, item("SKU-1", 1)),
+                order(2L, item("SKU-1", 1)),
+                order(3L, item("SKU-1", 1))).iterator());
+
+            assertEquals(3, results.size());
+            assertEquals(OrderStatus.CREATED, results.get(0).order().status());
+            assertTrue(results.get(2).error().endsWith("database down"));
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private OrderBatchService newService(int chunkSize) {
+        return new OrderBatchService(repository, new OrderMapper(new OrderItemMapper()), outboxWriter, event -> { },
+            clientServiceClient, productServiceClient, stockServiceClient, Runnable::run,
+            mock(PlatformTransactionManager.class), chunkSize, 4, 1000);
+    }
+
+    private static OrderDto order(long clientId, OrderItemDto... items) {
+        return new OrderDto(0L, clientId, null, null, null, null, List.of(items));
+    }
+
+    private static OrderItemDto item(String sku, int quantity) {
+        return new OrderItemDto(0L, 0L, sku, quantity, Money.of("10"));
+    }
+}
@@ -10,7 +10,6 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,8 +19,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import org.springframework.context.ApplicationEventPublisher;
+
 import br.com.fiap.msorders.application.dto.OrderItemDto;
+import br.com.fiap.msorders.application.event.OrderChangedEvent;
 import br.com.fiap.msorders.application.mapper.OrderItemMapper;
+import br.com.fiap.msorders.domain.model.Money;
 import br.com.fiap.msorders.domain.model.OrderItem;
 import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
 import br.com.fiap.msorders.infrastructure.persistence.entity.OrderItemEntity;
@@ -43,6 +46,9 @@ class OrderItemServiceTest {
     @Mock
     private OrderItemMapper orderItemMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -51,15 +57,15 @@ class OrderItemServiceTest {
     @Test
     void shouldCreateOrderItemSuccessfully() throws ResourceNotFoundException {
         // Arrange
-        OrderItemDto inputDto = new OrderItemDto(1L, 100L, "SKU123", 2, BigDecimal.valueOf(29.99));
+        OrderItemDto inputDto = new OrderItemDto(1L, 100L, "SKU123", 2, Money.of("29.99"));
 
         // Criando a ordem de teste com o id necessário
         OrderEntity mockOrder = new OrderEntity();
         mockOrder.setId(100L);  // Defina o id da ordem
 
-        OrderItem domain = new OrderItem(1L, 100L, "SKU123", 2, BigDecimal.valueOf(29.99));
-        OrderItemEntity entity = new OrderItemEntity(mockOrder, "SKU123", 2, BigDecimal.valueOf(29.99));  // Instanciando com o construtor correto
-        OrderItemDto expectedDto = new OrderItemDto(1L, 100L, "SKU123", 2, BigDecimal.valueOf(29.99));
+        OrderItem domain = new OrderItem(1L, 100L, "SKU123", 2, Money.of("29.99"));
+        OrderItemEntity entity = new OrderItemEntity(mockOrder, "SKU123", 2, Money.of("29.99"));  // Instanciando com o construtor correto
+        OrderItemDto expectedDto = new OrderItemDto(1L, 100L, "SKU123", 2, Money.of("29.99"));
 
         // Mocking dos repositórios e mapper
         when(orderRepository.findById(inputDto.orderId())).thenReturn(Optional.of(mockOrder));
@@ -88,13 +94,13 @@ class OrderItemServiceTest {
 
     @Test
     void shouldThrowExceptionWhenCreatingOrderItemWithInvalidQuantity() {
-        OrderItemDto dto = new OrderItemDto(1L, 100L, "SKU123", 0, BigDecimal.valueOf(29.99));
+        OrderItemDto dto = new OrderItemDto(1L, 100L, "SKU123", 0, Money.of("29.99"));
         assertThrows(IllegalArgumentException.class, () -> orderItemService.create(dto));
     }
 
     @Test
     void shouldThrowExceptionWhenOrderNotFoundWhileCreatingOrderItem() {
-        OrderItemDto dto = new OrderItemDto(1L, 100L, "SKU123", 2, BigDecimal.valueOf(29.99));
+        OrderItemDto dto = new OrderItemDto(1L, 100L, "SKU123", 2, Money.of("29.99"));
         when(orderRepository.findById(dto.orderId())).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> orderItemService.create(dto));
     }
@@ -102,7 +108,7 @@ class OrderItemServiceTest {
     @Test
     void shouldFindAllOrderItems() {
         List<OrderItemEntity> entities = List.of(mock(OrderItemEntity.class));
-        OrderItemDto dto = new OrderItemDto(1L, 100L, "SKU123", 2, BigDecimal.valueOf(29.99));
+        OrderItemDto dto = new OrderItemDto(1L, 100L, "SKU123", 2, Money.of("29.99"));
 
         when(orderItemRepository.findAll()).thenReturn(entities);
         when(orderItemMapper.toDtoList(entities)).thenReturn(List.of(dto));
@@ -118,7 +124,7 @@ class OrderItemServiceTest {
     void shouldFindOrderItemById() throws ResourceNotFoundException {
         long id = 1L;
         OrderItemEntity entity = mock(OrderItemEntity.class);
-        OrderItemDto dto = new OrderItemDto(id, 100L, "SKU123", 2, BigDecimal.valueOf(29.99));
+        OrderItemDto dto = new OrderItemDto(id, 100L, "SKU123", 2, Money.of("29.99"));
 
         when(orderItemRepository.findById(id)).thenReturn(Optional.of(entity));
         when(orderItemMapper.toDto(entity)).thenReturn(dto);
@@ -138,12 +144,16 @@ class OrderItemServiceTest {
     @Test
     void shouldUpdateOrderItemSuccessfully() throws ResourceNotFoundException {
         long id = 1L;
-        OrderItemDto dto = new OrderItemDto(id, 100L, "SKU123", 3, BigDecimal.valueOf(29.99));
+        OrderItemDto dto = new OrderItemDto(id, 100L, "SKU123", 3, Money.of("29.99"));
         OrderItemEntity entity = mock(OrderItemEntity.class);
         OrderEntity order = mock(OrderEntity.class);
+        OrderEntity previousOrder = mock(OrderEntity.class);
 
         when(orderItemRepository.findById(id)).thenReturn(Optional.of(entity));
         when(orderRepository.findById(dto.orderId())).thenReturn(Optional.of(order));
+        when(order.getId()).thenReturn(100L);
+        when(previousOrder.getId()).thenReturn(99L);
+        when(entity.getOrder()).thenReturn(previousOrder);
         doNothing().when(orderItemMapper).updateFromDto(dto, entity, order);
         when(orderItemRepository.save(entity)).thenReturn(entity);
         when(orderItemMapper.toDto(entity)).thenReturn(dto);
@@ -152,12 +162,15 @@ class OrderItemServiceTest {
 
         assertNotNull(result);
         assertEquals("SKU123", result.productSku());
+        // Moving the item changes both orders
+        verify(eventPublisher).publishEvent(new OrderChangedEvent(99L));
+        verify(eventPublisher).publishEvent(new OrderChangedEvent(100L));
     }
 
     @Test
     void shouldThrowExceptionWhenOrderItemNotFoundForUpdate() {
         long id = 1L;
-        OrderItemDto dto = new OrderItemDto(id, 100L, "SKU123", 3, BigDecimal.valueOf(29.99));
+        OrderItemDto dto = new OrderItemDto(id, 100L, "SKU123", 3, Money.of("29.99"));
         when(orderItemRepository.findById(id)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> orderItemService.update(id, dto));
     }
@@ -165,7 +178,7 @@ class OrderItemServiceTest {
     @Test
     void shouldThrowExceptionWhenOrderNotFoundForUpdate() {
         long id = 1L;
-        OrderItemDto dto = new OrderItemDto(id, 100L, "SKU123", 3, BigDecimal.valueOf(29.99));
+        OrderItemDto dto = new OrderItemDto(id, 100L, "SKU123", 3, Money.of("29.99"));
         OrderItemEntity entity = mock(OrderItemEntity.class);
 
         when(orderItemRepository.findById(id)).thenReturn(Optional.of(entity));
@@ -178,13 +191,17 @@ class OrderItemServiceTest {
     void shouldDeleteOrderItemSuccessfully() throws ResourceNotFoundException {
         long id = 1L;
         OrderItemEntity entity = mock(OrderItemEntity.class);
+        OrderEntity order = mock(OrderEntity.class);
 
         when(orderItemRepository.findById(id)).thenReturn(Optional.of(entity));
+        when(entity.getOrder()).thenReturn(order);
+        when(order.getId()).thenReturn(100L);
 
         String result = orderItemService.delete(id);
 
         assertEquals("Order item deleted successfully!", result);
         verify(orderItemRepository).delete(entity);
+        verify(eventPublisher).publishEvent(new OrderChangedEvent(100L));
     }
 
     @Test
@@ -7,32 +7,48 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.http.ResponseEntity;
 
+import org.springframework.context.ApplicationEventPublisher;
+
+import br.com.fiap.msorders.application.cache.OrderCache;
 import br.com.fiap.msorders.application.dto.OrderDto;
 import br.com.fiap.msorders.application.dto.OrderItemDto;
+import br.com.fiap.msorders.application.dto.OrderPageDto;
+import br.com.fiap.msorders.application.event.OrderChangedEvent;
 import br.com.fiap.msorders.application.mapper.OrderMapper;
+import br.com.fiap.msorders.application.metrics.StageTimers;
+import br.com.fiap.msorders.application.outbox.OutboxWriter;
+import br.com.fiap.msorders.application.saga.StockCompensationSaga;
 import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.enums.OutboxMessageType;
+import br.com.fiap.msorders.domain.model.Money;
 import br.com.fiap.msorders.domain.model.Order;
+import br.com.fiap.msorders.domain.model.OrderFilter;
 import br.com.fiap.msorders.infrastructure.integration.dto.CreditCardPaymentResponseDto;
 import br.com.fiap.msorders.infrastructure.integration.dto.QRCodePaymentResponseDto;
-import br.com.fiap.msorders.infrastructure.integration.dto.StatusDto;
+import br.com.fiap.msorders.infrastructure.integration.dto.SkuQuantityDto;
 import br.com.fiap.msorders.infrastructure.integration.dto.StockDto;
 import br.com.fiap.msorders.infrastructure.integration.dto.TokenResponseDto;
 import br.com.fiap.msorders.infrastructure.integration.service.ClientServiceClient;
@@ -42,13 +58,16 @@ import br.com.fiap.msorders.infrastructure.integration.service.StockServiceClien
 import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
 import br.com.fiap.msorders.infrastructure.persistence.entity.OrderItemEntity;
 import br.com.fiap.msorders.infrastructure.persistence.repository.OrderRepository;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderReadRepository;
 import br.com.fiap.msorders.infrastructure.web.exceptions.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 class OrderServiceTest {
 
-    @InjectMocks
     private OrderService service;
 
+    private SimpleMeterRegistry meterRegistry;
+
     @Mock
     private OrderRepository repository;
 
@@ -67,41 +86,62 @@ class OrderServiceTest {
     @Mock
     private PaymentServiceClient paymentServiceClient;
 
+    @Mock
+    private PixPaymentMonitor pixPaymentMonitor;
+
+    @Mock
+    private OrderReadRepository orderReadRepository;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Mock
+    private StockCompensationSaga stockCompensationSaga;
+
     @BeforeEach
     void setup() {
         MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        StageTimers stageTimers = new StageTimers(meterRegistry, true);
+        OrderValidationService validationService = new OrderValidationService(
+            clientServiceClient, productServiceClient, stockServiceClient, Runnable::run, 1000, stageTimers);
+        OrderCache orderCache = new OrderCache(new SimpleMeterRegistry(), Clock.systemUTC(), 100, 60, 3600);
+        ApplicationEventPublisher eventPublisher = event -> orderCache.evictOnChange((OrderChangedEvent) event);
+        OrderPaymentFinalizer paymentFinalizer = new OrderPaymentFinalizer(repository, stockCompensationSaga, eventPublisher);
+        service = new OrderService(repository, mapper, validationService, outboxWriter, paymentServiceClient,
+            paymentFinalizer, pixPaymentMonitor, orderReadRepository, orderCache, eventPublisher, stageTimers);
     }
 
     @Test
     void shouldCreateOrderSuccessfully() {
-        OrderItemDto itemDto = new OrderItemDto(0L, 0L, "sku-123", 2, BigDecimal.TEN);
+        OrderItemDto itemDto = new OrderItemDto(0L, 0L, "sku-123", 2, Money.of("10"));
         List<OrderItemDto> itemsDto = List.of(itemDto);
-        OrderDto dto = new OrderDto(0L, 5L, BigDecimal.TEN, null, null, null, itemsDto);
+        OrderDto dto = new OrderDto(0L, 5L, Money.of("10"), null, null, null, itemsDto);
 
         OrderEntity entityToSave = new OrderEntity();
         entityToSave.setClientId(5L);
         entityToSave.setStatus(OrderStatus.CREATED);
-        entityToSave.setTotal(BigDecimal.TEN);
+        entityToSave.setTotal(Money.of("10"));
         entityToSave.setCreatedAt(LocalDateTime.now());
         entityToSave.setUpdatedAt(LocalDateTime.now());
 
         OrderItemEntity itemEntity = new OrderItemEntity();
         itemEntity.setProductSku("sku-123");
         itemEntity.setQuantity(2);
-        itemEntity.setPrice(BigDecimal.TEN);
+        itemEntity.setPrice(Money.of("10"));
         entityToSave.addOrderItem(itemEntity);
 
         OrderEntity savedEntity = new OrderEntity();
         savedEntity.setId(1L);
         savedEntity.setClientId(5L);
-        savedEntity.setTotal(BigDecimal.TEN);
+        savedEntity.setTotal(Money.of("10"));
         savedEntity.setStatus(OrderStatus.CREATED);
         savedEntity.setCreatedAt(LocalDateTime.now());
         savedEntity.setUpdatedAt(LocalDateTime.now());
         savedEntity.setOrderItems(List.of(itemEntity));
 
-        Order domain = new Order(1L, 5L, BigDecimal.TEN, OrderStatus.CREATED, savedEntity.getCreatedAt(), savedEntity.getUpdatedAt(), new ArrayList<>());
-        OrderDto expectedDto = new OrderDto(1L, 5L, BigDecimal.TEN, OrderStatus.CREATED, savedEntity.getCreatedAt(), savedEntity.getUpdatedAt(), itemsDto);
+        Order domain = new Order(1L, 5L, Money.of("10"), OrderStatus.CREATED, savedEntity.getCreatedAt(), savedEntity.getUpdatedAt(), new ArrayList<>());
+        OrderDto expectedDto = new OrderDto(1L, 5L, Money.of("10"), OrderStatus.CREATED, savedEntity.getCreatedAt(), savedEntity.getUpdatedAt(), itemsDto);
 
         doNothing().when(clientServiceClient).validateClientExists(5L);
         doNothing().when(productServiceClient).validateSkus(List.of("sku-123"));
@@ -109,7 +149,7 @@ class OrderServiceTest {
         when(repository.save(any(OrderEntity.class))).thenReturn(savedEntity);
         when(mapper.toDomain(savedEntity)).thenReturn(domain);
         when(mapper.toDto(domain)).thenReturn(expectedDto);
-        when(stockServiceClient.searchStock("sku-123")).thenReturn(new StockDto(null, "sku-123", 10)); // Corrected mock
+        when(stockServiceClient.searchStocks(List.of("sku-123"))).thenReturn(Map.of("sku-123", new StockDto(null, "sku-123", 10)));
 
         OrderDto result = service.createOrder(dto);
 
@@ -120,18 +160,40 @@ class OrderServiceTest {
 
         verify(clientServiceClient).validateClientExists(5L);
         verify(productServiceClient).validateSkus(List.of("sku-123"));
+        verify(outboxWriter).enqueue(OutboxMessageType.STOCK_DECREASE, 1L, List.of(new SkuQuantityDto("sku-123", 2)));
+        verify(stockServiceClient, never()).decreaseStocks(any());
+        for (String stage : List.of("validation", "validation.ms-clients", "validation.ms-stock", "persist", "outbox")) {
+            assertEquals(1, meterRegistry.get(StageTimers.METRIC)
+                .tags("operation", "createOrder", "stage", stage, "outcome", "success").timer().count(), stage);
+        }
         verify(repository).save(any(OrderEntity.class));
     }
 
+    @Test
+    void shouldNotReserveStockForOrderWithInsufficientStock() {
+        OrderDto dto = new OrderDto(0L, 5L, Money.of("10"), null, null, null,
+            List.of(new OrderItemDto(0L, 0L, "sku-123", 20, Money.of("10"))));
+        OrderEntity savedEntity = new OrderEntity();
+        savedEntity.setId(2L);
+
+        when(stockServiceClient.searchStocks(List.of("sku-123"))).thenReturn(Map.of("sku-123", new StockDto(null, "sku-123", 10)));
+        when(repository.save(any(OrderEntity.class))).thenReturn(savedEntity);
+
+        service.createOrder(dto);
+
+        verify(repository).save(argThat(order -> order.getStatus() == OrderStatus.FAILED_NOT_STOCK));
+        verify(outboxWriter, never()).enqueue(any(), anyLong(), any());
+    }
+
     @Test
     void shouldThrowExceptionWhenClientIdIsInvalid() {
-        OrderDto dto = new OrderDto(0L, 0L, BigDecimal.TEN, null, null, null, List.of());
+        OrderDto dto = new OrderDto(0L, 0L, Money.of("10"), null, null, null, List.of());
         assertThrows(IllegalArgumentException.class, () -> service.createOrder(dto));
     }
 
     @Test
     void shouldThrowExceptionWhenItemsAreEmpty() {
-        OrderDto dto = new OrderDto(0L, 5L, BigDecimal.TEN, null, null, null, List.of());
+        OrderDto dto = new OrderDto(0L, 5L, Money.of("10"), null, null, null, List.of());
         doNothing().when(clientServiceClient).validateClientExists(5L);
         assertThrows(IllegalArgumentException.class, () -> service.createOrder(dto));
     }
@@ -140,21 +202,34 @@ class OrderServiceTest {
     void shouldFindOrderById() throws ResourceNotFoundException {
         long orderId = 1L;
         LocalDateTime now = LocalDateTime.now();
-        OrderEntity entity = new OrderEntity();
-        Order domain = new Order(orderId, 5L, BigDecimal.TEN, OrderStatus.CREATED, now, now, List.of());
-        OrderDto dto = new OrderDto(orderId, 5L, BigDecimal.TEN, OrderStatus.CREATED, now, now, List.of());
+        OrderDto dto = new OrderDto(orderId, 5L, Money.of("10"), OrderStatus.CREATED, now, now, List.of());
 
-        when(repository.findById(orderId)).thenReturn(Optional.of(entity));
-        when(mapper.toDomain(entity)).thenReturn(domain);
-        when(mapper.toDto(domain)).thenReturn(dto);
+        when(orderReadRepository.findById(orderId)).thenReturn(Optional.of(dto));
 
         OrderDto result = service.findOrderById(orderId);
         assertEquals(dto, result);
     }
 
+    @Test
+    void shouldServeRepeatedReadsFromCacheUntilOrderIsDeleted() throws ResourceNotFoundException {
+        long orderId = 1L;
+        LocalDateTime now = LocalDateTime.now();
+        OrderDto dto = new OrderDto(orderId, 5L, Money.of("10"), OrderStatus.CREATED, now, now, List.of());
+
+        when(orderReadRepository.findById(orderId)).thenReturn(Optional.of(dto), Optional.empty());
+        when(repository.existsById(orderId)).thenReturn(true);
+
+        service.findOrderById(orderId);
+        service.findOrderById(orderId);
+        verify(orderReadRepository, times(1)).findById(orderId);
+
+        service.deleteOrder(orderId);
+        assertThrows(ResourceNotFoundException.class, () -> service.findOrderById(orderId));
+    }
+
     @Test
     void shouldThrowExceptionWhenOrderNotFoundById() {
-        when(repository.findById(1L)).thenReturn(Optional.empty());
+        when(orderReadRepository.findById(1L)).thenReturn(Optional.empty());
         assertThrows(ResourceNotFoundException.class, () -> service.findOrderById(1L));
     }
     
@@ -167,21 +242,21 @@ class OrderServiceTest {
         OrderEntity orderEntity = new OrderEntity();
         orderEntity.setId(orderId);
         orderEntity.setClientId(123L);
-        orderEntity.setTotal(BigDecimal.valueOf(100.00));
+        orderEntity.setTotal(Money.of("100.00"));
         orderEntity.setStatus(OrderStatus.CREATED);
 
         OrderItemEntity item = new OrderItemEntity();
         item.setProductSku("SKU123");
         item.setQuantity(1);
-        item.setPrice(BigDecimal.valueOf(100.00));
+        item.setPrice(Money.of("100.00"));
         orderEntity.setOrderItems(List.of(item));
 
         CreditCardPaymentResponseDto paymentResponse = new CreditCardPaymentResponseDto("1", "APPROVED", "Pagamento aprovado com sucesso.", "123456", 100.0, "BRL", "1");
         
         TokenResponseDto tokenResponse = new TokenResponseDto("access_token", "token_type", 3600, "oob");
-        when(repository.findById(orderId)).thenReturn(Optional.of(orderEntity));
+        when(repository.findWithItemsById(orderId)).thenReturn(Optional.of(orderEntity));
   
-		when(paymentServiceClient.generateToken(anyString(), anyString(), anyString(), anyString()))
+		when(paymentServiceClient.getToken(anyString(), anyString(), anyString(), anyString()))
             .thenReturn(tokenResponse);
         when(paymentServiceClient.processCreditCardPayment(any(), anyString()))
             .thenReturn(paymentResponse);
@@ -192,6 +267,76 @@ class OrderServiceTest {
         assertNull(result);
     }
     
+    @Test
+    void shouldSendExactCardAmountsToPaymentService() throws Exception {
+        OrderEntity orderEntity = new OrderEntity();
+        orderEntity.setId(1L);
+        orderEntity.setClientId(123L);
+        orderEntity.setTotal(Money.of("59.70"));
+        orderEntity.setStatus(OrderStatus.CREATED);
+
+        OrderItemEntity item = new OrderItemEntity();
+        item.setProductSku("SKU123");
+        item.setQuantity(3);
+        item.setPrice(Money.of("19.90"));
+        orderEntity.setOrderItems(List.of(item));
+
+        when(repository.findWithItemsById(1L)).thenReturn(Optional.of(orderEntity));
+        when(paymentServiceClient.getToken(anyString(), anyString(), anyString(), anyString()))
+            .thenReturn(new TokenResponseDto("access_token", "token_type", 3600, "oob"));
+        when(paymentServiceClient.processCreditCardPayment(any(), anyString()))
+            .thenReturn(new CreditCardPaymentResponseDto("1", "APPROVED", "Pagamento aprovado.", "123456", 59.7, "BRL", "1"));
+
+        service.processPayment(1L, "CARD");
+
+        verify(paymentServiceClient).processCreditCardPayment(argThat(request ->
+            request.amount().equals(new BigDecimal("59.70"))
+                && request.currency().equals("BRL")
+                && request.order().items().get(0).unit_amount().equals(new BigDecimal("19.90"))), anyString());
+    }
+
+    @Test
+    void shouldCalculateTotalInMinorUnits() {
+        List<OrderItemDto> items = List.of(
+            new OrderItemDto(0L, 0L, "SKU-1", 3, Money.of("0.10")),
+            new OrderItemDto(0L, 0L, "SKU-2", 7, Money.of("19.99")));
+
+        assertEquals(Money.of("140.23"), OrderService.calculateTotal(items));
+        assertEquals(Money.ZERO, OrderService.calculateTotal(List.of()));
+        assertThrows(ArithmeticException.class, () -> OrderService.calculateTotal(List.of(
+            new OrderItemDto(0L, 0L, "SKU-1", 2, Money.ofMinor(Long.MAX_VALUE / 2 + 1, Money.BRL)))));
+    }
+
+    @Test
+    void shouldStartStockCompensationWhenCardIsDeclined() throws Exception {
+        OrderEntity orderEntity = new OrderEntity();
+        orderEntity.setId(1L);
+        orderEntity.setClientId(123L);
+        orderEntity.setTotal(Money.of("100.00"));
+        orderEntity.setStatus(OrderStatus.CREATED);
+
+        OrderItemEntity item = new OrderItemEntity();
+        item.setProductSku("SKU123");
+        item.setQuantity(1);
+        item.setPrice(Money.of("100.00"));
+        orderEntity.setOrderItems(List.of(item));
+
+        when(repository.findWithItemsById(1L)).thenReturn(Optional.of(orderEntity));
+        when(paymentServiceClient.getToken(anyString(), anyString(), anyString(), anyString()))
+            .thenReturn(new TokenResponseDto("access_token", "token_type", 3600, "oob"));
+        when(paymentServiceClient.processCreditCardPayment(any(), anyString()))
+            .thenReturn(new CreditCardPaymentResponseDto("1", "DECLINED", "Pagamento recusado.", null, 100.0, "BRL", "1"));
+        when(repository.save(any(OrderEntity.class))).thenReturn(orderEntity);
+
+        service.processPayment(1L, "CARD");
+
+        assertEquals(OrderStatus.FAILED_NOT_PAID, orderEntity.getStatus());
+        verify(stockCompensationSaga).begin(orderEntity);
+        // stock goes back through the saga, never from the request thread
+        verify(stockServiceClient, never()).increaseStock(anyString(), anyInt());
+        verify(stockServiceClient, never()).decreaseStock(anyString(), anyInt());
+    }
+
     @Test
     void testProcessPaymentPIX() throws Exception {
         // Arrange
@@ -201,49 +346,61 @@ class OrderServiceTest {
         OrderEntity orderEntity = new OrderEntity();
         orderEntity.setId(orderId);
         orderEntity.setClientId(123L);
-        orderEntity.setTotal(BigDecimal.valueOf(100.00));
+        orderEntity.setTotal(Money.of("100.00"));
         orderEntity.setStatus(OrderStatus.CREATED);
 
         OrderItemEntity item = new OrderItemEntity();
         item.setProductSku("SKU123");
         item.setQuantity(1);
-        item.setPrice(BigDecimal.valueOf(100.00));
+        item.setPrice(Money.of("100.00"));
         orderEntity.setOrderItems(List.of(item));
 
         QRCodePaymentResponseDto qrCodePaymentResponse = new QRCodePaymentResponseDto(
             "seller_id", "hash_qr_code", "APPROVED", null
         );
         
-        StatusDto statusDto = new StatusDto("seller_id", "hash_qr_code", "APPROVED", "1", 10.10, null, null);
-        
         TokenResponseDto tokenResponse = new TokenResponseDto("access_token", "token_type", 3600, "oob");
-        when(repository.findById(orderId)).thenReturn(Optional.of(orderEntity));
-        when(paymentServiceClient.generateToken(anyString(), anyString(), anyString(), anyString()))
+        when(repository.findWithItemsById(orderId)).thenReturn(Optional.of(orderEntity));
+        when(paymentServiceClient.getToken(anyString(), anyString(), anyString(), anyString()))
             .thenReturn(tokenResponse);
         when(paymentServiceClient.generateQRCodePayment(any(), anyString()))
             .thenReturn(qrCodePaymentResponse); // Return QRCodePaymentResponseDto directly
         when(repository.save(any(OrderEntity.class))).thenReturn(orderEntity);
-        when(paymentServiceClient.getStatus(anyString(), anyString()))
-        .thenReturn(ResponseEntity.ok(statusDto)); 
 
-        OrderDto result = service.processPayment(orderId, paymentMethod);
-        assertNull(result);
+        service.processPayment(orderId, paymentMethod);
+
+        assertEquals(OrderStatus.PENDING_PAYMENT, orderEntity.getStatus());
+        verify(pixPaymentMonitor).track(orderId, 123L);
+        verify(paymentServiceClient, never()).getStatus(anyString(), anyString());
     }
 
     @Test
-    void shouldReturnAllOrders() {
+    void shouldReturnPageWithCursorWhenMoreOrdersExist() {
         LocalDateTime now = LocalDateTime.now();
-        OrderEntity entity = new OrderEntity();
-        Order domain = new Order(1L, 5L, BigDecimal.TEN, OrderStatus.CREATED, now, now, List.of());
-        OrderDto dto = new OrderDto(1L, 5L, BigDecimal.TEN, OrderStatus.CREATED, now, now, List.of());
+        List<OrderDto> rows = List.of(
+            new OrderDto(11L, 5L, Money.of("10"), OrderStatus.CREATED, now, now, List.of()),
+            new OrderDto(12L, 5L, Money.of("10"), OrderStatus.CREATED, now, now, List.of()),
+            new OrderDto(13L, 5L, Money.of("10"), OrderStatus.CREATED, now, now, List.of()));
 
-        when(repository.findAll()).thenReturn(List.of(entity));
-        when(mapper.toDomain(entity)).thenReturn(domain);
-        when(mapper.toDto(domain)).thenReturn(dto);
+        when(orderReadRepository.findPage(OrderFilter.none(), 10L, 3)).thenReturn(rows);
+
+        OrderPageDto page = service.findOrders(OrderFilter.none(), 10L, 2);
+
+        assertEquals(List.of(rows.get(0), rows.get(1)), page.orders());
+        assertEquals(12L, page.nextAfter());
+    }
+
+    @Test
+    void shouldReturnLastPageWithoutCursor() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderDto> rows = List.of(new OrderDto(11L, 5L, Money.of("10"), OrderStatus.CREATED, now, now, List.of()));
+
+        when(orderReadRepository.findPage(OrderFilter.none(), 10L, 3)).thenReturn(rows);
+
+        OrderPageDto page = service.findOrders(OrderFilter.none(), 10L, 2);
 
-        List<OrderDto> result = service.findAllOrders();
-        assertEquals(1, result.size());
-        assertEquals(dto, result.get(0));
+        assertEquals(rows, page.orders());
+        assertNull(page.nextAfter());
     }
 
     @Test
@@ -254,14 +411,14 @@ class OrderServiceTest {
         OrderEntity existingEntity = new OrderEntity();
         existingEntity.setOrderItems(new ArrayList<>());
 
-        OrderItemDto itemDto = new OrderItemDto(1L, orderId, "sku-123", 2, BigDecimal.TEN);
+        OrderItemDto itemDto = new OrderItemDto(1L, orderId, "sku-123", 2, Money.of("10"));
         List<OrderItemDto> itemsDto = List.of(itemDto);
 
-        OrderDto dto = new OrderDto(orderId, 5L, BigDecimal.TEN, OrderStatus.CREATED, now, now, itemsDto);
-        Order domain = new Order(orderId, 5L, BigDecimal.TEN, OrderStatus.CREATED, now, now, new ArrayList<>());
+        OrderDto dto = new OrderDto(orderId, 5L, Money.of("10"), OrderStatus.CREATED, now, now, itemsDto);
+        Order domain = new Order(orderId, 5L, Money.of("10"), OrderStatus.CREATED, now, now, new ArrayList<>());
         OrderEntity savedEntity = new OrderEntity();
 
-        when(repository.findById(orderId)).thenReturn(Optional.of(existingEntity));
+        when(repository.findWithItemsById(orderId)).thenReturn(Optional.of(existingEntity));
         when(repository.save(any(OrderEntity.class))).thenReturn(savedEntity);
         when(mapper.toDomain(savedEntity)).thenReturn(domain);
         when(mapper.toDto(domain)).thenReturn(dto);
@@ -273,8 +430,8 @@ class OrderServiceTest {
 
     @Test
     void shouldThrowExceptionWhenUpdatingNonExistentOrder() {
-        when(repository.findById(1L)).thenReturn(Optional.empty());
-        assertThrows(ResourceNotFoundException.class, () -> service.updateOrder(1L, new OrderDto(1L, 5L, BigDecimal.TEN, OrderStatus.CREATED, LocalDateTime.now(), LocalDateTime.now(), List.of())));
+        when(repository.findWithItemsById(1L)).thenReturn(Optional.empty());
+        assertThrows(ResourceNotFoundException.class, () -> service.updateOrder(1L, new OrderDto(1L, 5L, Money.of("10"), OrderStatus.CREATED, LocalDateTime.now(), LocalDateTime.now(), List.of())));
     }
 
     @Test
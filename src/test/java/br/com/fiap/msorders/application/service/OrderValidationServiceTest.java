@@ -0,0 +1,167 @@
+package br.com.fiap.msorders.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.fiap.msorders.application.dto.OrderDto;
+import br.com.fiap.msorders.application.dto.OrderItemDto;
+import br.com.fiap.msorders.application.dto.OrderValidationResult;
+import br.com.fiap.msorders.application.metrics.StageTimers;
+import br.com.fiap.msorders.domain.exception.ClientNotFoundException;
+import br.com.fiap.msorders.domain.exception.OrderValidationException;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.infrastructure.integration.dto.StockDto;
+import br.com.fiap.msorders.infrastructure.integration.service.ClientServiceClient;
+import br.com.fiap.msorders.infrastructure.integration.service.ProductServiceClient;
+import br.com.fiap.msorders.infrastructure.integration.service.StockServiceClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OrderValidationServiceTest {
+
+    private static final long LATENCY_MS = 50;
+
+    private ClientServiceClient clientServiceClient;
+    private ProductServiceClient productServiceClient;
+    private StockServiceClient stockServiceClient;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        clientServiceClient = mock(ClientServiceClient.class);
+        productServiceClient = mock(ProductServiceClient.class);
+        stockServiceClient = mock(StockServiceClient.class);
+        executor = Executors.newFixedThreadPool(32);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldMergeStockOfAllItems() {
+        when(stockServiceClient.searchStocks(List.of("SKU-1", "SKU-2"))).thenReturn(Map.of(
+            "SKU-1", new StockDto(1L, "SKU-1", 10),
+            "SKU-2", new StockDto(2L, "SKU-2", 10)));
+
+        OrderValidationResult result = service(1000).validate(order(item("SKU-1", 2), item("SKU-2", 3)));
+
+        assertTrue(result.hasSufficientStock());
+        assertEquals(2, result.stocks().size());
+        verify(clientServiceClient).validateClientExists(5L);
+        verify(productServiceClient).validateSkus(List.of("SKU-1", "SKU-2"));
+    }
+
+    @Test
+    void shouldFlagItemsWithInsufficientStock() {
+        when(stockServiceClient.searchStocks(List.of("SKU-1", "SKU-2"))).thenReturn(Map.of(
+            "SKU-1", new StockDto(1L, "SKU-1", 10),
+            "SKU-2", new StockDto(2L, "SKU-2", 1)));
+
+        OrderValidationResult result = service(1000).validate(order(item("SKU-1", 2), item("SKU-2", 3)));
+
+        assertFalse(result.hasSufficientStock());
+        assertEquals(List.of("SKU-2"), result.insufficientSkus());
+    }
+
+    @Test
+    void shouldLookUpStockOfWholeOrderInOneCall() {
+        when(stockServiceClient.searchStocks(anyList())).thenReturn(Map.of("SKU-1", new StockDto(1L, "SKU-1", 10)));
+
+        service(1000).validate(order(item("SKU-1", 2), item("SKU-1", 3)));
+
+        verify(stockServiceClient, times(1)).searchStocks(List.of("SKU-1", "SKU-1"));
+    }
+
+    @Test
+    void shouldPropagateClientNotFound() {
+        doThrow(new ClientNotFoundException(5L)).when(clientServiceClient).validateClientExists(5L);
+        when(stockServiceClient.searchStocks(anyList())).thenReturn(Map.of("SKU-1", new StockDto(1L, "SKU-1", 10)));
+
+        OrderValidationService service = service(1000);
+        OrderDto order = order(item("SKU-1", 2));
+
+        assertThrows(ClientNotFoundException.class, () -> service.validate(order));
+    }
+
+    @Test
+    void shouldFailWhenCallExceedsTimeout() {
+        doAnswer(invocation -> {
+            Thread.sleep(500);
+            return null;
+        }).when(productServiceClient).validateSkus(anyList());
+        when(stockServiceClient.searchStocks(anyList())).thenReturn(Map.of("SKU-1", new StockDto(1L, "SKU-1", 10)));
+
+        OrderValidationService service = service(100);
+        OrderDto order = order(item("SKU-1", 2));
+
+        OrderValidationException exception = assertThrows(OrderValidationException.class, () -> service.validate(order));
+        assertTrue(exception.getMessage().contains("ms-products"));
+    }
+
+    @Test
+    void shouldRunRemoteChecksConcurrently() {
+        doAnswer(invocation -> {
+            Thread.sleep(LATENCY_MS);
+            return null;
+        }).when(clientServiceClient).validateClientExists(5L);
+        doAnswer(invocation -> {
+            Thread.sleep(LATENCY_MS);
+            return null;
+        }).when(productServiceClient).validateSkus(anyList());
+        when(stockServiceClient.searchStocks(anyList())).thenAnswer(invocation -> {
+            Thread.sleep(LATENCY_MS);
+            Map<String, StockDto> stocks = new HashMap<>();
+            for (String sku : invocation.<List<String>>getArgument(0)) {
+                stocks.put(sku, new StockDto(1L, sku, 100));
+            }
+            return stocks;
+        });
+
+        List<OrderItemDto> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            items.add(item("SKU-" + i, 1));
+        }
+
+        long start = System.nanoTime();
+        OrderValidationResult result = service(2000).validate(order(items.toArray(OrderItemDto[]::new)));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(result.hasSufficientStock());
+        // three sequential round trips would take at least 150 ms
+        assertTrue(elapsedMs < 3 * LATENCY_MS, "Validation took " + elapsedMs + " ms");
+    }
+
+    private OrderValidationService service(long timeoutMs) {
+        return new OrderValidationService(clientServiceClient, productServiceClient, stockServiceClient, executor, timeoutMs,
+                new StageTimers(new SimpleMeterRegistry(), true));
+    }
+
+    private static OrderDto order(OrderItemDto... items) {
+        return new OrderDto(0L, 5L, Money.of("10"), null, null, null, List.of(items));
+    }
+
+    private static OrderItemDto item(String sku, int quantity) {
+        return new OrderItemDto(0L, 0L, sku, quantity, Money.of("10"));
+    }
+}
@@ -0,0 +1,181 @@
+package br.com.fiap.msorders.application.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import br.com.fiap.msorders.application.metrics.StageTimers;
+import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.infrastructure.integration.dto.StatusDto;
+import br.com.fiap.msorders.infrastructure.integration.dto.TokenResponseDto;
+import br.com.fiap.msorders.infrastructure.integration.service.PaymentServiceClient;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderRepository;
+import br.com.fiap.msorders.support.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PixPaymentMonitorTest {
+
+    private PaymentServiceClient paymentServiceClient;
+    private OrderPaymentFinalizer orderPaymentFinalizer;
+    private OrderRepository orderRepository;
+    private MutableClock clock;
+    private PixPaymentMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        paymentServiceClient = mock(PaymentServiceClient.class);
+        orderPaymentFinalizer = mock(OrderPaymentFinalizer.class);
+        orderRepository = mock(OrderRepository.class);
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        monitor = new PixPaymentMonitor(paymentServiceClient, orderPaymentFinalizer, orderRepository,
+            Runnable::run, clock, new StageTimers(new SimpleMeterRegistry(), true), 2000, 10000, 2.0, 30000);
+        when(paymentServiceClient.getToken(anyString(), anyString(), anyString(), anyString()))
+            .thenReturn(new TokenResponseDto("access_token", "Bearer", 3600, "oob"));
+    }
+
+    @Test
+    void shouldNotPollBeforeInitialDelay() {
+        monitor.track(1L, 10L);
+
+        clock.advance(Duration.ofMillis(1999));
+        monitor.pollDuePayments();
+
+        verify(paymentServiceClient, never()).getStatus(anyString(), anyString());
+        assertEquals(1, monitor.pendingCount());
+    }
+
+    @Test
+    void shouldFinalizeOrderOnceApproved() {
+        when(paymentServiceClient.getStatus(eq("1"), anyString()))
+            .thenReturn(status("PENDING"), status("PENDING"), status("APPROVED"));
+        monitor.track(1L, 10L);
+
+        // backoff: 2s, then 4s, then 8s
+        clock.advance(Duration.ofSeconds(2));
+        monitor.pollDuePayments();
+        clock.advance(Duration.ofSeconds(3));
+        monitor.pollDuePayments();
+        verify(paymentServiceClient, times(1)).getStatus(eq("1"), anyString());
+
+        clock.advance(Duration.ofSeconds(1));
+        monitor.pollDuePayments();
+        clock.advance(Duration.ofSeconds(8));
+        monitor.pollDuePayments();
+
+        verify(paymentServiceClient, times(3)).getStatus(eq("1"), anyString());
+        verify(orderPaymentFinalizer).finalizePendingPayment(1L, true);
+        assertEquals(0, monitor.pendingCount());
+    }
+
+    @Test
+    void shouldFailOrderWhenNotApprovedBeforeDeadline() {
+        when(paymentServiceClient.getStatus(eq("1"), anyString())).thenReturn(status("PENDING"));
+        monitor.track(1L, 10L);
+
+        for (int i = 0; i < 40; i++) {
+            clock.advance(Duration.ofSeconds(1));
+            monitor.pollDuePayments();
+        }
+
+        verify(orderPaymentFinalizer).finalizePendingPayment(1L, false);
+        assertEquals(0, monitor.pendingCount());
+    }
+
+    @Test
+    void shouldKeepPollingWhenPaymentServiceFails() {
+        when(paymentServiceClient.getStatus(eq("1"), anyString()))
+            .thenThrow(new RuntimeException("ms-payments unavailable"))
+            .thenReturn(status("APPROVED"));
+        monitor.track(1L, 10L);
+
+        clock.advance(Duration.ofSeconds(2));
+        monitor.pollDuePayments();
+        clock.advance(Duration.ofSeconds(4));
+        monitor.pollDuePayments();
+
+        verify(orderPaymentFinalizer).finalizePendingPayment(1L, true);
+    }
+
+    @Test
+    void shouldKeepOrderPendingPastDeadlineWhileStatusIsUnknown() {
+        when(paymentServiceClient.getStatus(eq("1"), anyString()))
+            .thenThrow(new RuntimeException("ms-payments unavailable"));
+        monitor.track(1L, 10L);
+
+        for (int i = 0; i < 60; i++) {
+            clock.advance(Duration.ofSeconds(1));
+            monitor.pollDuePayments();
+        }
+
+        verify(orderPaymentFinalizer, never()).finalizePendingPayment(anyLong(), anyBoolean());
+        assertEquals(1, monitor.pendingCount());
+
+        when(paymentServiceClient.getStatus(eq("1"), anyString())).thenReturn(status("PENDING"));
+        clock.advance(Duration.ofSeconds(10));
+        monitor.pollDuePayments();
+
+        verify(orderPaymentFinalizer).finalizePendingPayment(1L, false);
+        assertEquals(0, monitor.pendingCount());
+    }
+
+    @Test
+    void shouldResumeOrdersPendingAtStartup() {
+        OrderEntity order = new OrderEntity();
+        order.setId(7L);
+        order.setClientId(70L);
+        when(orderRepository.findByStatus(OrderStatus.PENDING_PAYMENT)).thenReturn(List.of(order));
+
+        monitor.resumePendingPayments();
+
+        assertEquals(1, monitor.pendingCount());
+    }
+
+    @Test
+    void shouldResolveThousandPendingOrdersWithFewThreads() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        AtomicInteger finalized = new AtomicInteger();
+        monitor = new PixPaymentMonitor(paymentServiceClient, orderPaymentFinalizer, orderRepository,
+            pool, clock, new StageTimers(new SimpleMeterRegistry(), true), 2000, 10000, 2.0, 30000);
+        when(paymentServiceClient.getStatus(anyString(), anyString())).thenReturn(status("APPROVED"));
+        doAnswer(invocation -> finalized.incrementAndGet())
+            .when(orderPaymentFinalizer).finalizePendingPayment(anyLong(), anyBoolean());
+
+        for (long id = 1; id <= 1000; id++) {
+            monitor.track(id, id);
+        }
+        clock.advance(Duration.ofSeconds(2));
+        monitor.pollDuePayments();
+
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        // 1,000 checkouts in flight are served by 4 threads instead of one blocked request thread each
+        assertEquals(1000, finalized.get());
+        assertEquals(0, monitor.pendingCount());
+    }
+
+    private static ResponseEntity<StatusDto> status(String value) {
+        return ResponseEntity.ok(new StatusDto("seller_id", "hash_qr_code", value, "1", 10.10, null, null));
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.fiap.msorders.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class IntegrationExecutorConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withUserConfiguration(IntegrationExecutorConfig.class);
+
+    @Test
+    void shouldUseBoundedPlatformPoolByDefault() {
+        contextRunner.run(context -> {
+            assertThat(context.getBean("integrationExecutor")).isInstanceOf(ThreadPoolTaskExecutor.class);
+            ThreadPoolTaskExecutor executor = context.getBean(ThreadPoolTaskExecutor.class);
+            assertThat(executor.getMaxPoolSize()).isEqualTo(64);
+            assertThat(executor.getThreadPoolExecutor().getRejectedExecutionHandler())
+                .isInstanceOf(ThreadPoolExecutor.AbortPolicy.class);
+        });
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void shouldRunTasksOnVirtualThreadsWhenEnabled() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            Executor executor = context.getBean("integrationExecutor", Executor.class);
+            assertThat(executor).isInstanceOf(SimpleAsyncTaskExecutor.class);
+
+            String threadName = CompletableFuture.supplyAsync(() -> Thread.currentThread().toString(), executor).join();
+            assertThat(threadName).startsWith("VirtualThread").contains("integration-");
+        });
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    void shouldFallBackToPlatformPoolWhenVirtualThreadsAreUnavailable() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context ->
+            assertThat(context.getBean("integrationExecutor")).isInstanceOf(ThreadPoolTaskExecutor.class));
+    }
+}
@@ -13,6 +13,7 @@ class OrderStatusTest {
         assertEquals(OrderStatus.FAILED_NOT_STOCK, OrderStatus.valueOf("FAILED_NOT_STOCK"));
         assertEquals(OrderStatus.FAILED_NOT_PAID, OrderStatus.valueOf("FAILED_NOT_PAID"));
         assertEquals(OrderStatus.CANCELLED, OrderStatus.valueOf("CANCELLED"));
+        assertEquals(OrderStatus.PENDING_PAYMENT, OrderStatus.valueOf("PENDING_PAYMENT"));
     }
 
     @Test
@@ -24,7 +25,7 @@ class OrderStatusTest {
     @Test
     void shouldGetCorrectEnumValues() {
         // Testa se os valores do enum estão corretos
-        assertEquals(5, OrderStatus.values().length);
+        assertEquals(6, OrderStatus.values().length);
         assertTrue(OrderStatus.values()[0] == OrderStatus.CREATED);
         assertTrue(OrderStatus.values()[1] == OrderStatus.CLOSED_SUCCESS);
         assertTrue(OrderStatus.values()[4] == OrderStatus.CANCELLED);
@@ -0,0 +1,64 @@
+package br.com.fiap.msorders.domain.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import org.junit.jupiter.api.Test;
+
+class MoneyTest {
+
+    @Test
+    void shouldConvertDecimalsToMinorUnitsAndBackWithoutLoss() {
+        Money money = Money.of(new BigDecimal("19.9"));
+
+        assertEquals(1990, money.minorUnits());
+        assertEquals(Money.BRL, money.currency());
+        assertEquals(new BigDecimal("19.90"), money.toBigDecimal());
+        assertEquals(Money.of("19.90"), Money.of("19.900"));
+        assertEquals("BRL 19.90", money.toString());
+    }
+
+    @Test
+    void shouldRejectAmountsFinerThanTheMinorUnit() {
+        assertThrows(ArithmeticException.class, () -> Money.of("0.001"));
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("1e20")));
+    }
+
+    @Test
+    void shouldAddAndMultiplyExactly() {
+        Money price = Money.of("0.10");
+
+        assertEquals(Money.of("0.30"), price.plus(price).plus(price));
+        assertEquals(Money.of("29.97"), Money.of("9.99").times(3));
+        assertTrue(Money.of("-0.01").isNegative());
+        assertTrue(Money.of("1.00").compareTo(Money.of("0.99")) > 0);
+    }
+
+    @Test
+    void shouldThrowOnOverflowInsteadOfWrapping() {
+        Money max = Money.ofMinor(Long.MAX_VALUE, Money.BRL);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.of("0.01")));
+        assertThrows(ArithmeticException.class, () -> max.times(2));
+    }
+
+    @Test
+    void shouldRefuseToMixCurrencies() {
+        Money dollars = Money.of(BigDecimal.ONE, Currency.getInstance("USD"));
+
+        assertThrows(IllegalArgumentException.class, () -> Money.of("1.00").plus(dollars));
+    }
+
+    @Test
+    void shouldUseTheCurrencyFractionDigits() {
+        Money yen = Money.of(new BigDecimal("500"), Currency.getInstance("JPY"));
+
+        assertEquals(500, yen.minorUnits());
+        assertEquals(new BigDecimal("500"), yen.toBigDecimal());
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("0.5"), Currency.getInstance("JPY")));
+    }
+}
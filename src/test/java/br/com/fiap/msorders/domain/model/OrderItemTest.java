@@ -2,8 +2,6 @@ package br.com.fiap.msorders.domain.model;
 
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
-
 import static org.junit.jupiter.api.Assertions.*;
 
 class OrderItemTest {
@@ -15,7 +13,7 @@ class OrderItemTest {
         long orderId = 2L;
         String productSku = "SKU123"; // Corrigido para productSku
         Integer quantity = 5;
-        BigDecimal price = BigDecimal.valueOf(100);
+        Money price = Money.of("100");
 
         // Action
         OrderItem orderItem = new OrderItem(id, orderId, productSku, quantity, price);
@@ -36,7 +34,7 @@ class OrderItemTest {
         long orderId = 2L;
         String productSku = "SKU123";
         Integer invalidQuantity = -1; // Invalid quantity
-        BigDecimal price = BigDecimal.valueOf(100);
+        Money price = Money.of("100");
 
         // Action and Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> 
@@ -52,7 +50,7 @@ class OrderItemTest {
         long orderId = 2L;
         String productSku = "SKU123";
         Integer quantity = 5;
-        BigDecimal invalidPrice = BigDecimal.valueOf(-10); // Invalid price
+        Money invalidPrice = Money.of("-10"); // Invalid price
 
         // Action and Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> 
@@ -68,7 +66,7 @@ class OrderItemTest {
         long initialOrderId = 2L;
         String productSku = "SKU123"; // Corrigido para productSku
         Integer quantity = 5;
-        BigDecimal price = BigDecimal.valueOf(100);
+        Money price = Money.of("100");
 
         // Create initial order item
         OrderItem orderItem = new OrderItem(id, initialOrderId, productSku, quantity, price);
@@ -93,7 +91,7 @@ class OrderItemTest {
         long orderId = 2L;
         String productSku = "SKU123";
         Integer quantity = 5;
-        BigDecimal nullPrice = null; // Null price
+        Money nullPrice = null; // Null price
 
         // Action and Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> 
@@ -109,7 +107,7 @@ class OrderItemTest {
         long orderId = 2L;
         String productSku = "SKU123";
         Integer nullQuantity = null; // Null quantity
-        BigDecimal price = BigDecimal.valueOf(100);
+        Money price = Money.of("100");
 
         // Action and Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> 
@@ -3,7 +3,6 @@ package br.com.fiap.msorders.domain.model;
 import br.com.fiap.msorders.domain.enums.OrderStatus;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -16,13 +15,13 @@ class OrderTest {
         // Setup
         long orderId = 1L;
         long clientId = 5L;
-        BigDecimal total = BigDecimal.valueOf(100);
+        Money total = Money.of("100");
         OrderStatus status = OrderStatus.CREATED;
         LocalDateTime createdAt = LocalDateTime.now();
         LocalDateTime updatedAt = LocalDateTime.now();
         
         // Criando um OrderItem com parâmetros válidos
-        OrderItem item = new OrderItem(1L, orderId, "SKU123", 2, BigDecimal.TEN);
+        OrderItem item = new OrderItem(1L, orderId, "SKU123", 2, Money.of("10"));
         List<OrderItem> items = List.of(item);
 
         // Action
@@ -44,13 +43,13 @@ class OrderTest {
         // Setup
         long orderId = 1L;
         long clientId = 5L;
-        BigDecimal total = BigDecimal.valueOf(100);
+        Money total = Money.of("100");
         OrderStatus status = OrderStatus.CLOSED_SUCCESS;
         LocalDateTime createdAt = LocalDateTime.now();
         LocalDateTime updatedAt = LocalDateTime.now();
         
         // Criando um OrderItem com parâmetros válidos
-        OrderItem item = new OrderItem(2L, orderId, "SKU456", 3, BigDecimal.valueOf(15));
+        OrderItem item = new OrderItem(2L, orderId, "SKU456", 3, Money.of("15"));
         List<OrderItem> items = List.of(item);
         
         // Action
@@ -59,16 +58,16 @@ class OrderTest {
         // Test setters and getters
         order.setId(2L);
         order.setClientId(6L);
-        order.setTotal(BigDecimal.valueOf(200));
+        order.setTotal(Money.of("200"));
         order.setStatus(OrderStatus.CANCELLED);
         order.setCreatedAt(LocalDateTime.now().plusDays(1));
         order.setUpdatedAt(LocalDateTime.now().plusDays(1));
-        order.setItems(List.of(new OrderItem(3L, orderId, "SKU789", 4, BigDecimal.valueOf(20))));
+        order.setItems(List.of(new OrderItem(3L, orderId, "SKU789", 4, Money.of("20"))));
 
         // Assert
         assertEquals(2L, order.getId());
         assertEquals(6L, order.getClientId());
-        assertEquals(BigDecimal.valueOf(200), order.getTotal());
+        assertEquals(Money.of("200"), order.getTotal());
         assertEquals(OrderStatus.CANCELLED, order.getStatus());
         assertNotEquals(createdAt, order.getCreatedAt()); // Ensure the set time is updated
         assertNotEquals(updatedAt, order.getUpdatedAt()); // Ensure the set time is updated
@@ -80,7 +79,7 @@ class OrderTest {
         // Setup with null values
         long orderId = 1L;
         long clientId = 5L;
-        BigDecimal total = null;
+        Money total = null;
         OrderStatus status = OrderStatus.CREATED;
         LocalDateTime createdAt = null;
         LocalDateTime updatedAt = null;
@@ -103,10 +102,10 @@ class OrderTest {
     @Test
     void shouldThrowExceptionForInvalidQuantityAndPrice() {
         // Test for invalid quantity (less than or equal to 0)
-        assertThrows(IllegalArgumentException.class, () -> new OrderItem(1L, 1L, "SKU123", 0, BigDecimal.TEN));
-        assertThrows(IllegalArgumentException.class, () -> new OrderItem(1L, 1L, "SKU123", -1, BigDecimal.TEN));
+        assertThrows(IllegalArgumentException.class, () -> new OrderItem(1L, 1L, "SKU123", 0, Money.of("10")));
+        assertThrows(IllegalArgumentException.class, () -> new OrderItem(1L, 1L, "SKU123", -1, Money.of("10")));
 
         // Test for invalid price (negative price)
-        assertThrows(IllegalArgumentException.class, () -> new OrderItem(1L, 1L, "SKU123", 2, BigDecimal.valueOf(-1)));
+        assertThrows(IllegalArgumentException.class, () -> new OrderItem(1L, 1L, "SKU123", 2, Money.of("-1")));
     }
 }
@@ -0,0 +1,107 @@
+package br.com.fiap.msorders.infrastructure.integration.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import br.com.fiap.msorders.support.StubHttpServer;
+import feign.Client;
+import feign.hc5.ApacheHttp5Client;
+import feign.http2client.Http2Client;
+
+/**
+ * Checks which HTTP transport the Feign clients get from the properties and that
+ * sequential calls to one host reuse a single pooled connection. The stub only speaks
+ * HTTP/1.1, so the JDK client's h2c upgrade is refused and it falls back; how many
+ * connections it opens while probing is not deterministic, so only the pooled client's
+ * reuse is asserted.
+ */
+@SpringBootTest(classes = FeignTransportTest.TestConfig.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class FeignTransportTest {
+
+    private static final StubHttpServer msStock = StubHttpServer.start();
+
+    @Configuration
+    @EnableFeignClients(clients = StockClient.class)
+    @ImportAutoConfiguration({ JacksonAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class,
+            FeignAutoConfiguration.class })
+    static class TestConfig {
+    }
+
+    @DynamicPropertySource
+    static void stockUrl(DynamicPropertyRegistry registry) {
+        registry.add("ms.stock.url", msStock::baseUrl);
+    }
+
+    @Autowired
+    private Client client;
+
+    @Autowired
+    private StockClient stockClient;
+
+    @AfterAll
+    static void stopStub() {
+        msStock.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        msStock.reset();
+        msStock.stub("GET", "/stocks/sku/*", 200, "{\"id\":1,\"sku\":\"SKU-1\",\"quantity\":10}");
+    }
+
+    @Test
+    void shouldUseApacheHttpClient5ByDefault() {
+        assertInstanceOf(ApacheHttp5Client.class, client);
+    }
+
+    @Test
+    void shouldReuseOneConnectionForSequentialCalls() {
+        for (int i = 0; i < 20; i++) {
+            stockClient.searchStock("SKU-1");
+        }
+
+        assertEquals(20, msStock.requestCount());
+        assertEquals(1, msStock.connectionCount());
+    }
+
+    @Nested
+    @SpringBootTest(classes = TestConfig.class, webEnvironment = SpringBootTest.WebEnvironment.NONE,
+            properties = {
+                "spring.cloud.openfeign.httpclient.hc5.enabled=false",
+                "spring.cloud.openfeign.http2client.enabled=true"
+            })
+    class JdkHttp2Client {
+
+        @Autowired
+        private Client client;
+
+        @Autowired
+        private StockClient stockClient;
+
+        @Test
+        void shouldUseJdkHttpClientWhenHttp2IsEnabled() {
+            assertInstanceOf(Http2Client.class, client);
+        }
+
+        @Test
+        void shouldFallBackToHttp11WhenServerLacksHttp2() {
+            assertEquals(10, stockClient.searchStock("SKU-1").getBody().quantity());
+            assertEquals(1, msStock.requestCount());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package br.com.fiap.msorders.infrastructure.integration.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import br.com.fiap.msorders.config.MetricsConfig;
+import br.com.fiap.msorders.config.ResilienceConfig;
+import br.com.fiap.msorders.domain.exception.DependencyUnavailableException;
+import br.com.fiap.msorders.infrastructure.integration.client.StockClient;
+import br.com.fiap.msorders.infrastructure.integration.resilience.DownstreamGuards;
+import br.com.fiap.msorders.support.StubHttpServer;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+
+/**
+ * Calls a stubbed ms-stock through the real Feign client and checks what ends up in the
+ * Prometheus registry, including calls the circuit breaker refused.
+ */
+@SpringBootTest(classes = MeteredClientTest.TestConfig.class, webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+            "integration.resilience.default.sliding-window-size=2",
+            "integration.resilience.default.minimum-number-of-calls=2",
+            "integration.resilience.default.wait-duration-in-open-state-ms=60000"
+        })
+class MeteredClientTest {
+
+    private static final String SEARCH_STOCK = "StockClient#searchStock(String)";
+
+    private static final StubHttpServer msStock = StubHttpServer.start();
+
+    @Configuration
+    @EnableFeignClients(clients = StockClient.class)
+    @ImportAutoConfiguration({ JacksonAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class,
+            FeignAutoConfiguration.class })
+    @Import({ MetricsConfig.class, ResilienceConfig.class, DownstreamGuards.class })
+    static class TestConfig {
+
+        @Bean
+        PrometheusMeterRegistry meterRegistry() {
+            return new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        }
+    }
+
+    @DynamicPropertySource
+    static void downstreamUrls(DynamicPropertyRegistry registry) {
+        registry.add("ms.stock.url", msStock::baseUrl);
+    }
+
+    @Autowired
+    private StockClient stockClient;
+
+    @Autowired
+    private PrometheusMeterRegistry meterRegistry;
+
+    @Autowired
+    private DownstreamGuards guards;
+
+    @BeforeEach
+    void setUp() {
+        msStock.reset();
+        guards.circuitBreaker("ms-stock").reset();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        msStock.close();
+    }
+
+    @Test
+    void shouldTimeEachCallByClientMethodAndOutcome() {
+        msStock.stub("GET", "/stocks/sku/SKU-1", 200, "{\"id\":1,\"sku\":\"SKU-1\",\"quantity\":10}");
+
+        stockClient.searchStock("SKU-1");
+        stockClient.searchStock("SKU-1");
+        assertThrows(FeignException.NotFound.class, () -> stockClient.searchStock("UNKNOWN"));
+
+        assertEquals(2, timer(meterRegistry, "200", "SUCCESS").count());
+        assertEquals(1, timer(meterRegistry, "404", "CLIENT_ERROR").count());
+
+        // Prometheus gets histogram buckets; percentiles come from histogram_quantile()
+        String scrape = meterRegistry.scrape();
+        assertTrue(scrape.contains("integration_client_requests_seconds_bucket{client=\"ms-stock\""), scrape);
+    }
+
+    @Test
+    void shouldTimeCallsTurnedAwayByTheBreaker() {
+        msStock.stub("GET", "/stocks/sku/*", 500, "");
+        for (int i = 0; i < 2; i++) {
+            assertThrows(FeignException.InternalServerError.class, () -> stockClient.searchStock("SKU-1"));
+        }
+
+        assertThrows(DependencyUnavailableException.class, () -> stockClient.searchStock("SKU-1"));
+
+        assertEquals(2, timer(meterRegistry, "500", "SERVER_ERROR").count());
+        assertEquals(1, timer(meterRegistry, "NONE", "UNAVAILABLE").count());
+        assertEquals(2, msStock.requestCount());
+    }
+
+    private static Timer timer(MeterRegistry registry, String status, String outcome) {
+        return registry.get(MeteredClient.METRIC)
+                .tags("client", "ms-stock", "method", SEARCH_STOCK, "status", status, "outcome", outcome)
+                .timer();
+    }
+}
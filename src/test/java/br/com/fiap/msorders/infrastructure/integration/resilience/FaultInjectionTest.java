@@ -0,0 +1,185 @@
+package br.com.fiap.msorders.infrastructure.integration.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import br.com.fiap.msorders.config.ResilienceConfig;
+import br.com.fiap.msorders.domain.exception.DependencyUnavailableException;
+import br.com.fiap.msorders.infrastructure.integration.client.PaymentClient;
+import br.com.fiap.msorders.infrastructure.integration.client.StockClient;
+import br.com.fiap.msorders.support.StubHttpServer;
+import feign.FeignException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Degrades ms-payments (every answer takes seconds) while ms-stock stays healthy, and
+ * checks that callers of ms-payments get a bounded answer, that the breaker then stops
+ * sending traffic, and that ms-stock is not affected.
+ */
+@SpringBootTest(classes = FaultInjectionTest.TestConfig.class, webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+            "spring.cloud.openfeign.client.config.default.read-timeout=300",
+            "spring.cloud.openfeign.client.config.ms-payments.read-timeout=300",
+            "integration.resilience.default.max-concurrent-calls=8",
+            "integration.resilience.default.sliding-window-size=10",
+            "integration.resilience.default.minimum-number-of-calls=5",
+            "integration.resilience.default.wait-duration-in-open-state-ms=60000"
+        })
+class FaultInjectionTest {
+
+    private static final StubHttpServer msPayments = StubHttpServer.start();
+    private static final StubHttpServer msStock = StubHttpServer.start();
+
+    @Configuration
+    @EnableFeignClients(clients = { PaymentClient.class, StockClient.class })
+    @ImportAutoConfiguration({ JacksonAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class,
+            FeignAutoConfiguration.class })
+    @Import({ ResilienceConfig.class, DownstreamGuards.class })
+    static class TestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @DynamicPropertySource
+    static void downstreamUrls(DynamicPropertyRegistry registry) {
+        registry.add("ms.payments.url", msPayments::baseUrl);
+        registry.add("ms.stock.url", msStock::baseUrl);
+    }
+
+    @Autowired
+    private PaymentClient paymentClient;
+
+    @Autowired
+    private StockClient stockClient;
+
+    @Autowired
+    private DownstreamGuards guards;
+
+    @BeforeEach
+    void setUp() {
+        msPayments.reset();
+        msStock.reset();
+        msPayments.stub("GET", "/payment/*", 200, "{\"status\":\"APPROVED\"}");
+        msStock.stub("GET", "/stocks/sku/*", 200, "{\"id\":1,\"sku\":\"SKU-1\",\"quantity\":10}");
+        guards.circuitBreaker("ms-payments").reset();
+        guards.circuitBreaker("ms-stock").reset();
+    }
+
+    @AfterAll
+    static void stopStubs() {
+        msPayments.close();
+        msStock.close();
+    }
+
+    @Test
+    void shouldBoundLatencyAndIsolateHealthyDependencyWhenPaymentsDegrade() throws Exception {
+        msPayments.withLatency(3_000);
+
+        ExecutorService paymentCallers = Executors.newFixedThreadPool(32);
+        // ms-stock keeps its normal load, within its own bulkhead
+        ExecutorService stockCallers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Long>> paymentCalls = new ArrayList<>();
+            List<Future<Long>> stockCalls = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                paymentCalls.add(paymentCallers.submit(() -> timed(() -> paymentClient.getStatus("p-1", "Bearer t"))));
+                stockCalls.add(stockCallers.submit(() -> {
+                    long start = System.nanoTime();
+                    stockClient.searchStock("SKU-1");
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }));
+            }
+
+            for (Future<Long> call : paymentCalls) {
+                long elapsedMs = call.get(10, TimeUnit.SECONDS);
+                // read timeout plus slack, far below the 3 s the degraded dependency takes
+                assertTrue(elapsedMs < 1_500, "payment call took " + elapsedMs + " ms");
+            }
+            for (Future<Long> call : stockCalls) {
+                long elapsedMs = call.get(10, TimeUnit.SECONDS);
+                assertTrue(elapsedMs < 1_000, "stock call took " + elapsedMs + " ms");
+            }
+        } finally {
+            paymentCallers.shutdownNow();
+            stockCallers.shutdownNow();
+        }
+
+        // most callers were turned away by the bulkhead or the open breaker without a request
+        assertTrue(msPayments.requestCount() <= 16, "requests=" + msPayments.requestCount());
+        assertEquals(CircuitBreaker.State.OPEN, guards.circuitBreaker("ms-payments").getState());
+        assertEquals(CircuitBreaker.State.CLOSED, guards.circuitBreaker("ms-stock").getState());
+
+        // with the breaker open, callers fail at once and nothing is sent
+        int requestsBefore = msPayments.requestCount();
+        long start = System.nanoTime();
+        assertThrows(DependencyUnavailableException.class, () -> paymentClient.getStatus("p-1", "Bearer t"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 100);
+        assertEquals(requestsBefore, msPayments.requestCount());
+    }
+
+    @Test
+    void shouldNotOpenBreakerOnClientErrors() {
+        msStock.reset();
+
+        for (int i = 0; i < 20; i++) {
+            assertThrows(FeignException.NotFound.class, () -> stockClient.searchStock("UNKNOWN"));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, guards.circuitBreaker("ms-stock").getState());
+    }
+
+    @Test
+    void shouldOpenBreakerOnServerErrors() {
+        msStock.stub("GET", "/stocks/sku/*", 503, "");
+
+        for (int i = 0; i < 5; i++) {
+            assertThrows(FeignException.ServiceUnavailable.class, () -> stockClient.searchStock("SKU-1"));
+        }
+
+        Exception e = assertThrows(DependencyUnavailableException.class, () -> stockClient.searchStock("SKU-1"));
+        assertInstanceOf(CallNotPermittedException.class, e.getCause());
+        assertEquals(5, msStock.requestCount());
+    }
+
+    /** Runs the call and returns how long it took, successful or not. */
+    private static long timed(Runnable call) {
+        long start = System.nanoTime();
+        try {
+            call.run();
+        } catch (RuntimeException e) {
+            // timeouts, full bulkhead and open breaker are all expected outcomes here
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
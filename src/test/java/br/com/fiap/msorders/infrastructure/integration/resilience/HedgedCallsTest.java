@@ -0,0 +1,154 @@
+package br.com.fiap.msorders.infrastructure.integration.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.fiap.msorders.domain.exception.DependencyUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HedgedCallsTest {
+
+    private ExecutorService executor;
+    private HedgedCalls hedgedCalls;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        hedgedCalls = new HedgedCalls(executor, new SimpleMeterRegistry(), true, 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldNotHedgeFastCall() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertEquals("ok", hedgedCalls.call(() -> {
+            attempts.incrementAndGet();
+            return "ok";
+        }));
+
+        assertEquals(1, attempts.get());
+        assertEquals(0, hedgedCalls.getHedgeCount());
+    }
+
+    @Test
+    void shouldAnswerFromSecondAttemptWhenFirstIsSlow() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        long start = System.nanoTime();
+        String result = hedgedCalls.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(2_000);
+                return "slow";
+            }
+            return "fast";
+        });
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals("fast", result);
+        assertTrue(elapsedMs < 1_000, "took " + elapsedMs + " ms");
+        assertEquals(1, hedgedCalls.getHedgeCount());
+    }
+
+    @Test
+    void shouldInterruptLosingAttempt() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        String result = hedgedCalls.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    new CountDownLatch(1).await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return "slow";
+            }
+            return "fast";
+        });
+
+        assertEquals("fast", result);
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldUseSlowAttemptWhenHedgeFails() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = hedgedCalls.call(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(200);
+                return "slow";
+            }
+            throw new IllegalStateException("boom");
+        });
+
+        assertEquals("slow", result);
+    }
+
+    @Test
+    void shouldPropagateFailureWhenBothAttemptsFail() {
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> hedgedCalls.call(() -> {
+            sleep(100);
+            throw new IllegalStateException("down");
+        }));
+
+        assertEquals("down", e.getMessage());
+    }
+
+    @Test
+    void shouldKeepWaitingForFirstAttemptWhenNoThreadIsFreeForHedge() {
+        ThreadPoolExecutor single = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                new ThreadPoolExecutor.AbortPolicy());
+        try {
+            HedgedCalls saturated = new HedgedCalls(single, new SimpleMeterRegistry(), true, 50);
+
+            assertEquals("slow", saturated.call(() -> {
+                sleep(200);
+                return "slow";
+            }));
+        } finally {
+            single.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldAnswerUnavailableWhenExecutorRejectsFirstAttempt() {
+        executor.shutdown();
+
+        assertThrows(DependencyUnavailableException.class, () -> hedgedCalls.call(() -> "never"));
+    }
+
+    @Test
+    void shouldCallDirectlyWhenDisabled() {
+        HedgedCalls disabled = new HedgedCalls(executor, new SimpleMeterRegistry(), false, 0);
+        Thread caller = Thread.currentThread();
+
+        assertEquals(caller, disabled.call(Thread::currentThread));
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.fiap.msorders.infrastructure.integration.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.fiap.msorders.domain.exception.DependencyUnavailableException;
+import br.com.fiap.msorders.infrastructure.web.exceptions.StockNotFoundException;
+
+class AsyncCallsTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldPassCallExceptionThroughUnchanged() {
+        StockNotFoundException notFound = new StockNotFoundException("SKU-1");
+
+        CompletableFuture<Object> future = AsyncCalls.supply(() -> {
+            throw notFound;
+        }, executor);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        assertSame(notFound, e.getCause());
+    }
+
+    @Test
+    void shouldInterruptRunningCallWhenCancelled() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<Void> future = AsyncCalls.run(() -> blockUntilInterrupted(started, interrupted), executor);
+
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        future.cancel(true);
+
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        assertThrows(CancellationException.class, future::join);
+    }
+
+    @Test
+    void shouldInterruptRunningCallWhenTimeoutFires() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        CompletableFuture<Void> future = AsyncCalls.run(() -> blockUntilInterrupted(started, interrupted), executor)
+                .orTimeout(100, TimeUnit.MILLISECONDS);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldNeverStartQueuedCallWhenCancelled() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> awaitQuietly(release));
+        AtomicBoolean ran = new AtomicBoolean();
+
+        CompletableFuture<Void> queued = AsyncCalls.run(() -> ran.set(true), executor);
+        queued.cancel(true);
+        release.countDown();
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        assertFalse(ran.get());
+    }
+
+    @Test
+    void shouldFailFutureWhenExecutorRejectsCall() {
+        executor.shutdown();
+
+        CompletableFuture<String> future = AsyncCalls.supply(() -> "never", executor);
+
+        assertTrue(future.isCompletedExceptionally());
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(DependencyUnavailableException.class, e.getCause());
+        assertInstanceOf(RejectedExecutionException.class, e.getCause().getCause());
+    }
+
+    @Test
+    void shouldLeaveCallerThreadUninterruptedWhenRunningInline() {
+        CompletableFuture<String> future = AsyncCalls.supply(() -> "done", Runnable::run);
+
+        assertEquals("done", future.join());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    private static void blockUntilInterrupted(CountDownLatch started, CountDownLatch interrupted) {
+        started.countDown();
+        try {
+            new CountDownLatch(1).await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
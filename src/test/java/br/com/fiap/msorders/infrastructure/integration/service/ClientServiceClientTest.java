@@ -0,0 +1,210 @@
+package br.com.fiap.msorders.infrastructure.integration.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import br.com.fiap.msorders.domain.exception.ClientNotFoundException;
+import br.com.fiap.msorders.infrastructure.integration.client.ClientClient;
+import br.com.fiap.msorders.infrastructure.persistence.repository.OrderRepository;
+import br.com.fiap.msorders.support.MutableClock;
+import feign.FeignException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ClientServiceClientTest {
+
+    private ClientClient clientClient;
+    private OrderRepository orderRepository;
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        clientClient = mock(ClientClient.class);
+        orderRepository = mock(OrderRepository.class);
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        when(clientClient.validateClient(1L)).thenReturn(ResponseEntity.ok().build());
+        when(clientClient.validateClient(404L)).thenThrow(FeignException.NotFound.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldCheckKnownClientOnlyOnce() {
+        ClientServiceClient client = newClient(false);
+
+        client.validateClientExists(1L);
+        client.validateClientExists(1L);
+
+        verify(clientClient, times(1)).validateClient(1L);
+        assertEquals(0.5, meterRegistry.get("cache.hit.ratio").tag("cache", "clients").gauge().value());
+    }
+
+    @Test
+    void shouldCacheMissingClientUntilNegativeTtlExpires() {
+        ClientServiceClient client = newClient(false);
+
+        assertThrows(ClientNotFoundException.class, () -> client.validateClientExists(404L));
+        assertThrows(ClientNotFoundException.class, () -> client.validateClientExists(404L));
+        verify(clientClient, times(1)).validateClient(404L);
+
+        clock.advance(Duration.ofSeconds(31));
+        client.validateClientExists(1L);
+        assertThrows(ClientNotFoundException.class, () -> client.validateClientExists(404L));
+
+        // known clients outlive the negative TTL
+        client.validateClientExists(1L);
+        verify(clientClient, times(2)).validateClient(404L);
+        verify(clientClient, times(1)).validateClient(1L);
+    }
+
+    @Test
+    void shouldNotCacheServerErrors() {
+        when(clientClient.validateClient(500L)).thenThrow(FeignException.InternalServerError.class);
+        ClientServiceClient client = newClient(false);
+
+        assertThrows(FeignException.class, () -> client.validateClientExists(500L));
+        assertThrows(FeignException.class, () -> client.validateClientExists(500L));
+
+        verify(clientClient, times(2)).validateClient(500L);
+    }
+
+    @Test
+    void shouldSkipRemoteCallForClientWithPreviousOrders() {
+        when(orderRepository.existsByClientId(1L)).thenReturn(true);
+        ClientServiceClient client = newClient(true);
+
+        client.validateClientExists(1L);
+
+        verify(clientClient, never()).validateClient(anyLong());
+    }
+
+    @Test
+    void shouldMakeOneRemoteCallForConcurrentChecksOfSameClient() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(clientClient.validateClient(7L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return ResponseEntity.ok().build();
+        });
+        ClientServiceClient client = newClient(false);
+
+        int callers = 32;
+        CountDownLatch started = new CountDownLatch(callers);
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(pool.submit(() -> {
+                    started.countDown();
+                    client.validateClientExists(7L);
+                }));
+            }
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<?> result : results) {
+                result.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        verify(clientClient, times(1)).validateClient(7L);
+        assertEquals(callers, client.getCacheStats().requestCount());
+    }
+
+    @Test
+    void shouldNotHoldCacheLockWhileCallingMsClients() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(clientClient.validateClient(7L)).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return ResponseEntity.ok().build();
+        });
+        when(clientClient.validateClient(39L)).thenReturn(ResponseEntity.ok().build());
+        ClientServiceClient client = newClient(false);
+
+        CompletableFuture<Void> slow = client.validateClientExistsAsync(7L);
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        try {
+            // 7 and 39 share a bin of the cache's 32-slot table, so a load holding the
+            // bin's lock would block this check until ms-clients answered for 7
+            client.validateClientExistsAsync(39L).get(1, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+        }
+        slow.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldTranslateMissingClientInAsyncVariant() {
+        ClientServiceClient client = newClient(false);
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> client.validateClientExistsAsync(404L).get(5, TimeUnit.SECONDS));
+
+        assertInstanceOf(ClientNotFoundException.class, e.getCause());
+    }
+
+    @Test
+    void shouldInterruptRemoteCallWhenAsyncCheckTimesOut() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(clientClient.validateClient(9L)).thenAnswer(invocation -> {
+            try {
+                new CountDownLatch(1).await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return ResponseEntity.ok().build();
+        });
+        ClientServiceClient client = newClient(false);
+
+        CompletableFuture<Void> check = client.validateClientExistsAsync(9L).orTimeout(100, TimeUnit.MILLISECONDS);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> check.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        // the interrupted load is not cached, the next check asks ms-clients again
+        when(clientClient.validateClient(9L)).thenReturn(ResponseEntity.ok().build());
+        client.validateClientExists(9L);
+        verify(clientClient, times(2)).validateClient(9L);
+    }
+
+    private ClientServiceClient newClient(boolean orderHistoryFastPath) {
+        return new ClientServiceClient(clientClient, executor, orderRepository, meterRegistry, clock, 1_000, 600, 30,
+                orderHistoryFastPath);
+    }
+}
@@ -0,0 +1,191 @@
+package br.com.fiap.msorders.infrastructure.integration.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.fiap.msorders.infrastructure.integration.client.PaymentClient;
+import br.com.fiap.msorders.infrastructure.integration.dto.TokenRequestDto;
+import br.com.fiap.msorders.infrastructure.integration.dto.TokenResponseDto;
+import br.com.fiap.msorders.support.MutableClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PaymentTokenCacheTest {
+
+    private PaymentClient paymentClient;
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentTokenCache cache;
+    private final AtomicInteger issued = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        paymentClient = mock(PaymentClient.class);
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new PaymentTokenCache(paymentClient, clock, Runnable::run, meterRegistry, 60, 100);
+        when(paymentClient.generateToken(any(TokenRequestDto.class)))
+            .thenAnswer(invocation -> token("token-" + issued.incrementAndGet()));
+    }
+
+    @Test
+    void shouldReuseTokenUntilItExpires() {
+        TokenResponseDto first = cache.getToken("client_credentials", "1", "secret", "oob");
+        clock.advance(Duration.ofSeconds(500));
+        TokenResponseDto second = cache.getToken("client_credentials", "1", "secret", "oob");
+
+        assertEquals("token-1", first.access_token());
+        assertEquals(first, second);
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+        verify(paymentClient, times(1)).generateToken(any(TokenRequestDto.class));
+    }
+
+    @Test
+    void shouldLoadNewTokenAfterExpiry() {
+        cache.getToken("client_credentials", "1", "secret", "oob");
+        clock.advance(Duration.ofSeconds(3600));
+
+        TokenResponseDto token = cache.getToken("client_credentials", "1", "secret", "oob");
+
+        assertEquals("token-2", token.access_token());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void shouldRefreshInBackgroundShortlyBeforeExpiry() {
+        cache.getToken("client_credentials", "1", "secret", "oob");
+        clock.advance(Duration.ofSeconds(3570));
+
+        TokenResponseDto served = cache.getToken("client_credentials", "1", "secret", "oob");
+        TokenResponseDto refreshed = cache.getToken("client_credentials", "1", "secret", "oob");
+
+        assertEquals("token-1", served.access_token());
+        assertEquals("token-2", refreshed.access_token());
+        assertEquals(1, cache.getRefreshes());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void shouldRefreshShortLivedTokenOnlyInLastQuarterOfItsLifetime() {
+        when(paymentClient.generateToken(any(TokenRequestDto.class)))
+            .thenAnswer(invocation -> new TokenResponseDto("token-" + issued.incrementAndGet(), "Bearer", 40, "oob"));
+        cache.getToken("client_credentials", "1", "secret", "oob");
+
+        // lifetime 40 s is shorter than the 60 s refresh-ahead: refresh from 30 s on, not on every hit
+        clock.advance(Duration.ofSeconds(10));
+        cache.getToken("client_credentials", "1", "secret", "oob");
+        clock.advance(Duration.ofSeconds(19));
+        cache.getToken("client_credentials", "1", "secret", "oob");
+        assertEquals(0, cache.getRefreshes());
+
+        clock.advance(Duration.ofSeconds(1));
+        TokenResponseDto served = cache.getToken("client_credentials", "1", "secret", "oob");
+        TokenResponseDto refreshed = cache.getToken("client_credentials", "1", "secret", "oob");
+
+        assertEquals("token-1", served.access_token());
+        assertEquals("token-2", refreshed.access_token());
+        assertEquals(1, cache.getRefreshes());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void shouldShareOneBackgroundRefreshBetweenHits() throws Exception {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            cache = new PaymentTokenCache(paymentClient, clock, pool, meterRegistry, 60, 100);
+            cache.getToken("client_credentials", "1", "secret", "oob");
+            CountDownLatch release = new CountDownLatch(1);
+            when(paymentClient.generateToken(any(TokenRequestDto.class))).thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                return token("token-" + issued.incrementAndGet());
+            });
+            clock.advance(Duration.ofSeconds(3570));
+
+            for (int i = 0; i < 5; i++) {
+                assertEquals("token-1", cache.getToken("client_credentials", "1", "secret", "oob").access_token());
+            }
+            release.countDown();
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(1, cache.getRefreshes());
+        verify(paymentClient, times(2)).generateToken(any(TokenRequestDto.class));
+    }
+
+    @Test
+    void shouldKeepTokensPerClientAndScope() {
+        cache.getToken("client_credentials", "1", "secret", "oob");
+        cache.getToken("client_credentials", "2", "secret", "oob");
+        cache.getToken("client_credentials", "1", "secret", "payments");
+
+        assertEquals(3, cache.getMisses());
+        verify(paymentClient, times(3)).generateToken(any(TokenRequestDto.class));
+    }
+
+    @Test
+    void shouldIssueSingleRequestForConcurrentMisses() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(paymentClient.generateToken(any(TokenRequestDto.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return token("token-" + issued.incrementAndGet());
+        });
+
+        ExecutorService callers = Executors.newFixedThreadPool(20);
+        try {
+            List<Future<TokenResponseDto>> results = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                results.add(callers.submit(() -> cache.getToken("client_credentials", "1", "secret", "oob")));
+            }
+            Thread.sleep(200);
+            release.countDown();
+
+            for (Future<TokenResponseDto> result : results) {
+                assertEquals("token-1", result.get(5, TimeUnit.SECONDS).access_token());
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        verify(paymentClient, times(1)).generateToken(any(TokenRequestDto.class));
+        assertEquals(20, cache.getMisses() + cache.getHits());
+    }
+
+    @Test
+    void shouldPublishHitsMissesAndRefreshesAsCounters() {
+        cache.getToken("client_credentials", "1", "secret", "oob");
+        cache.getToken("client_credentials", "1", "secret", "oob");
+        clock.advance(Duration.ofSeconds(3570));
+        cache.getToken("client_credentials", "1", "secret", "oob");
+
+        assertEquals(2.0, meterRegistry.get("cache.gets").tags("cache", "paymentTokens", "result", "hit")
+            .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tags("cache", "paymentTokens", "result", "miss")
+            .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.refreshes").tag("cache", "paymentTokens")
+            .functionCounter().count());
+    }
+
+    private static TokenResponseDto token(String value) {
+        return new TokenResponseDto(value, "Bearer", 3600, "oob");
+    }
+}
@@ -0,0 +1,173 @@
+package br.com.fiap.msorders.infrastructure.integration.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.fiap.msorders.domain.exception.ProductNotFoundException;
+import br.com.fiap.msorders.infrastructure.integration.client.ProductClient;
+import br.com.fiap.msorders.infrastructure.integration.dto.ProductDto;
+import br.com.fiap.msorders.support.MutableClock;
+import feign.FeignException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ProductServiceClientTest {
+
+    private ProductClient productClient;
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private ProductServiceClient productServiceClient;
+
+    @BeforeEach
+    void setUp() {
+        productClient = mock(ProductClient.class);
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        productServiceClient = new ProductServiceClient(productClient, Runnable::run, meterRegistry, clock, 10_000, 600, 30);
+        // ms-products returns the products it knows, "UNKNOWN-*" SKUs are not among them
+        when(productClient.validateSkus(anyList())).thenAnswer(invocation -> invocation.<List<String>>getArgument(0)
+                .stream()
+                .filter(sku -> !sku.startsWith("UNKNOWN"))
+                .map(sku -> new ProductDto(1L, sku, sku, BigDecimal.TEN))
+                .toList());
+    }
+
+    @Test
+    void shouldOnlyAskForSkusMissingFromCache() {
+        productServiceClient.validateSkus(List.of("SKU-1", "SKU-2"));
+        productServiceClient.validateSkus(List.of("SKU-2", "SKU-3", "SKU-3"));
+
+        verify(productClient).validateSkus(List.of("SKU-1", "SKU-2"));
+        verify(productClient).validateSkus(List.of("SKU-3"));
+        assertEquals(1, productServiceClient.getCacheStats().hitCount());
+    }
+
+    @Test
+    void shouldNotCallProductsWhenAllSkusAreCached() {
+        productServiceClient.validateSkus(List.of("SKU-1"));
+        productServiceClient.validateSkus(List.of("SKU-1"));
+
+        verify(productClient, times(1)).validateSkus(anyList());
+    }
+
+    @Test
+    void shouldCacheUnknownSkusUntilNegativeTtlExpires() {
+        assertThrows(ProductNotFoundException.class, () -> productServiceClient.validateSkus(List.of("SKU-1", "UNKNOWN-1")));
+        assertThrows(ProductNotFoundException.class, () -> productServiceClient.validateSkus(List.of("UNKNOWN-1")));
+        verify(productClient, times(1)).validateSkus(anyList());
+
+        clock.advance(Duration.ofSeconds(31));
+        assertThrows(ProductNotFoundException.class, () -> productServiceClient.validateSkus(List.of("UNKNOWN-1")));
+        verify(productClient).validateSkus(List.of("UNKNOWN-1"));
+
+        // the known SKU is still cached
+        productServiceClient.validateSkus(List.of("SKU-1"));
+        verify(productClient, times(2)).validateSkus(anyList());
+    }
+
+    @Test
+    void shouldCacheNotFoundOnlyForSingleSkuBatches() {
+        when(productClient.validateSkus(anyList())).thenThrow(FeignException.NotFound.class);
+
+        assertThrows(ProductNotFoundException.class, () -> productServiceClient.validateSkus(List.of("SKU-1", "SKU-2")));
+        assertThrows(ProductNotFoundException.class, () -> productServiceClient.validateSkus(List.of("SKU-1")));
+        assertThrows(ProductNotFoundException.class, () -> productServiceClient.validateSkus(List.of("SKU-1")));
+
+        verify(productClient).validateSkus(List.of("SKU-1", "SKU-2"));
+        verify(productClient, times(1)).validateSkus(List.of("SKU-1"));
+    }
+
+    @Test
+    void shouldTellWhichSkusAreUnknownWhenBatchAnswersNotFound() {
+        when(productClient.validateSkus(anyList())).thenAnswer(invocation -> {
+            List<String> skus = invocation.getArgument(0);
+            if (skus.stream().anyMatch(sku -> sku.startsWith("UNKNOWN"))) {
+                throw mock(FeignException.NotFound.class);
+            }
+            return skus.stream().map(sku -> new ProductDto(1L, sku, sku, BigDecimal.TEN)).toList();
+        });
+
+        assertEquals(Set.of("UNKNOWN-1"), productServiceClient.findUnknownSkus(List.of("SKU-1", "UNKNOWN-1", "SKU-2")));
+        assertEquals(Set.of("UNKNOWN-1"), productServiceClient.findUnknownSkus(List.of("SKU-1", "UNKNOWN-1")));
+
+        // the batch, then one call per SKU of it; the second lookup is served from the cache
+        verify(productClient, times(4)).validateSkus(anyList());
+    }
+
+    @Test
+    void shouldServeWarmedUpSkusWithoutCallingProducts() {
+        productServiceClient.warmUp(List.of("SKU-1", "SKU-2"));
+        productServiceClient.validateSkus(List.of("SKU-2", "SKU-1"));
+
+        verify(productClient, times(1)).validateSkus(anyList());
+        verify(productClient, never()).validateSkus(List.of("SKU-2", "SKU-1"));
+    }
+
+    @Test
+    void shouldCutOutboundCallsForZipfianSkuWorkload() {
+        int catalog = 1_000;
+        int orders = 10_000;
+        ZipfSampler sampler = new ZipfSampler(catalog, 1.1, new Random(42));
+
+        for (int i = 0; i < orders; i++) {
+            List<String> skus = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                skus.add("SKU-" + sampler.next());
+            }
+            productServiceClient.validateSkus(skus);
+        }
+
+        // Without the cache every order makes one call
+        long calls = mockingDetails(productClient).getInvocations().size();
+        double hitRate = productServiceClient.getCacheStats().hitRate();
+        assertTrue(calls < orders / 10, "calls=" + calls);
+        assertTrue(hitRate > 0.9, "hitRate=" + hitRate);
+        assertEquals(productServiceClient.getCacheStats().hitCount(), meterRegistry.get("cache.gets")
+                .tag("cache", "skus").tag("result", "hit").functionCounter().count());
+        assertEquals(hitRate, meterRegistry.get("cache.hit.ratio").tag("cache", "skus").gauge().value());
+    }
+
+    /** Draws ranks 1..n with probability proportional to 1/rank^s. */
+    private static final class ZipfSampler {
+
+        private final double[] cumulative;
+        private final Random random;
+
+        private ZipfSampler(int n, double s, Random random) {
+            this.cumulative = new double[n];
+            this.random = random;
+            double sum = 0;
+            for (int rank = 1; rank <= n; rank++) {
+                sum += 1 / Math.pow(rank, s);
+                cumulative[rank - 1] = sum;
+            }
+            for (int i = 0; i < n; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        private int next() {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return (index >= 0 ? index : -index - 1) + 1;
+        }
+    }
+}
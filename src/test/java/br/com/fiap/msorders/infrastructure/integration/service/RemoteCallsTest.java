@@ -0,0 +1,76 @@
+package br.com.fiap.msorders.infrastructure.integration.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.fiap.msorders.domain.exception.OrderValidationException;
+import br.com.fiap.msorders.infrastructure.web.exceptions.StockNotFoundException;
+
+class RemoteCallsTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldNameTargetWhenCallTimesOut() {
+        CompletableFuture<Void> call = RemoteCalls.run("ms-stock", () -> sleepQuietly(5_000), executor, 50);
+
+        OrderValidationException e = assertThrows(OrderValidationException.class,
+                () -> RemoteCalls.awaitAll(List.of(call)));
+        assertEquals("ms-stock did not respond within 50 ms", e.getMessage());
+    }
+
+    @Test
+    void shouldFailOnFirstFailureAndInterruptTheOtherCalls() throws Exception {
+        StockNotFoundException notFound = new StockNotFoundException("SKU-1");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<Void> slow = RemoteCalls.run("ms-clients", () -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        }, executor, 10_000);
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        CompletableFuture<Object> failing = RemoteCalls.supply("ms-stock", () -> {
+            throw notFound;
+        }, executor, 10_000);
+
+        StockNotFoundException e = assertThrows(StockNotFoundException.class,
+                () -> RemoteCalls.awaitAll(List.of(slow, failing)));
+        assertSame(notFound, e);
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package br.com.fiap.msorders.infrastructure.integration.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import br.com.fiap.msorders.infrastructure.integration.client.StockClient;
+import br.com.fiap.msorders.infrastructure.integration.dto.SkuQuantityDto;
+import br.com.fiap.msorders.infrastructure.integration.dto.StockDto;
+import br.com.fiap.msorders.infrastructure.integration.resilience.HedgedCalls;
+import br.com.fiap.msorders.infrastructure.web.exceptions.StockNotFoundException;
+import br.com.fiap.msorders.support.StubHttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest(classes = StockServiceClientTest.TestConfig.class, webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class StockServiceClientTest {
+
+    private static final StubHttpServer msStock = StubHttpServer.start();
+
+    private static final List<String> SKUS = List.of("SKU-1", "SKU-2", "SKU-3", "SKU-4", "SKU-5");
+
+    @Configuration
+    @EnableFeignClients(clients = StockClient.class)
+    @ImportAutoConfiguration({ JacksonAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class,
+            FeignAutoConfiguration.class })
+    static class TestConfig {
+    }
+
+    @DynamicPropertySource
+    static void stockUrl(DynamicPropertyRegistry registry) {
+        registry.add("ms.stock.url", msStock::baseUrl);
+    }
+
+    @Autowired
+    private StockClient stockClient;
+
+    private StockServiceClient stockServiceClient;
+
+    @BeforeEach
+    void setUp() {
+        msStock.reset();
+        msStock.stub("GET", "/stocks/sku/*", request -> new StubHttpServer.Response(200,
+                stockJson(request.path().substring("/stocks/sku/".length()))));
+        msStock.stub("POST", "/stocks/decrease", 200, "");
+        stockServiceClient = new StockServiceClient(stockClient, Executors.newFixedThreadPool(8),
+                new HedgedCalls(Runnable::run, new SimpleMeterRegistry(), false, 0), 60_000);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        msStock.close();
+    }
+
+    @Test
+    void shouldCheckAndReserveWholeOrderInTwoRequestsWhenBatchIsSupported() {
+        msStock.stub("POST", "/stocks/batch/search", 200,
+                "[" + String.join(",", SKUS.stream().map(StockServiceClientTest::stockJson).toList()) + "]");
+        msStock.stub("POST", "/stocks/batch/decrease", 200, "");
+
+        placeOrder();
+
+        assertEquals(2, msStock.requestCount());
+        assertEquals(1, msStock.requestCount("POST", "/stocks/batch/search"));
+        assertEquals(1, msStock.requestCount("POST", "/stocks/batch/decrease"));
+    }
+
+    @Test
+    void shouldFallBackToSingleSkuCallsWhenBatchIsNotSupported() {
+        Map<String, StockDto> stocks = placeOrder();
+
+        assertEquals(SKUS, List.copyOf(stocks.keySet()));
+        // one failed probe per batch endpoint, then one lookup and one decrease per SKU
+        assertEquals(2 + 2 * SKUS.size(), msStock.requestCount());
+
+        msStock.reset();
+        msStock.stub("GET", "/stocks/sku/*", request -> new StubHttpServer.Response(200,
+                stockJson(request.path().substring("/stocks/sku/".length()))));
+        msStock.stub("POST", "/stocks/decrease", 200, "");
+
+        placeOrder();
+
+        // the unsupported batch endpoints are not probed again
+        assertEquals(2 * SKUS.size(), msStock.requestCount());
+        assertEquals(0, msStock.requestCount("POST", "/stocks/batch/search"));
+        assertEquals(0, msStock.requestCount("POST", "/stocks/batch/decrease"));
+    }
+
+    @Test
+    void shouldKeepBatchDecreaseWhenOnlyBatchSearchIsMissing() {
+        msStock.stub("POST", "/stocks/batch/decrease", 200, "");
+
+        placeOrder();
+        placeOrder();
+
+        assertEquals(1, msStock.requestCount("POST", "/stocks/batch/search"));
+        assertEquals(2, msStock.requestCount("POST", "/stocks/batch/decrease"));
+        assertEquals(0, msStock.requestCount("POST", "/stocks/decrease"));
+    }
+
+    @Test
+    void shouldNotFallBackWhenBatchDecreaseRejectsRequest() {
+        msStock.stub("POST", "/stocks/batch/decrease", 404, "{\"message\":\"SKU-9 not found\"}");
+        List<SkuQuantityDto> items = List.of(new SkuQuantityDto("SKU-9", 1));
+
+        assertThrows(RuntimeException.class, () -> stockServiceClient.decreaseStocks(items));
+        assertThrows(RuntimeException.class, () -> stockServiceClient.decreaseStocks(items));
+
+        assertEquals(2, msStock.requestCount("POST", "/stocks/batch/decrease"));
+        assertEquals(0, msStock.requestCount("POST", "/stocks/decrease"));
+    }
+
+    @Test
+    void shouldThrowStockNotFoundWhenBatchOmitsSku() {
+        msStock.stub("POST", "/stocks/batch/search", 200, "[" + stockJson("SKU-1") + "]");
+
+        assertThrows(StockNotFoundException.class, () -> stockServiceClient.searchStocks(List.of("SKU-1", "SKU-2")));
+    }
+
+    @Test
+    void shouldSendIdempotencyKeyOnlyWhenGiven() {
+        msStock.stub("POST", "/stocks/batch/decrease", 200, "");
+        List<SkuQuantityDto> items = List.of(new SkuQuantityDto("SKU-1", 1));
+
+        stockServiceClient.decreaseStocks("outbox-batch-1", items);
+        stockServiceClient.decreaseStocks(items);
+
+        List<StubHttpServer.RecordedRequest> requests = msStock.requests();
+        // the JDK server normalises header names to this case
+        assertEquals(List.of("outbox-batch-1"), requests.get(0).headers().get("Idempotency-key"));
+        assertNull(requests.get(1).headers().get("Idempotency-key"));
+    }
+
+    @Test
+    void shouldReleaseOneSkuAtATimeWithoutGivingUpBatchDecrease() {
+        msStock.stub("POST", "/stocks/increase", 200, "");
+        msStock.stub("POST", "/stocks/batch/decrease", 200, "");
+        List<SkuQuantityDto> items = List.of(new SkuQuantityDto("SKU-1", 1), new SkuQuantityDto("SKU-2", 2));
+
+        stockServiceClient.increaseStocks("outbox-batch-1", items);
+        stockServiceClient.increaseStocks("outbox-batch-2", items);
+        stockServiceClient.decreaseStocks(items);
+
+        // one failed probe, then the batch increase is not tried again
+        assertEquals(1, msStock.requestCount("POST", "/stocks/batch/increase"));
+        assertEquals(4, msStock.requestCount("POST", "/stocks/increase"));
+        assertEquals(1, msStock.requestCount("POST", "/stocks/batch/decrease"));
+        assertEquals(List.of("outbox-batch-1:SKU-1", "outbox-batch-1:SKU-2"), msStock.requests().stream()
+                .filter(request -> request.path().equals("/stocks/increase"))
+                .limit(2)
+                .map(request -> request.headers().get("Idempotency-key").get(0))
+                .sorted()
+                .toList());
+    }
+
+    @Test
+    void shouldFailSingleSkuDecreaseWithoutWaitingForSlowerSkus() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        msStock.stub("POST", "/stocks/decrease", request -> {
+            if (request.query().contains("sku=SKU-1")) {
+                return new StubHttpServer.Response(409, "");
+            }
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new StubHttpServer.Response(200, "");
+        });
+        List<SkuQuantityDto> items = List.of(new SkuQuantityDto("SKU-1", 1), new SkuQuantityDto("SKU-2", 1));
+
+        try {
+            long start = System.nanoTime();
+            assertThrows(RuntimeException.class, () -> stockServiceClient.decreaseStocks(items));
+            assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 5);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void shouldTranslateNotFoundInAsyncVariant() {
+        msStock.stub("GET", "/stocks/sku/UNKNOWN", 404, "");
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> stockServiceClient.searchStockAsync("UNKNOWN").join());
+
+        assertInstanceOf(StockNotFoundException.class, e.getCause());
+    }
+
+    @Test
+    void shouldComposeAsyncLookupAndReservation() {
+        msStock.stub("POST", "/stocks/batch/search", 200,
+                "[" + String.join(",", SKUS.stream().map(StockServiceClientTest::stockJson).toList()) + "]");
+        msStock.stub("POST", "/stocks/batch/decrease", 200, "");
+
+        Map<String, StockDto> stocks = stockServiceClient.searchStocksAsync(SKUS)
+                .thenCompose(found -> stockServiceClient
+                        .decreaseStocksAsync(SKUS.stream().map(sku -> new SkuQuantityDto(sku, 1)).toList())
+                        .thenApply(ignored -> found))
+                .orTimeout(5, TimeUnit.SECONDS)
+                .join();
+
+        assertEquals(SKUS, List.copyOf(stocks.keySet()));
+        assertEquals(2, msStock.requestCount());
+    }
+
+    private Map<String, StockDto> placeOrder() {
+        Map<String, StockDto> stocks = stockServiceClient.searchStocks(SKUS);
+        stockServiceClient.decreaseStocks(SKUS.stream().map(sku -> new SkuQuantityDto(sku, 1)).toList());
+        return stocks;
+    }
+
+    private static String stockJson(String sku) {
+        return "{\"id\":1,\"sku\":\"" + sku + "\",\"quantity\":10}";
+    }
+}
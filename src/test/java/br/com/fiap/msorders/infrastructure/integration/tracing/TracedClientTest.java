@@ -0,0 +1,157 @@
+package br.com.fiap.msorders.infrastructure.integration.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.autoconfigure.opentelemetry.OpenTelemetryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.tracing.OpenTelemetryTracingAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import br.com.fiap.msorders.application.metrics.StageTimers;
+import br.com.fiap.msorders.config.IntegrationExecutorConfig;
+import br.com.fiap.msorders.config.TracingConfig;
+import br.com.fiap.msorders.infrastructure.integration.client.StockClient;
+import br.com.fiap.msorders.support.StubHttpServer;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+
+/**
+ * Calls a stubbed ms-stock through the real Feign client from inside a stage, with the
+ * call itself fanned out to the integration executor as order validation does, and
+ * checks the exported spans and the trace header the downstream received.
+ */
+@SpringBootTest(classes = TracedClientTest.TestConfig.class, webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureObservability(metrics = false)
+class TracedClientTest {
+
+    private static final StubHttpServer msStock = StubHttpServer.start();
+
+    @Configuration
+    @EnableFeignClients(clients = StockClient.class)
+    @ImportAutoConfiguration({ JacksonAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class,
+            FeignAutoConfiguration.class, OpenTelemetryAutoConfiguration.class,
+            OpenTelemetryTracingAutoConfiguration.class })
+    @Import({ TracingConfig.class, IntegrationExecutorConfig.class, StageTimers.class })
+    static class TestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        InMemorySpanExporter spanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @DynamicPropertySource
+    static void downstreamUrls(DynamicPropertyRegistry registry) {
+        registry.add("ms.stock.url", msStock::baseUrl);
+    }
+
+    @Autowired
+    private StockClient stockClient;
+
+    @Autowired
+    private StageTimers stageTimers;
+
+    @Autowired
+    @Qualifier("integrationExecutor")
+    private Executor integrationExecutor;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @BeforeEach
+    void setUp() {
+        msStock.reset();
+        spanExporter.reset();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        msStock.close();
+    }
+
+    @Test
+    void shouldNestFeignSpanUnderStageAndPropagateContext() {
+        msStock.stub("GET", "/stocks/sku/SKU-1", 200, "{\"id\":1,\"sku\":\"SKU-1\",\"quantity\":10}");
+
+        stageTimers.record("createOrder", "validation.ms-stock", () -> CompletableFuture
+                .supplyAsync(() -> stockClient.searchStock("SKU-1"), integrationExecutor)
+                .join());
+
+        SpanData stage = span("createOrder validation.ms-stock");
+        SpanData call = span("GET ms-stock");
+        assertEquals(stage.getTraceId(), call.getTraceId());
+        assertEquals(stage.getSpanId(), call.getParentSpanId());
+        assertEquals(SpanKind.CLIENT, call.getKind());
+        assertEquals("StockClient#searchStock(String)", call.getAttributes().get(AttributeKey.stringKey("feign.method")));
+        assertEquals("200", call.getAttributes().get(AttributeKey.stringKey("http.status_code")));
+
+        String traceparent = header(msStock.requests().get(0), "traceparent");
+        assertTrue(traceparent.contains(call.getTraceId() + "-" + call.getSpanId()), traceparent);
+    }
+
+    @Test
+    void shouldMarkServerErrorsOnTheClientSpan() {
+        msStock.stub("GET", "/stocks/sku/*", 500, "");
+
+        assertThrows(FeignException.InternalServerError.class, () -> stockClient.searchStock("SKU-1"));
+
+        SpanData call = span("GET ms-stock");
+        assertEquals(StatusCode.ERROR, call.getStatus().getStatusCode());
+        assertEquals("500", call.getAttributes().get(AttributeKey.stringKey("http.status_code")));
+    }
+
+    private SpanData span(String name) {
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        return spans.stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No span " + name + " in " + spans));
+    }
+
+    private static String header(StubHttpServer.RecordedRequest request, String name) {
+        return request.headers().entrySet().stream()
+                .filter(header -> header.getKey().equalsIgnoreCase(name))
+                .map(header -> header.getValue().get(0))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + name + " header in " + request.headers()));
+    }
+}
@@ -1,10 +1,10 @@
 package br.com.fiap.msorders.infrastructure.persistence.entity;
 
 import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.model.Money;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -19,7 +19,7 @@ class OrderEntityTest {
 
     private long orderId;
     private long clientId;
-    private BigDecimal total;
+    private Money total;
     private OrderStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -29,7 +29,7 @@ class OrderEntityTest {
         // Dados para a OrderEntity
         orderId = 1L;
         clientId = 101L;
-        total = BigDecimal.valueOf(500.00);
+        total = Money.of("500.00");
         status = OrderStatus.CREATED;
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
@@ -48,13 +48,13 @@ class OrderEntityTest {
         orderItem1.setOrder(orderEntity);
         orderItem1.setProductSku("SKU123");
         orderItem1.setQuantity(2);
-        orderItem1.setPrice(BigDecimal.valueOf(50));
+        orderItem1.setPrice(Money.of("50"));
 
         orderItem2 = new OrderItemEntity();
         orderItem2.setOrder(orderEntity);
         orderItem2.setProductSku("SKU223");
         orderItem2.setQuantity(3);
-        orderItem2.setPrice(BigDecimal.valueOf(30));
+        orderItem2.setPrice(Money.of("30"));
 
         // Adicionar os OrderItems à OrderEntity
         orderEntity.setOrderItems(new ArrayList<>());
@@ -82,7 +82,7 @@ class OrderEntityTest {
         newOrderItem.setOrder(orderEntity);
         newOrderItem.setProductSku("SKU123");
         newOrderItem.setQuantity(1);
-        newOrderItem.setPrice(BigDecimal.valueOf(100));
+        newOrderItem.setPrice(Money.of("100"));
 
         // Ação: adicionar novo item de pedido
         orderEntity.getOrderItems().add(newOrderItem);
@@ -113,7 +113,7 @@ class OrderEntityTest {
         newOrderItem.setOrder(orderEntity);
         newOrderItem.setProductSku("SKU123");
         newOrderItem.setQuantity(4);
-        newOrderItem.setPrice(BigDecimal.valueOf(40));
+        newOrderItem.setPrice(Money.of("40"));
         newOrderItems.add(newOrderItem);
 
         // Ação: configurar nova lista de itens do pedido
@@ -127,13 +127,13 @@ class OrderEntityTest {
     @Test
     void shouldUpdateOrderEntityFields() {
         // Ação: atualizar os campos
-        orderEntity.setTotal(BigDecimal.valueOf(600));
+        orderEntity.setTotal(Money.of("600"));
         orderEntity.setStatus(OrderStatus.CLOSED_SUCCESS);
         LocalDateTime newUpdatedAt = LocalDateTime.now().plusMinutes(10);
         orderEntity.setUpdatedAt(newUpdatedAt);
 
         // Assert: verificar os valores atualizados
-        assertEquals(BigDecimal.valueOf(600), orderEntity.getTotal());
+        assertEquals(Money.of("600"), orderEntity.getTotal());
         assertEquals(OrderStatus.CLOSED_SUCCESS, orderEntity.getStatus());
         assertEquals(newUpdatedAt, orderEntity.getUpdatedAt());
     }
@@ -6,12 +6,12 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-import java.math.BigDecimal;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.model.Money;
 
 class OrderItemEntityTest {
 
@@ -20,7 +20,7 @@ class OrderItemEntityTest {
 
     private String productSku;
     private int quantity;
-    private BigDecimal price;
+    private Money price;
 
     @BeforeEach
     void setUp() {
@@ -28,13 +28,13 @@ class OrderItemEntityTest {
         orderEntity = new OrderEntity();
         orderEntity.setId(1L);
         orderEntity.setClientId(100L);
-        orderEntity.setTotal(BigDecimal.valueOf(200.00));
+        orderEntity.setTotal(Money.of("200.00"));
         orderEntity.setStatus(OrderStatus.CREATED);
 
         // Setup dados para OrderItemEntity
         productSku = "SKU101";
         quantity = 2;
-        price = BigDecimal.valueOf(50.00);
+        price = Money.of("50.00");
 
         // Criar e associar a OrderItemEntity
         orderItemEntity = new OrderItemEntity();
@@ -58,7 +58,7 @@ class OrderItemEntityTest {
         OrderItemEntity newItem = new OrderItemEntity();
         newItem.setProductSku("SKU102");
         newItem.setQuantity(3);
-        newItem.setPrice(BigDecimal.valueOf(60.00));
+        newItem.setPrice(Money.of("60.00"));
 
         orderEntity.addOrderItem(newItem); // usa método seguro
 
@@ -99,16 +99,16 @@ class OrderItemEntityTest {
 
     @Test
     void shouldUpdatePriceSuccessfully() {
-        orderItemEntity.setPrice(BigDecimal.valueOf(75.00));
-        assertEquals(BigDecimal.valueOf(75.00), orderItemEntity.getPrice());
+        orderItemEntity.setPrice(Money.of("75.00"));
+        assertEquals(Money.of("75.00"), orderItemEntity.getPrice());
     }
 
     @Test
     void shouldAllowNegativePriceWithoutException() {
         // Nenhuma validação na entidade impede valor negativo, então não deve lançar exceção
         OrderItemEntity item = new OrderItemEntity();
-        item.setPrice(BigDecimal.valueOf(-10.00));
-        assertEquals(BigDecimal.valueOf(-10.00), item.getPrice());
+        item.setPrice(Money.of("-10.00"));
+        assertEquals(Money.of("-10.00"), item.getPrice());
     }
 
     @Test
@@ -125,14 +125,14 @@ class OrderItemEntityTest {
     @Test
     void shouldThrowExceptionForInvalidQuantity() {
         assertThrows(IllegalArgumentException.class, () -> {
-            new OrderItemEntity(orderEntity, "SKU104", -1, BigDecimal.valueOf(50.00));
+            new OrderItemEntity(orderEntity, "SKU104", -1, Money.of("50.00"));
         });
     }
 
     @Test
     void shouldThrowExceptionForInvalidPrice() {
         assertThrows(IllegalArgumentException.class, () -> {
-            new OrderItemEntity(orderEntity, "SKU105", 1, BigDecimal.valueOf(-50.00));
+            new OrderItemEntity(orderEntity, "SKU105", 1, Money.of("-50.00"));
         });
     }
 }
@@ -5,7 +5,6 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +16,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.TestPropertySource;
 
 import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.model.Money;
 import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
 import br.com.fiap.msorders.infrastructure.persistence.entity.OrderItemEntity;
 
@@ -37,7 +37,7 @@ class OrderItemRepositoryTest {
     private OrderEntity buildOrderEntity() {
         OrderEntity order = new OrderEntity();
         order.setClientId(1L);
-        order.setTotal(BigDecimal.valueOf(200.00));
+        order.setTotal(Money.of("200.00"));
         order.setStatus(OrderStatus.CREATED);
         return orderRepository.save(order); // Salva e retorna a ordem com ID
     }
@@ -48,7 +48,7 @@ class OrderItemRepositoryTest {
         item.setOrder(order);
         item.setProductSku("SKU100");
         item.setQuantity(2);
-        item.setPrice(BigDecimal.valueOf(50.00));
+        item.setPrice(Money.of("50.00"));
         return item;
     }
 
@@ -64,7 +64,7 @@ class OrderItemRepositoryTest {
         assertEquals(order.getId(), savedItem.getOrder().getId());
         assertEquals("SKU100", savedItem.getProductSku());
         assertEquals(2, savedItem.getQuantity());
-        assertEquals(BigDecimal.valueOf(50.00), savedItem.getPrice());
+        assertEquals(Money.of("50.00"), savedItem.getPrice());
     }
 
     @Test
@@ -0,0 +1,110 @@
+package br.com.fiap.msorders.infrastructure.persistence.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import br.com.fiap.msorders.application.dto.OrderDto;
+import br.com.fiap.msorders.application.dto.OrderItemDto;
+import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.domain.model.OrderFilter;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderItemEntity;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import(OrderReadRepository.class)
+@TestPropertySource(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "orders.stream.fetch-size=2"
+})
+class OrderReadRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderReadRepository orderReadRepository;
+
+    private OrderEntity saveOrder(long clientId, OrderStatus status, LocalDateTime createdAt, int items) {
+        OrderEntity order = new OrderEntity();
+        order.setClientId(clientId);
+        order.setTotal(Money.of(BigDecimal.valueOf(10L * items)));
+        order.setStatus(status);
+        order.setCreatedAt(createdAt);
+        order.setUpdatedAt(createdAt);
+        for (int i = 0; i < items; i++) {
+            order.addOrderItem(new OrderItemEntity(order, "SKU-" + i, 1, Money.of("10")));
+        }
+        return orderRepository.saveAndFlush(order);
+    }
+
+    @Test
+    void shouldStreamEachOrderOnceWithAllItemsInIdOrder() {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        OrderEntity first = saveOrder(1L, OrderStatus.CREATED, now, 3);
+        OrderEntity empty = saveOrder(1L, OrderStatus.CREATED, now, 0);
+        OrderEntity last = saveOrder(2L, OrderStatus.CLOSED_SUCCESS, now, 2);
+
+        List<OrderDto> streamed = new ArrayList<>();
+        orderReadRepository.stream(OrderFilter.none(), 0L, streamed::add);
+
+        assertThat(streamed).extracting(OrderDto::id).containsExactly(first.getId(), empty.getId(), last.getId());
+        assertThat(streamed).extracting(order -> order.items().size()).containsExactly(3, 0, 2);
+        assertThat(streamed.get(2).status()).isEqualTo(OrderStatus.CLOSED_SUCCESS);
+        assertThat(streamed.get(0).items().get(0).productSku()).isEqualTo("SKU-0");
+        assertThat(streamed.get(0).items().get(0).orderId()).isEqualTo(first.getId());
+    }
+
+    @Test
+    void shouldApplyFiltersAndCursor() {
+        LocalDateTime day = LocalDateTime.of(2025, 1, 1, 0, 0);
+        OrderEntity skipped = saveOrder(1L, OrderStatus.CREATED, day.plusHours(1), 1);
+        OrderEntity match = saveOrder(1L, OrderStatus.CREATED, day.plusHours(2), 1);
+        saveOrder(1L, OrderStatus.CREATED, day.plusDays(1), 1);
+        saveOrder(1L, OrderStatus.CANCELLED, day.plusHours(3), 1);
+        saveOrder(2L, OrderStatus.CREATED, day.plusHours(4), 1);
+
+        List<OrderDto> streamed = new ArrayList<>();
+        orderReadRepository.stream(new OrderFilter(1L, OrderStatus.CREATED, day, day.plusDays(1)), skipped.getId(),
+            streamed::add);
+
+        assertThat(streamed).extracting(OrderDto::id).containsExactly(match.getId());
+    }
+
+    @Test
+    void shouldLimitPageByOrdersNotJoinedRows() {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        OrderEntity first = saveOrder(1L, OrderStatus.CREATED, now, 5);
+        OrderEntity second = saveOrder(1L, OrderStatus.CREATED, now, 5);
+        saveOrder(1L, OrderStatus.CREATED, now, 5);
+
+        List<OrderDto> page = orderReadRepository.findPage(OrderFilter.none(), 0L, 2);
+
+        assertThat(page).extracting(OrderDto::id).containsExactly(first.getId(), second.getId());
+        assertThat(page).allSatisfy(order -> assertThat(order.items()).hasSize(5));
+    }
+
+    @Test
+    void shouldFindSingleOrderWithItems() {
+        OrderEntity saved = saveOrder(3L, OrderStatus.CREATED, LocalDateTime.of(2025, 1, 1, 12, 0), 2);
+
+        OrderDto order = orderReadRepository.findById(saved.getId()).orElseThrow();
+
+        assertThat(order.clientId()).isEqualTo(3L);
+        assertThat(order.total()).isEqualTo(Money.of("20"));
+        assertThat(order.items()).extracting(OrderItemDto::productSku).containsExactly("SKU-0", "SKU-1");
+        assertThat(orderReadRepository.findById(saved.getId() + 1000)).isEmpty();
+    }
+}
@@ -0,0 +1,108 @@
+package br.com.fiap.msorders.infrastructure.persistence.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+
+import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
+import br.com.fiap.msorders.infrastructure.persistence.entity.OrderItemEntity;
+
+/**
+ * Counts the JDBC statements Hibernate prepares while reading orders and touching their
+ * items, the way OrderMapper does.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@TestPropertySource(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class OrderRepositoryStatementCountTest {
+
+    private static final int ORDERS = 1_000;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ORDERS; i++) {
+            OrderEntity order = new OrderEntity();
+            order.setClientId(i % 10);
+            order.setTotal(Money.of("20"));
+            order.setStatus(OrderStatus.CREATED);
+            order.setCreatedAt(now);
+            order.setUpdatedAt(now);
+            order.addOrderItem(new OrderItemEntity(order, "SKU-A", 1, Money.of("10")));
+            order.addOrderItem(new OrderItemEntity(order, "SKU-B", 1, Money.of("10")));
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldLoadSingleOrderWithItemsInOneStatement() {
+        long id = orderRepository.findAll().get(0).getId();
+        entityManager.clear();
+        statistics.clear();
+
+        OrderEntity order = orderRepository.findWithItemsById(id).orElseThrow();
+
+        assertThat(order.getOrderItems()).hasSize(2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void plainFindAllIssuesOneStatementPerOrder() {
+        List<OrderEntity> orders = orderRepository.findAll();
+
+        assertThat(itemCount(orders)).isEqualTo(2 * ORDERS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1 + ORDERS);
+    }
+
+    @Test
+    void shouldBatchInsertsOfLargeOrder() {
+        OrderEntity order = new OrderEntity();
+        order.setClientId(1L);
+        order.setTotal(Money.of("500"));
+        order.setStatus(OrderStatus.CREATED);
+        for (int i = 0; i < 50; i++) {
+            order.addOrderItem(new OrderItemEntity(order, "SKU-" + i, 1, Money.of("10")));
+        }
+
+        orderRepository.saveAndFlush(order);
+
+        // ids come from pooled sequences, so the 51 rows go out as two JDBC batches
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(4);
+        assertThat(order.getOrderItems()).extracting(OrderItemEntity::getId).doesNotHaveDuplicates();
+    }
+
+    private static int itemCount(List<OrderEntity> orders) {
+        return orders.stream().mapToInt(order -> order.getOrderItems().size()).sum();
+    }
+}
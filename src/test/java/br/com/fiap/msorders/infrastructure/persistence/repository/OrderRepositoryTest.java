@@ -1,6 +1,7 @@
 package br.com.fiap.msorders.infrastructure.persistence.repository;
 
 import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.model.Money;
 import br.com.fiap.msorders.infrastructure.persistence.entity.OrderEntity;
 import br.com.fiap.msorders.infrastructure.persistence.entity.OrderItemEntity;
 import org.junit.jupiter.api.DisplayName;
@@ -10,7 +11,6 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.TestPropertySource;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -30,7 +30,7 @@ class OrderRepositoryTest {
     private OrderEntity createOrderEntity() {
         OrderEntity order = new OrderEntity();
         order.setClientId(1L);
-        order.setTotal(BigDecimal.valueOf(200.00));
+        order.setTotal(Money.of("200.00"));
         order.setStatus(OrderStatus.CREATED);
         order.setCreatedAt(LocalDateTime.now());
         order.setUpdatedAt(LocalDateTime.now());
@@ -39,7 +39,7 @@ class OrderRepositoryTest {
         OrderItemEntity item = new OrderItemEntity();
         item.setProductSku("SKU100");
         item.setQuantity(2);
-        item.setPrice(BigDecimal.valueOf(100.00));
+        item.setPrice(Money.of("100.00"));
 
         order.addOrderItem(item); // garante relacionamento bidirecional
         return order;
@@ -58,7 +58,7 @@ class OrderRepositoryTest {
         OrderItemEntity savedItem = saved.getOrderItems().get(0);
         assertThat(savedItem.getProductSku()).isEqualTo("SKU100");  // Corrigido para 'productSku'
         assertThat(savedItem.getQuantity()).isEqualTo(2);
-        assertThat(savedItem.getPrice()).isEqualByComparingTo("100.00");
+        assertThat(savedItem.getPrice()).isEqualTo(Money.of("100.00"));
         assertThat(savedItem.getOrder()).isEqualTo(saved); // Confirma o vínculo bidirecional
     }
 
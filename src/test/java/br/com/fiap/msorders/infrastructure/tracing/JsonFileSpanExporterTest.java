@@ -0,0 +1,66 @@
+package br.com.fiap.msorders.infrastructure.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+
+class JsonFileSpanExporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void shouldAppendOneJsonLinePerSpan() throws Exception {
+        Path file = dir.resolve("traces/spans.ndjson");
+        JsonFileSpanExporter exporter = new JsonFileSpanExporter(file, objectMapper);
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build();
+        Tracer tracer = tracerProvider.get("test");
+
+        Span parent = tracer.spanBuilder("createOrder persist").startSpan();
+        try (Scope scope = parent.makeCurrent()) {
+            tracer.spanBuilder("POST ms-stock")
+                    .setAttribute("http.status_code", "500")
+                    .startSpan()
+                    .setStatus(StatusCode.ERROR, "HTTP 500")
+                    .end();
+        } finally {
+            parent.end();
+        }
+        tracerProvider.shutdown();
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        JsonNode child = objectMapper.readTree(lines.get(0));
+        JsonNode root = objectMapper.readTree(lines.get(1));
+        assertEquals("POST ms-stock", child.get("name").asText());
+        assertEquals(root.get("traceId").asText(), child.get("traceId").asText());
+        assertEquals(root.get("spanId").asText(), child.get("parentSpanId").asText());
+        assertEquals("500", child.get("attributes").get("http.status_code").asText());
+        assertEquals("ERROR", child.get("status").asText());
+        assertEquals("HTTP 500", child.get("statusDescription").asText());
+        assertTrue(root.get("parentSpanId").isNull());
+        assertTrue(root.get("endEpochNanos").asLong() >= root.get("startEpochNanos").asLong());
+        assertNull(root.get("statusDescription"));
+    }
+}
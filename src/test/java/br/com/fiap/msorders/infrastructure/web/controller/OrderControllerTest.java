@@ -1,35 +1,68 @@
 package br.com.fiap.msorders.infrastructure.web.controller;
 
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-import java.math.BigDecimal;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import br.com.fiap.msorders.application.dto.OrderBatchResultDto;
 import br.com.fiap.msorders.application.dto.OrderDto;
 import br.com.fiap.msorders.application.dto.OrderItemDto;
+import br.com.fiap.msorders.application.dto.OrderPageDto;
+import br.com.fiap.msorders.application.export.OrderExportFormat;
+import br.com.fiap.msorders.application.export.OrderExporter;
+import br.com.fiap.msorders.application.idempotency.IdempotencyStore;
+import br.com.fiap.msorders.application.service.OrderBatchService;
 import br.com.fiap.msorders.application.service.OrderService;
 import br.com.fiap.msorders.domain.enums.OrderStatus;
+import br.com.fiap.msorders.domain.model.Money;
+import br.com.fiap.msorders.domain.model.OrderFilter;
 import br.com.fiap.msorders.infrastructure.integration.service.ClientServiceClient;
 import br.com.fiap.msorders.infrastructure.integration.service.ProductServiceClient;
 import br.com.fiap.msorders.infrastructure.integration.service.StockServiceClient;
+import br.com.fiap.msorders.infrastructure.web.exceptions.GlobalExceptionHandler;
 import br.com.fiap.msorders.infrastructure.web.exceptions.ResourceNotFoundException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 @SpringBootTest
@@ -43,6 +76,15 @@ public class OrderControllerTest {
 
     @Mock
     private OrderService orderService;
+
+    @Mock
+    private OrderBatchService orderBatchService;
+
+    @Mock
+    private OrderExporter orderExporter;
+
+    @Spy
+    private ObjectMapper jsonMapper = JsonMapper.builder().findAndAddModules().build();
     
     @MockBean
     private ClientServiceClient clientServiceClient;
@@ -53,6 +95,9 @@ public class OrderControllerTest {
     @MockBean
     private StockServiceClient stockServiceClient;
 
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
     @InjectMocks
     private OrderController orderController;
 
@@ -67,10 +112,10 @@ public class OrderControllerTest {
 
     @Test
     void shouldCreateOrder() throws Exception {
-        OrderItemDto itemDto = new OrderItemDto(1L, 1L, "SKU123", 5, BigDecimal.valueOf(100));
+        OrderItemDto itemDto = new OrderItemDto(1L, 1L, "SKU123", 5, Money.of("100"));
         LocalDateTime now = LocalDateTime.now();
-        OrderDto orderDto = new OrderDto(0L, 1L, BigDecimal.valueOf(500), OrderStatus.CREATED, now, now, List.of(itemDto));
-        OrderDto createdOrder = new OrderDto(1L, 1L, BigDecimal.valueOf(500), OrderStatus.CREATED, now, now, List.of(itemDto));
+        OrderDto orderDto = new OrderDto(0L, 1L, Money.of("500"), OrderStatus.CREATED, now, now, List.of(itemDto));
+        OrderDto createdOrder = new OrderDto(1L, 1L, Money.of("500"), OrderStatus.CREATED, now, now, List.of(itemDto));
 
         when(orderService.createOrder(any(OrderDto.class))).thenReturn(createdOrder);
 
@@ -87,9 +132,9 @@ public class OrderControllerTest {
 
     @Test
     void shouldGetOrderById() throws Exception {
-        OrderItemDto itemDto = new OrderItemDto(1L, 1L, "SKU123", 5, BigDecimal.valueOf(100));
+        OrderItemDto itemDto = new OrderItemDto(1L, 1L, "SKU123", 5, Money.of("100"));
         LocalDateTime now = LocalDateTime.now();
-        OrderDto orderDto = new OrderDto(1L, 1L, BigDecimal.valueOf(500), OrderStatus.CREATED, now, now, List.of(itemDto));
+        OrderDto orderDto = new OrderDto(1L, 1L, Money.of("500"), OrderStatus.CREATED, now, now, List.of(itemDto));
 
         when(orderService.findOrderById(1L)).thenReturn(orderDto);
 
@@ -111,26 +156,63 @@ public class OrderControllerTest {
 
     @Test
     void shouldGetAllOrders() throws Exception {
-        OrderItemDto itemDto = new OrderItemDto(1L, 1L, "SKU123", 5, BigDecimal.valueOf(100));
+        OrderItemDto itemDto = new OrderItemDto(1L, 1L, "SKU123", 5, Money.of("100"));
         LocalDateTime now = LocalDateTime.now();
-        OrderDto order1 = new OrderDto(1L, 1L, BigDecimal.valueOf(500), OrderStatus.CREATED, now, now, List.of(itemDto));
-        OrderDto order2 = new OrderDto(2L, 2L, BigDecimal.valueOf(300), OrderStatus.CREATED, now, now, List.of(itemDto));
+        OrderDto order1 = new OrderDto(1L, 1L, Money.of("500"), OrderStatus.CREATED, now, now, List.of(itemDto));
+        OrderDto order2 = new OrderDto(2L, 2L, Money.of("300"), OrderStatus.CREATED, now, now, List.of(itemDto));
 
-        when(orderService.findAllOrders()).thenReturn(List.of(order1, order2));
+        when(orderService.findOrders(OrderFilter.none(), 0L, 100)).thenReturn(new OrderPageDto(List.of(order1, order2), null));
 
         mockMvc.perform(get("/orders"))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.length()").value(2))
             .andExpect(jsonPath("$[0].id").value(1L))
-            .andExpect(jsonPath("$[1].id").value(2L));
+            .andExpect(jsonPath("$[1].id").value(2L))
+            .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    void shouldLinkToNextPageWithFilters() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        OrderDto order = new OrderDto(7L, 3L, Money.of("500"), OrderStatus.CREATED, now, now, List.of());
+        OrderFilter filter = new OrderFilter(3L, OrderStatus.CREATED, LocalDateTime.of(2025, 1, 1, 0, 0), null);
+
+        when(orderService.findOrders(filter, 5L, 1)).thenReturn(new OrderPageDto(List.of(order), 7L));
+
+        mockMvc.perform(get("/orders?clientId=3&status=CREATED&from=2025-01-01T00:00:00&after=5&limit=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(7L))
+            .andExpect(header().string("Link", allOf(
+                containsString("after=7"),
+                containsString("clientId=3"),
+                endsWith("rel=\"next\""))));
+    }
+
+    @Test
+    void shouldStreamOrdersAsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream target = invocation.getArgument(2);
+            target.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(orderExporter).streamNdjson(eq(new OrderFilter(3L, null, null, null)), eq(5L), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/orders").param("clientId", "3").param("after", "5")
+                .accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
     }
 
     @Test
     void shouldUpdateOrder() throws Exception {
-        OrderItemDto itemDto = new OrderItemDto(1L, 1L, "SKU123", 3, BigDecimal.valueOf(100));
+        OrderItemDto itemDto = new OrderItemDto(1L, 1L, "SKU123", 3, Money.of("100"));
         LocalDateTime now = LocalDateTime.now();
-        OrderDto inputOrder = new OrderDto(0L, 1L, BigDecimal.valueOf(300), OrderStatus.CREATED, now, now, List.of(itemDto));
-        OrderDto updatedOrder = new OrderDto(1L, 1L, BigDecimal.valueOf(300), OrderStatus.CREATED, now, now, List.of(itemDto));
+        OrderDto inputOrder = new OrderDto(0L, 1L, Money.of("300"), OrderStatus.CREATED, now, now, List.of(itemDto));
+        OrderDto updatedOrder = new OrderDto(1L, 1L, Money.of("300"), OrderStatus.CREATED, now, now, List.of(itemDto));
 
         when(orderService.updateOrder(1L, inputOrder)).thenReturn(updatedOrder);
 
@@ -144,9 +226,9 @@ public class OrderControllerTest {
 
     @Test
     void shouldReturnNotFoundWhenUpdateFails() throws Exception {
-        OrderItemDto itemDto = new OrderItemDto(1L, 1L, "SKU123", 3, BigDecimal.valueOf(100));
+        OrderItemDto itemDto = new OrderItemDto(1L, 1L, "SKU123", 3, Money.of("100"));
         LocalDateTime now = LocalDateTime.now();
-        OrderDto inputOrder = new OrderDto(0L, 1L, BigDecimal.valueOf(300), OrderStatus.CREATED, now, now, List.of(itemDto));
+        OrderDto inputOrder = new OrderDto(0L, 1L, Money.of("300"), OrderStatus.CREATED, now, now, List.of(itemDto));
 
         when(orderService.updateOrder(999L, inputOrder)).thenThrow(new ResourceNotFoundException("Order not found"));
 
@@ -171,5 +253,187 @@ public class OrderControllerTest {
         mockMvc.perform(delete("/orders/999"))
             .andExpect(status().isNotFound());
     }
-}
 
+    @Test
+    void shouldAcceptPixPaymentWhilePending() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        OrderDto pending = new OrderDto(1L, 1L, Money.of("500"), OrderStatus.PENDING_PAYMENT, now, now, List.of());
+
+        when(orderService.processPayment(1L, "PIX")).thenReturn(pending);
+
+        mockMvc.perform(post("/orders/1/payment").param("paymentMethod", "PIX"))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.id").value(1L))
+            .andExpect(jsonPath("$.status").value("PENDING_PAYMENT"));
+    }
+
+    @Test
+    void shouldReplayCreatedOrderWhenRequestIsRetriedWithSameKey() throws Exception {
+        MockMvc idempotentMvc = idempotentMockMvc();
+        String key = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        OrderDto orderDto = new OrderDto(0L, 1L, Money.of("500"), OrderStatus.CREATED, now, now, List.of());
+        when(orderService.createOrder(any(OrderDto.class)))
+            .thenReturn(new OrderDto(7L, 1L, Money.of("500"), OrderStatus.CREATED, now, now, List.of()));
+        String body = objectMapper.writeValueAsString(orderDto);
+
+        String first = idempotentMvc.perform(post("/orders").header(OrderController.IDEMPOTENCY_KEY, key)
+                .contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isCreated())
+            .andExpect(header().doesNotExist(OrderController.IDEMPOTENT_REPLAYED))
+            .andReturn().getResponse().getContentAsString();
+
+        idempotentMvc.perform(post("/orders").header(OrderController.IDEMPOTENCY_KEY, key)
+                .contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isCreated())
+            .andExpect(header().string(OrderController.IDEMPOTENT_REPLAYED, "true"))
+            .andExpect(content().json(first))
+            .andExpect(jsonPath("$.id").value(7L));
+
+        idempotentMvc.perform(post("/orders").header(OrderController.IDEMPOTENCY_KEY, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body.replace("\"clientId\":1", "\"clientId\":2")))
+            .andExpect(status().isUnprocessableEntity());
+
+        verify(orderService, times(1)).createOrder(any(OrderDto.class));
+    }
+
+    @Test
+    void shouldCreateOrderOnceWhenTwoIdenticalRequestsRace() throws Exception {
+        MockMvc idempotentMvc = idempotentMockMvc();
+        String key = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        String body = objectMapper.writeValueAsString(
+                new OrderDto(0L, 1L, Money.of("500"), OrderStatus.CREATED, now, now, List.of()));
+        CyclicBarrier bothSent = new CyclicBarrier(2);
+        when(orderService.createOrder(any(OrderDto.class))).thenAnswer(invocation -> {
+            // hold the first request open so the second one finds the key in progress
+            Thread.sleep(200);
+            return new OrderDto(8L, 1L, Money.of("500"), OrderStatus.CREATED, now, now, List.of());
+        });
+
+        Callable<MvcResult> request = () -> {
+            bothSent.await(5, TimeUnit.SECONDS);
+            return idempotentMvc.perform(post("/orders").header(OrderController.IDEMPOTENCY_KEY, key)
+                    .contentType(MediaType.APPLICATION_JSON).content(body)).andReturn();
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<MvcResult>> results = executor.invokeAll(List.of(request, request), 10, TimeUnit.SECONDS);
+            MvcResult first = results.get(0).get();
+            MvcResult second = results.get(1).get();
+
+            assertEquals(201, first.getResponse().getStatus());
+            assertEquals(201, second.getResponse().getStatus());
+            assertEquals(first.getResponse().getContentAsString(), second.getResponse().getContentAsString());
+            assertEquals(1, Stream.of(first, second)
+                    .filter(result -> result.getResponse().getHeader(OrderController.IDEMPOTENT_REPLAYED) != null)
+                    .count());
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(orderService, times(1)).createOrder(any(OrderDto.class));
+    }
+
+    @Test
+    void shouldReplayPaymentOutcomeWithoutChargingAgain() throws Exception {
+        MockMvc idempotentMvc = idempotentMockMvc();
+        String key = UUID.randomUUID().toString();
+        when(orderService.processPayment(3L, "CARD")).thenReturn(null);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            idempotentMvc.perform(post("/orders/3/payment").param("paymentMethod", "CARD")
+                    .header(OrderController.IDEMPOTENCY_KEY, key))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Payment processed successfully."));
+        }
+
+        verify(orderService, times(1)).processPayment(3L, "CARD");
+    }
+
+    @Test
+    void shouldCreateOrdersFromJsonArrayOrNdjson() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        List<List<Long>> received = new ArrayList<>();
+        when(orderBatchService.createOrders(any())).thenAnswer(invocation -> {
+            Iterator<OrderDto> orders = invocation.getArgument(0);
+            List<Long> clientIds = new ArrayList<>();
+            orders.forEachRemaining(order -> clientIds.add(order.clientId()));
+            received.add(clientIds);
+            return List.of(
+                new OrderBatchResultDto(0, new OrderDto(1L, 10L, Money.of("10"), OrderStatus.CREATED, now, now, List.of()), null),
+                new OrderBatchResultDto(1, null, "Client with ID 20 not found."));
+        });
+        String first = objectMapper.writeValueAsString(new OrderDto(0L, 10L, null, null, null, null, List.of()));
+        String second = objectMapper.writeValueAsString(new OrderDto(0L, 20L, null, null, null, null, List.of()));
+
+        mockMvc.perform(post("/orders/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[" + first + "," + second + "]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].order.status").value("CREATED"))
+            .andExpect(jsonPath("$[1].index").value(1))
+            .andExpect(jsonPath("$[1].error").value("Client with ID 20 not found."));
+
+        mockMvc.perform(post("/orders/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(first + "\n" + second + "\n"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2));
+
+        assertEquals(List.of(List.of(10L, 20L), List.of(10L, 20L)), received);
+    }
+
+    @Test
+    void shouldRejectMalformedBatch() throws Exception {
+        when(orderBatchService.createOrders(any())).thenAnswer(invocation -> {
+            Iterator<OrderDto> orders = invocation.getArgument(0);
+            orders.forEachRemaining(order -> { });
+            return List.of();
+        });
+
+        mockMvc.perform(post("/orders/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"clientId\":1}\n{\"clientId\":"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldExportOrdersAsCsvAttachment() throws Exception {
+        LocalDateTime since = LocalDateTime.of(2025, 1, 1, 0, 0);
+        doAnswer(invocation -> {
+            OutputStream target = invocation.getArgument(3);
+            target.write("order_id\n1\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(orderExporter).export(eq(OrderExportFormat.CSV), eq(since), isNull(), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/orders/export")
+                .param("format", "CSV")
+                .param("since", "2025-01-01T00:00:00"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("text/csv"))
+            .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders.csv\""))
+            .andExpect(content().string("order_id\n1\n"));
+    }
+
+    @Test
+    void shouldRejectUnknownExportFormat() throws Exception {
+        MvcResult result = mockMvc.perform(get("/orders/export").param("format", "xml")).andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isBadRequest())
+            .andExpect(content().string(containsString("Unknown export format 'xml'")));
+
+        verify(orderExporter, times(0)).export(any(), any(), any(), any());
+    }
+
+    private MockMvc idempotentMockMvc() {
+        return MockMvcBuilders.standaloneSetup(new OrderController(orderService, orderBatchService, orderExporter, jsonMapper, idempotencyStore))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+    }
+}
@@ -2,6 +2,7 @@ package br.com.fiap.msorders.infrastructure.web.controller;
 
 import br.com.fiap.msorders.application.dto.OrderItemDto;
 import br.com.fiap.msorders.application.service.OrderItemService;
+import br.com.fiap.msorders.domain.model.Money;
 import br.com.fiap.msorders.infrastructure.web.exceptions.ResourceNotFoundException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -11,7 +12,6 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.math.BigDecimal;
 import java.util.Collections;
 
 import static org.mockito.Mockito.*;
@@ -31,7 +31,7 @@ class OrderItemControllerTest {
 
     @Test
     void shouldCreateOrderItem() throws Exception {
-        OrderItemDto dto = new OrderItemDto(1L, 1L, "SKU123", 2, BigDecimal.valueOf(100.00));
+        OrderItemDto dto = new OrderItemDto(1L, 1L, "SKU123", 2, Money.of("100.00"));
         when(orderItemService.create(dto)).thenReturn(dto);
 
         mockMvc.perform(post("/order-items")
@@ -48,7 +48,7 @@ class OrderItemControllerTest {
 
     @Test
     void shouldReturnBadRequestWhenCreateOrderItemWithInvalidData() throws Exception {
-        OrderItemDto dto = new OrderItemDto(1L, 1L, "SKU123", 0, BigDecimal.valueOf(100.00));
+        OrderItemDto dto = new OrderItemDto(1L, 1L, "SKU123", 0, Money.of("100.00"));
 
         mockMvc.perform(post("/order-items")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -60,7 +60,7 @@ class OrderItemControllerTest {
 
     @Test
     void shouldGetAllOrderItems() throws Exception {
-        OrderItemDto dto = new OrderItemDto(1L, 1L, "SKU123", 2, BigDecimal.valueOf(100.00));
+        OrderItemDto dto = new OrderItemDto(1L, 1L, "SKU123", 2, Money.of("100.00"));
         when(orderItemService.findAll()).thenReturn(Collections.singletonList(dto));
 
         mockMvc.perform(get("/order-items"))
@@ -76,7 +76,7 @@ class OrderItemControllerTest {
 
     @Test
     void shouldGetOrderItemById() throws Exception {
-        OrderItemDto dto = new OrderItemDto(1L, 1L, "SKU123", 2, BigDecimal.valueOf(100.00));
+        OrderItemDto dto = new OrderItemDto(1L, 1L, "SKU123", 2, Money.of("100.00"));
         when(orderItemService.findById(1L)).thenReturn(dto);
 
         mockMvc.perform(get("/order-items/{id}", 1L))
@@ -102,7 +102,7 @@ class OrderItemControllerTest {
 
     @Test
     void shouldUpdateOrderItem() throws Exception {
-        OrderItemDto dto = new OrderItemDto(1L, 1L, "SKU123", 3, BigDecimal.valueOf(150.00));
+        OrderItemDto dto = new OrderItemDto(1L, 1L, "SKU123", 3, Money.of("150.00"));
         when(orderItemService.update(1L, dto)).thenReturn(dto);
 
         mockMvc.perform(put("/order-items/{id}", 1L)
@@ -0,0 +1,169 @@
+package br.com.fiap.msorders.support;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Minimal WireMock-style HTTP stub for integration tests. Routes are matched on method
+ * and path (a trailing {@code *} matches any suffix); unmatched requests get a 404.
+ * Every request is counted so tests can assert how many calls reached a downstream, and
+ * so is every distinct client connection, to check connection reuse. Under sustained
+ * load, {@link #withoutRecording()} keeps the counts but stops keeping each request.
+ */
+public class StubHttpServer implements AutoCloseable {
+
+    public record Response(int status, String body) {}
+
+    public record RecordedRequest(String method, String path, String query, Map<String, List<String>> headers, String body) {}
+
+    private record Route(String method, String path, Function<RecordedRequest, Response> handler) {
+        boolean matches(String requestMethod, String requestPath) {
+            if (!method.equalsIgnoreCase(requestMethod)) {
+                return false;
+            }
+            return path.endsWith("*")
+                    ? requestPath.startsWith(path.substring(0, path.length() - 1))
+                    : path.equals(requestPath);
+        }
+    }
+
+    static {
+        // headers and body go out as separate writes; without TCP_NODELAY the body waits
+        // for the client's delayed ACK, adding ~40 ms to every response that has one
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<Route> routes = new CopyOnWriteArrayList<>();
+    private final List<RecordedRequest> requests = new CopyOnWriteArrayList<>();
+    private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private volatile long latencyMs;
+    private volatile boolean recording = true;
+
+    private StubHttpServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    public static StubHttpServer start() {
+        try {
+            StubHttpServer stub = new StubHttpServer();
+            stub.server.start();
+            return stub;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start stub server", e);
+        }
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public StubHttpServer stub(String method, String path, int status, String body) {
+        return stub(method, path, request -> new Response(status, body));
+    }
+
+    public StubHttpServer stub(String method, String path, Function<RecordedRequest, Response> handler) {
+        routes.add(0, new Route(method, path, handler));
+        return this;
+    }
+
+    public StubHttpServer withLatency(long latencyMs) {
+        this.latencyMs = latencyMs;
+        return this;
+    }
+
+    /** Keeps counting requests and connections without storing each request for {@link #requests()}. */
+    public StubHttpServer withoutRecording() {
+        this.recording = false;
+        return this;
+    }
+
+    public int requestCount() {
+        return requestCount.get();
+    }
+
+    public int requestCount(String method, String path) {
+        AtomicInteger count = counts.get(method.toUpperCase() + " " + path);
+        return count == null ? 0 : count.get();
+    }
+
+    /** Number of TCP connections that sent at least one request since the last reset. */
+    public int connectionCount() {
+        return connections.size();
+    }
+
+    public List<RecordedRequest> requests() {
+        return List.copyOf(requests);
+    }
+
+    public void reset() {
+        routes.clear();
+        requests.clear();
+        requestCount.set(0);
+        counts.clear();
+        connections.clear();
+        latencyMs = 0;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            RecordedRequest request = new RecordedRequest(method, path, exchange.getRequestURI().getQuery(),
+                    Map.copyOf(exchange.getRequestHeaders()), body);
+            if (recording) {
+                requests.add(request);
+            }
+            requestCount.incrementAndGet();
+            connections.add(exchange.getRemoteAddress());
+            counts.computeIfAbsent(method.toUpperCase() + " " + path, key -> new AtomicInteger()).incrementAndGet();
+
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+
+            Response response = routes.stream()
+                    .filter(route -> route.matches(method, path))
+                    .findFirst()
+                    .map(route -> route.handler().apply(request))
+                    .orElse(new Response(404, ""));
+
+            byte[] bytes = response.body() == null ? new byte[0] : response.body().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(response.status(), bytes.length == 0 ? -1 : bytes.length);
+            if (bytes.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}